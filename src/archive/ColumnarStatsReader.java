@@ -0,0 +1,281 @@
+package archive;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads columns from a file written by {@link ColumnarStatsWriter}.
+ * Only the requested column is read from each row group; the other columns
+ * are skipped using their recorded lengths.
+ *
+ * <p>Running this class prints the win rate of the jests holding each card,
+ * e.g. to compare the expansion effects:
+ * {@code java archive.ColumnarStatsReader <stats.jcol>}</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see ColumnarStatsWriter
+ */
+public class ColumnarStatsReader implements Closeable {
+    /** The open statistics file */
+    private final FileChannel channel;
+    /** The column names, in file order */
+    private final String[] columnNames;
+    /** The column types, parallel to the names */
+    private final byte[] columnTypes;
+    /** The dictionaries of the dictionary-encoded columns (null for other columns) */
+    private final String[][] dictionaries;
+    /** The description of each card, by card id */
+    private final String[] cardNames;
+    /** The offsets of the row groups */
+    private final long[] groupOffsets;
+    /** The total number of rows */
+    private final long rowCount;
+
+    /**
+     * Opens a columnar statistics file and reads its header and footer.
+     *
+     * @param file the file to read
+     * @throws IOException if the file cannot be read or is not a statistics file
+     */
+    public ColumnarStatsReader(File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            DataInputStream header = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try (header) {
+                if (header.readInt() != ColumnarStatsWriter.MAGIC) {
+                    throw new IOException("Not a columnar statistics file: " + file.getName());
+                }
+                short version = header.readShort();
+                if (version != ColumnarStatsWriter.VERSION) {
+                    throw new IOException("Unsupported statistics version " + version);
+                }
+                int columnCount = header.readShort();
+                columnNames = new String[columnCount];
+                columnTypes = new byte[columnCount];
+                dictionaries = new String[columnCount][];
+                for (int i = 0; i < columnCount; i++) {
+                    columnNames[i] = header.readUTF();
+                    columnTypes[i] = header.readByte();
+                    if (columnTypes[i] == ColumnarStatsWriter.DICT8) {
+                        dictionaries[i] = new String[header.readShort()];
+                        for (int j = 0; j < dictionaries[i].length; j++) {
+                            dictionaries[i][j] = header.readUTF();
+                        }
+                    }
+                }
+                cardNames = new String[header.readShort()];
+                for (int i = 0; i < cardNames.length; i++) {
+                    cardNames[i] = header.readUTF();
+                }
+            }
+
+            long size = channel.size();
+            ByteBuffer trailer = readFully(size - 20, 20);
+            long totalRows = trailer.getLong();
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != ColumnarStatsWriter.MAGIC) {
+                throw new IOException("Statistics file not closed properly: " + file.getName());
+            }
+            ByteBuffer footer = readFully(footerOffset, 4);
+            int groupCount = footer.getInt();
+            ByteBuffer offsets = readFully(footerOffset + 4, groupCount * 8);
+            groupOffsets = new long[groupCount];
+            for (int i = 0; i < groupCount; i++) {
+                groupOffsets[i] = offsets.getLong();
+            }
+            rowCount = totalRows;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the row count
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the column names.
+     *
+     * @return the column names in file order
+     */
+    public String[] getColumnNames() {
+        return columnNames.clone();
+    }
+
+    /**
+     * Gets the dictionary of a dictionary-encoded column.
+     *
+     * @param column the column name
+     * @return the values designated by the codes of the column, or null if the column is not encoded
+     */
+    public String[] getDictionary(String column) {
+        String[] dictionary = dictionaries[indexOf(column)];
+        return dictionary == null ? null : dictionary.clone();
+    }
+
+    /**
+     * Gets the description of each card, by card id.
+     *
+     * @return the card descriptions (e.g., "3 HEARTH EVEN_VALUES")
+     */
+    public String[] getCardNames() {
+        return cardNames.clone();
+    }
+
+    /**
+     * Reads an 8-bit, 32-bit or dictionary column.
+     *
+     * @param column the column name
+     * @return the values of every row
+     * @throws IOException if the file cannot be read
+     */
+    public int[] readInts(String column) throws IOException {
+        int index = indexOf(column);
+        byte type = columnTypes[index];
+        if (type == ColumnarStatsWriter.INT64) {
+            throw new IllegalArgumentException("Column " + column + " holds 64-bit values");
+        }
+        int[] values = new int[(int) rowCount];
+        int row = 0;
+        for (long groupOffset : groupOffsets) {
+            ByteBuffer data = readColumnChunk(groupOffset, index);
+            while (data.hasRemaining()) {
+                values[row++] = type == ColumnarStatsWriter.INT32 ? data.getInt() : data.get();
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Reads a 64-bit column.
+     *
+     * @param column the column name
+     * @return the values of every row
+     * @throws IOException if the file cannot be read
+     */
+    public long[] readLongs(String column) throws IOException {
+        int index = indexOf(column);
+        if (columnTypes[index] != ColumnarStatsWriter.INT64) {
+            throw new IllegalArgumentException("Column " + column + " does not hold 64-bit values");
+        }
+        long[] values = new long[(int) rowCount];
+        int row = 0;
+        for (long groupOffset : groupOffsets) {
+            ByteBuffer data = readColumnChunk(groupOffset, index);
+            while (data.hasRemaining()) {
+                values[row++] = data.getLong();
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Closes the statistics file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads the values of one column in a row group, skipping the preceding columns.
+     *
+     * @param groupOffset the offset of the row group
+     * @param column the index of the column
+     * @return a buffer holding the values of the column
+     * @throws IOException if the file cannot be read
+     */
+    private ByteBuffer readColumnChunk(long groupOffset, int column) throws IOException {
+        long position = groupOffset + 4;
+        for (int i = 0; i < column; i++) {
+            position += 4 + readFully(position, 4).getInt();
+        }
+        int length = readFully(position, 4).getInt();
+        return readFully(position + 4, length);
+    }
+
+    /**
+     * Finds a column by name.
+     *
+     * @param column the column name
+     * @return the index of the column
+     * @throws IllegalArgumentException if the file has no such column
+     */
+    private int indexOf(String column) {
+        int index = Arrays.asList(columnNames).indexOf(column);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown column: " + column);
+        }
+        return index;
+    }
+
+    /**
+     * Reads a range of the file into a new buffer.
+     *
+     * @param position the position of the range
+     * @param length the length of the range
+     * @return a buffer holding the range, positioned at its start
+     * @throws IOException if the range cannot be read entirely
+     */
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of statistics file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Prints, for each card, how many jests held it and how often those jests won.
+     *
+     * @param args the path of the statistics file
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: java archive.ColumnarStatsReader <stats" + ColumnarStatsWriter.EXTENSION + ">");
+            return;
+        }
+        try (ColumnarStatsReader reader = new ColumnarStatsReader(new File(args[0]))) {
+            int[] jestMasks = reader.readInts("jest_mask");
+            int[] winners = reader.readInts("winner");
+            String[] cardNames = reader.getCardNames();
+
+            int[] held = new int[cardNames.length];
+            int[] won = new int[cardNames.length];
+            for (int row = 0; row < jestMasks.length; row++) {
+                int mask = jestMasks[row];
+                while (mask != 0) {
+                    int card = Integer.numberOfTrailingZeros(mask);
+                    held[card]++;
+                    won[card] += winners[row];
+                    mask &= mask - 1;
+                }
+            }
+
+            System.out.println("📊 " + reader.getRowCount() + " player rows");
+            for (int card = 0; card < cardNames.length; card++) {
+                if (held[card] > 0) {
+                    System.out.printf("%-32s held %8d  win rate %5.1f%%%n",
+                            cardNames[card], held[card], 100.0 * won[card] / held[card]);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Error reading statistics: " + e.getMessage());
+        }
+    }
+}
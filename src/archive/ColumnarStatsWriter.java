@@ -0,0 +1,267 @@
+package archive;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import model.cards.Card;
+import model.cards.CardDeckFactory;
+import model.cards.SuitCard;
+
+/**
+ * Exports per-player game statistics to a self-describing columnar file.
+ * Each finished game adds one row per player; values are accumulated in
+ * primitive column buffers and flushed as row groups, each column stored as
+ * one contiguous run of fixed-width values. Analysis tools can then load a
+ * single column for millions of rows without parsing text.
+ *
+ * <p>Columns (one row per player of each game):</p>
+ * <ul>
+ *   <li>{@code game} (int64): index of the game in the export</li>
+ *   <li>{@code seat}, {@code players} (int8): seat of the player and number of players</li>
+ *   <li>{@code variant} (dictionary): variant name</li>
+ *   <li>{@code expansion}, {@code ai}, {@code winner} (int8): 0 or 1</li>
+ *   <li>{@code score} (int32): final score of the player</li>
+ *   <li>{@code trophies} (int8): number of trophies won</li>
+ *   <li>{@code jest_mask}, {@code trophy_mask} (int32): bit {@code i} set if card {@code i}
+ *       is in the jest / was won as a trophy</li>
+ *   <li>{@code jest_size} (int8): number of cards in the jest</li>
+ * </ul>
+ *
+ * <p>File layout (big-endian):</p>
+ * <pre>
+ * header    : int magic "JCOL", short version,
+ *             short column count, (UTF name, byte type[, short size, UTF value...]) per column,
+ *             short card count, UTF card name per card id
+ * row group : int row count, (int byte length, values) per column
+ * footer    : int row group count, long offset per row group, long row count,
+ *             long footer offset, int magic "JCOL"
+ * </pre>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see ColumnarStatsReader
+ * @see GameRecord
+ */
+public class ColumnarStatsWriter implements Closeable {
+    /** The file extension used for columnar statistics */
+    public static final String EXTENSION = ".jcol";
+    /** The magic number opening and closing the file ("JCOL") */
+    static final int MAGIC = 0x4A434F4C;
+    /** The current version of the columnar format */
+    static final short VERSION = 1;
+    /** Column type: 8-bit integers */
+    static final byte INT8 = 1;
+    /** Column type: 32-bit integers */
+    static final byte INT32 = 2;
+    /** Column type: 64-bit integers */
+    static final byte INT64 = 3;
+    /** Column type: 8-bit codes into a dictionary of strings */
+    static final byte DICT8 = 4;
+    /** The number of rows buffered before a row group is written */
+    static final int ROW_GROUP_SIZE = 64 * 1024;
+
+    /** The known variant names, encoded by the variant column */
+    private static final String[] VARIANTS = {"Classic", "Speed", "High Stakes"};
+
+    /** The column names, in file order */
+    static final String[] COLUMN_NAMES = {"game", "seat", "players", "variant", "expansion", "ai",
+            "winner", "score", "trophies", "jest_mask", "trophy_mask", "jest_size"};
+    /** The column types, parallel to the names */
+    static final byte[] COLUMN_TYPES = {INT64, INT8, INT8, DICT8, INT8, INT8,
+            INT8, INT32, INT8, INT32, INT32, INT8};
+
+    /** The output stream of the file */
+    private final DataOutputStream out;
+    /** The column buffers of the row group being filled, parallel to the names */
+    private final ByteBuffer[] columns;
+    /** The number of rows in the row group being filled */
+    private int groupRows;
+    /** The offsets of the written row groups */
+    private final ArrayList<Long> groupOffsets;
+    /** The number of bytes written */
+    private long position;
+    /** The number of rows written or buffered */
+    private long rowCount;
+    /** The number of games added */
+    private long gameCount;
+
+    /**
+     * Constructs a ColumnarStatsWriter and writes the file header.
+     *
+     * @param file the file to create
+     * @throws IOException if the file cannot be created
+     */
+    public ColumnarStatsWriter(File file) throws IOException {
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        header.writeInt(MAGIC);
+        header.writeShort(VERSION);
+        header.writeShort(COLUMN_NAMES.length);
+        for (int i = 0; i < COLUMN_NAMES.length; i++) {
+            header.writeUTF(COLUMN_NAMES[i]);
+            header.writeByte(COLUMN_TYPES[i]);
+            if (COLUMN_TYPES[i] == DICT8) {
+                header.writeShort(VARIANTS.length);
+                for (String variant : VARIANTS) {
+                    header.writeUTF(variant);
+                }
+            }
+        }
+        ArrayList<Card> deck = CardDeckFactory.createFullDeck();
+        header.writeShort(deck.size());
+        for (Card card : deck) {
+            header.writeUTF(describe(card));
+        }
+
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 256 * 1024));
+        headerBytes.writeTo(out);
+        this.position = headerBytes.size();
+
+        this.columns = new ByteBuffer[COLUMN_NAMES.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = ByteBuffer.allocate(ROW_GROUP_SIZE * width(COLUMN_TYPES[i]));
+        }
+        this.groupOffsets = new ArrayList<>();
+    }
+
+    /**
+     * Gets the width of the values of a column type.
+     *
+     * @param type the column type
+     * @return the width of one value, in bytes
+     */
+    static int width(byte type) {
+        switch (type) {
+            case INT32:
+                return 4;
+            case INT64:
+                return 8;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * Describes a card for the card dictionary of the file.
+     *
+     * @param card the card
+     * @return the card's value, sign and effect (e.g., "3 HEARTH EVEN_VALUES")
+     */
+    private static String describe(Card card) {
+        if (card instanceof SuitCard) {
+            SuitCard suitCard = (SuitCard) card;
+            return suitCard.getValue() + " " + suitCard.getSign() + " " + card.getCardEffectCode();
+        }
+        return "Joker " + card.getCardEffectCode();
+    }
+
+    /**
+     * Adds the rows of a finished game, one per player.
+     *
+     * @param record the record of the game
+     * @throws IOException if a row group cannot be written
+     */
+    public void add(GameRecord record) throws IOException {
+        int playerCount = record.getPlayerCount();
+        int[] jestMasks = new int[playerCount];
+        int winner = 0;
+        for (int i = 0; i < playerCount; i++) {
+            for (byte cardId : record.getJest(i)) {
+                if (cardId >= 0) {
+                    jestMasks[i] |= 1 << cardId;
+                }
+            }
+            if (record.getScore(i) > record.getScore(winner)) {
+                winner = i;
+            }
+        }
+
+        int[] trophyMasks = new int[playerCount];
+        for (byte trophyId : record.getTrophies()) {
+            if (trophyId < 0) {
+                continue;
+            }
+            for (int i = 0; i < playerCount; i++) {
+                if ((jestMasks[i] & (1 << trophyId)) != 0) {
+                    trophyMasks[i] |= 1 << trophyId;
+                    break;
+                }
+            }
+        }
+
+        byte variant = (byte) Arrays.asList(VARIANTS).indexOf(record.getVariantName());
+        for (int i = 0; i < playerCount; i++) {
+            columns[0].putLong(gameCount);
+            columns[1].put((byte) i);
+            columns[2].put((byte) playerCount);
+            columns[3].put(variant);
+            columns[4].put((byte) (record.isIncludeExpansion() ? 1 : 0));
+            columns[5].put((byte) (record.isAI(i) ? 1 : 0));
+            columns[6].put((byte) (i == winner ? 1 : 0));
+            columns[7].putInt(record.getScore(i));
+            columns[8].put((byte) Integer.bitCount(trophyMasks[i]));
+            columns[9].putInt(jestMasks[i]);
+            columns[10].putInt(trophyMasks[i]);
+            columns[11].put((byte) Integer.bitCount(jestMasks[i]));
+            groupRows++;
+            rowCount++;
+
+            if (groupRows == ROW_GROUP_SIZE) {
+                flushRowGroup();
+            }
+        }
+        gameCount++;
+    }
+
+    /**
+     * Gets the number of rows added so far.
+     *
+     * @return the row count
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Writes the pending rows and the footer, and closes the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (groupRows > 0) {
+                flushRowGroup();
+            }
+            long footerOffset = position;
+            out.writeInt(groupOffsets.size());
+            for (long offset : groupOffsets) {
+                out.writeLong(offset);
+            }
+            out.writeLong(rowCount);
+            out.writeLong(footerOffset);
+            out.writeInt(MAGIC);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Writes the buffered rows as a row group and clears the column buffers.
+     *
+     * @throws IOException if the row group cannot be written
+     */
+    private void flushRowGroup() throws IOException {
+        groupOffsets.add(position);
+        out.writeInt(groupRows);
+        position += 4;
+        for (ByteBuffer column : columns) {
+            out.writeInt(column.position());
+            out.write(column.array(), 0, column.position());
+            position += 4 + column.position();
+            column.clear();
+        }
+        groupRows = 0;
+    }
+}
@@ -0,0 +1,335 @@
+package archive;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads an archive written by {@link GameArchiveWriter}.
+ * Opening an archive only reads the index footer of each chunk; records are
+ * then read block by block, so scanning or fetching a record never loads a
+ * whole chunk in memory. Every block is checked against its CRC32C checksum
+ * before being decompressed.
+ *
+ * <p>Typical usage:</p>
+ * <pre>
+ * try (GameArchiveReader reader = GameArchiveReader.open(dir, "batch")) {
+ *     GameRecord record = reader.get(123456);
+ *     reader.scan(r -&gt; stats.add(r));
+ * }
+ * </pre>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see GameArchiveWriter
+ * @see GameRecord
+ */
+public class GameArchiveReader implements Closeable {
+    /** The open chunk files */
+    private final FileChannel[] chunks;
+    /** The chunk holding each block */
+    private final int[] blockChunks;
+    /** The offset of each block in its chunk */
+    private final long[] blockOffsets;
+    /** The global index of the first record of each block (plus the total at the end) */
+    private final long[] blockFirstRecords;
+
+    /** The decompressor, reused for every block */
+    private final Inflater inflater;
+    /** The checksum, reused for every block */
+    private final CRC32C checksum;
+    /** The index of the cached decompressed block, or -1 */
+    private int cachedBlock;
+    /** The cached decompressed block */
+    private ByteBuffer cachedData;
+    /** The positions of the records in the cached block */
+    private int[] cachedRecordPositions;
+
+    /**
+     * Constructs a GameArchiveReader from the loaded indexes.
+     */
+    private GameArchiveReader(FileChannel[] chunks, int[] blockChunks, long[] blockOffsets, long[] blockFirstRecords) {
+        this.chunks = chunks;
+        this.blockChunks = blockChunks;
+        this.blockOffsets = blockOffsets;
+        this.blockFirstRecords = blockFirstRecords;
+        this.inflater = new Inflater();
+        this.checksum = new CRC32C();
+        this.cachedBlock = -1;
+    }
+
+    /**
+     * Opens the archive made of the chunks with the given base name.
+     *
+     * @param directory the directory containing the chunks
+     * @param baseName the common prefix of the chunk file names
+     * @return the reader
+     * @throws IOException if a chunk cannot be opened or is not an archive chunk
+     */
+    public static GameArchiveReader open(File directory, String baseName) throws IOException {
+        ArrayList<FileChannel> channels = new ArrayList<>();
+        int blockCount = 0;
+        int[] blockChunks = new int[64];
+        long[] blockOffsets = new long[64];
+        long[] blockFirstRecords = new long[65];
+        long records = 0;
+
+        try {
+            for (int chunk = 0; ; chunk++) {
+                File file = GameArchiveWriter.chunkFile(directory, baseName, chunk);
+                if (!file.exists()) {
+                    break;
+                }
+                FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+                channels.add(channel);
+
+                long[][] index = readIndex(channel, file.getName());
+                for (int i = 0; i < index[0].length; i++) {
+                    if (blockCount == blockOffsets.length) {
+                        blockChunks = Arrays.copyOf(blockChunks, blockCount * 2);
+                        blockOffsets = Arrays.copyOf(blockOffsets, blockCount * 2);
+                        blockFirstRecords = Arrays.copyOf(blockFirstRecords, blockCount * 2 + 1);
+                    }
+                    blockChunks[blockCount] = chunk;
+                    blockOffsets[blockCount] = index[0][i];
+                    blockFirstRecords[blockCount] = records;
+                    records += index[1][i];
+                    blockCount++;
+                }
+            }
+        } catch (IOException e) {
+            for (FileChannel channel : channels) {
+                channel.close();
+            }
+            throw e;
+        }
+
+        blockFirstRecords[blockCount] = records;
+        return new GameArchiveReader(channels.toArray(new FileChannel[0]),
+                Arrays.copyOf(blockChunks, blockCount),
+                Arrays.copyOf(blockOffsets, blockCount),
+                Arrays.copyOf(blockFirstRecords, blockCount + 1));
+    }
+
+    /**
+     * Reads the block index of a chunk from its footer, or rebuilds it from the
+     * block headers if the chunk was not closed properly.
+     *
+     * @param channel the chunk file
+     * @param name the chunk file name, for error messages
+     * @return the block offsets and the block record counts
+     * @throws IOException if the chunk is not an archive chunk
+     */
+    private static long[][] readIndex(FileChannel channel, String name) throws IOException {
+        long size = channel.size();
+        ByteBuffer header = readFully(channel, 0, GameArchiveWriter.HEADER_SIZE);
+        if (header.getInt() != GameArchiveWriter.MAGIC) {
+            throw new IOException("Not an archive chunk: " + name);
+        }
+        short version = header.getShort();
+        if (version != GameArchiveWriter.VERSION) {
+            throw new IOException("Unsupported archive version " + version + ": " + name);
+        }
+
+        if (size >= GameArchiveWriter.HEADER_SIZE + 16) {
+            ByteBuffer trailer = readFully(channel, size - 12, 12);
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() == GameArchiveWriter.FOOTER_MAGIC
+                    && footerOffset >= GameArchiveWriter.HEADER_SIZE && footerOffset < size - 12) {
+                ByteBuffer footer = readFully(channel, footerOffset, (int) (size - 12 - footerOffset));
+                int blockCount = footer.getInt();
+                long[][] index = new long[2][blockCount];
+                for (int i = 0; i < blockCount; i++) {
+                    index[0][i] = footer.getLong();
+                    index[1][i] = footer.getInt();
+                }
+                return index;
+            }
+        }
+
+        // Without footer, keep the blocks whose header and checksum are intact,
+        // up to the first damaged one (usually the block being written at the crash)
+        System.err.println("⚠️ Archive chunk without index, rebuilding: " + name);
+        ArrayList<long[]> blocks = new ArrayList<>();
+        CRC32C checksum = new CRC32C();
+        long position = GameArchiveWriter.HEADER_SIZE;
+        while (position + GameArchiveWriter.BLOCK_HEADER_SIZE <= size) {
+            ByteBuffer blockHeader = readFully(channel, position, GameArchiveWriter.BLOCK_HEADER_SIZE);
+            int compressedLength = blockHeader.getInt();
+            blockHeader.getInt();
+            int recordCount = blockHeader.getInt();
+            int expectedChecksum = blockHeader.getInt();
+            long end = position + GameArchiveWriter.BLOCK_HEADER_SIZE + compressedLength;
+            if (compressedLength <= 0 || recordCount <= 0 || end > size) {
+                break;
+            }
+            ByteBuffer compressed = readFully(channel, position + GameArchiveWriter.BLOCK_HEADER_SIZE, compressedLength);
+            checksum.reset();
+            checksum.update(compressed);
+            if ((int) checksum.getValue() != expectedChecksum) {
+                break;
+            }
+            blocks.add(new long[] {position, recordCount});
+            position = end;
+        }
+        long[][] index = new long[2][blocks.size()];
+        for (int i = 0; i < blocks.size(); i++) {
+            index[0][i] = blocks.get(i)[0];
+            index[1][i] = blocks.get(i)[1];
+        }
+        return index;
+    }
+
+    /**
+     * Gets the number of records in the archive.
+     *
+     * @return the record count
+     */
+    public long size() {
+        return blockFirstRecords[blockFirstRecords.length - 1];
+    }
+
+    /**
+     * Reads the record at the given index.
+     * Only the block holding the record is read and decompressed; consecutive
+     * reads within the same block reuse it.
+     *
+     * @param index the global index of the record
+     * @return the record
+     * @throws IOException if the block cannot be read or is corrupted
+     * @throws IndexOutOfBoundsException if the index is outside the archive
+     */
+    public synchronized GameRecord get(long index) throws IOException {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Record " + index + " outside archive of " + size());
+        }
+
+        int low = 0;
+        int high = blockOffsets.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (blockFirstRecords[mid] <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        ByteBuffer data = loadBlock(low);
+        if (cachedRecordPositions == null) {
+            int count = (int) (blockFirstRecords[low + 1] - blockFirstRecords[low]);
+            cachedRecordPositions = new int[count];
+            int position = 0;
+            for (int i = 0; i < count; i++) {
+                cachedRecordPositions[i] = position + 4;
+                position += 4 + data.getInt(position);
+            }
+        }
+
+        data.position(cachedRecordPositions[(int) (index - blockFirstRecords[low])]);
+        return GameRecord.decode(data);
+    }
+
+    /**
+     * Reads every record of the archive in order.
+     *
+     * @param consumer the action receiving each record
+     * @throws IOException if a block cannot be read or is corrupted
+     */
+    public synchronized void scan(Consumer<GameRecord> consumer) throws IOException {
+        for (int blockIndex = 0; blockIndex < blockOffsets.length; blockIndex++) {
+            ByteBuffer data = loadBlock(blockIndex);
+            data.position(0);
+            while (data.hasRemaining()) {
+                int length = data.getInt();
+                int next = data.position() + length;
+                consumer.accept(GameRecord.decode(data));
+                data.position(next);
+            }
+        }
+    }
+
+    /**
+     * Closes the chunk files.
+     *
+     * @throws IOException if a chunk cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        inflater.end();
+        for (FileChannel channel : chunks) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Reads, verifies and decompresses a block, unless it is the cached one.
+     *
+     * @param blockIndex the index of the block
+     * @return the decompressed block
+     * @throws IOException if the block cannot be read or is corrupted
+     */
+    private ByteBuffer loadBlock(int blockIndex) throws IOException {
+        if (blockIndex == cachedBlock) {
+            return cachedData;
+        }
+
+        FileChannel channel = chunks[blockChunks[blockIndex]];
+        long offset = blockOffsets[blockIndex];
+        ByteBuffer header = readFully(channel, offset, GameArchiveWriter.BLOCK_HEADER_SIZE);
+        int compressedLength = header.getInt();
+        int length = header.getInt();
+        header.getInt();
+        int expectedChecksum = header.getInt();
+
+        ByteBuffer compressed = readFully(channel, offset + GameArchiveWriter.BLOCK_HEADER_SIZE, compressedLength);
+        checksum.reset();
+        checksum.update(compressed.array(), 0, compressedLength);
+        if ((int) checksum.getValue() != expectedChecksum) {
+            throw new IOException("Corrupted archive block " + blockIndex + " (checksum mismatch)");
+        }
+
+        byte[] data = new byte[length];
+        inflater.reset();
+        inflater.setInput(compressed.array(), 0, compressedLength);
+        try {
+            if (inflater.inflate(data) != length) {
+                throw new IOException("Corrupted archive block " + blockIndex + " (truncated data)");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted archive block " + blockIndex + ": " + e.getMessage(), e);
+        }
+
+        cachedBlock = blockIndex;
+        cachedData = ByteBuffer.wrap(data);
+        cachedRecordPositions = null;
+        return cachedData;
+    }
+
+    /**
+     * Reads a range of a file into a new buffer.
+     *
+     * @param channel the file
+     * @param position the position of the range
+     * @param length the length of the range
+     * @return a buffer holding the range, positioned at its start
+     * @throws IOException if the range cannot be read entirely
+     */
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of archive chunk");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,286 @@
+package archive;
+
+import java.io.*;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+
+/**
+ * Streams game records into block-compressed, checksummed chunk files.
+ * Records are packed into blocks of about {@value #BLOCK_SIZE} bytes; each
+ * block is compressed on its own and protected by a CRC32C checksum, so that
+ * a reader can verify and decompress any block independently. When a chunk
+ * file grows beyond the chunk size, it is closed with an index footer and the
+ * next chunk is started.
+ *
+ * <p>Chunk file layout (big-endian):</p>
+ * <pre>
+ * header : int magic "JARC", short version
+ * block  : int compressed length, int uncompressed length, int record count,
+ *          int CRC32C of the compressed bytes, compressed bytes
+ *          (uncompressed: int length, record bytes, repeated)
+ * footer : int block count, (long offset, int record count) per block,
+ *          long footer offset, int magic "JIDX"
+ * </pre>
+ *
+ * <p>Chunks are named {@code <baseName>-00000.jarc}, {@code <baseName>-00001.jarc}, ...
+ * A chunk left without footer (e.g. after a crash) is still readable: the
+ * reader rebuilds its index from the block headers.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see GameArchiveReader
+ * @see GameRecord
+ */
+public class GameArchiveWriter implements Closeable {
+    /** The file extension used for archive chunks */
+    public static final String EXTENSION = ".jarc";
+    /** The magic number opening every chunk ("JARC") */
+    static final int MAGIC = 0x4A415243;
+    /** The magic number closing every chunk footer ("JIDX") */
+    static final int FOOTER_MAGIC = 0x4A494458;
+    /** The current version of the archive format */
+    static final short VERSION = 1;
+    /** The size of the chunk header, in bytes */
+    static final int HEADER_SIZE = 6;
+    /** The size of a block header, in bytes */
+    static final int BLOCK_HEADER_SIZE = 16;
+    /** The target uncompressed size of a block, in bytes */
+    static final int BLOCK_SIZE = 64 * 1024;
+    /** The default size after which a chunk is closed, in bytes */
+    public static final long DEFAULT_CHUNK_SIZE = 64L * 1024 * 1024;
+
+    /** The directory containing the chunks */
+    private final File directory;
+    /** The common prefix of the chunk file names */
+    private final String baseName;
+    /** The size after which a chunk is closed */
+    private final long chunkSize;
+
+    /** The number of the chunk being written */
+    private int chunkNumber;
+    /** The output stream of the chunk being written */
+    private DataOutputStream out;
+    /** The number of bytes written to the current chunk */
+    private long position;
+    /** The offsets of the blocks of the current chunk */
+    private long[] blockOffsets;
+    /** The record counts of the blocks of the current chunk */
+    private int[] blockCounts;
+    /** The number of blocks in the current chunk */
+    private int blockCount;
+
+    /** The block being filled */
+    private ByteBuffer block;
+    /** The number of records in the block being filled */
+    private int blockRecords;
+    /** The buffer receiving each encoded record */
+    private ByteBuffer scratch;
+    /** The buffer receiving each compressed block */
+    private byte[] compressed;
+    /** The compressor, reused for every block */
+    private final Deflater deflater;
+    /** The checksum, reused for every block */
+    private final CRC32C checksum;
+    /** The total number of records appended */
+    private long recordCount;
+
+    /**
+     * Constructs a GameArchiveWriter with the default chunk size.
+     *
+     * @param directory the directory receiving the chunks (created if needed)
+     * @param baseName the common prefix of the chunk file names
+     * @throws IOException if the first chunk cannot be created
+     */
+    public GameArchiveWriter(File directory, String baseName) throws IOException {
+        this(directory, baseName, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a GameArchiveWriter.
+     *
+     * @param directory the directory receiving the chunks (created if needed)
+     * @param baseName the common prefix of the chunk file names
+     * @param chunkSize the size in bytes after which a chunk is closed and the next one started
+     * @throws IOException if the first chunk cannot be created
+     */
+    public GameArchiveWriter(File directory, String baseName, long chunkSize) throws IOException {
+        this.directory = directory;
+        this.baseName = baseName;
+        this.chunkSize = chunkSize;
+        this.block = ByteBuffer.allocate(BLOCK_SIZE);
+        this.scratch = ByteBuffer.allocate(1024);
+        this.compressed = new byte[BLOCK_SIZE];
+        this.deflater = new Deflater(Deflater.BEST_SPEED);
+        this.checksum = new CRC32C();
+        this.chunkNumber = 0;
+
+        Files.createDirectories(directory.toPath());
+        openChunk();
+    }
+
+    /**
+     * Gets the file of a chunk.
+     *
+     * @param directory the directory containing the chunks
+     * @param baseName the common prefix of the chunk file names
+     * @param chunkNumber the number of the chunk
+     * @return the chunk file
+     */
+    static File chunkFile(File directory, String baseName, int chunkNumber) {
+        return new File(directory, String.format("%s-%05d%s", baseName, chunkNumber, EXTENSION));
+    }
+
+    /**
+     * Appends a record to the archive.
+     *
+     * @param record the record to append
+     * @throws IOException if a block cannot be written
+     */
+    public synchronized void append(GameRecord record) throws IOException {
+        if (out == null) {
+            throw new IOException("Archive is closed");
+        }
+
+        while (true) {
+            scratch.clear();
+            try {
+                record.encode(scratch);
+                break;
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+        scratch.flip();
+        int length = scratch.remaining();
+
+        if (block.remaining() < 4 + length && blockRecords > 0) {
+            flushBlock();
+        }
+        if (block.remaining() < 4 + length) {
+            block = ByteBuffer.allocate(4 + length);
+        }
+
+        block.putInt(length);
+        block.put(scratch);
+        blockRecords++;
+        recordCount++;
+    }
+
+    /**
+     * Gets the number of records appended so far.
+     *
+     * @return the record count
+     */
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Writes the pending block and closes the current chunk with its footer.
+     *
+     * @throws IOException if the archive cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (out == null) {
+            return;
+        }
+        try {
+            if (blockRecords > 0) {
+                flushBlock();
+            }
+            closeChunk();
+        } finally {
+            deflater.end();
+            out = null;
+        }
+    }
+
+    /**
+     * Compresses the block being filled, writes it with its checksum and
+     * starts a new chunk if the current one is full.
+     *
+     * @throws IOException if the block cannot be written
+     */
+    private void flushBlock() throws IOException {
+        int length = block.position();
+        deflater.reset();
+        deflater.setInput(block.array(), 0, length);
+        deflater.finish();
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+
+        checksum.reset();
+        checksum.update(compressed, 0, compressedLength);
+
+        if (blockCount == blockOffsets.length) {
+            blockOffsets = Arrays.copyOf(blockOffsets, blockCount * 2);
+            blockCounts = Arrays.copyOf(blockCounts, blockCount * 2);
+        }
+        blockOffsets[blockCount] = position;
+        blockCounts[blockCount] = blockRecords;
+        blockCount++;
+
+        out.writeInt(compressedLength);
+        out.writeInt(length);
+        out.writeInt(blockRecords);
+        out.writeInt((int) checksum.getValue());
+        out.write(compressed, 0, compressedLength);
+        position += BLOCK_HEADER_SIZE + compressedLength;
+
+        if (block.capacity() > BLOCK_SIZE) {
+            block = ByteBuffer.allocate(BLOCK_SIZE);
+        } else {
+            block.clear();
+        }
+        blockRecords = 0;
+
+        if (position >= chunkSize) {
+            closeChunk();
+            chunkNumber++;
+            openChunk();
+        }
+    }
+
+    /**
+     * Creates the current chunk file and writes its header.
+     *
+     * @throws IOException if the chunk cannot be created
+     */
+    private void openChunk() throws IOException {
+        File file = chunkFile(directory, baseName, chunkNumber);
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 256 * 1024));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        position = HEADER_SIZE;
+        blockOffsets = new long[64];
+        blockCounts = new int[64];
+        blockCount = 0;
+    }
+
+    /**
+     * Writes the index footer of the current chunk and closes it.
+     *
+     * @throws IOException if the footer cannot be written
+     */
+    private void closeChunk() throws IOException {
+        long footerOffset = position;
+        out.writeInt(blockCount);
+        for (int i = 0; i < blockCount; i++) {
+            out.writeLong(blockOffsets[i]);
+            out.writeInt(blockCounts[i]);
+        }
+        out.writeLong(footerOffset);
+        out.writeInt(FOOTER_MAGIC);
+        out.close();
+    }
+}
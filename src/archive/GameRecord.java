@@ -0,0 +1,304 @@
+package archive;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import model.cards.Card;
+import model.cards.CardDeckFactory;
+import model.game.Game;
+import model.game.GameState;
+import model.game.PlayerState;
+import player.Player;
+
+/**
+ * Represents one archived game in a compact, immutable form.
+ * Cards are stored as the single-byte identifiers of
+ * {@link CardDeckFactory#getCardId(Card)}, which keeps a finished game around
+ * a hundred bytes before compression.
+ *
+ * <p>A record is built from the {@link GameState}/{@link PlayerState} data
+ * model, plus the final score of each player when the game is finished.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see GameArchiveWriter
+ * @see GameArchiveReader
+ */
+public class GameRecord {
+    /** The seed of the game */
+    private final long seed;
+    /** The round number reached */
+    private final int roundNumber;
+    /** The name of the variant played */
+    private final String variantName;
+    /** Flag indicating whether the expansion pack is included */
+    private final boolean includeExpansion;
+    /** The identifiers of the trophy cards (-1 for none) */
+    private final byte[] trophies;
+    /** The names of the players, in seating order */
+    private final String[] playerNames;
+    /** Flags indicating which players are controlled by AI */
+    private final boolean[] aiPlayers;
+    /** The identifiers of the cards in each player's jest */
+    private final byte[][] jests;
+    /** The identifiers of the cards in each player's offer (-1 for none) */
+    private final byte[][] offers;
+    /** The score of each player */
+    private final int[] scores;
+
+    /**
+     * Constructs a GameRecord from a game state and the players' scores.
+     *
+     * @param state the game state to archive
+     * @param scores the score of each player, in seating order
+     */
+    public GameRecord(GameState state, int[] scores) {
+        this.seed = state.getSeed();
+        this.roundNumber = state.getRoundNumber();
+        this.variantName = state.getVariantName();
+        this.includeExpansion = state.isIncludeExpansion();
+        this.trophies = toIds(state.getTrophies());
+
+        int playerCount = state.getPlayerStates().size();
+        this.playerNames = new String[playerCount];
+        this.aiPlayers = new boolean[playerCount];
+        this.jests = new byte[playerCount][];
+        this.offers = new byte[playerCount][];
+        for (int i = 0; i < playerCount; i++) {
+            PlayerState playerState = state.getPlayerStates().get(i);
+            playerNames[i] = playerState.getName();
+            aiPlayers[i] = playerState.isAI();
+            jests[i] = toIds(playerState.getJest().toArray(new Card[0]));
+            offers[i] = toIds(playerState.getOffer());
+        }
+        this.scores = scores.clone();
+    }
+
+    /**
+     * Constructs a GameRecord from its decoded fields.
+     */
+    private GameRecord(long seed, int roundNumber, String variantName, boolean includeExpansion, byte[] trophies,
+                       String[] playerNames, boolean[] aiPlayers, byte[][] jests, byte[][] offers, int[] scores) {
+        this.seed = seed;
+        this.roundNumber = roundNumber;
+        this.variantName = variantName;
+        this.includeExpansion = includeExpansion;
+        this.trophies = trophies;
+        this.playerNames = playerNames;
+        this.aiPlayers = aiPlayers;
+        this.jests = jests;
+        this.offers = offers;
+        this.scores = scores;
+    }
+
+    /**
+     * Builds the record of a game, scoring every player with the game's variant.
+     *
+     * @param game the game to archive (typically finished)
+     * @return the record of the game
+     */
+    public static GameRecord of(Game game) {
+        int[] scores = new int[game.getPlayers().size()];
+        for (int i = 0; i < scores.length; i++) {
+            Player player = game.getPlayers().get(i);
+            scores[i] = game.getVariant().calculatePoints(player);
+        }
+        return new GameRecord(new GameState(game, game.isIncludeExpansion()), scores);
+    }
+
+    /**
+     * Converts cards to their identifiers.
+     *
+     * @param cards the cards (may be null or contain null entries)
+     * @return the card identifiers, -1 for null entries
+     */
+    private static byte[] toIds(Card[] cards) {
+        if (cards == null) {
+            return new byte[0];
+        }
+        byte[] ids = new byte[cards.length];
+        for (int i = 0; i < cards.length; i++) {
+            ids[i] = (byte) CardDeckFactory.getCardId(cards[i]);
+        }
+        return ids;
+    }
+
+    /**
+     * Encodes this record at the position of the buffer.
+     *
+     * @param buffer the buffer receiving the record
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     */
+    void encode(ByteBuffer buffer) {
+        buffer.putLong(seed);
+        buffer.putShort((short) roundNumber);
+        putString(buffer, variantName);
+        buffer.put((byte) (includeExpansion ? 1 : 0));
+        putBytes(buffer, trophies);
+        buffer.put((byte) playerNames.length);
+        for (int i = 0; i < playerNames.length; i++) {
+            putString(buffer, playerNames[i]);
+            buffer.put((byte) (aiPlayers[i] ? 1 : 0));
+            putBytes(buffer, jests[i]);
+            putBytes(buffer, offers[i]);
+            buffer.putInt(scores[i]);
+        }
+    }
+
+    /**
+     * Decodes a record at the position of the buffer.
+     *
+     * @param buffer the buffer holding the record
+     * @return the decoded record
+     * @throws BufferUnderflowException if the buffer ends before the record
+     */
+    static GameRecord decode(ByteBuffer buffer) {
+        long seed = buffer.getLong();
+        int roundNumber = buffer.getShort();
+        String variantName = getString(buffer);
+        boolean includeExpansion = buffer.get() != 0;
+        byte[] trophies = getBytes(buffer);
+        int playerCount = buffer.get() & 0xFF;
+        String[] playerNames = new String[playerCount];
+        boolean[] aiPlayers = new boolean[playerCount];
+        byte[][] jests = new byte[playerCount][];
+        byte[][] offers = new byte[playerCount][];
+        int[] scores = new int[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            playerNames[i] = getString(buffer);
+            aiPlayers[i] = buffer.get() != 0;
+            jests[i] = getBytes(buffer);
+            offers[i] = getBytes(buffer);
+            scores[i] = buffer.getInt();
+        }
+        return new GameRecord(seed, roundNumber, variantName, includeExpansion, trophies,
+                playerNames, aiPlayers, jests, offers, scores);
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.put((byte) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.get() & 0xFF];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Gets the seed of the game.
+     *
+     * @return the game seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the round number reached.
+     *
+     * @return the round number
+     */
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    /**
+     * Gets the name of the variant played.
+     *
+     * @return the variant name (e.g., "Classic", "Speed", "High Stakes")
+     */
+    public String getVariantName() {
+        return variantName;
+    }
+
+    /**
+     * Checks whether the expansion pack is included.
+     *
+     * @return true if the expansion pack is included, false otherwise
+     */
+    public boolean isIncludeExpansion() {
+        return includeExpansion;
+    }
+
+    /**
+     * Gets the identifiers of the trophy cards.
+     *
+     * @return the trophy card identifiers (-1 for none)
+     */
+    public byte[] getTrophies() {
+        return trophies.clone();
+    }
+
+    /**
+     * Gets the number of players.
+     *
+     * @return the number of players
+     */
+    public int getPlayerCount() {
+        return playerNames.length;
+    }
+
+    /**
+     * Gets the name of a player.
+     *
+     * @param index the seat index of the player
+     * @return the player's name
+     */
+    public String getPlayerName(int index) {
+        return playerNames[index];
+    }
+
+    /**
+     * Checks whether a player is controlled by AI.
+     *
+     * @param index the seat index of the player
+     * @return true if the player is an AI
+     */
+    public boolean isAI(int index) {
+        return aiPlayers[index];
+    }
+
+    /**
+     * Gets the identifiers of the cards in a player's jest.
+     *
+     * @param index the seat index of the player
+     * @return the card identifiers of the jest
+     */
+    public byte[] getJest(int index) {
+        return jests[index].clone();
+    }
+
+    /**
+     * Gets the identifiers of the cards in a player's offer.
+     *
+     * @param index the seat index of the player
+     * @return the card identifiers of the offer (-1 for none)
+     */
+    public byte[] getOffer(int index) {
+        return offers[index].clone();
+    }
+
+    /**
+     * Gets the score of a player.
+     *
+     * @param index the seat index of the player
+     * @return the player's score
+     */
+    public int getScore(int index) {
+        return scores[index];
+    }
+}
@@ -0,0 +1,98 @@
+package archive;
+
+import java.io.*;
+import model.game.Game;
+import player.AI;
+import util.Pacing;
+
+/**
+ * Plays a batch of games between AI players and archives every finished game,
+ * along with a columnar file of per-player statistics ({@code <baseName>.jcol}).
+ * Games run headless: pauses are disabled for the duration of the batch, and
+ * the games have no event listener, so the engine prints nothing.
+ *
+ * <p>Usage: {@code java archive.SimulationBatch <games> [directory] [baseName]}</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see GameArchiveWriter
+ * @see ColumnarStatsWriter
+ */
+public class SimulationBatch {
+
+    /**
+     * Plays a complete game between AI players.
+     *
+     * @param playerCount the number of players (3 or 4)
+     * @param includeExpansion true to include the expansion cards
+     * @return the finished game
+     */
+    public static Game playGame(int playerCount, boolean includeExpansion) {
+        Game game = new Game(includeExpansion);
+        for (int i = 0; i < playerCount; i++) {
+            game.addPlayer(new AI("Bot" + (i + 1)));
+        }
+        game.setTrophies();
+        while (!game.getCards().isEmpty()) {
+            game.playRound();
+        }
+        game.finishGame();
+        return game;
+    }
+
+    /**
+     * Runs the batch and reports the archiving throughput.
+     *
+     * @param args the number of games, then optionally the archive directory and base name
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: java archive.SimulationBatch <games> [directory] [baseName]");
+            return;
+        }
+        int games = Integer.parseInt(args[0]);
+        File directory = new File(args.length > 1 ? args[1] : "jest_archives");
+        String baseName = args.length > 2 ? args[2] : "batch";
+
+        Pacing.setUnpaced(true);
+        long archiveNanos = 0;
+        int failed = 0;
+
+        File statsFile = new File(directory, baseName + ColumnarStatsWriter.EXTENSION);
+        long archived;
+        long closeStart;
+        try (GameArchiveWriter writer = new GameArchiveWriter(directory, baseName);
+             ColumnarStatsWriter stats = new ColumnarStatsWriter(statsFile)) {
+            for (int i = 0; i < games; i++) {
+                Game game;
+                try {
+                    game = playGame(3 + i % 2, i % 4 >= 2);
+                } catch (RuntimeException e) {
+                    failed++;
+                    continue;
+                }
+                GameRecord record = GameRecord.of(game);
+                long start = System.nanoTime();
+                writer.append(record);
+                archiveNanos += System.nanoTime() - start;
+                stats.add(record);
+            }
+            archived = writer.getRecordCount();
+            // Closing the writers flushes the last block: it counts in the archiving time
+            closeStart = System.nanoTime();
+        } catch (IOException e) {
+            System.err.println("❌ Error writing archive: " + e.getMessage());
+            return;
+        } finally {
+            Pacing.setUnpaced(false);
+        }
+        archiveNanos += System.nanoTime() - closeStart;
+
+        System.out.println("📦 Archived " + archived + " games in " + directory.getPath()
+                + " (" + failed + " failed)");
+        System.out.println("📊 Statistics: " + statsFile.getPath());
+        if (archiveNanos > 0) {
+            System.out.println("⏱️ Archive throughput: " + (archived * 1_000_000_000L / archiveNanos) + " games/s");
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package event;
+
+import model.cards.Card;
+import model.game.Game;
+import player.Human;
+import player.Player;
+import util.Pacing;
+
+import java.util.List;
+
+/**
+ * Tells the progress of a game on the console, with ANSI colors.
+ * This is the console interface of the game: the engine itself prints
+ * nothing, and games played without this listener stay silent.
+ *
+ * <p>The prompts shown to console players ("which card do you want to hide?")
+ * are written here too, right before the engine reads their answer.</p>
+ *
+ * <p>The final scores are paced (see {@link Pacing}) so players can read them
+ * one after the other.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see GameEventBus
+ */
+public class ConsoleEventListener implements GameEventListener {
+    /** The listener shared by the console games */
+    public static final ConsoleEventListener INSTANCE = new ConsoleEventListener();
+
+    private static final String RESET  = "\u001B[0m";
+    private static final String RED    = "\u001B[31m";
+    private static final String GREEN  = "\u001B[32m";
+    private static final String YELLOW = "\u001B[33m";
+    private static final String BLUE   = "\u001B[34m";
+    private static final String CYAN   = "\u001B[36m";
+
+    @Override
+    public void onRoundStart(Game game) {
+        System.out.println(GREEN + "===== ROUND " + game.getRoundNumber() + " =====" + RESET);
+        System.out.println(YELLOW + "Let's give the cards! Please don't watch the chosen hidden card of the player!" + RESET + "\n");
+    }
+
+    @Override
+    public void onNotice(Game game, String message) {
+        System.out.println(CYAN + message + RESET);
+    }
+
+    @Override
+    public void onDeal(Game game, Player player, Card card1, Card card2) {
+        if (card2 == null) {
+            System.out.println(RED + player.getName() + RESET + ", "
+                    + YELLOW + "you only have one card available. It will be your visible card." + RESET);
+            System.out.println(GREEN + "Card set as visible: " + card1 + RESET);
+            return;
+        }
+        System.out.println(RED + player.getName() + RESET + ", "
+                + YELLOW + "which card do you want to hide? " + BLUE + "(1, 2)" + RESET);
+        System.out.println(BLUE + "(1) " + RESET + card1);
+        System.out.println(BLUE + "(2) " + RESET + card2);
+        prompt(player);
+    }
+
+    @Override
+    public void onHide(Game game, Player player, int choice) {
+        if (choice > 0) {
+            System.out.println(GREEN + "You chose to hide card " + choice + "." + RESET);
+        }
+    }
+
+    @Override
+    public void onPickOptions(Game game, Player player, List<Card> options, List<Player> owners) {
+        if (game.getPlayersThatHavePlayedThisRound().isEmpty()) {
+            System.out.println(YELLOW + "Now, let's determine the first player to play ..." + RESET + "\n");
+            System.out.println(GREEN + "The player that starts is " + RED + player.getName() + RESET + " 🎮");
+        } else {
+            System.out.println(BLUE + "\nNext turn!" + RESET);
+        }
+        System.out.println(RED + player.getName() + RESET + ", " + YELLOW + "which card do you want to pick ?" + RESET);
+
+        for (Player other : game.getPlayers()) {
+            if (other != player && !owners.contains(other)) {
+                System.out.println(RED + other.getName() + RESET + YELLOW + " has only 1 card, so you can't pick it" + RESET);
+            }
+        }
+        if (!owners.isEmpty() && owners.get(0) == player) {
+            System.out.println(YELLOW + "There are no cards available to pick from your opponents."
+                    + " Please choose one of your own cards:" + RESET);
+        }
+
+        // The options of an owner are consecutive: one line per owner
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < options.size(); i++) {
+            if (i == 0 || owners.get(i) != owners.get(i - 1)) {
+                if (i > 0) {
+                    System.out.println(line);
+                    line.setLength(0);
+                }
+                line.append(RED).append(owners.get(i).getName()).append(RESET).append(": \n");
+            }
+            Card card = options.get(i);
+            line.append(BLUE).append('(').append(i + 1).append(") ").append(RESET)
+                    .append(card.isVisible() ? card.toString() : "hidden card 🫣").append(' ');
+        }
+        if (!line.isEmpty()) {
+            System.out.println(line);
+        }
+        prompt(player);
+    }
+
+    @Override
+    public void onPick(Game game, Player player, Card card, Player owner) {
+        System.out.println(GREEN + "You picked a card from " + owner.getName() + "!" + RESET);
+    }
+
+    @Override
+    public void onRoundEnd(Game game) {
+        System.out.println(GREEN + "\nThe round has ended!" + RESET);
+    }
+
+    @Override
+    public void onTrophy(Game game, Card trophy, Player winner) {
+        System.out.println(YELLOW + "🏆 " + RED + winner.getName() + YELLOW + " wins the trophy " + RESET + trophy);
+        Pacing.pause(500);
+    }
+
+    @Override
+    public void onScore(Game game, Player player, int points, boolean withTrophies) {
+        if (player == game.getPlayers().get(0)) {
+            System.out.println(YELLOW + (withTrophies ? "\nLet's reveal players' Jests with Trophies! 👀"
+                    : "Let's reveal players' Jests! 👀") + RESET);
+        }
+        System.out.println(GREEN + "Points: " + RESET + points);
+        System.out.println(RED + player + RESET);
+        Pacing.pause(500);
+    }
+
+    @Override
+    public void onGameEnd(Game game, Player winner) {
+        System.out.println();
+        System.out.println(BLUE + "======================================" + RESET);
+        System.out.println(YELLOW + "🏅  The winner is " + RED + winner.getName() + YELLOW + "!  🎉" + RESET);
+        System.out.println(BLUE + "======================================" + RESET);
+        System.out.println(GREEN + "Thanks for playing Jest! 👏" + RESET);
+    }
+
+    @Override
+    public void onSave(Game game, String saveName, boolean saved) {
+        if (saved) {
+            System.out.println(GREEN + "💾 Game saved successfully: " + saveName + RESET);
+        }
+    }
+
+    @Override
+    public void onLoad(Game game, String saveName) {
+        System.out.println(GREEN + "✅ Game loaded successfully: " + saveName + RESET);
+        System.out.println(YELLOW + "Resuming from Round " + game.getRoundNumber() + RESET);
+    }
+
+    /**
+     * Shows the input prompt when the answer is typed on the console.
+     */
+    private static void prompt(Player player) {
+        if (player instanceof Human) {
+            System.out.print(BLUE + "-> " + RESET);
+        }
+    }
+}
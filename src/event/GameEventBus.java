@@ -0,0 +1,235 @@
+package event;
+
+import model.cards.Card;
+import model.game.Game;
+import player.Player;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Publishes the events of one game to its {@link GameEventListener}s.
+ * The engine reports its progress only through the bus: the console, the
+ * JavaFX interface or any tool subscribes to what it needs, and a game
+ * without subscribers (simulations, server tables) builds no message at all.
+ *
+ * <p>The subscribers are kept in a copy-on-write array: publishing reads one
+ * volatile field and allocates nothing, and costs a single length check when
+ * nobody listens. A failing listener is reported on the error stream and
+ * does not interrupt the game.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see GameEventListener
+ */
+public final class GameEventBus {
+    private static final GameEventListener[] NO_LISTENERS = new GameEventListener[0];
+
+    private volatile GameEventListener[] listeners = NO_LISTENERS;
+
+    /**
+     * Subscribes a listener. Subscribing the same listener twice has no effect.
+     *
+     * @param listener the listener
+     */
+    public synchronized void subscribe(GameEventListener listener) {
+        for (GameEventListener subscribed : listeners) {
+            if (subscribed == listener) {
+                return;
+            }
+        }
+        GameEventListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Unsubscribes a listener.
+     *
+     * @param listener the listener
+     */
+    public synchronized void unsubscribe(GameEventListener listener) {
+        GameEventListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                GameEventListener[] updated = new GameEventListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                listeners = updated.length == 0 ? NO_LISTENERS : updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Checks whether anybody listens, to skip preparing the data of an event.
+     *
+     * @return true if at least one listener is subscribed
+     */
+    public boolean hasListeners() {
+        return listeners.length != 0;
+    }
+
+    /**
+     * Publishes {@link GameEventListener#onRoundStart(Game)}.
+     */
+    public void roundStart(Game game) {
+        for (GameEventListener listener : listeners) {
+            try {
+                listener.onRoundStart(game);
+            } catch (RuntimeException e) {
+                failed(listener, e);
+            }
+        }
+    }
+
+    /**
+     * Publishes {@link GameEventListener#onNotice(Game, String)}.
+     */
+    public void notice(Game game, String message) {
+        for (GameEventListener listener : listeners) {
+            try {
+                listener.onNotice(game, message);
+            } catch (RuntimeException e) {
+                failed(listener, e);
+            }
+        }
+    }
+
+    /**
+     * Publishes {@link GameEventListener#onDeal(Game, Player, Card, Card)}.
+     */
+    public void deal(Game game, Player player, Card card1, Card card2) {
+        for (GameEventListener listener : listeners) {
+            try {
+                listener.onDeal(game, player, card1, card2);
+            } catch (RuntimeException e) {
+                failed(listener, e);
+            }
+        }
+    }
+
+    /**
+     * Publishes {@link GameEventListener#onHide(Game, Player, int)}.
+     */
+    public void hide(Game game, Player player, int choice) {
+        for (GameEventListener listener : listeners) {
+            try {
+                listener.onHide(game, player, choice);
+            } catch (RuntimeException e) {
+                failed(listener, e);
+            }
+        }
+    }
+
+    /**
+     * Publishes {@link GameEventListener#onPickOptions(Game, Player, List, List)}.
+     */
+    public void pickOptions(Game game, Player player, List<Card> options, List<Player> owners) {
+        for (GameEventListener listener : listeners) {
+            try {
+                listener.onPickOptions(game, player, options, owners);
+            } catch (RuntimeException e) {
+                failed(listener, e);
+            }
+        }
+    }
+
+    /**
+     * Publishes {@link GameEventListener#onPick(Game, Player, Card, Player)}.
+     */
+    public void pick(Game game, Player player, Card card, Player owner) {
+        for (GameEventListener listener : listeners) {
+            try {
+                listener.onPick(game, player, card, owner);
+            } catch (RuntimeException e) {
+                failed(listener, e);
+            }
+        }
+    }
+
+    /**
+     * Publishes {@link GameEventListener#onRoundEnd(Game)}.
+     */
+    public void roundEnd(Game game) {
+        for (GameEventListener listener : listeners) {
+            try {
+                listener.onRoundEnd(game);
+            } catch (RuntimeException e) {
+                failed(listener, e);
+            }
+        }
+    }
+
+    /**
+     * Publishes {@link GameEventListener#onTrophy(Game, Card, Player)}.
+     */
+    public void trophy(Game game, Card trophy, Player winner) {
+        for (GameEventListener listener : listeners) {
+            try {
+                listener.onTrophy(game, trophy, winner);
+            } catch (RuntimeException e) {
+                failed(listener, e);
+            }
+        }
+    }
+
+    /**
+     * Publishes {@link GameEventListener#onScore(Game, Player, int, boolean)}.
+     */
+    public void score(Game game, Player player, int points, boolean withTrophies) {
+        for (GameEventListener listener : listeners) {
+            try {
+                listener.onScore(game, player, points, withTrophies);
+            } catch (RuntimeException e) {
+                failed(listener, e);
+            }
+        }
+    }
+
+    /**
+     * Publishes {@link GameEventListener#onGameEnd(Game, Player)}.
+     */
+    public void gameEnd(Game game, Player winner) {
+        for (GameEventListener listener : listeners) {
+            try {
+                listener.onGameEnd(game, winner);
+            } catch (RuntimeException e) {
+                failed(listener, e);
+            }
+        }
+    }
+
+    /**
+     * Publishes {@link GameEventListener#onSave(Game, String, boolean)}.
+     */
+    public void save(Game game, String saveName, boolean saved) {
+        for (GameEventListener listener : listeners) {
+            try {
+                listener.onSave(game, saveName, saved);
+            } catch (RuntimeException e) {
+                failed(listener, e);
+            }
+        }
+    }
+
+    /**
+     * Publishes {@link GameEventListener#onLoad(Game, String)}.
+     */
+    public void load(Game game, String saveName) {
+        for (GameEventListener listener : listeners) {
+            try {
+                listener.onLoad(game, saveName);
+            } catch (RuntimeException e) {
+                failed(listener, e);
+            }
+        }
+    }
+
+    /**
+     * Reports a listener that failed to handle an event.
+     */
+    private static void failed(GameEventListener listener, RuntimeException e) {
+        System.err.println("❌ Event listener " + listener.getClass().getSimpleName() + " failed: " + e);
+    }
+}
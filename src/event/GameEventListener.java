@@ -0,0 +1,140 @@
+package event;
+
+import model.cards.Card;
+import model.game.Game;
+import player.Player;
+
+import java.util.List;
+
+/**
+ * Receives the progress of a game from its {@link GameEventBus}.
+ * Every event is a method with its data as parameters, so publishing an
+ * event allocates nothing; all methods do nothing by default, and a
+ * listener only overrides the events it needs.
+ *
+ * <p>Events are delivered on the thread playing the game, in the order they
+ * happen. Graphical listeners must hand their updates over to the JavaFX
+ * application thread.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see GameEventBus
+ */
+public interface GameEventListener {
+    /**
+     * Called when a round begins, once its number has been incremented.
+     *
+     * @param game the game
+     */
+    default void onRoundStart(Game game) {
+    }
+
+    /**
+     * Called when a rule of the variant or a special situation applies.
+     *
+     * @param game the game
+     * @param message the description of the rule or situation
+     */
+    default void onNotice(Game game, String message) {
+    }
+
+    /**
+     * Called when two cards are dealt to a player, before the player hides one of them.
+     *
+     * @param game the game
+     * @param player the player receiving the cards
+     * @param card1 the first card (option 1)
+     * @param card2 the second card (option 2), or null if only one card could be dealt
+     */
+    default void onDeal(Game game, Player player, Card card1, Card card2) {
+    }
+
+    /**
+     * Called once a player has chosen the card to hide.
+     *
+     * @param game the game
+     * @param player the player
+     * @param choice the option hidden (1 or 2), or 0 if the only card dealt is visible
+     */
+    default void onHide(Game game, Player player, int choice) {
+    }
+
+    /**
+     * Called when a player must pick a card, before the player chooses.
+     *
+     * @param game the game
+     * @param player the player picking
+     * @param options the cards that can be picked (option i is at index i - 1)
+     * @param owners the owner of each card
+     */
+    default void onPickOptions(Game game, Player player, List<Card> options, List<Player> owners) {
+    }
+
+    /**
+     * Called once a player has picked a card.
+     *
+     * @param game the game
+     * @param player the player who picked
+     * @param card the card picked
+     * @param owner the player the card was taken from
+     */
+    default void onPick(Game game, Player player, Card card, Player owner) {
+    }
+
+    /**
+     * Called when a round ends, after the end rules of the variant.
+     *
+     * @param game the game
+     */
+    default void onRoundEnd(Game game) {
+    }
+
+    /**
+     * Called when a trophy is awarded.
+     *
+     * @param game the game
+     * @param trophy the trophy card
+     * @param winner the player receiving it
+     */
+    default void onTrophy(Game game, Card trophy, Player winner) {
+    }
+
+    /**
+     * Called when the score of a player is revealed.
+     *
+     * @param game the game
+     * @param player the player
+     * @param points the points of the player
+     * @param withTrophies true once the trophies have been awarded
+     */
+    default void onScore(Game game, Player player, int points, boolean withTrophies) {
+    }
+
+    /**
+     * Called when the game is over.
+     *
+     * @param game the game
+     * @param winner the winner
+     */
+    default void onGameEnd(Game game, Player winner) {
+    }
+
+    /**
+     * Called after the game has been saved, or failed to be.
+     *
+     * @param game the game
+     * @param saveName the name of the save
+     * @param saved true if the save was written
+     */
+    default void onSave(Game game, String saveName, boolean saved) {
+    }
+
+    /**
+     * Called when a game restored from a save is about to resume.
+     *
+     * @param game the restored game
+     * @param saveName the name of the save it was loaded from
+     */
+    default void onLoad(Game game, String saveName) {
+    }
+}
@@ -139,6 +139,15 @@ public abstract class Card implements Serializable {
         this.isVisible = isVisible;
     }
 
+    /**
+     * Gets the special effect associated with this card.
+     *
+     * @return the card effect
+     */
+    public CardEffect getCardEffect() {
+        return cardEffect;
+    }
+
     /**
      * Returns a formatted string representation of the card effect with its parameters.
      * The format varies based on the effect type:
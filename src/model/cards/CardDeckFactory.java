@@ -1,6 +1,7 @@
 package model.cards;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import model.enums.Color;
 import model.enums.Sign;
 
@@ -28,6 +29,8 @@ import model.enums.Sign;
  * @see CardEffect
  */
 public class CardDeckFactory {
+    /** Maps the identity key of each card of the full deck to its id (lazily built) */
+    private static volatile HashMap<Integer, Integer> cardIds;
 
     /**
      * Creates the standard Jest deck with 17 cards.
@@ -156,4 +159,63 @@ public class CardDeckFactory {
     public static int getFullDeckSize() {
         return getStandardDeckSize() + getExpansionDeckSize();
     }
+
+    /**
+     * Gets the stable identifier of a card: its position in the full deck
+     * returned by {@link #createFullDeck()}.
+     * Standard cards keep the same identifiers with or without the expansion,
+     * which lets archives and statistics refer to cards with a single byte.
+     *
+     * @param card the card to identify
+     * @return the card identifier (0 to 25), or -1 if the card is null or not part of the decks
+     */
+    public static int getCardId(Card card) {
+        if (card == null) {
+            return -1;
+        }
+        if (cardIds == null) {
+            HashMap<Integer, Integer> ids = new HashMap<>();
+            ArrayList<Card> fullDeck = createFullDeck();
+            for (int i = 0; i < fullDeck.size(); i++) {
+                ids.put(identityKey(fullDeck.get(i)), i);
+            }
+            cardIds = ids;
+        }
+        return cardIds.getOrDefault(identityKey(card), -1);
+    }
+
+    /**
+     * Creates a new instance of the card with the given identifier.
+     *
+     * @param cardId the card identifier, as returned by {@link #getCardId(Card)}
+     * @return a new visible card, or null if the identifier is -1
+     * @throws IllegalArgumentException if the identifier does not designate a card
+     */
+    public static Card createCard(int cardId) {
+        if (cardId == -1) {
+            return null;
+        }
+        if (cardId < 0 || cardId >= getFullDeckSize()) {
+            throw new IllegalArgumentException("Invalid card id: " + cardId);
+        }
+        return createFullDeck().get(cardId);
+    }
+
+    /**
+     * Computes a key identifying a card of the decks by kind, value, sign and effect.
+     * The effect is needed because some expansion cards share their value and sign
+     * with standard cards.
+     *
+     * @param card the card
+     * @return the identity key of the card
+     */
+    private static int identityKey(Card card) {
+        int key = card.getCardEffect().ordinal();
+        if (card instanceof SuitCard) {
+            SuitCard suitCard = (SuitCard) card;
+            key = key * 16 + suitCard.getValue();
+            return key * 8 + suitCard.getSign().ordinal();
+        }
+        return -1 - key;
+    }
 }
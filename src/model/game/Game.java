@@ -3,13 +3,24 @@ package model.game;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import java.util.Scanner;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import model.cards.*;
 import model.enums.*;
 import player.*;
 import visitor.JestScoreVisitor;
 import variant.*;
 import util.GameSaver;
+import util.Pacing;
+import util.SaveMetadata;
+import util.Metrics;
+import replay.ReplayRecorder;
+import event.ConsoleEventListener;
+import event.GameEventBus;
+import profiling.DistributeEvent;
+import profiling.RoundEvent;
 
 /**
  * Represents the main Jest card game engine and orchestrator.
@@ -29,6 +40,10 @@ import util.GameSaver;
  * <p>The game supports 3-4 players (human or AI) and can be played with
  * different variants (Classic, Speed, High Stakes) and optional expansion cards.</p>
  *
+ * <p>The progress of the game is published on its {@link GameEventBus}; the
+ * engine prints nothing itself, the console game subscribes a
+ * {@link ConsoleEventListener}.</p>
+ *
  * @author Jest Game & Gatien Genevois & Sacha Himber
  * @version 1.0
  * @see Player
@@ -47,6 +62,23 @@ public class Game {
     private ArrayList<Player> players;
     /** The game variant being played (determines scoring and rules) */
     private GameVariant variant;
+    /** Flag indicating whether the expansion pack is included */
+    private boolean includeExpansion;
+    /** The seed from which every random draw of the game is derived */
+    private long seed;
+    /** The random generator used for trophies and card distribution (reseeded each round) */
+    private Random random;
+    /** The recorder writing the replay of this game, or null if the game is not recorded */
+    private ReplayRecorder replayRecorder;
+    /** The bus publishing the progress of the game */
+    private final GameEventBus events = new GameEventBus();
+    /** The start time of the current round, for {@link Metrics#ROUNDS} */
+    private long roundStartNanos;
+    /** The Flight Recorder event of the current round */
+    private RoundEvent roundEvent;
+
+    /** The step between the seeds of two consecutive rounds */
+    private static final long ROUND_SEED_STEP = 0x9E3779B97F4A7C15L;
 
     /**
      * Main entry point for the Jest card game application.
@@ -71,11 +103,16 @@ public class Game {
 
         Scanner scanner = new Scanner(System.in);
 
+        Metrics.install();
+
+        // Upgrade saves from older versions while the player goes through the menus
+        GameSaver.migrateAllInBackground();
+
         System.out.println(GREEN + "\n======================================" + RESET);
         System.out.println(YELLOW + "🎴  Welcome to the Jest Card Game! 🎴" + RESET);
         System.out.println(GREEN + "======================================\n" + RESET);
 
-        String[] saves = GameSaver.listSaves();
+        SaveMetadata[] saves = GameSaver.listSaveInfos();
         Game game = null;
         boolean includeExpansion = false;
 
@@ -103,7 +140,8 @@ public class Game {
             if (loadChoice == 2) {
                 System.out.println("\n" + CYAN + "Available saves:" + RESET);
                 for (int i = 0; i < saves.length; i++) {
-                    System.out.println(BLUE + (i + 1) + ". " + saves[i] + RESET);
+                    System.out.println(BLUE + (i + 1) + ". " + saves[i].getSaveName() + RESET);
+                    System.out.println(YELLOW + "   " + saves[i].getSummary() + RESET);
                 }
 
                 System.out.println(GREEN + "\nSelect save to load (1-" + saves.length + "):" + RESET);
@@ -123,12 +161,13 @@ public class Game {
                     }
                 } while (saveChoice < 1 || saveChoice > saves.length);
 
-                GameState loadedState = GameSaver.loadGame(saves[saveChoice - 1]);
+                String saveName = saves[saveChoice - 1].getSaveName();
+                GameState loadedState = GameSaver.loadGame(saveName);
                 if (loadedState != null) {
                     game = restoreGame(loadedState);
                     includeExpansion = loadedState.isIncludeExpansion();
-                    System.out.println(GREEN + "✅ Game loaded successfully!" + RESET);
-                    System.out.println(YELLOW + "Resuming from Round " + game.getRoundNumber() + RESET);
+                    game.getEvents().subscribe(ConsoleEventListener.INSTANCE);
+                    game.getEvents().load(game, saveName);
 
                     System.out.println(CYAN + "\nPlayers in this game:" + RESET);
                     for (Player player : game.getPlayers()) {
@@ -220,8 +259,24 @@ public class Game {
      * @return a fully restored Game instance ready to continue play
      */
     public static Game restoreGame(GameState state) {
+        return restoreGame(state, playerState -> playerState.isAI()
+                ? new AI(playerState.getName())
+                : new Human(playerState.getName()));
+    }
+
+    /**
+     * Restores a Game instance from a saved GameState, creating each player
+     * with the given factory. Used by replays, whose players take their
+     * decisions from a recording instead of a strategy or the keyboard.
+     *
+     * @param state the GameState to restore from
+     * @param playerFactory creates the player corresponding to each saved player state
+     * @return a fully restored Game instance ready to continue play
+     */
+    public static Game restoreGame(GameState state, Function<PlayerState, Player> playerFactory) {
         Game game = new Game(state.isIncludeExpansion());
 
+        game.setSeed(state.getSeed());
         game.setRoundNumber(state.getRoundNumber());
         game.setCards(state.getCards());
         game.setTrophies(state.getTrophies());
@@ -242,12 +297,7 @@ public class Game {
 
         ArrayList<Player> restoredPlayers = new ArrayList<>();
         for (PlayerState playerState : state.getPlayerStates()) {
-            Player player;
-            if (playerState.isAI()) {
-                player = new AI(playerState.getName());
-            } else {
-                player = new Human(playerState.getName());
-            }
+            Player player = playerFactory.apply(playerState);
 
             player.setJest(playerState.getJest());
             Card[] offer = playerState.getOffer();
@@ -302,6 +352,8 @@ public class Game {
         this.cards = CardDeckFactory.createStandardDeck();
         this.players = new ArrayList<>();
         this.variant = new ClassicVariant();
+        this.includeExpansion = false;
+        this.setSeed(new Random().nextLong());
     }
 
     /**
@@ -315,6 +367,8 @@ public class Game {
         this.cards = includeExpansion ? CardDeckFactory.createFullDeck() : CardDeckFactory.createStandardDeck();
         this.players = new ArrayList<>();
         this.variant = new ClassicVariant();
+        this.includeExpansion = includeExpansion;
+        this.setSeed(new Random().nextLong());
     }
 
     /**
@@ -329,6 +383,8 @@ public class Game {
         this.cards = includeExpansion ? CardDeckFactory.createFullDeck() : CardDeckFactory.createStandardDeck();
         this.players = new ArrayList<>();
         this.variant = variant;
+        this.includeExpansion = includeExpansion;
+        this.setSeed(new Random().nextLong());
     }
 
     /**
@@ -348,12 +404,17 @@ public class Game {
      */
     public void giveTrophyCard()
     {
+        long start = Metrics.start();
         for (Card card : trophies) {
             if(card != null){
                 Player winner = card.checkEffect(this.players);
-                winner.AddCardToJest(card);
+                if (winner != null) {
+                    winner.AddCardToJest(card);
+                    events.trophy(this, card, winner);
+                }
             }
         }
+        Metrics.TROPHIES.stop(start);
     }
 
     /**
@@ -369,6 +430,10 @@ public class Game {
      */
     public void distribute()
     {
+        DistributeEvent distributeEvent = new DistributeEvent();
+        distributeEvent.begin();
+        int deckBefore = this.cards.size();
+
         // Reset isVisible to true for all cards at the start of each round
         for (Card card : this.cards) {
             card.setVisible(true);
@@ -380,7 +445,7 @@ public class Game {
             ArrayList<Card> playerCards = new ArrayList<>();
 
             for(int i = 0; i < this.players.size() && !this.cards.isEmpty(); i++){
-                int random = (int) (this.cards.size() * Math.random());
+                int random = (int) (this.cards.size() * this.random.nextDouble());
                 gameCards.add(this.cards.remove(random));
             }
 
@@ -403,31 +468,114 @@ public class Game {
 
         int cardsNeeded = this.players.size() * 2;
         if (distributionPool.size() < cardsNeeded) {
-            System.out.println("⚠️ Warning: Not enough cards for full distribution. Adjusting...");
+            if (events.hasListeners()) {
+                events.notice(this, "⚠️ Not enough cards for full distribution. Adjusting...");
+            }
             for(Player player : this.players){
                 if (!distributionPool.isEmpty()) {
-                    int random = (int) (distributionPool.size() * Math.random());
+                    int random = (int) (distributionPool.size() * this.random.nextDouble());
                     Card card1 = distributionPool.remove(random);
-                    player.chooseCardToHide(card1, null);
+                    this.dealTo(player, card1, null);
                 }
             }
         } else {
             for(Player player : this.players){
                 if (distributionPool.size() >= 2) {
-                    int random = (int) (distributionPool.size() * Math.random());
+                    int random = (int) (distributionPool.size() * this.random.nextDouble());
                     Card card1 = distributionPool.remove(random);
-                    random = (int) (distributionPool.size() * Math.random());
+                    random = (int) (distributionPool.size() * this.random.nextDouble());
                     Card card2 = distributionPool.remove(random);
-                    player.chooseCardToHide(card1, card2);
+                    this.dealTo(player, card1, card2);
                 } else if (distributionPool.size() == 1) {
                     Card card1 = distributionPool.remove(0);
-                    player.chooseCardToHide(card1, null);
+                    this.dealTo(player, card1, null);
                 } else {
-                    System.out.println("⚠️ Critical: No cards available for player " + player.getName());
+                    if (events.hasListeners()) {
+                        events.notice(this, "⚠️ Critical: No cards available for player " + player.getName());
+                    }
                     break;
                 }
             }
         }
+
+        distributeEvent.end();
+        if (distributeEvent.shouldCommit()) {
+            distributeEvent.round = roundNumber;
+            distributeEvent.players = players.size();
+            distributeEvent.deckBefore = deckBefore;
+            distributeEvent.deckAfter = cards.size();
+            distributeEvent.commit();
+        }
+    }
+
+    /**
+     * Deals one or two cards to a player and lets them choose which one to hide.
+     * When the game is recorded, the hiding decision is added to the replay.
+     *
+     * @param player the player receiving the cards
+     * @param card1 the first card dealt
+     * @param card2 the second card dealt, or null if only one card is available
+     */
+    public void dealTo(Player player, Card card1, Card card2) {
+        events.deal(this, player, card1, card2);
+        player.chooseCardToHide(card1, card2);
+        int hidden = 0;
+        if (card2 != null) {
+            hidden = player.getHiddenCard() == card1 ? 1 : 2;
+            this.recordDecision(hidden);
+        }
+        events.hide(this, player, hidden);
+    }
+
+    /**
+     * Starts a new round: increments the round number and reseeds the random
+     * generator from the game seed and the round number.
+     * Reseeding per round makes every round reproducible on its own, which lets
+     * replays restart from any round keyframe. When the game is recorded, a
+     * keyframe of the state preceding the round is written first.
+     */
+    public void beginRound() {
+        if (this.replayRecorder != null) {
+            this.replayRecorder.recordKeyframe(this);
+        }
+        this.roundStartNanos = Metrics.start();
+        this.setRoundNumber(this.getRoundNumber() + 1);
+        this.random.setSeed(this.seed + this.roundNumber * ROUND_SEED_STEP);
+        this.roundEvent = new RoundEvent();
+        this.roundEvent.begin();
+        events.roundStart(this);
+    }
+
+    /**
+     * Ends the current round: applies the end rules of the variant and
+     * publishes the end of the round.
+     */
+    public void endRound() {
+        variant.applyRoundEndRules(this);
+        Metrics.ROUNDS.stop(roundStartNanos);
+        if (roundEvent != null) {
+            roundEvent.end();
+            if (roundEvent.shouldCommit()) {
+                roundEvent.round = roundNumber;
+                roundEvent.variant = variant.getName();
+                roundEvent.players = players.size();
+                roundEvent.cardsLeft = cards.size();
+                roundEvent.commit();
+            }
+            roundEvent = null;
+        }
+        events.roundEnd(this);
+    }
+
+    /**
+     * Records a player's decision in the replay, if the game is recorded.
+     *
+     * @param choice the option chosen by the player
+     */
+    public void recordDecision(int choice) {
+        if (this.replayRecorder != null) {
+            this.replayRecorder.recordDecision(choice);
+        }
     }
 
     /**
@@ -444,37 +592,29 @@ public class Game {
      * </ol>
      */
     public void playRound() {
-        final String RESET  = "\u001B[0m";
-        final String RED    = "\u001B[31m";
-        final String YELLOW = "\u001B[33m";
-        final String BLUE   = "\u001B[34m";
-        final String GREEN  = "\u001B[32m";
-
-        this.setRoundNumber(this.getRoundNumber() + 1);
-
-        System.out.println(GREEN + "===== ROUND " + this.getRoundNumber() + " =====" + RESET);
+        this.playRound(player -> { });
+    }
 
+    /**
+     * Executes a complete game round (see {@link #playRound()}), running an
+     * action after every turn. Headless hosts use it to publish the board or
+     * pace the game without duplicating the round flow.
+     *
+     * @param afterTurn called on the game thread with the player who just played
+     */
+    public void playRound(Consumer<Player> afterTurn) {
+        this.beginRound();
         variant.applyRoundStartRules(this);
-
-        System.out.println(YELLOW + "Let's give the cards! Please don't watch the chosen hidden card of the player!" + RESET + "\n");
-
         this.distribute();
 
-        System.out.println(YELLOW + "Now, let's determine the first player to play ..." + RESET + "\n");
-
         Player currentPlayer = this.getPlayersOrder();
-
-        System.out.println(GREEN + "The player that starts is " + RED + currentPlayer.getName() + RESET + " 🎮");
-
-        currentPlayer = currentPlayer.playTurn(this);
         while (currentPlayer != null) {
-            System.out.println(BLUE + "\nNext turn!" + RESET);
-            currentPlayer = currentPlayer.playTurn(this);
+            Player playing = currentPlayer;
+            currentPlayer = playing.playTurn(this);
+            afterTurn.accept(playing);
         }
 
-        variant.applyRoundEndRules(this);
-
-        System.out.println(GREEN + "\nThe round has ended!" + RESET);
+        this.endRound();
     }
 
     /**
@@ -526,7 +666,7 @@ public class Game {
         final String PURPLE = "\u001B[35m";
 
         Scanner scanner = new Scanner(System.in);
-        boolean includeExpansion = this.cards.size() > CardDeckFactory.getStandardDeckSize();
+        events.subscribe(ConsoleEventListener.INSTANCE);
 
         if (!isResumed) {
             System.out.println(YELLOW + "How many players want to play? (3 or 4)" + RESET);
@@ -560,6 +700,10 @@ public class Game {
             sleep(1000);
         }
 
+        if (this.replayRecorder == null) {
+            this.setReplayRecorder(ReplayRecorder.startNew(this));
+        }
+
         while (!this.getCards().isEmpty()) {
             this.playRound();
             System.out.println(GREEN + "\nEnd of Round " + this.roundNumber + RESET);
@@ -575,47 +719,18 @@ public class Game {
                 scanner.nextLine();
                 String saveName = scanner.nextLine().trim();
 
-                if (GameSaver.saveGame(this, includeExpansion, saveName.isEmpty() ? null : saveName)) {
-                    System.out.println(GREEN + "✅ Game saved successfully!" + RESET);
-                }
+                GameSaver.saveGame(this, includeExpansion, saveName.isEmpty() ? null : saveName);
             }
 
             sleep(1000);
         }
 
-        System.out.println(YELLOW + "Let's reveal players' Jests! 👀" + RESET);
-        sleep(1000);
-
-        for (Player player : this.getPlayers()) {
-            player.addLastCardToJest();
-            int points = variant.calculatePoints(player);
-            System.out.println(GREEN + "Points: " + RESET + points);
-            System.out.println(RED + player + RESET);
-            sleep(500);
+        if (this.replayRecorder != null) {
+            this.replayRecorder.finish();
         }
 
-        this.giveTrophyCard();
         sleep(1000);
-
-        System.out.println(YELLOW + "\nLet's reveal players' Jests with Trophies! 👀" + RESET);
-        Player winner = null;
-        int maxPoints = 0;
-        for (Player player : this.getPlayers()) {
-            int points = variant.calculatePoints(player);
-            System.out.println(GREEN + "Points: " + RESET + points);
-            if (winner == null || points > maxPoints) {
-                winner = player;
-                maxPoints = points;
-            }
-            System.out.println(RED + player + RESET);
-            sleep(500);
-        }
-
-        System.out.println();
-        System.out.println(BLUE + "======================================" + RESET);
-        System.out.println(YELLOW + "🏅  The winner is " + RED + winner.getName() + YELLOW + "!  🎉" + RESET);
-        System.out.println(BLUE + "======================================" + RESET);
-        System.out.println(GREEN + "Thanks for playing Jest! 👏" + RESET);
+        this.finishGame();
     }
 
     /**
@@ -625,11 +740,7 @@ public class Game {
      * @param millis the number of milliseconds to pause
      */
     private void sleep(int millis) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        Pacing.pause(millis);
     }
 
     /**
@@ -789,6 +900,105 @@ public class Game {
         this.variant = variant;
     }
 
+    /**
+     * Checks whether the expansion pack is included in this game.
+     *
+     * @return true if the expansion pack is included, false otherwise
+     */
+    public boolean isIncludeExpansion() {
+        return includeExpansion;
+    }
+
+    /**
+     * Gets the seed from which the random draws of this game are derived.
+     *
+     * @return the game seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the game seed and resets the random generator from it.
+     * Two games with the same seed, deck and decisions unfold identically.
+     *
+     * @param seed the new game seed
+     */
+    public final void setSeed(long seed) {
+        this.seed = seed;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Gets the random generator used for trophies and card distribution.
+     *
+     * @return the game's random generator
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Gets the recorder writing the replay of this game.
+     *
+     * @return the replay recorder, or null if the game is not recorded
+     */
+    public ReplayRecorder getReplayRecorder() {
+        return replayRecorder;
+    }
+
+    /**
+     * Sets the recorder writing the replay of this game.
+     *
+     * @param replayRecorder the replay recorder, or null to stop recording
+     */
+    public void setReplayRecorder(ReplayRecorder replayRecorder) {
+        this.replayRecorder = replayRecorder;
+    }
+
+    /**
+     * Gets the bus publishing the progress of this game.
+     *
+     * @return the event bus of the game
+     */
+    public GameEventBus getEvents() {
+        return events;
+    }
+
+    /**
+     * Ends the game: moves each player's last offer card to their jest,
+     * awards the trophy cards and determines the winner.
+     * The points are published twice: once the jests are complete, then with the trophies.
+     *
+     * @return the player with the most points (the first one on a tie)
+     */
+    public Player finishGame() {
+        for (Player player : this.getPlayers()) {
+            boolean completed = player.addLastCardToJest();
+            if (events.hasListeners()) {
+                if (!completed) {
+                    events.notice(this, "⚠️ " + player.getName() + " still has two cards in their offer");
+                }
+                events.score(this, player, variant.calculatePoints(player), false);
+            }
+        }
+
+        this.giveTrophyCard();
+
+        Player winner = null;
+        int maxPoints = 0;
+        for (Player player : this.getPlayers()) {
+            int points = variant.calculatePoints(player);
+            events.score(this, player, points, true);
+            if (winner == null || points > maxPoints) {
+                winner = player;
+                maxPoints = points;
+            }
+        }
+        events.gameEnd(this, winner);
+        return winner;
+    }
+
     /**
      * Calculates the base Jest points for a player using the Visitor pattern.
      * This method traverses all cards in the player's jest pile and applies
@@ -801,6 +1011,7 @@ public class Game {
      * @see JestScoreVisitor
      */
     public static int getJestPoints(Player player) {
+        long start = Metrics.start();
         JestScoreVisitor scoreVisitor = new JestScoreVisitor();
 
         for (Card card : player.getJest()) {
@@ -809,6 +1020,7 @@ public class Game {
             }
         }
 
+        Metrics.SCORING.stop(start);
         return scoreVisitor.getScore();
     }
 
@@ -823,11 +1035,11 @@ public class Game {
      * </ul>
      */
     public void setTrophies(){
-        int random = (int) (((this.cards.size()-1) * Math.random()));
+        int random = (int) (((this.cards.size()-1) * this.random.nextDouble()));
         this.trophies[0] = this.cards.remove(random);
 
         if(players.size()<=3){
-            random = (int) (((this.cards.size()-1) * Math.random()));
+            random = (int) (((this.cards.size()-1) * this.random.nextDouble()));
             this.trophies[1] = this.cards.remove(random);
         }
     }
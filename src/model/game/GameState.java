@@ -19,9 +19,14 @@ import variant.GameVariant;
  *   <li>State of all players (cards, offers, names)</li>
  *   <li>Game variant being played</li>
  *   <li>Expansion pack inclusion flag</li>
+ *   <li>Random seed of the game</li>
  * </ul>
  *
- * <p>This class implements Serializable to allow game state persistence to disk.</p>
+ * <p>This class implements Serializable to allow game state persistence to disk.
+ * The serial version UID stays fixed so that every stored state remains readable;
+ * changes to the stored fields are instead tracked by an explicit format version,
+ * and states written by older versions are upgraded by {@link util.SaveMigrator}.
+ * The format version covers the whole record, including the {@link PlayerState}s.</p>
  *
  * @author Jest Game & Gatien Genevois & Sacha Himber
  * @version 1.0
@@ -32,6 +37,17 @@ import variant.GameVariant;
 public class GameState implements Serializable {
     /** Serial version UID for serialization compatibility */
     private static final long serialVersionUID = 1L;
+    /**
+     * The format version written by this version of the game.
+     * <ul>
+     *   <li>1: initial format (stored as 0, the field did not exist)</li>
+     *   <li>2: adds the game seed</li>
+     * </ul>
+     */
+    public static final int CURRENT_FORMAT_VERSION = 2;
+
+    /** The format version of this state (0 for states written before versioning) */
+    private int formatVersion;
 
     /** The current round number in the game */
     private int roundNumber;
@@ -45,6 +61,8 @@ public class GameState implements Serializable {
     private String variantName;
     /** Flag indicating whether the expansion pack is included */
     private boolean includeExpansion;
+    /** The seed from which the random draws of the game are derived */
+    private long seed;
 
     /**
      * Constructs a GameState snapshot from a Game object.
@@ -55,11 +73,13 @@ public class GameState implements Serializable {
      * @param includeExpansion flag indicating whether the expansion pack is included
      */
     public GameState(Game game, boolean includeExpansion) {
+        this.formatVersion = CURRENT_FORMAT_VERSION;
         this.roundNumber = game.getRoundNumber();
         this.cards = new ArrayList<>(game.getCards());
         this.trophies = game.getTrophies().clone();
         this.variantName = game.getVariant().getName();
         this.includeExpansion = includeExpansion;
+        this.seed = game.getSeed();
 
         this.playerStates = new ArrayList<>();
         for (Player player : game.getPlayers()) {
@@ -120,4 +140,41 @@ public class GameState implements Serializable {
     public boolean isIncludeExpansion() {
         return includeExpansion;
     }
+
+    /**
+     * Gets the seed from which the random draws of the game are derived.
+     *
+     * @return the game seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed of the game.
+     * Used by migrations to complete states written before the seed existed.
+     *
+     * @param seed the game seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the format version of this state.
+     *
+     * @return the format version (1 for states written before versioning)
+     */
+    public int getFormatVersion() {
+        return formatVersion == 0 ? 1 : formatVersion;
+    }
+
+    /**
+     * Sets the format version of this state, once it has been migrated.
+     *
+     * @param formatVersion the new format version
+     */
+    public void setFormatVersion(int formatVersion) {
+        this.formatVersion = formatVersion;
+    }
 }
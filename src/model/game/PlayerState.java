@@ -41,7 +41,7 @@ public class PlayerState implements Serializable {
     public PlayerState(Player player) {
         this.name = player.getName();
         this.jest = new ArrayList<>(player.getJest());
-        this.offer = player.getOffer().clone();
+        this.offer = player.getOffer() != null ? player.getOffer().clone() : new Card[2];
         this.isAI = player instanceof AI;
     }
 
@@ -10,6 +10,8 @@ import strategy.IPlayStrategy;
 import strategy.SafeStrategy;
 import strategy.RiskyStrategy;
 import strategy.RandomStrategy;
+import util.Metrics;
+import profiling.AIDecisionEvent;
 
 /**
  * Represents an AI (Artificial Intelligence) player in the Jest card game.
@@ -133,7 +135,21 @@ public class AI extends Player {
         }else {
             this.strategy = new SafeStrategy();
         }
-        return this.strategy.makeChoice(min, max, cards, isHidingCard);
+        long start = Metrics.start();
+        AIDecisionEvent decisionEvent = new AIDecisionEvent();
+        decisionEvent.begin();
+        int choice = this.strategy.makeChoice(min, max, cards, isHidingCard);
+        Metrics.AI_DECISIONS.stop(start);
+        decisionEvent.end();
+        if (decisionEvent.shouldCommit()) {
+            decisionEvent.player = this.getName();
+            decisionEvent.strategy = this.strategy.getClass().getSimpleName();
+            decisionEvent.hiding = isHidingCard;
+            decisionEvent.options = max - min + 1;
+            decisionEvent.choice = choice;
+            decisionEvent.commit();
+        }
+        return choice;
     }
 
     /**
@@ -5,6 +5,7 @@ import model.cards.Card;
 import model.game.Game;
 import ui.CardSelectionUI;
 import ui.AnimatedGameBoardUI;
+import util.Pacing;
 
 import java.util.ArrayList;
 
@@ -76,6 +77,9 @@ public class HumanUIPlayer extends Human {
                 String description = "Choose which card to hide:";
                 return cardSelectionUI.showHidingSelection(cards.get(0), cards.get(1), this.getName());
             }
+        } else if (gameBoardUI != null && gameBoardUI.isCanvasBoard() && cardOwners != null) {
+            // On the canvas board, the card is picked by clicking it
+            return gameBoardUI.pickOnBoard(this.getName(), cards, cardOwners);
         } else {
             String description = "Choose a card to pick (1-" + cards.size() + "):";
             return cardSelectionUI.showCardSelection(cards, cardOwners, description);
@@ -123,9 +127,9 @@ public class HumanUIPlayer extends Human {
 
         // After the human player has picked a card, show the board
         if (gameBoardUI != null) {
+            gameBoardUI.updatePlayersDisplay();
             javafx.application.Platform.runLater(() -> {
                 gameBoardUI.show();
-                gameBoardUI.updatePlayersDisplay();
 
                 // If next player is AI or there are AIs, show AI playing message
                 if (nextPlayer instanceof AI) {
@@ -133,11 +137,7 @@ public class HumanUIPlayer extends Human {
                 }
             });
 
-            try {
-                Thread.sleep(800);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            Pacing.pause(800);
         }
 
         return nextPlayer;
@@ -5,6 +5,9 @@ import model.cards.Card;
 import model.cards.SuitCard;
 import model.cards.JokerCard;
 import model.game.Game;
+import util.Pacing;
+import util.Metrics;
+import profiling.TurnEvent;
 
 /**
  * Represents an abstract player in the Jest card game.
@@ -180,7 +183,7 @@ public abstract class Player {
 
     /**
      * Picks a card from another player's offer and adds it to this player's jest pile.
-     * Removes the card from the picked player's offer and displays a message.
+     * Removes the card from the picked player's offer.
      *
      * @param card the card being picked
      * @param pickedPlayer the player from whom the card is being picked
@@ -189,25 +192,26 @@ public abstract class Player {
         this.jest.add(card);
         if(card == pickedPlayer.getOffer()[0]) {
             pickedPlayer.setVisibleCard(null);
-            System.out.println(this.name + " picked " + card + " of "+pickedPlayer.getName());
         }else{
             pickedPlayer.setHiddenCard(null);
-            System.out.println(this.name + " has picked hidden card of "+pickedPlayer.getName());
         }
     }
 
     /**
      * Adds the last remaining card from the player's offer to their jest pile.
      * This is typically called at the end of a round when one card remains.
-     * If two cards are still in the offer, an error message is displayed.
+     * An offer already emptied by the other players is left as is, and so is
+     * an offer still holding two cards.
+     *
+     * @return false if two cards are still in the offer, true otherwise
      */
-    public void addLastCardToJest() {
+    public boolean addLastCardToJest() {
         if(this.offer[0] != null ^ this.offer[1] != null) {
             this.jest.add((this.offer[0] != null) ? this.offer[0] : this.offer[1]);
             this.offer =  null;
-        }else {
-            System.out.println("You still have two cards in your offer");
+            return true;
         }
+        return this.offer[0] == null;
     }
 
     /**
@@ -274,12 +278,12 @@ public abstract class Player {
 
     /**
      * Executes the player's turn in the game.
-     * Displays available cards from other players, prompts for a card choice,
+     * Publishes the cards available from other players, asks for a card choice,
      * and determines the next player based on whose card was picked.
      *
      * <p>Turn flow:</p>
      * <ol>
-     *   <li>Display all available cards from opponents</li>
+     *   <li>Collect all available cards from opponents</li>
      *   <li>If no opponent cards available, allow picking own cards</li>
      *   <li>Player makes a choice via {@link #makeChoice(int, int, ArrayList, boolean)}</li>
      *   <li>Pick the selected card and update game state</li>
@@ -290,99 +294,81 @@ public abstract class Player {
      * @return the next player to take a turn, or null if the round should end
      */
     public Player playTurn(Game game) {
-        final String RESET  = "\u001B[0m";
-        final String RED    = "\u001B[31m";
-        final String YELLOW = "\u001B[33m";
-        final String BLUE   = "\u001B[34m";
-        final String GREEN  = "\u001B[32m";
-
-        System.out.println(RED + this.getName() + RESET + ", " + YELLOW + "which card do you want to pick ?" + RESET);
-        sleep(500);
-
-        int cardNumber = 1;
-        ArrayList<Card> possibleCardsToPick = new ArrayList<>();
-        ArrayList<Player> cardOwners = new ArrayList<>();
-
-        for (Player player : game.getPlayers()) {
-            if (player != this) {
-                if (player.getVisibleCard() != null && player.getHiddenCard() != null) {
-                    System.out.println(
-                            RED + player.getName() + RESET + ": \n" +
-                                    BLUE + "(" + cardNumber + ") " + RESET + player.getVisibleCard() + " " +
-                                    BLUE + "(" + (cardNumber + 1) + ") " + RESET + "hidden card 🫣"
-                    );
-                    sleep(300);
+        TurnEvent turnEvent = new TurnEvent();
+        turnEvent.begin();
+        try {
+            ArrayList<Card> possibleCardsToPick = new ArrayList<>();
+            ArrayList<Player> cardOwners = new ArrayList<>();
 
+            for (Player player : game.getPlayers()) {
+                if (player != this && player.getVisibleCard() != null && player.getHiddenCard() != null) {
                     possibleCardsToPick.add(player.getVisibleCard());
                     cardOwners.add(player);
                     possibleCardsToPick.add(player.getHiddenCard());
                     cardOwners.add(player);
-
-                    cardNumber += 2;
-                } else {
-                    System.out.println(
-                            RED + player.getName() + RESET +
-                                    YELLOW + " has only 1 card, so you can't pick it" + RESET
-                    );
-                    sleep(300);
                 }
             }
-        }
 
-        if (possibleCardsToPick.isEmpty()) {
-            System.out.println(
-                    YELLOW + "There are no cards available to pick from your opponents. Please choose one of your own cards:" + RESET
-            );
-            sleep(500);
-            System.out.println(
-                    RED + this.getName() + RESET + ": \n" +
-                            BLUE + "(" + cardNumber + ") " + RESET + this.getVisibleCard() + " " +
-                            BLUE + "(" + (cardNumber + 1) + ") " + RESET + "hidden card 🫣"
-            );
-            sleep(300);
-
-            possibleCardsToPick.add(this.getHiddenCard());
-            cardOwners.add(this);
-            possibleCardsToPick.add(this.getVisibleCard());
-            cardOwners.add(this);
-        }
+            if (possibleCardsToPick.isEmpty()) {
+                possibleCardsToPick.add(this.getHiddenCard());
+                cardOwners.add(this);
+                possibleCardsToPick.add(this.getVisibleCard());
+                cardOwners.add(this);
+            }
 
-        System.out.print(BLUE + "-> " + RESET);
-        int cardToPick;
+            turnEvent.options = possibleCardsToPick.size();
+            game.getEvents().pickOptions(game, this, possibleCardsToPick, cardOwners);
+            sleep(500);
+            // Only the decision and the pick are timed, not the pacing pauses nor the listeners animating them
+            long start = Metrics.start();
+            int cardToPick;
+
+            // Pass card owners to HumanUIPlayer if applicable
+            if (this instanceof HumanUIPlayer) {
+                cardToPick = ((HumanUIPlayer) this).makeChoice(1, possibleCardsToPick.size(), possibleCardsToPick, cardOwners, false);
+            } else {
+                cardToPick = this.makeChoice(1, possibleCardsToPick.size(), possibleCardsToPick, false);
+            }
+            game.recordDecision(cardToPick);
 
-        // Pass card owners to HumanUIPlayer if applicable
-        if (this instanceof HumanUIPlayer) {
-            cardToPick = ((HumanUIPlayer) this).makeChoice(1, possibleCardsToPick.size(), possibleCardsToPick, cardOwners, false);
-        } else {
-            cardToPick = this.makeChoice(1, possibleCardsToPick.size(), possibleCardsToPick, false);
-        }
+            if (cardToPick < 1 || cardToPick > possibleCardsToPick.size()) {
+                Metrics.TURNS.stop(start);
+                return null;
+            }
 
-        if (cardToPick < 1 || cardToPick > possibleCardsToPick.size()) {
-            return null;
-        }
+            Card pickedCard = possibleCardsToPick.get(cardToPick - 1);
+            Player nextPlayer = cardOwners.get(cardToPick - 1);
 
-        Card pickedCard = possibleCardsToPick.get(cardToPick - 1);
-        Player nextPlayer = cardOwners.get(cardToPick - 1);
+            this.pickCard(pickedCard, nextPlayer);
+            Metrics.TURNS.stop(start);
+            turnEvent.pickedFrom = nextPlayer.getName();
+            game.getEvents().pick(game, this, pickedCard, nextPlayer);
+            sleep(500);
 
-        this.pickCard(pickedCard, nextPlayer);
-        sleep(500);
+            if (game.countPlayersWithFullOffer() == 0) {
+                return null;
+            }
 
-        if (game.countPlayersWithFullOffer() == 0) {
-            return null;
-        }
+            if (game.getPlayersThatHavePlayedThisRound().contains(nextPlayer)) {
+                nextPlayer = game.getPlayersOrder();
+            }
 
-        if (game.getPlayersThatHavePlayedThisRound().contains(nextPlayer)) {
-            nextPlayer = game.getPlayersOrder();
-        }
+            if (nextPlayer == null) {
+                sleep(500);
+                return null;
+            }
 
-        if (nextPlayer == null) {
             sleep(500);
-            return null;
+            return nextPlayer;
+        } finally {
+            turnEvent.end();
+            if (turnEvent.shouldCommit()) {
+                turnEvent.round = game.getRoundNumber();
+                turnEvent.player = this.getName();
+                turnEvent.playerType = this.getClass().getSimpleName();
+                turnEvent.commit();
+            }
         }
-
-        System.out.println(GREEN + "You picked a card from " + nextPlayer.getName() + "!" + RESET);
-        sleep(500);
-        return nextPlayer;
     }
 
     /**
@@ -392,11 +378,7 @@ public abstract class Player {
      * @param millis the number of milliseconds to pause
      */
     private void sleep(int millis) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        Pacing.pause(millis);
     }
 
     /**
@@ -413,7 +395,7 @@ public abstract class Player {
 
     /**
      * Prompts the player to choose which of two cards to hide in their offer.
-     * Displays both cards and sets one as visible and the other as hidden based on the choice.
+     * Sets one card as visible and the other as hidden based on the choice.
      *
      * <p>Special case: If only one card is provided (card2 is null), that card
      * is automatically set as visible with no hidden card.</p>
@@ -422,39 +404,14 @@ public abstract class Player {
      * @param card2 the second card option (can be null)
      */
     public void chooseCardToHide(Card card1, Card card2) {
-        final String RESET  = "\u001B[0m";
-        final String RED    = "\u001B[31m";
-        final String YELLOW = "\u001B[33m";
-        final String BLUE   = "\u001B[34m";
-        final String GREEN  = "\u001B[32m";
-
         // Cas spécial : si card2 est null (pas assez de cartes disponibles)
         if (card2 == null) {
-            System.out.println(
-                RED + this.getName() + RESET + ", " +
-                        YELLOW + "you only have one card available. It will be your visible card." + RESET
-            );
-            sleep(500);
             this.setVisibleCard(card1);
             this.setHiddenCard(null);
-            System.out.println(GREEN + "Card set as visible: " + card1 + RESET);
             sleep(500);
             return;
         }
 
-        System.out.println(
-                RED + this.getName() + RESET + ", " +
-                        YELLOW + "which card do you want to hide? " +
-                        BLUE + "(1, 2)" + RESET
-        );
-        sleep(500);
-
-        System.out.println(BLUE + "(1) " + RESET + card1);
-        sleep(300);
-        System.out.println(BLUE + "(2) " + RESET + card2);
-        sleep(300);
-
-        System.out.print(BLUE + "-> " + RESET);
         ArrayList<Card> cards = new ArrayList<>();
         cards.add(card1);
         cards.add(card2);
@@ -470,8 +427,6 @@ public abstract class Player {
             this.setVisibleCard(card1);
             this.hideCard(card2);  // Mark card as hidden after choice
         }
-
-        System.out.println(GREEN + "You chose to hide card " + cardToHide + "." + RESET);
         sleep(500);
     }
 
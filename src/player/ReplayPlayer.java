@@ -0,0 +1,57 @@
+package player;
+
+import java.util.ArrayList;
+import java.util.function.IntSupplier;
+import model.cards.Card;
+
+/**
+ * Represents a player whose decisions are read back from a recorded game.
+ * Replay players are created by the replay engine: every time the game asks
+ * them to hide or pick a card, they return the next decision of the recording.
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see replay.ReplayEngine
+ */
+public class ReplayPlayer extends Player {
+    /** Flag indicating whether the recorded player was controlled by AI */
+    private final boolean isAI;
+    /** The source of the recorded decisions, shared by all players of the replay */
+    private final IntSupplier decisions;
+
+    /**
+     * Constructs a new ReplayPlayer.
+     *
+     * @param name the name of the recorded player
+     * @param isAI true if the recorded player was controlled by AI
+     * @param decisions the source returning the next recorded decision
+     */
+    public ReplayPlayer(String name, boolean isAI, IntSupplier decisions) {
+        super(name);
+        this.isAI = isAI;
+        this.decisions = decisions;
+    }
+
+    /**
+     * Checks whether the recorded player was controlled by AI.
+     *
+     * @return true if the recorded player was an AI, false if it was a human player
+     */
+    public boolean isAI() {
+        return isAI;
+    }
+
+    /**
+     * Returns the next recorded decision, whatever the options offered.
+     *
+     * @param min the minimum valid choice value (inclusive)
+     * @param max the maximum valid choice value (inclusive)
+     * @param cards the list of cards available for the decision
+     * @param isHidingCard true if choosing which card to hide, false if choosing which card to pick
+     * @return the recorded choice
+     */
+    @Override
+    public int makeChoice(int min, int max, ArrayList<Card> cards, boolean isHidingCard) {
+        return decisions.getAsInt();
+    }
+}
@@ -0,0 +1,37 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning a decision of an AI player's strategy.
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ */
+@Name("jest.AIDecision")
+@Label("AI Decision")
+@Category({"Jest", "Players"})
+@Description("A decision of an AI player")
+@StackTrace(false)
+public class AIDecisionEvent extends Event {
+    @Label("Player")
+    public String player;
+
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Hiding")
+    @Description("True when choosing the card to hide, false when picking a card")
+    public boolean hiding;
+
+    @Label("Options")
+    public int options;
+
+    @Label("Choice")
+    public int choice;
+}
@@ -0,0 +1,34 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning the distribution of a round, including the
+ * choice of the hidden card of every player.
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ */
+@Name("jest.Distribute")
+@Label("Distribute")
+@Category({"Jest", "Game"})
+@Description("The distribution of the cards of a round and the choice of the hidden cards")
+@StackTrace(false)
+public class DistributeEvent extends Event {
+    @Label("Round")
+    public int round;
+
+    @Label("Players")
+    public int players;
+
+    @Label("Deck Before")
+    public int deckBefore;
+
+    @Label("Deck After")
+    public int deckAfter;
+}
@@ -0,0 +1,35 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning a round, from its start to the end rules
+ * of the variant, whichever loop plays it (console, JavaFX, server).
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ */
+@Name("jest.Round")
+@Label("Round")
+@Category({"Jest", "Game"})
+@Description("A round of a game, from its start to its end rules")
+@StackTrace(false)
+public class RoundEvent extends Event {
+    @Label("Round")
+    public int round;
+
+    @Label("Variant")
+    public String variant;
+
+    @Label("Players")
+    public int players;
+
+    @Label("Cards Left")
+    @Description("The cards left in the deck at the end of the round")
+    public int cardsLeft;
+}
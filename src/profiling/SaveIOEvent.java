@@ -0,0 +1,35 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning the writing or the reading of a save,
+ * serialization included.
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ */
+@Name("jest.SaveIO")
+@Label("Save I/O")
+@Category({"Jest", "Saves"})
+@Description("The writing or the reading of a save")
+public class SaveIOEvent extends Event {
+    @Label("Operation")
+    @Description("save or load")
+    public String operation;
+
+    @Label("Save Name")
+    public String saveName;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,82 @@
+package profiling;
+
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning a JavaFX scene switch, from the change of
+ * the scene of a stage to the end of the first layout pulse of the new scene
+ * (CSS and layout included).
+ *
+ * <p>A stage is instrumented once with {@link #watch(Stage)}; the screens
+ * keep calling {@code setScene} as usual.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ */
+@Name("jest.SceneSwitch")
+@Label("Scene Switch")
+@Category({"Jest", "JavaFX"})
+@Description("A scene switch, up to the first layout of the new scene")
+@StackTrace(false)
+public class SceneSwitchEvent extends Event {
+    @Label("Screen")
+    @Description("The class that switched the scene")
+    public String screen;
+
+    @Label("Nodes")
+    @Description("The number of nodes directly under the root of the new scene")
+    public int rootChildren;
+
+    /**
+     * Records the scene switches of a stage. Watching a stage again has no effect.
+     * Must be called on the JavaFX thread.
+     *
+     * @param stage the stage to watch
+     */
+    public static void watch(Stage stage) {
+        if (stage.getProperties().putIfAbsent(SceneSwitchEvent.class, Boolean.TRUE) != null) {
+            return;
+        }
+        stage.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            SceneSwitchEvent event = new SceneSwitchEvent();
+            if (newScene == null || !event.isEnabled()) {
+                return;
+            }
+            event.begin();
+            event.screen = findScreen();
+            event.rootChildren = newScene.getRoot().getChildrenUnmodifiable().size();
+            commitAfterLayout(newScene, event);
+        });
+    }
+
+    /**
+     * Commits the event once the new scene has been laid out for the first time.
+     */
+    private static void commitAfterLayout(Scene scene, SceneSwitchEvent event) {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            event.commit();
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    /**
+     * Finds the user interface class calling {@code setScene}.
+     */
+    private static String findScreen() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .map(StackWalker.StackFrame::getClassName)
+                .filter(name -> name.startsWith("ui."))
+                .map(name -> name.substring(3, name.indexOf('$') > 0 ? name.indexOf('$') : name.length()))
+                .findFirst()
+                .orElse("unknown"));
+    }
+}
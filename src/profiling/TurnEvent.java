@@ -0,0 +1,37 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning the turn of a player, including the decision.
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ */
+@Name("jest.Turn")
+@Label("Turn")
+@Category({"Jest", "Game"})
+@Description("The turn of a player, from the offered cards to the pick")
+@StackTrace(false)
+public class TurnEvent extends Event {
+    @Label("Round")
+    public int round;
+
+    @Label("Player")
+    public String player;
+
+    @Label("Player Type")
+    public String playerType;
+
+    @Label("Options")
+    @Description("The number of cards the player could pick")
+    public int options;
+
+    @Label("Picked From")
+    public String pickedFrom;
+}
@@ -0,0 +1,313 @@
+package replay;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents a recorded game loaded in memory.
+ * A replay is made of the game seed and setup, the stream of decisions taken
+ * by the players (one byte per hidden or picked card) and periodic keyframes
+ * holding the full game state at the start of each round.
+ *
+ * <p>Since every random draw of a game derives from its seed, the decisions
+ * alone are enough to re-execute the game. Keyframes only exist to seek:
+ * reaching a given decision restarts from the closest preceding keyframe
+ * instead of replaying the game from the beginning.</p>
+ *
+ * <p>File layout (big-endian, written by {@link ReplayRecorder}):</p>
+ * <pre>
+ * header   : int magic "JRPL", short version, long seed, UTF variant,
+ *            boolean expansion, byte player count, (UTF name, boolean AI) per player
+ * records  : 'K' int decision index, int round, int length, serialized GameState
+ *            'D' byte decision
+ *            'E' end of game
+ * </pre>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see ReplayRecorder
+ * @see ReplayEngine
+ */
+public class Replay {
+    /** The magic number opening every replay file ("JRPL") */
+    static final int MAGIC = 0x4A52504C;
+    /** The current version of the replay format */
+    static final short VERSION = 1;
+    /** The tag of a keyframe record */
+    static final byte KEYFRAME = 'K';
+    /** The tag of a decision record */
+    static final byte DECISION = 'D';
+    /** The tag of the end-of-game record */
+    static final byte END = 'E';
+
+    /** The seed of the recorded game */
+    private final long seed;
+    /** The name of the variant played */
+    private final String variantName;
+    /** Flag indicating whether the expansion pack is included */
+    private final boolean includeExpansion;
+    /** The names of the players, in seating order */
+    private final String[] playerNames;
+    /** Flags indicating which players are controlled by AI (parallel to playerNames) */
+    private final boolean[] aiPlayers;
+    /** The recorded decisions, in the order they were taken */
+    private byte[] decisions;
+    /** The number of recorded decisions */
+    private int decisionCount;
+    /** The keyframes, sorted by decision index */
+    private final List<Keyframe> keyframes;
+    /** Flag indicating whether the game was played until the end */
+    private boolean complete;
+
+    /**
+     * Represents the full game state at the start of a round.
+     */
+    public static class Keyframe {
+        /** The number of decisions taken before this keyframe */
+        private final int decisionIndex;
+        /** The round number stored in the state (the round about to start minus one) */
+        private final int roundNumber;
+        /** The serialized GameState */
+        private final byte[] state;
+
+        /**
+         * Constructs a Keyframe.
+         *
+         * @param decisionIndex the number of decisions taken before this keyframe
+         * @param roundNumber the round number stored in the state
+         * @param state the serialized GameState
+         */
+        Keyframe(int decisionIndex, int roundNumber, byte[] state) {
+            this.decisionIndex = decisionIndex;
+            this.roundNumber = roundNumber;
+            this.state = state;
+        }
+
+        /**
+         * Gets the number of decisions taken before this keyframe.
+         *
+         * @return the decision index of the keyframe
+         */
+        public int getDecisionIndex() {
+            return decisionIndex;
+        }
+
+        /**
+         * Gets the round number stored in the keyframe.
+         *
+         * @return the number of rounds completed at this keyframe
+         */
+        public int getRoundNumber() {
+            return roundNumber;
+        }
+
+        /**
+         * Gets the serialized GameState of the keyframe.
+         *
+         * @return the serialized state bytes
+         */
+        byte[] getState() {
+            return state;
+        }
+    }
+
+    /**
+     * Constructs an empty Replay.
+     *
+     * @param seed the seed of the recorded game
+     * @param variantName the name of the variant played
+     * @param includeExpansion true if the expansion pack is included
+     * @param playerNames the names of the players in seating order
+     * @param aiPlayers flags indicating which players are AI
+     */
+    Replay(long seed, String variantName, boolean includeExpansion, String[] playerNames, boolean[] aiPlayers) {
+        this.seed = seed;
+        this.variantName = variantName;
+        this.includeExpansion = includeExpansion;
+        this.playerNames = playerNames;
+        this.aiPlayers = aiPlayers;
+        this.decisions = new byte[64];
+        this.decisionCount = 0;
+        this.keyframes = new ArrayList<>();
+        this.complete = false;
+    }
+
+    /**
+     * Reads a replay file.
+     * A file whose recording was interrupted (e.g. the game was quit) is
+     * read up to its last complete record and reported as incomplete.
+     *
+     * @param file the replay file to read
+     * @return the loaded replay
+     * @throws IOException if the file cannot be read or is not a replay
+     */
+    public static Replay read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a replay file: " + file.getName());
+            }
+            short version = in.readShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported replay version " + version);
+            }
+
+            long seed = in.readLong();
+            String variantName = in.readUTF();
+            boolean includeExpansion = in.readBoolean();
+            int playerCount = in.readUnsignedByte();
+            String[] names = new String[playerCount];
+            boolean[] ai = new boolean[playerCount];
+            for (int i = 0; i < playerCount; i++) {
+                names[i] = in.readUTF();
+                ai[i] = in.readBoolean();
+            }
+
+            Replay replay = new Replay(seed, variantName, includeExpansion, names, ai);
+            try {
+                while (true) {
+                    int tag = in.read();
+                    if (tag == -1) {
+                        break;
+                    } else if (tag == DECISION) {
+                        replay.addDecision(in.readByte());
+                    } else if (tag == KEYFRAME) {
+                        int decisionIndex = in.readInt();
+                        int roundNumber = in.readInt();
+                        byte[] state = new byte[in.readInt()];
+                        in.readFully(state);
+                        replay.keyframes.add(new Keyframe(decisionIndex, roundNumber, state));
+                    } else if (tag == END) {
+                        replay.complete = true;
+                        break;
+                    } else {
+                        throw new IOException("Corrupted replay record: " + tag);
+                    }
+                }
+            } catch (EOFException e) {
+                // Recording interrupted in the middle of a record: keep what was read
+            }
+
+            if (replay.keyframes.isEmpty()) {
+                throw new IOException("Replay contains no keyframe: " + file.getName());
+            }
+            return replay;
+        }
+    }
+
+    /**
+     * Appends a decision to the in-memory stream.
+     *
+     * @param decision the decision to append
+     */
+    private void addDecision(byte decision) {
+        if (decisionCount == decisions.length) {
+            decisions = Arrays.copyOf(decisions, decisions.length * 2);
+        }
+        decisions[decisionCount++] = decision;
+    }
+
+    /**
+     * Finds the last keyframe taken at or before the given decision.
+     *
+     * @param decisionIndex the decision to reach
+     * @return the closest preceding keyframe
+     */
+    Keyframe keyframeBefore(int decisionIndex) {
+        int low = 0;
+        int high = keyframes.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (keyframes.get(mid).getDecisionIndex() <= decisionIndex) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return keyframes.get(low);
+    }
+
+    /**
+     * Gets the decision taken at the given position.
+     *
+     * @param index the position of the decision
+     * @return the recorded choice
+     */
+    public int getDecision(int index) {
+        return decisions[index];
+    }
+
+    /**
+     * Gets the number of recorded decisions.
+     *
+     * @return the length of the decision stream
+     */
+    public int getDecisionCount() {
+        return decisionCount;
+    }
+
+    /**
+     * Gets the keyframes of the replay.
+     *
+     * @return the keyframes sorted by decision index
+     */
+    public List<Keyframe> getKeyframes() {
+        return keyframes;
+    }
+
+    /**
+     * Gets the seed of the recorded game.
+     *
+     * @return the game seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the name of the variant played.
+     *
+     * @return the variant name (e.g., "Classic", "Speed", "High Stakes")
+     */
+    public String getVariantName() {
+        return variantName;
+    }
+
+    /**
+     * Checks whether the expansion pack is included in the recorded game.
+     *
+     * @return true if the expansion pack is included, false otherwise
+     */
+    public boolean isIncludeExpansion() {
+        return includeExpansion;
+    }
+
+    /**
+     * Gets the names of the players of the recorded game.
+     *
+     * @return an array of player names in seating order
+     */
+    public String[] getPlayerNames() {
+        return playerNames.clone();
+    }
+
+    /**
+     * Checks whether the player at the given seat was controlled by AI.
+     *
+     * @param index the seat index of the player
+     * @return true if the player was an AI, false if it was a human player
+     */
+    public boolean isAI(int index) {
+        return aiPlayers[index];
+    }
+
+    /**
+     * Checks whether the game was recorded until the end.
+     *
+     * @return true if the replay ends with the final scoring, false if it was interrupted
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+}
@@ -0,0 +1,216 @@
+package replay;
+
+import java.io.*;
+import model.game.Game;
+import model.game.GameState;
+import player.Player;
+import player.ReplayPlayer;
+import util.Pacing;
+
+/**
+ * Re-executes a recorded game from its seed and decision stream.
+ * The engine restores the keyframe preceding the requested position and lets
+ * the game engine run with {@link ReplayPlayer}s feeding back the recorded
+ * decisions, with all readability pauses disabled.
+ *
+ * <p>Three uses are supported:</p>
+ * <ul>
+ *   <li>{@link #runHeadless()} re-executes the whole game at full speed</li>
+ *   <li>{@link #positionAt(int)} seeks to any decision, replaying at most one round</li>
+ *   <li>{@link #play(int, long, ReplayListener)} replays from a decision at a chosen pace,
+ *       e.g. to drive the animated game board</li>
+ * </ul>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see Replay
+ */
+public class ReplayEngine {
+    /** The replay being executed */
+    private final Replay replay;
+    /** The game currently being replayed */
+    private Game game;
+    /** The index of the next decision to feed */
+    private int cursor;
+    /** The decision index at which the current run stops, or -1 to run to the end */
+    private int stopAt;
+    /** The listener notified of each decision, or null when running headless */
+    private ReplayListener listener;
+    /** The first decision of which the listener is notified */
+    private int notifyFrom;
+    /** The pause after each notified decision, in milliseconds */
+    private long delayMillis;
+
+    /**
+     * Signals that the current run reached its stopping position.
+     */
+    private static class StopReplay extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        StopReplay() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Constructs a ReplayEngine for a replay.
+     *
+     * @param replay the replay to execute
+     */
+    public ReplayEngine(Replay replay) {
+        this.replay = replay;
+    }
+
+    /**
+     * Re-executes the whole recorded game at full speed.
+     *
+     * @return the winner of the game, or null if the recording was interrupted
+     */
+    public Player runHeadless() {
+        return run(0, -1, null, 0);
+    }
+
+    /**
+     * Seeks to the given decision.
+     * The returned game is in the state preceding that decision: the cards of a
+     * hiding decision in progress are dealt but not yet placed in an offer.
+     *
+     * @param decisionIndex the number of decisions to apply (clamped to the recording)
+     * @return the game positioned at the requested decision
+     */
+    public Game positionAt(int decisionIndex) {
+        int target = Math.max(0, Math.min(decisionIndex, replay.getDecisionCount()));
+        run(target, target, null, 0);
+        return game;
+    }
+
+    /**
+     * Replays the game from the given decision, notifying the listener before
+     * each decision and pausing between them.
+     *
+     * @param fromDecision the decision at which the replay starts
+     * @param delayMillis the pause after each decision, in milliseconds (0 for full speed)
+     * @param listener the listener receiving the progress of the replay
+     * @return the winner of the game, or null if the recording was interrupted
+     */
+    public Player play(int fromDecision, long delayMillis, ReplayListener listener) {
+        Player winner = run(Math.max(0, fromDecision), -1, listener, delayMillis);
+        listener.onReplayEnd(game, winner);
+        return winner;
+    }
+
+    /**
+     * Runs the replay from the keyframe preceding a position.
+     *
+     * @param from the decision from which the listener is notified
+     * @param target the decision at which to stop, or -1 to run to the end
+     * @param listener the listener to notify, or null
+     * @param delayMillis the pause after each notified decision
+     * @return the winner of the game, or null if the run stopped before the end
+     */
+    private Player run(int from, int target, ReplayListener listener, long delayMillis) {
+        Replay.Keyframe keyframe = replay.keyframeBefore(target >= 0 ? target : from);
+        this.game = restore(keyframe);
+        this.cursor = keyframe.getDecisionIndex();
+        this.stopAt = target >= 0 ? target : (replay.isComplete() ? -1 : replay.getDecisionCount());
+        this.listener = listener;
+        this.notifyFrom = from;
+        this.delayMillis = delayMillis;
+
+        boolean wasUnpaced = Pacing.isUnpaced();
+        Pacing.setUnpaced(true);
+        try {
+            while (!game.getCards().isEmpty()) {
+                game.playRound();
+            }
+            if (stopAt >= 0) {
+                return null;
+            }
+            return game.finishGame();
+        } catch (StopReplay e) {
+            return null;
+        } finally {
+            Pacing.setUnpaced(wasUnpaced);
+            this.listener = null;
+        }
+    }
+
+    /**
+     * Feeds the next recorded decision to a replay player.
+     *
+     * @return the next recorded decision
+     * @throws StopReplay if the run reached its stopping position
+     */
+    private int nextDecision() {
+        if (cursor == stopAt) {
+            throw new StopReplay();
+        }
+        if (cursor >= replay.getDecisionCount()) {
+            throw new IllegalStateException("Replay diverged: no decision left at index " + cursor);
+        }
+
+        if (listener != null && cursor >= notifyFrom) {
+            listener.onDecision(game, cursor);
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new StopReplay();
+                }
+            }
+        }
+        return replay.getDecision(cursor++);
+    }
+
+    /**
+     * Restores the game stored in a keyframe, with replay players.
+     *
+     * @param keyframe the keyframe to restore
+     * @return the restored game, not recorded
+     */
+    private Game restore(Replay.Keyframe keyframe) {
+        GameState state;
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(keyframe.getState()))) {
+            state = (GameState) ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Corrupted replay keyframe: " + e.getMessage(), e);
+        }
+        return Game.restoreGame(state,
+                playerState -> new ReplayPlayer(playerState.getName(), playerState.isAI(), this::nextDecision));
+    }
+
+    /**
+     * Gets the replay being executed.
+     *
+     * @return the replay
+     */
+    public Replay getReplay() {
+        return replay;
+    }
+
+    /**
+     * Re-executes a replay file headlessly and prints the result and timing.
+     * Usage: {@code java replay.ReplayEngine <file.jrpl>}
+     *
+     * @param args the path of the replay file
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: java replay.ReplayEngine <replay" + ReplayRecorder.REPLAY_EXTENSION + ">");
+            return;
+        }
+        try {
+            Replay replay = Replay.read(new File(args[0]));
+            long start = System.nanoTime();
+            Player winner = new ReplayEngine(replay).runHeadless();
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("🎬 Replayed " + replay.getDecisionCount() + " decisions in " + elapsed + " ms");
+            System.out.println(winner != null
+                    ? "🏅 Winner: " + winner.getName()
+                    : "⚠️ The recording was interrupted before the end of the game");
+        } catch (IOException e) {
+            System.err.println("❌ Error reading replay: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package replay;
+
+import model.game.Game;
+import player.Player;
+
+/**
+ * Receives the progress of a replay played at a chosen pace.
+ * Callbacks are invoked on the replay thread; graphical listeners must
+ * hand their updates over to the JavaFX application thread.
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see ReplayEngine#play(int, long, ReplayListener)
+ */
+public interface ReplayListener {
+    /**
+     * Called before each recorded decision is applied.
+     *
+     * @param game the replayed game, in the state preceding the decision
+     * @param decisionIndex the number of decisions applied so far
+     */
+    void onDecision(Game game, int decisionIndex);
+
+    /**
+     * Called once the replay has reached its end.
+     *
+     * @param game the replayed game
+     * @param winner the winner of the game, or null if the recording was interrupted
+     */
+    void onReplayEnd(Game game, Player winner);
+}
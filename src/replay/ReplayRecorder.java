@@ -0,0 +1,199 @@
+package replay;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import model.game.Game;
+import model.game.GameState;
+import player.Player;
+import player.AI;
+
+/**
+ * Writes the replay of a game while it is being played.
+ * The recorder is attached to a {@link Game}; the game reports each hiding
+ * and picking decision and asks for a keyframe at the start of every round.
+ *
+ * <p>Decisions take one byte each and are buffered; the file is flushed at
+ * each keyframe, so an interrupted game still leaves a replay readable up to
+ * its last started round. Recording errors are reported once and then
+ * disable the recorder without disturbing the game.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see Replay
+ */
+public class ReplayRecorder {
+    /** The directory where replay files are stored */
+    private static final String REPLAY_DIRECTORY = "jest_replays/";
+    /** The file extension used for replay files */
+    public static final String REPLAY_EXTENSION = ".jrpl";
+
+    /** The replay file being written */
+    private final File file;
+    /** The output stream of the replay file, or null once closed */
+    private DataOutputStream out;
+    /** The number of decisions written so far */
+    private int decisionCount;
+
+    /**
+     * Constructs a ReplayRecorder writing to the given file.
+     *
+     * @param file the replay file to create
+     * @param game the game being recorded
+     * @throws IOException if the file cannot be created
+     */
+    public ReplayRecorder(File file, Game game) throws IOException {
+        this.file = file;
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        this.decisionCount = 0;
+
+        out.writeInt(Replay.MAGIC);
+        out.writeShort(Replay.VERSION);
+        out.writeLong(game.getSeed());
+        out.writeUTF(game.getVariant().getName());
+        out.writeBoolean(game.isIncludeExpansion());
+        out.writeByte(game.getPlayers().size());
+        for (Player player : game.getPlayers()) {
+            out.writeUTF(player.getName());
+            out.writeBoolean(player instanceof AI);
+        }
+    }
+
+    /**
+     * Starts recording a game in a new time-stamped file of the replay directory.
+     *
+     * @param game the game to record
+     * @return the recorder, or null if the replay file could not be created
+     */
+    public static ReplayRecorder startNew(Game game) {
+        try {
+            Files.createDirectories(Paths.get(REPLAY_DIRECTORY));
+            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss");
+            File file = new File(REPLAY_DIRECTORY + "replay_" + sdf.format(new Date()) + REPLAY_EXTENSION);
+            return new ReplayRecorder(file, game);
+        } catch (IOException e) {
+            System.err.println("❌ Error creating replay: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Lists the replay files of the replay directory, most recent first.
+     *
+     * @return the replay files, or an empty array if there are none
+     */
+    public static File[] listReplays() {
+        File[] files = new File(REPLAY_DIRECTORY).listFiles((dir, name) -> name.endsWith(REPLAY_EXTENSION));
+        if (files == null) {
+            return new File[0];
+        }
+        // The file names are time-stamped: the reverse name order is the recording order
+        Arrays.sort(files, Comparator.comparing(File::getName).reversed());
+        return files;
+    }
+
+    /**
+     * Writes a keyframe holding the current state of the game and flushes the file.
+     *
+     * @param game the game being recorded
+     */
+    public void recordKeyframe(Game game) {
+        if (out == null) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+                oos.writeObject(new GameState(game, game.isIncludeExpansion()));
+            }
+            out.writeByte(Replay.KEYFRAME);
+            out.writeInt(decisionCount);
+            out.writeInt(game.getRoundNumber());
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Writes a player's decision.
+     *
+     * @param choice the option chosen by the player
+     */
+    public void recordDecision(int choice) {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.writeByte(Replay.DECISION);
+            out.writeByte(choice);
+            decisionCount++;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Marks the end of the game and closes the replay file.
+     */
+    public void finish() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.writeByte(Replay.END);
+            out.close();
+            System.out.println("🎬 Replay saved: " + file.getPath());
+        } catch (IOException e) {
+            System.err.println("❌ Error writing replay: " + e.getMessage());
+        }
+        out = null;
+    }
+
+    /**
+     * Closes the replay file without marking the end of the game, for a game
+     * left before its end: the replay reads as interrupted after the decisions
+     * written so far. Does nothing once the recorder is finished.
+     */
+    public void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            System.err.println("❌ Error writing replay: " + e.getMessage());
+        }
+        out = null;
+    }
+
+    /**
+     * Gets the replay file being written.
+     *
+     * @return the replay file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Reports a recording error and stops recording.
+     *
+     * @param e the error that occurred
+     */
+    private void fail(IOException e) {
+        System.err.println("❌ Error writing replay, recording stopped: " + e.getMessage());
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // The replay is already abandoned
+        }
+        out = null;
+    }
+}
@@ -0,0 +1,57 @@
+package server;
+
+import model.cards.Card;
+import player.AI;
+
+import java.util.ArrayList;
+
+/**
+ * An AI player taking an empty seat of a server table (see {@link Matchmaker}).
+ * Its decisions go through the {@link GameSession} like those of the remote
+ * players, so that a passivated round replays them instead of asking the
+ * strategies again.
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see Matchmaker
+ */
+class BackfillAI extends AI {
+    /** The session the player is seated at */
+    private GameSession session;
+
+    /**
+     * Constructs a new BackfillAI.
+     *
+     * @param name the name of the AI player
+     */
+    BackfillAI(String name) {
+        super(name);
+    }
+
+    /**
+     * Seats the player at a table.
+     *
+     * @param session the session of the table
+     */
+    void seat(GameSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Replays the decision after a reactivation, or asks the AI strategy.
+     *
+     * @param min the minimum valid choice value (inclusive)
+     * @param max the maximum valid choice value (inclusive)
+     * @param cards the list of cards available for the decision
+     * @param isHidingCard true if choosing which card to hide, false if choosing which card to pick
+     * @return the option chosen
+     */
+    @Override
+    public int makeChoice(int min, int max, ArrayList<Card> cards, boolean isHidingCard) {
+        int replayed = session.nextReplayedDecision(this);
+        if (replayed >= 0) {
+            return session.recordDecision(replayed);
+        }
+        return session.recordDecision(super.makeChoice(min, max, cards, isHidingCard));
+    }
+}
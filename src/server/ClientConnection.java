@@ -0,0 +1,223 @@
+package server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A client connected to the {@link JestServer}.
+ * The connection is read and written only by the selector thread of the
+ * server; game threads send frames through {@link #send(ByteBuffer)}, which
+ * queues them and asks the selector to flush the queue.
+ *
+ * <p>The queued frames are written together with a gathering write. The
+ * bytes queued and not written yet are counted, so that senders which can
+ * skip frames (spectator feeds) stop queuing for a client that does not read.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ */
+class ClientConnection {
+    /** The maximum number of frames written by one gathering write */
+    private static final int MAX_GATHERED_FRAMES = 64;
+
+    private final JestServer server;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    /** The bytes received and not decoded yet (selector thread only) */
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(Protocol.MAX_FRAME_SIZE);
+    /** The frames waiting to be written */
+    private final ConcurrentLinkedQueue<ByteBuffer> writeQueue = new ConcurrentLinkedQueue<>();
+    /** Whether the selector has already been asked to flush the queue */
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    /** The bytes queued and not written yet */
+    private final AtomicLong queuedBytes = new AtomicLong();
+    /** The frames taken from the queue for the next gathering write (selector thread only) */
+    private final ByteBuffer[] writeBatch = new ByteBuffer[MAX_GATHERED_FRAMES];
+    private int batchSize;
+
+    /** The player seated through this connection, or null outside a game */
+    private final AtomicReference<RemotePlayer> player = new AtomicReference<>();
+    private volatile boolean closed = false;
+    /** The decisions submitted ahead of time by the client, kept from one game to the next */
+    private volatile Intents intents;
+    /** The table followed by the client as a spectator, or null */
+    private volatile SpectatorFeed watching;
+
+    ClientConnection(JestServer server, SocketChannel channel, SelectionKey key) {
+        this.server = server;
+        this.channel = channel;
+        this.key = key;
+    }
+
+    /**
+     * Queues a frame to be written to the client. Can be called from any thread.
+     * Frames sent after the connection is closed are dropped.
+     *
+     * @param frame the frame, ready to be written
+     */
+    void send(ByteBuffer frame) {
+        if (closed) {
+            return;
+        }
+        queuedBytes.addAndGet(frame.remaining());
+        writeQueue.add(frame);
+        if (flushRequested.compareAndSet(false, true)) {
+            server.requestFlush(this);
+        }
+    }
+
+    /**
+     * Queues a frame unless too many bytes are already waiting to be written.
+     * Can be called from any thread.
+     *
+     * @param frame the frame, ready to be written
+     * @param maxQueuedBytes the queued bytes beyond which the frame is not queued
+     * @return true if the frame was queued
+     */
+    boolean trySend(ByteBuffer frame, long maxQueuedBytes) {
+        if (closed || queuedBytes.get() > maxQueuedBytes) {
+            return false;
+        }
+        send(frame);
+        return true;
+    }
+
+    /**
+     * Gets the number of bytes queued and not written yet.
+     *
+     * @return the queued bytes
+     */
+    long getQueuedBytes() {
+        return queuedBytes.get();
+    }
+
+    /**
+     * Reads the available bytes and returns the buffer holding them, in read mode.
+     * After decoding, the caller must call {@link #compactReadBuffer()}.
+     *
+     * @return the received bytes, or null if the client closed the connection
+     * @throws IOException if the read fails
+     */
+    ByteBuffer read() throws IOException {
+        if (channel.read(readBuffer) < 0) {
+            return null;
+        }
+        return readBuffer.flip();
+    }
+
+    /**
+     * Keeps the undecoded bytes at the start of the read buffer.
+     */
+    void compactReadBuffer() {
+        readBuffer.compact();
+    }
+
+    /**
+     * Writes the queued frames until the queue is empty or the socket buffer is full.
+     * Up to {@link #MAX_GATHERED_FRAMES} frames are written by each system call.
+     * Selector thread only.
+     *
+     * @throws IOException if the write fails
+     */
+    void flush() throws IOException {
+        flushRequested.set(false);
+        while (true) {
+            ByteBuffer frame;
+            while (batchSize < writeBatch.length && (frame = writeQueue.poll()) != null) {
+                writeBatch[batchSize++] = frame;
+            }
+            if (batchSize == 0) {
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+                return;
+            }
+
+            queuedBytes.addAndGet(-channel.write(writeBatch, 0, batchSize));
+            int written = 0;
+            while (written < batchSize && !writeBatch[written].hasRemaining()) {
+                written++;
+            }
+            System.arraycopy(writeBatch, written, writeBatch, 0, batchSize - written);
+            Arrays.fill(writeBatch, batchSize - written, batchSize, null);
+            batchSize -= written;
+            if (batchSize > 0) {
+                // Socket buffer full: wait until the channel is writable again
+                key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Closes the connection. The seated player, if any, is disconnected.
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing connection: " + e.getMessage());
+        }
+        writeQueue.clear();
+        RemotePlayer seated = player.get();
+        if (seated != null) {
+            seated.disconnect();
+        }
+        SpectatorFeed watched = watching;
+        if (watched != null) {
+            watched.remove(this);
+        }
+    }
+
+    SelectionKey getKey() {
+        return key;
+    }
+
+    RemotePlayer getPlayer() {
+        return player.get();
+    }
+
+    void setPlayer(RemotePlayer player) {
+        this.player.set(player);
+    }
+
+    /**
+     * Frees the connection from a finished game, so its client can join again.
+     * Does nothing if the client has already been seated at another table.
+     *
+     * @param finished the player of the finished game
+     */
+    void releasePlayer(RemotePlayer finished) {
+        player.compareAndSet(finished, null);
+    }
+
+    Intents getIntents() {
+        return intents;
+    }
+
+    void setIntents(Intents intents) {
+        this.intents = intents;
+    }
+
+    SpectatorFeed getWatching() {
+        return watching;
+    }
+
+    void setWatching(SpectatorFeed watching) {
+        this.watching = watching;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+}
@@ -0,0 +1,456 @@
+package server;
+
+import model.game.Game;
+import model.game.GameState;
+import player.Player;
+import util.Pacing;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A game played by remote players on the {@link JestServer}.
+ * The session runs the whole game on its own thread: the game blocks on each
+ * decision until the client of the deciding player answers, while the other
+ * sessions keep running. Seats left empty by the {@link Matchmaker} are taken
+ * by {@link BackfillAI} players.
+ *
+ * <p>Session flow:</p>
+ * <ol>
+ *   <li>Send WELCOME to every player, with their seat</li>
+ *   <li>Play the rounds until the deck is empty (DEAL and PICK_OPTIONS are sent by the players,
+ *       a ROUND_SUMMARY to the players deciding from their intents)</li>
+ *   <li>Send the final SCORE to every player</li>
+ * </ol>
+ *
+ * <p>Clients can watch the table: its public events are broadcast to them by
+ * a {@link SpectatorFeed} listening to the game.</p>
+ *
+ * <p>When the server has a {@link SessionManager}, a session waiting too long
+ * for a decision can be passivated: its thread ends, and the game is stored as
+ * the state of the start of the round plus the decisions taken since. The
+ * answer of the awaited player starts the session again, which restores the
+ * round, replays its decisions and continues with the answer.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see RemotePlayer
+ * @see SessionManager
+ */
+public class GameSession implements Runnable {
+    /** The magic number opening every checkpoint ("JSES") */
+    private static final int CHECKPOINT_MAGIC = 0x4A534553;
+
+    private static final int ACTIVE = 0;
+    private static final int PASSIVATING = 1;
+    private static final int PASSIVATED = 2;
+
+    private final int id;
+    /** The players, by seat */
+    private final List<Player> players;
+    /** The players connected through a client */
+    private final List<RemotePlayer> remotePlayers;
+    private final JestServer server;
+    private final SessionManager manager;
+    private final AtomicInteger state = new AtomicInteger(ACTIVE);
+    /** The clients watching the table */
+    private final SpectatorFeed spectators;
+
+    /** The game, or null while the session is passivated */
+    private volatile Game game;
+    /** The state of the game at the start of the current round */
+    private GameState roundStart;
+    /** The decisions taken since the start of the current round */
+    private int[] roundDecisions = new int[32];
+    private int roundDecisionCount;
+    /** The decisions left to replay after a reactivation */
+    private int[] replayedDecisions = new int[0];
+    private int replayPosition;
+    /** Whether the decisions of the round are being replayed after a reactivation */
+    private boolean replaying;
+
+    /** The checkpoint of the passivated game, when it could not be written to disk */
+    private byte[] checkpointInMemory;
+    /** Completing this future passivates the session while it waits for a decision */
+    private volatile CompletableFuture<Void> eviction;
+    /** When the session started waiting for the current decision ({@link System#nanoTime()}), 0 if running */
+    private volatile long waitingSince;
+    /** The player whose decision the session is waiting for */
+    private volatile RemotePlayer waitingPlayer;
+    /** Whether the last eviction was requested because the session was idle */
+    private volatile boolean evictedForIdle;
+
+    /**
+     * Thrown through the game to end the thread of a session being passivated.
+     */
+    private static class Passivation extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Passivation() {
+            super("Session passivated", null, false, false);
+        }
+    }
+
+    /**
+     * Constructs a new GameSession and seats its players.
+     *
+     * @param id the identifier of the session
+     * @param players the players of the table (3 or 4), remote or {@link BackfillAI}
+     * @param server the server hosting the session
+     * @param manager the manager passivating idle sessions, or null to keep the session in memory
+     */
+    GameSession(int id, List<? extends Player> players, JestServer server, SessionManager manager) {
+        this.id = id;
+        this.players = List.copyOf(players);
+        this.server = server;
+        this.manager = manager;
+        this.game = new Game(false);
+        List<RemotePlayer> remote = new ArrayList<>();
+        for (int seat = 0; seat < this.players.size(); seat++) {
+            Player player = this.players.get(seat);
+            if (player instanceof RemotePlayer remotePlayer) {
+                remotePlayer.seat(this, seat);
+                remote.add(remotePlayer);
+            } else if (player instanceof BackfillAI ai) {
+                ai.seat(this);
+            } else {
+                throw new IllegalArgumentException("Unsupported player: " + player.getName());
+            }
+            game.addPlayer(player);
+        }
+        this.remotePlayers = List.copyOf(remote);
+        this.spectators = new SpectatorFeed(this.players, server);
+        game.getEvents().subscribe(spectators);
+        if (manager != null) {
+            manager.register(this);
+        }
+    }
+
+    /**
+     * Plays the game, or resumes it after a passivation, then releases the players.
+     */
+    @Override
+    public void run() {
+        Pacing.setUnpaced(true);
+        boolean passivated = false;
+        boolean aborted = false;
+        try {
+            if (game == null) {
+                restore();
+            } else {
+                for (RemotePlayer player : remotePlayers) {
+                    player.send(Protocol.welcome(id, player.getSeat(), players.size()));
+                }
+                game.setTrophies();
+            }
+            playGame();
+        } catch (Passivation e) {
+            passivated = true;
+            passivate();
+        } catch (RuntimeException e) {
+            aborted = true;
+            System.err.println("❌ Session " + id + ": game aborted (" + e + ")");
+            for (RemotePlayer player : remotePlayers) {
+                player.send(Protocol.error("Game aborted"));
+            }
+        } finally {
+            if (!passivated) {
+                spectators.close(aborted);
+                releasePlayers();
+                if (manager != null) {
+                    manager.unregister(this);
+                }
+                server.sessionFinished(this);
+            }
+        }
+    }
+
+    /**
+     * Plays the remaining rounds of the game and sends the final scores.
+     */
+    private void playGame() {
+        while (!game.getCards().isEmpty()) {
+            if (remotePlayers.stream().noneMatch(RemotePlayer::isConnected)) {
+                System.err.println("⚠️ Session " + id + ": all players left, game abandoned");
+                return;
+            }
+            if (manager != null) {
+                roundStart = new GameState(game, game.isIncludeExpansion());
+                roundDecisionCount = 0;
+            }
+            game.playRound();
+            for (RemotePlayer player : remotePlayers) {
+                player.sendRoundSummary(game.getRoundNumber());
+            }
+        }
+
+        Player winner = game.finishGame();
+        int[] points = new int[players.size()];
+        for (int seat = 0; seat < points.length; seat++) {
+            points[seat] = game.getVariant().calculatePoints(players.get(seat));
+        }
+        // Clients may join again as soon as they receive their score
+        releasePlayers();
+        for (RemotePlayer player : remotePlayers) {
+            player.send(Protocol.score(players.indexOf(winner), points));
+        }
+    }
+
+    /**
+     * Waits for the answer of a player. With a session manager, the wait is
+     * interrupted if the session is chosen for passivation.
+     *
+     * @param player the player deciding
+     * @param answer the future completed by the answer of the player
+     * @param timeoutMillis the time given to the player
+     * @return the answer
+     * @throws TimeoutException if the player did not answer in time
+     * @throws InterruptedException if the session thread is interrupted
+     */
+    int awaitDecision(RemotePlayer player, CompletableFuture<Integer> answer, long timeoutMillis)
+            throws TimeoutException, InterruptedException {
+        try {
+            if (manager == null) {
+                return answer.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            }
+            CompletableFuture<Void> evicted = new CompletableFuture<>();
+            eviction = evicted;
+            waitingPlayer = player;
+            waitingSince = System.nanoTime();
+            try {
+                CompletableFuture.anyOf(answer, evicted).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } finally {
+                waitingSince = 0;
+                eviction = null;
+            }
+            if (!answer.isDone()) {
+                state.set(PASSIVATING);
+                throw new Passivation();
+            }
+            return answer.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Answer failed", e.getCause());
+        }
+    }
+
+    /**
+     * Asks the session to passivate itself, if it is waiting for a decision.
+     * The session stays in memory if the answer arrives first.
+     * Called by the session manager.
+     *
+     * @param idle true if the session is evicted for being idle, false to respect the budget
+     * @return true if the eviction was requested
+     */
+    boolean requestEviction(boolean idle) {
+        CompletableFuture<Void> evicted = eviction;
+        if (evicted == null) {
+            return false;
+        }
+        evictedForIdle = idle;
+        return evicted.complete(null);
+    }
+
+    /**
+     * Called when the awaited player answered or left: reactivates the session if it is passivated.
+     */
+    void answerArrived() {
+        if (state.compareAndSet(PASSIVATED, ACTIVE)) {
+            server.resume(this);
+        }
+    }
+
+    /**
+     * Records a decision of the current round, so a passivated round can be replayed.
+     *
+     * @param choice the option chosen
+     * @return the same option
+     */
+    int recordDecision(int choice) {
+        if (manager != null) {
+            if (roundDecisionCount == roundDecisions.length) {
+                roundDecisions = Arrays.copyOf(roundDecisions, roundDecisionCount * 2);
+            }
+            roundDecisions[roundDecisionCount++] = choice;
+        }
+        return choice;
+    }
+
+    /**
+     * Takes the next decision to replay after a reactivation.
+     *
+     * @param player the player asked for the decision
+     * @return the recorded decision, or -1 once the replay has reached the awaited decision
+     * @throws IllegalStateException if the replayed game did not reach the awaited decision
+     */
+    int nextReplayedDecision(Player player) {
+        if (replayPosition < replayedDecisions.length) {
+            return replayedDecisions[replayPosition++];
+        }
+        if (replaying) {
+            replaying = false;
+            replayedDecisions = new int[0];
+            if (player != waitingPlayer) {
+                throw new IllegalStateException("Replay diverged: expected " + waitingPlayer.getName()
+                        + ", reached " + player.getName());
+            }
+            spectators.unmute();
+        }
+        return -1;
+    }
+
+    /**
+     * Stores the game as the start of its round plus the decisions taken since,
+     * and drops it from memory.
+     */
+    private void passivate() {
+        byte[] checkpoint;
+        try {
+            checkpoint = encodeCheckpoint();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot encode checkpoint of session " + id, e);
+        }
+        if (!manager.writeCheckpoint(id, checkpoint, evictedForIdle)) {
+            checkpointInMemory = checkpoint;
+        }
+        game = null;
+        roundStart = null;
+        // The jests and offers are restored with the game
+        for (Player player : players) {
+            player.setJest(new ArrayList<>());
+            player.setVisibleCard(null);
+            player.setHiddenCard(null);
+        }
+        state.set(PASSIVATED);
+
+        // The answer may have arrived while the checkpoint was being written
+        if (waitingPlayer.hasAnswer() || !waitingPlayer.isConnected()) {
+            answerArrived();
+        }
+    }
+
+    /**
+     * Restores the game at the start of its round and prepares the replay of its decisions.
+     */
+    private void restore() {
+        long start = System.nanoTime();
+        try {
+            byte[] checkpoint = checkpointInMemory != null ? checkpointInMemory : manager.readCheckpoint(id);
+            checkpointInMemory = null;
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(checkpoint));
+            if (in.readInt() != CHECKPOINT_MAGIC) {
+                throw new IOException("Not a session checkpoint");
+            }
+            int[] decisions = new int[in.readInt()];
+            for (int i = 0; i < decisions.length; i++) {
+                decisions[i] = in.readByte();
+            }
+            GameState savedState = (GameState) new ObjectInputStream(in).readObject();
+
+            int[] nextSeat = {0};
+            game = Game.restoreGame(savedState, playerState -> players.get(nextSeat[0]++));
+            replayedDecisions = decisions;
+            replayPosition = 0;
+            replaying = true;
+            // The spectators have seen the replayed events already
+            spectators.mute();
+            game.getEvents().subscribe(spectators);
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            throw new IllegalStateException("Cannot restore session " + id, e);
+        } finally {
+            manager.reactivated(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Encodes the start of the current round and the decisions taken since.
+     */
+    private byte[] encodeCheckpoint() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(CHECKPOINT_MAGIC);
+        out.writeInt(roundDecisionCount);
+        for (int i = 0; i < roundDecisionCount; i++) {
+            out.writeByte(roundDecisions[i]);
+        }
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(roundStart);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Frees the connections of the players, so their clients can join another table.
+     */
+    private void releasePlayers() {
+        for (RemotePlayer player : remotePlayers) {
+            player.getConnection().releasePlayer(player);
+        }
+    }
+
+    /**
+     * Checks whether the game is passivated (stored out of memory).
+     *
+     * @return true while the session is passivated
+     */
+    public boolean isPassivated() {
+        return state.get() != ACTIVE;
+    }
+
+    /**
+     * Gets when the session started waiting for the current decision.
+     *
+     * @return the {@link System#nanoTime()} of the start of the wait, or 0 if the session is not waiting
+     */
+    long getWaitingSince() {
+        return waitingSince;
+    }
+
+    /**
+     * Gets the identifier of the session.
+     *
+     * @return the session id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the game played by the session.
+     *
+     * @return the game, or null while the session is passivated
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Gets the feed of the clients watching the session.
+     *
+     * @return the spectator feed
+     */
+    SpectatorFeed getSpectators() {
+        return spectators;
+    }
+
+    /**
+     * Gets the players of the session.
+     *
+     * @return the players, by seat
+     */
+    public List<Player> getPlayers() {
+        return players;
+    }
+}
@@ -0,0 +1,104 @@
+package server;
+
+import model.cards.CardDeckFactory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The decisions a client submits ahead of time (see {@link Protocol#INTENTS}):
+ * a rule to choose the card to hide, and the order in which it wants to pick
+ * cards. The server applies them to every decision of the player, so a round
+ * is played without waiting for the client.
+ *
+ * <p>Cards missing from the priorities come after the listed ones; between
+ * cards of the same priority, the first option is chosen.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see RemotePlayer
+ */
+final class Intents {
+    /** The offset of a card identifier in the rank table, making room for {@link Protocol#HIDDEN_CARD} */
+    private static final int RANK_OFFSET = -Protocol.HIDDEN_CARD;
+
+    private final int hideRule;
+    /** The priority of each card, by identifier + {@link #RANK_OFFSET}; lower is preferred */
+    private final int[] ranks;
+
+    /**
+     * Constructs intents.
+     *
+     * @param hideRule {@link Protocol#HIDE_PREFERRED} or {@link Protocol#HIDE_OTHER}
+     * @param priorities the cards in the order they should be picked, {@link Protocol#HIDDEN_CARD}
+     *                   for face-down cards
+     * @throws IllegalArgumentException if the rule or a card is invalid
+     */
+    Intents(int hideRule, int[] priorities) {
+        if (hideRule != Protocol.HIDE_PREFERRED && hideRule != Protocol.HIDE_OTHER) {
+            throw new IllegalArgumentException("Invalid hide rule: " + hideRule);
+        }
+        this.hideRule = hideRule;
+        this.ranks = new int[RANK_OFFSET + CardDeckFactory.getFullDeckSize()];
+        Arrays.fill(ranks, priorities.length);
+        for (int i = priorities.length - 1; i >= 0; i--) {
+            int card = priorities[i];
+            if (card != Protocol.HIDDEN_CARD && (card < 0 || card >= CardDeckFactory.getFullDeckSize())) {
+                throw new IllegalArgumentException("Invalid card in intents: " + card);
+            }
+            ranks[card + RANK_OFFSET] = i;
+        }
+    }
+
+    /**
+     * Decodes the payload of an INTENTS message.
+     *
+     * @param frame the frame, positioned after the type byte
+     * @return the intents, or null if the client asked to decide each time again
+     * @throws IllegalArgumentException if the intents are invalid
+     */
+    static Intents read(ByteBuffer frame) {
+        int hideRule = frame.get();
+        int[] priorities = new int[Byte.toUnsignedInt(frame.get())];
+        for (int i = 0; i < priorities.length; i++) {
+            priorities[i] = frame.get();
+        }
+        return hideRule == Protocol.NO_INTENTS ? null : new Intents(hideRule, priorities);
+    }
+
+    /**
+     * Chooses the card to hide.
+     *
+     * @param card1 the identifier of the first card
+     * @param card2 the identifier of the second card
+     * @return 1 to hide the first card, 2 to hide the second one
+     */
+    int chooseHide(int card1, int card2) {
+        int preferred = rank(card1) <= rank(card2) ? 1 : 2;
+        return hideRule == Protocol.HIDE_PREFERRED ? preferred : 3 - preferred;
+    }
+
+    /**
+     * Chooses the card to pick.
+     *
+     * @param cards the identifier of each option, {@link Protocol#HIDDEN_CARD} for a face-down card
+     * @return the chosen option, from 1
+     */
+    int choosePick(int[] cards) {
+        int best = 0;
+        for (int i = 1; i < cards.length; i++) {
+            if (rank(cards[i]) < rank(cards[best])) {
+                best = i;
+            }
+        }
+        return best + 1;
+    }
+
+    /**
+     * Gets the priority of a card; unknown cards come last.
+     */
+    private int rank(int card) {
+        int index = card + RANK_OFFSET;
+        return index >= 0 && index < ranks.length ? ranks[index] : Integer.MAX_VALUE;
+    }
+}
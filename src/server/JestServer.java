@@ -0,0 +1,524 @@
+package server;
+
+import player.Player;
+import util.Metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A non-blocking TCP server hosting many concurrent Jest games.
+ * A single selector thread accepts the clients, decodes their messages and
+ * writes the queued frames; each game runs as a {@link GameSession} on a
+ * virtual thread of its own (see {@link SessionHost}), and waits on its
+ * {@link RemotePlayer}s for the decisions.
+ *
+ * <p>Clients join with a JOIN message giving the size of the table they want
+ * (3 or 4 players). The {@link Matchmaker} seats them in their order of
+ * arrival and starts a new session for each full table; a client waiting
+ * longer than the backfill timeout gets a table completed with AI players.
+ * Once a game is over, its clients can join again.</p>
+ *
+ * <p>Clients can also WATCH a table, or the next table to start, as
+ * spectators (see {@link SpectatorFeed}).</p>
+ *
+ * <p>With a {@link SessionManager}, games left waiting for a slow player are
+ * moved out of memory until that player answers.</p>
+ *
+ * <p>Usage: {@code java server.JestServer [port]}</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see Protocol
+ * @see LoadGenerator
+ */
+public class JestServer implements Closeable {
+    /** The default time given to a client for each decision, in milliseconds */
+    public static final long DEFAULT_CHOICE_TIMEOUT = 30_000;
+
+    private final int requestedPort;
+    private final long choiceTimeoutMillis;
+    private final SessionManager sessionManager;
+    private final long backfillTimeoutMillis;
+    private Matchmaker matchmaker;
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread selectorThread;
+    private SessionHost sessionHost;
+    private volatile boolean running;
+
+    /** The connections with frames to flush, handed over to the selector thread */
+    private final ConcurrentLinkedQueue<ClientConnection> flushRequests = new ConcurrentLinkedQueue<>();
+    /** The sessions being played, by id */
+    private final ConcurrentHashMap<Integer, GameSession> activeSessions = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSessionId = new AtomicInteger(1);
+    private final AtomicLong completedSessions = new AtomicLong();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    /** The spectators waiting for the next table to start */
+    private final ConcurrentLinkedQueue<ClientConnection> waitingSpectators = new ConcurrentLinkedQueue<>();
+    private final LongAdder spectatorFramesSent = new LongAdder();
+    private final LongAdder spectatorFramesDropped = new LongAdder();
+    private final LongAdder spectatorSnapshotsSent = new LongAdder();
+
+    /**
+     * Constructs a server listening on the given port.
+     *
+     * @param port the TCP port, or 0 for any free port
+     */
+    public JestServer(int port) {
+        this(port, DEFAULT_CHOICE_TIMEOUT);
+    }
+
+    /**
+     * Constructs a server listening on the given port.
+     *
+     * @param port the TCP port, or 0 for any free port
+     * @param choiceTimeoutMillis the time given to a client for each decision
+     */
+    public JestServer(int port, long choiceTimeoutMillis) {
+        this(port, choiceTimeoutMillis, null);
+    }
+
+    /**
+     * Constructs a server listening on the given port, whose idle games are
+     * passivated by a session manager. The manager is started and closed with the server.
+     *
+     * @param port the TCP port, or 0 for any free port
+     * @param choiceTimeoutMillis the time given to a client for each decision
+     * @param sessionManager the manager of the games, or null to keep every game in memory
+     */
+    public JestServer(int port, long choiceTimeoutMillis, SessionManager sessionManager) {
+        this(port, choiceTimeoutMillis, sessionManager, Matchmaker.DEFAULT_BACKFILL_TIMEOUT);
+    }
+
+    /**
+     * Constructs a server listening on the given port, whose idle games are
+     * passivated by a session manager. The manager is started and closed with the server.
+     *
+     * @param port the TCP port, or 0 for any free port
+     * @param choiceTimeoutMillis the time given to a client for each decision
+     * @param sessionManager the manager of the games, or null to keep every game in memory
+     * @param backfillTimeoutMillis the time a client waits for other clients before AI players
+     *                              take the empty seats of its table
+     */
+    public JestServer(int port, long choiceTimeoutMillis, SessionManager sessionManager, long backfillTimeoutMillis) {
+        this.requestedPort = port;
+        this.choiceTimeoutMillis = choiceTimeoutMillis;
+        this.sessionManager = sessionManager;
+        this.backfillTimeoutMillis = backfillTimeoutMillis;
+    }
+
+    /**
+     * Binds the server and starts its selector thread.
+     *
+     * @throws IOException if the port cannot be bound
+     */
+    public void start() throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(requestedPort), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        sessionHost = new SessionHost("jest-session");
+        if (sessionManager != null) {
+            sessionManager.start();
+        }
+        matchmaker = new Matchmaker(backfillTimeoutMillis, this::startTable);
+        matchmaker.start();
+
+        running = true;
+        selectorThread = new Thread(this::selectLoop, "jest-selector");
+        selectorThread.start();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return the bound port
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Gets the number of games being played.
+     *
+     * @return the number of active sessions
+     */
+    public int getActiveSessionCount() {
+        return activeSessions.size();
+    }
+
+    /**
+     * Gets the highest number of games played at the same time.
+     *
+     * @return the peak number of sessions
+     */
+    public int getPeakSessionCount() {
+        return sessionHost.getPeakSessionCount();
+    }
+
+    /**
+     * Gets the number of games played to the end or abandoned.
+     *
+     * @return the number of finished sessions
+     */
+    public long getCompletedSessionCount() {
+        return completedSessions.get();
+    }
+
+    /**
+     * Gets the matchmaker seating the clients.
+     *
+     * @return the matchmaker, or null if the server is not started
+     */
+    public Matchmaker getMatchmaker() {
+        return matchmaker;
+    }
+
+    /**
+     * Gets the number of table events queued for spectators.
+     *
+     * @return the number of frames sent
+     */
+    public long getSpectatorFramesSent() {
+        return spectatorFramesSent.sum();
+    }
+
+    /**
+     * Gets the number of table events missed by spectators too slow to read them.
+     *
+     * @return the number of frames dropped
+     */
+    public long getSpectatorFramesDropped() {
+        return spectatorFramesDropped.sum();
+    }
+
+    /**
+     * Gets the number of snapshots sent to new or lagging spectators.
+     *
+     * @return the number of snapshots sent
+     */
+    public long getSpectatorSnapshotsSent() {
+        return spectatorSnapshotsSent.sum();
+    }
+
+    /**
+     * Gets the number of connected clients.
+     *
+     * @return the number of open connections
+     */
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * Stops the server: closes every connection and interrupts the running sessions.
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (selector != null) {
+            selector.wakeup();
+        }
+        try {
+            if (selectorThread != null) {
+                selectorThread.join(5000);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (matchmaker != null) {
+            matchmaker.close();
+        }
+        if (sessionHost != null) {
+            sessionHost.close();
+        }
+        if (sessionManager != null) {
+            sessionManager.close();
+        }
+    }
+
+    /**
+     * Asks the selector thread to flush the frames queued on a connection.
+     *
+     * @param connection the connection
+     */
+    void requestFlush(ClientConnection connection) {
+        flushRequests.add(connection);
+        selector.wakeup();
+    }
+
+    /**
+     * Counts the frames of one broadcast to the spectators of a table.
+     *
+     * @param sent the table events queued
+     * @param dropped the table events missed by lagging spectators
+     * @param snapshots the snapshots queued
+     */
+    void spectatorFramesSent(int sent, int dropped, int snapshots) {
+        spectatorFramesSent.add(sent);
+        spectatorFramesDropped.add(dropped);
+        spectatorSnapshotsSent.add(snapshots);
+    }
+
+    /**
+     * Starts a passivated session again, on a new thread.
+     *
+     * @param session the session to reactivate
+     */
+    void resume(GameSession session) {
+        sessionHost.host(session);
+    }
+
+    /**
+     * Called by a session once its game is over.
+     *
+     * @param session the finished session
+     */
+    void sessionFinished(GameSession session) {
+        activeSessions.remove(session.getId());
+        completedSessions.incrementAndGet();
+    }
+
+    /**
+     * The selector loop: accepts, reads and writes until the server is closed.
+     */
+    private void selectLoop() {
+        try {
+            while (running) {
+                selector.select();
+
+                ClientConnection pending;
+                while ((pending = flushRequests.poll()) != null) {
+                    flush(pending);
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        ClientConnection connection = (ClientConnection) key.attachment();
+                        if (key.isReadable()) {
+                            read(connection);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            flush(connection);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Server selector failed: " + e.getMessage());
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof ClientConnection connection) {
+                    connection.close();
+                }
+            }
+            try {
+                serverChannel.close();
+                selector.close();
+            } catch (IOException e) {
+                System.err.println("Error closing server: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Accepts the pending clients.
+     */
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new ClientConnection(this, channel, key));
+            connectionCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Reads and handles the messages of a client.
+     */
+    private void read(ClientConnection connection) {
+        try {
+            ByteBuffer in = connection.read();
+            if (in == null) {
+                disconnect(connection);
+                return;
+            }
+            ByteBuffer frame;
+            while ((frame = Protocol.nextFrame(in)) != null) {
+                handle(connection, frame);
+            }
+            connection.compactReadBuffer();
+        } catch (IOException | RuntimeException e) {
+            disconnect(connection);
+        }
+    }
+
+    /**
+     * Writes the queued frames of a client.
+     */
+    private void flush(ClientConnection connection) {
+        if (connection.isClosed()) {
+            return;
+        }
+        try {
+            connection.flush();
+        } catch (IOException e) {
+            disconnect(connection);
+        }
+    }
+
+    /**
+     * Handles a message of a client.
+     *
+     * @param connection the client
+     * @param frame the type byte and payload of the message
+     */
+    private void handle(ClientConnection connection, ByteBuffer frame) {
+        byte type = frame.get();
+        switch (type) {
+            case Protocol.JOIN -> join(connection, frame.get(), Protocol.readString(frame));
+            case Protocol.HIDE, Protocol.PICK -> {
+                RemotePlayer player = connection.getPlayer();
+                if (player == null || !player.answer(type, frame.get())) {
+                    connection.send(Protocol.error("No decision pending"));
+                }
+            }
+            case Protocol.WATCH -> watch(connection, frame.getInt());
+            case Protocol.INTENTS -> {
+                try {
+                    connection.setIntents(Intents.read(frame));
+                } catch (IllegalArgumentException e) {
+                    connection.send(Protocol.error(e.getMessage()));
+                    return;
+                }
+                RemotePlayer player = connection.getPlayer();
+                if (player != null && connection.getIntents() != null) {
+                    player.intentsArrived();
+                }
+            }
+            default -> connection.send(Protocol.error("Unknown message type: " + type));
+        }
+    }
+
+    /**
+     * Puts a client in the matchmaking queue of the table size it asked for.
+     */
+    private void join(ClientConnection connection, int tableSize, String name) {
+        if (connection.getPlayer() != null) {
+            connection.send(Protocol.error("Already seated"));
+            return;
+        }
+        if (tableSize < 3 || tableSize > 4) {
+            connection.send(Protocol.error("Tables have 3 or 4 players"));
+            return;
+        }
+
+        stopWatching(connection);
+        RemotePlayer player = new RemotePlayer(name, connection, choiceTimeoutMillis);
+        connection.setPlayer(player);
+        player.setTicket(matchmaker.enqueue(player, tableSize));
+    }
+
+    /**
+     * Makes a client a spectator of a table, or of the next table to start.
+     */
+    private void watch(ClientConnection connection, int sessionId) {
+        if (connection.getPlayer() != null) {
+            connection.send(Protocol.error("Already seated"));
+            return;
+        }
+        stopWatching(connection);
+        if (sessionId == 0) {
+            waitingSpectators.add(connection);
+            return;
+        }
+        GameSession session = activeSessions.get(sessionId);
+        if (session == null || !session.getSpectators().add(connection)) {
+            connection.send(Protocol.error("No such table: " + sessionId));
+        }
+    }
+
+    /**
+     * Stops a client from watching its table, if it watches one.
+     */
+    private void stopWatching(ClientConnection connection) {
+        SpectatorFeed watched = connection.getWatching();
+        if (watched != null) {
+            watched.remove(connection);
+        }
+    }
+
+    /**
+     * Starts the session of a table formed by the matchmaker.
+     * Called by the matchmaker thread.
+     *
+     * @param seats the players of the table, by seat
+     */
+    private void startTable(List<Player> seats) {
+        GameSession session = new GameSession(nextSessionId.getAndIncrement(), seats, this, sessionManager);
+        activeSessions.put(session.getId(), session);
+        ClientConnection spectator;
+        while ((spectator = waitingSpectators.poll()) != null) {
+            // Clients that left, joined or watched another table since their WATCH are skipped
+            if (!spectator.isClosed() && spectator.getPlayer() == null && spectator.getWatching() == null) {
+                session.getSpectators().add(spectator);
+            }
+        }
+        sessionHost.host(session);
+    }
+
+    /**
+     * Closes a client connection and removes its player from the matchmaking queue.
+     */
+    private void disconnect(ClientConnection connection) {
+        if (connection.isClosed()) {
+            return;
+        }
+        RemotePlayer player = connection.getPlayer();
+        if (player != null && player.getTicket() != null) {
+            matchmaker.cancel(player.getTicket());
+        }
+        connection.close();
+        connectionCount.decrementAndGet();
+    }
+
+    /**
+     * Main entry point of the server.
+     *
+     * @param args the optional port to listen on (default {@value Protocol#DEFAULT_PORT})
+     * @throws IOException if the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Protocol.DEFAULT_PORT;
+        JestServer server = new JestServer(port);
+        server.start();
+        Metrics.install();
+        System.out.println("🃏 Jest server listening on port " + server.getPort());
+    }
+}
@@ -0,0 +1,589 @@
+package server;
+
+import model.cards.CardDeckFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.io.File;
+import java.net.StandardSocketOptions;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A synthetic load for the {@link JestServer}: many clients, all driven by a
+ * single selector thread, join tables and answer every DEAL and PICK_OPTIONS
+ * message at random until they have played the requested number of games.
+ *
+ * <p>Without {@code --port}, an embedded server is started on a free loopback
+ * port, so a full client/server run needs nothing else. With {@code --idleMillis},
+ * the embedded server passivates the games idle for that long through a
+ * {@link SessionManager} keeping at most {@code --maxHot} games in memory;
+ * {@code --thinkMillis} makes the clients slow enough for that to happen.</p>
+ *
+ * <p>The time-to-match of every JOIN (until the WELCOME of its table) is
+ * reported as percentiles. With {@code --rampMillis}, the clients join at
+ * random times over that period instead of all at once; tables the clients
+ * cannot fill are completed with AI players after {@code --backfillMillis}.</p>
+ *
+ * <p>With {@code --pipelined=true}, the clients send random {@link Intents}
+ * with their first JOIN instead of answering every request, and renew them
+ * after each ROUND_SUMMARY: a round then costs them one message each way.</p>
+ *
+ * <p>With {@code --spectators}, that many more clients WATCH the next table to
+ * start, and the next one after each GAME_ENDED, until the players are done.
+ * With {@code --spectatorStallMillis}, the spectators have a small receive
+ * buffer and stop reading for that long after each read, so that the server
+ * has to drop events for them and send them snapshots.</p>
+ *
+ * <p>Usage: {@code java server.LoadGenerator [--clients=N] [--games=N] [--players=3|4]
+ * [--thinkMillis=N] [--rampMillis=N] [--backfillMillis=N] [--pipelined=true|false]
+ * [--spectators=N] [--spectatorStallMillis=N]
+ * [--idleMillis=N] [--maxHot=N] [--host=name] [--port=N] [--timeout=seconds]}</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see JestServer
+ */
+public class LoadGenerator {
+    private final int clientCount;
+    private final int gamesPerClient;
+    private final int tableSize;
+    private final int thinkMillis;
+    private final int rampMillis;
+    private boolean pipelined;
+    private int spectatorCount;
+    private int spectatorStallMillis;
+    private final Random random = new Random();
+    /** The frames waiting for the end of their thinking time or ramp delay, by due time */
+    private final PriorityQueue<DelayedFrame> delayedFrames =
+            new PriorityQueue<>(Comparator.comparingLong(DelayedFrame::dueNanos));
+    /** The times from JOIN to WELCOME, in nanoseconds */
+    private long[] matchTimes = new long[1024];
+    private int matchCount;
+    /** The sessions the clients were seated at */
+    private final Set<Integer> sessions = new HashSet<>();
+    /** The channels of the spectators, closed at the end of the run */
+    private final List<SocketChannel> spectatorChannels = new ArrayList<>();
+
+    private long messagesReceived;
+    private long decisionsSent;
+    private long requestsReceived;
+    private long intentsSent;
+    private long summariesReceived;
+    private long gamesFinished;
+    private long errorsReceived;
+    private long tableEventsReceived;
+    private long snapshotsReceived;
+    private long tablesWatched;
+    private int clientsDone;
+
+    /**
+     * A synthetic client and its buffers.
+     */
+    private static class Client {
+        private final String name;
+        private final SocketChannel channel;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(Protocol.MAX_FRAME_SIZE);
+        private final ArrayDeque<ByteBuffer> writeQueue = new ArrayDeque<>();
+        private final boolean spectator;
+        private int gamesLeft;
+        /** When the last JOIN was sent ({@link System#nanoTime()}) */
+        private long joinSentNanos;
+
+        Client(String name, SocketChannel channel, int games, boolean spectator) {
+            this.name = name;
+            this.channel = channel;
+            this.gamesLeft = games;
+            this.spectator = spectator;
+        }
+    }
+
+    /**
+     * A frame to send once the client has finished thinking, or once its ramp delay has elapsed.
+     * A null frame resumes the reads of a stalled spectator.
+     */
+    private record DelayedFrame(long dueNanos, SelectionKey key, Client client, ByteBuffer frame) {
+    }
+
+    /**
+     * Constructs a load generator whose clients answer at once.
+     *
+     * @param clientCount the number of simultaneous clients
+     * @param gamesPerClient the number of games each client plays
+     * @param tableSize the size of the tables the clients join (3 or 4)
+     */
+    public LoadGenerator(int clientCount, int gamesPerClient, int tableSize) {
+        this(clientCount, gamesPerClient, tableSize, 0, 0);
+    }
+
+    /**
+     * Constructs a load generator whose clients join at once.
+     *
+     * @param clientCount the number of simultaneous clients
+     * @param gamesPerClient the number of games each client plays
+     * @param tableSize the size of the tables the clients join (3 or 4)
+     * @param thinkMillis the average thinking time of the clients before each answer
+     */
+    public LoadGenerator(int clientCount, int gamesPerClient, int tableSize, int thinkMillis) {
+        this(clientCount, gamesPerClient, tableSize, thinkMillis, 0);
+    }
+
+    /**
+     * Constructs a load generator.
+     *
+     * @param clientCount the number of simultaneous clients
+     * @param gamesPerClient the number of games each client plays
+     * @param tableSize the size of the tables the clients join (3 or 4)
+     * @param thinkMillis the average thinking time of the clients before each answer
+     * @param rampMillis the period over which the clients send their first JOIN, or 0 to join at once
+     */
+    public LoadGenerator(int clientCount, int gamesPerClient, int tableSize, int thinkMillis, int rampMillis) {
+        this.clientCount = clientCount;
+        this.gamesPerClient = gamesPerClient;
+        this.tableSize = tableSize;
+        this.thinkMillis = thinkMillis;
+        this.rampMillis = rampMillis;
+    }
+
+    /**
+     * Makes the clients submit intents instead of answering each request.
+     *
+     * @param pipelined true to pipeline the decisions
+     */
+    public void setPipelined(boolean pipelined) {
+        this.pipelined = pipelined;
+    }
+
+    /**
+     * Adds spectators following the tables, one after the other, while the players play.
+     *
+     * @param spectatorCount the number of spectators
+     * @param stallMillis how long a spectator stops reading after each read, or 0 to read at once
+     */
+    public void setSpectators(int spectatorCount, int stallMillis) {
+        this.spectatorCount = spectatorCount;
+        this.spectatorStallMillis = stallMillis;
+    }
+
+    /**
+     * Connects the clients and plays until every client has played its games,
+     * or until the timeout expires.
+     *
+     * @param address the address of the server
+     * @param timeoutMillis the maximum duration of the run
+     * @return true if every client played all its games
+     * @throws IOException if the clients cannot connect
+     */
+    public boolean run(InetSocketAddress address, long timeoutMillis) throws IOException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        try (Selector selector = Selector.open()) {
+            for (int i = 0; i < clientCount; i++) {
+                SocketChannel channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                channel.connect(address);
+                channel.register(selector, SelectionKey.OP_CONNECT,
+                        new Client("Load-" + (i + 1), channel, gamesPerClient, false));
+            }
+            for (int i = 0; i < spectatorCount; i++) {
+                SocketChannel channel = SocketChannel.open();
+                spectatorChannels.add(channel);
+                channel.configureBlocking(false);
+                if (spectatorStallMillis > 0) {
+                    channel.setOption(StandardSocketOptions.SO_RCVBUF, 1024);
+                }
+                channel.connect(address);
+                channel.register(selector, SelectionKey.OP_CONNECT,
+                        new Client("Spectator-" + (i + 1), channel, 0, true));
+            }
+
+            while (clientsDone < clientCount) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                DelayedFrame next = delayedFrames.peek();
+                if (next != null) {
+                    long untilDue = TimeUnit.NANOSECONDS.toMillis(next.dueNanos() - System.nanoTime());
+                    remaining = Math.min(remaining, Math.max(1, untilDue));
+                }
+                selector.select(remaining);
+                sendDueFrames();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid()) {
+                        handle(key, (Client) key.attachment());
+                    }
+                }
+            }
+            return true;
+        } finally {
+            for (SocketChannel channel : spectatorChannels) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Handles the readiness of a client channel.
+     */
+    private void handle(SelectionKey key, Client client) throws IOException {
+        if (key.isConnectable()) {
+            client.channel.finishConnect();
+            key.interestOps(SelectionKey.OP_READ);
+            if (client.spectator) {
+                send(key, client, Protocol.watch(0));
+                return;
+            }
+            ByteBuffer join = Protocol.join(tableSize, client.name);
+            if (rampMillis > 0) {
+                long delay = TimeUnit.MILLISECONDS.toNanos(random.nextInt(rampMillis + 1));
+                delayedFrames.add(new DelayedFrame(System.nanoTime() + delay, key, client, join));
+            } else {
+                send(key, client, join);
+            }
+            return;
+        }
+        if (key.isReadable()) {
+            if (client.channel.read(client.readBuffer) < 0) {
+                System.err.println("⚠️ " + client.name + ": connection closed by the server");
+                finish(key, client);
+                return;
+            }
+            client.readBuffer.flip();
+            ByteBuffer frame;
+            while (key.isValid() && (frame = Protocol.nextFrame(client.readBuffer)) != null) {
+                receive(key, client, frame);
+            }
+            client.readBuffer.compact();
+            if (client.spectator && spectatorStallMillis > 0 && key.isValid()) {
+                stall(key, client);
+                return;
+            }
+        }
+        if (key.isValid() && key.isWritable()) {
+            flush(key, client);
+        }
+    }
+
+    /**
+     * Answers a message of the server.
+     */
+    private void receive(SelectionKey key, Client client, ByteBuffer frame) throws IOException {
+        messagesReceived++;
+        switch (frame.get()) {
+            case Protocol.DEAL -> {
+                requestsReceived++;
+                answer(key, client, Protocol.choice(Protocol.HIDE, 1 + random.nextInt(2)));
+            }
+            case Protocol.PICK_OPTIONS -> {
+                requestsReceived++;
+                int optionCount = frame.get();
+                answer(key, client, Protocol.choice(Protocol.PICK, 1 + random.nextInt(optionCount)));
+            }
+            case Protocol.ROUND_SUMMARY -> {
+                summariesReceived++;
+                if (pipelined) {
+                    intentsSent++;
+                    sendAfterThinking(key, client, randomIntents());
+                }
+            }
+            case Protocol.WELCOME -> {
+                recordMatchTime(System.nanoTime() - client.joinSentNanos);
+                sessions.add(frame.getInt());
+            }
+            case Protocol.SCORE -> {
+                gamesFinished++;
+                client.gamesLeft--;
+                if (client.gamesLeft > 0) {
+                    send(key, client, Protocol.join(tableSize, client.name));
+                } else {
+                    finish(key, client);
+                }
+            }
+            case Protocol.TABLE_EVENT -> {
+                tableEventsReceived++;
+                if (frame.get() == Protocol.GAME_ENDED) {
+                    tablesWatched++;
+                    send(key, client, Protocol.watch(0));
+                }
+            }
+            case Protocol.SNAPSHOT -> snapshotsReceived++;
+            case Protocol.ERROR -> {
+                errorsReceived++;
+                System.err.println("⚠️ " + client.name + ": " + Protocol.readString(frame));
+            }
+            default -> {
+                // Other messages need no answer
+            }
+        }
+    }
+
+    /**
+     * Sends an answer to a request.
+     */
+    private void answer(SelectionKey key, Client client, ByteBuffer frame) throws IOException {
+        decisionsSent++;
+        sendAfterThinking(key, client, frame);
+    }
+
+    /**
+     * Sends a frame, at once or after a random thinking time of up to twice the average.
+     */
+    private void sendAfterThinking(SelectionKey key, Client client, ByteBuffer frame) throws IOException {
+        if (thinkMillis <= 0) {
+            send(key, client, frame);
+            return;
+        }
+        long delay = TimeUnit.MILLISECONDS.toNanos(random.nextInt(2 * thinkMillis + 1));
+        delayedFrames.add(new DelayedFrame(System.nanoTime() + delay, key, client, frame));
+    }
+
+    /**
+     * Draws random intents: a random hide rule, and the standard cards and face-down cards in random order.
+     */
+    private ByteBuffer randomIntents() {
+        int[] priorities = new int[CardDeckFactory.getStandardDeckSize() + 1];
+        for (int i = 0; i < priorities.length - 1; i++) {
+            priorities[i] = i;
+        }
+        priorities[priorities.length - 1] = Protocol.HIDDEN_CARD;
+        for (int i = priorities.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swapped = priorities[i];
+            priorities[i] = priorities[j];
+            priorities[j] = swapped;
+        }
+        return Protocol.intents(random.nextBoolean() ? Protocol.HIDE_PREFERRED : Protocol.HIDE_OTHER, priorities);
+    }
+
+    /**
+     * Sends the frames whose delay has elapsed.
+     */
+    private void sendDueFrames() throws IOException {
+        long now = System.nanoTime();
+        while (!delayedFrames.isEmpty() && delayedFrames.peek().dueNanos() <= now) {
+            DelayedFrame due = delayedFrames.poll();
+            if (!due.key().isValid()) {
+                continue;
+            }
+            if (due.frame() == null) {
+                flush(due.key(), due.client());
+            } else {
+                send(due.key(), due.client(), due.frame());
+            }
+        }
+    }
+
+    /**
+     * Queues a frame and writes as much as possible.
+     */
+    private void send(SelectionKey key, Client client, ByteBuffer frame) throws IOException {
+        client.writeQueue.add(frame);
+        if (frame.get(Protocol.LENGTH_SIZE) == Protocol.JOIN) {
+            if (pipelined && client.joinSentNanos == 0) {
+                // The intents follow the first JOIN: the client will not be asked anything during its games
+                client.writeQueue.add(randomIntents());
+                intentsSent++;
+            }
+            client.joinSentNanos = System.nanoTime();
+        }
+        flush(key, client);
+    }
+
+    /**
+     * Writes the queued frames of a client, waiting for writability if the socket is full.
+     */
+    private void flush(SelectionKey key, Client client) throws IOException {
+        ByteBuffer frame;
+        while ((frame = client.writeQueue.peek()) != null) {
+            client.channel.write(frame);
+            if (frame.hasRemaining()) {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            client.writeQueue.poll();
+        }
+        key.interestOps(SelectionKey.OP_READ);
+    }
+
+    /**
+     * Stops reading for a spectator, until its stall time has elapsed.
+     * Its pending frames are still written.
+     */
+    private void stall(SelectionKey key, Client client) {
+        key.interestOps(client.writeQueue.isEmpty() ? 0 : SelectionKey.OP_WRITE);
+        long delay = TimeUnit.MILLISECONDS.toNanos(spectatorStallMillis);
+        delayedFrames.add(new DelayedFrame(System.nanoTime() + delay, key, client, null));
+    }
+
+    /**
+     * Closes a client that has played all its games (or lost its connection).
+     */
+    private void finish(SelectionKey key, Client client) throws IOException {
+        key.cancel();
+        client.channel.close();
+        if (!client.spectator) {
+            clientsDone++;
+        }
+    }
+
+    /**
+     * Records the time a client waited for a table.
+     */
+    private void recordMatchTime(long nanos) {
+        if (matchCount == matchTimes.length) {
+            matchTimes = Arrays.copyOf(matchTimes, matchCount * 2);
+        }
+        matchTimes[matchCount++] = nanos;
+    }
+
+    /**
+     * Formats the percentiles of the times the clients waited for a table.
+     *
+     * @return the p50, p90, p99 and maximum time-to-match, in milliseconds
+     */
+    private String formatMatchTimes() {
+        if (matchCount == 0) {
+            return "no table joined";
+        }
+        long[] sorted = Arrays.copyOf(matchTimes, matchCount);
+        Arrays.sort(sorted);
+        return String.format("p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, max %.1f ms",
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.90) / 1e6,
+                percentile(sorted, 0.99) / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+
+    /**
+     * Gets a percentile of sorted values (nearest rank).
+     */
+    private static long percentile(long[] sorted, double fraction) {
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Main entry point of the load generator.
+     *
+     * @param args the named parameters {@code --clients}, {@code --games}, {@code --players},
+     *             {@code --thinkMillis}, {@code --rampMillis}, {@code --backfillMillis}, {@code --pipelined},
+     *             {@code --spectators}, {@code --spectatorStallMillis}, {@code --idleMillis}, {@code --maxHot},
+     *             {@code --host}, {@code --port} and {@code --timeout}
+     * @throws IOException if the server cannot be started or reached
+     */
+    public static void main(String[] args) throws IOException {
+        int clients = getIntArgument(args, "clients", 300);
+        int games = getIntArgument(args, "games", 3);
+        int players = getIntArgument(args, "players", 3);
+        int thinkMillis = getIntArgument(args, "thinkMillis", 0);
+        int rampMillis = getIntArgument(args, "rampMillis", 0);
+        int backfillMillis = getIntArgument(args, "backfillMillis", (int) Matchmaker.DEFAULT_BACKFILL_TIMEOUT);
+        int idleMillis = getIntArgument(args, "idleMillis", 0);
+        int maxHot = getIntArgument(args, "maxHot", Integer.MAX_VALUE);
+        int port = getIntArgument(args, "port", -1);
+        int timeout = getIntArgument(args, "timeout", 120);
+        String host = getArgument(args, "host", "localhost");
+        boolean pipelined = Boolean.parseBoolean(getArgument(args, "pipelined", "false"));
+        int spectators = getIntArgument(args, "spectators", 0);
+        int spectatorStallMillis = getIntArgument(args, "spectatorStallMillis", 0);
+
+        JestServer embedded = null;
+        SessionManager sessionManager = null;
+        if (port < 0) {
+            if (idleMillis > 0) {
+                sessionManager = new SessionManager(new File(SessionManager.DEFAULT_DIRECTORY), idleMillis, maxHot);
+            }
+            embedded = new JestServer(0, JestServer.DEFAULT_CHOICE_TIMEOUT, sessionManager, backfillMillis);
+            embedded.start();
+            port = embedded.getPort();
+        }
+
+        try {
+            System.out.println("🚀 " + clients + " clients, " + games + " games each, tables of " + players
+                    + " on " + host + ":" + port);
+            LoadGenerator generator = new LoadGenerator(clients, games, players, thinkMillis, rampMillis);
+            generator.setPipelined(pipelined);
+            generator.setSpectators(spectators, spectatorStallMillis);
+            long start = System.nanoTime();
+            boolean completed = generator.run(new InetSocketAddress(host, port), timeout * 1000L);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.println(completed ? "✅ Load run completed" : "⏱️ Load run timed out");
+            System.out.printf("   games finished   : %d by the clients, at %d tables (%.1f tables/s)%n",
+                    generator.gamesFinished, generator.sessions.size(), generator.sessions.size() / seconds);
+            System.out.println("   time to match    : " + generator.formatMatchTimes());
+            System.out.printf("   decisions sent   : %d (%.0f decisions/s)%n",
+                    generator.decisionsSent, generator.decisionsSent / seconds);
+            System.out.printf("   round-trips      : %d requests answered, %d intents sent, %d round summaries%n",
+                    generator.requestsReceived, generator.intentsSent, generator.summariesReceived);
+            if (spectators > 0) {
+                System.out.printf("   spectators       : %d tables watched to the end, %d table events, %d snapshots%n",
+                        generator.tablesWatched, generator.tableEventsReceived, generator.snapshotsReceived);
+            }
+            System.out.printf("   messages received: %d%n", generator.messagesReceived);
+            System.out.printf("   errors received  : %d%n", generator.errorsReceived);
+            System.out.printf("   duration         : %.2f s%n", seconds);
+            if (embedded != null) {
+                System.out.println("   server sessions  : " + embedded.getCompletedSessionCount()
+                        + " completed, " + embedded.getActiveSessionCount() + " active");
+                System.out.println("   matchmaker       : " + embedded.getMatchmaker());
+                if (spectators > 0) {
+                    System.out.println("   spectator feeds  : " + embedded.getSpectatorFramesSent() + " events sent, "
+                            + embedded.getSpectatorFramesDropped() + " dropped, "
+                            + embedded.getSpectatorSnapshotsSent() + " snapshots");
+                }
+            }
+            if (sessionManager != null) {
+                System.out.println("   session manager  : " + sessionManager);
+            }
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    /**
+     * Reads a named argument ({@code --name=value}).
+     */
+    private static String getArgument(String[] args, String name, String defaultValue) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Reads an integer named argument ({@code --name=value}).
+     */
+    private static int getIntArgument(String[] args, String name, int defaultValue) {
+        String value = getArgument(args, name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid --" + name + ": " + value);
+            return defaultValue;
+        }
+    }
+}
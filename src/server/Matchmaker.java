@@ -0,0 +1,348 @@
+package server;
+
+import player.Player;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Groups the players waiting on the {@link JestServer} into tables of 3 or 4.
+ * Players are matched in their order of arrival, so under a heavy load no
+ * player waits behind players who joined later. A player left waiting longer
+ * than the backfill timeout is seated with the other waiting players of the
+ * same table size, and the empty seats are given to {@link BackfillAI} players.
+ *
+ * <p>Joining and leaving never block: the selector thread of the server hands
+ * the tickets over through lock-free queues, and a single matchmaker thread
+ * forms the tables and starts their sessions. A ticket whose player leaves
+ * before being seated is cancelled in place and skipped.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see JestServer
+ */
+public class Matchmaker implements AutoCloseable {
+    /** The default time a player waits for other players before AI players take the empty seats, in milliseconds */
+    public static final long DEFAULT_BACKFILL_TIMEOUT = 5_000;
+    /** The smallest table */
+    private static final int MIN_TABLE_SIZE = 3;
+    /** The largest table */
+    private static final int MAX_TABLE_SIZE = 4;
+
+    private static final int WAITING = 0;
+    private static final int MATCHED = 1;
+    private static final int CANCELLED = 2;
+
+    private final long backfillTimeoutNanos;
+    private final Consumer<List<Player>> tableStarter;
+    private Thread matcherThread;
+    private volatile boolean running;
+    /** Whether tickets arrived since the matchmaker thread last looked */
+    private final AtomicBoolean signalled = new AtomicBoolean(false);
+
+    /** The tickets handed over by the server, by table size */
+    private final List<ConcurrentLinkedQueue<Ticket>> arrivals =
+            List.of(new ConcurrentLinkedQueue<>(), new ConcurrentLinkedQueue<>());
+    /** The tickets waiting for a table, in order of arrival (matchmaker thread only) */
+    private final List<ArrayDeque<Ticket>> queues = List.of(new ArrayDeque<>(), new ArrayDeque<>());
+
+    private final AtomicInteger waitingPlayers = new AtomicInteger();
+    private final AtomicLong tablesFormed = new AtomicLong();
+    private final AtomicLong backfilledTables = new AtomicLong();
+    private final AtomicLong aiSeats = new AtomicLong();
+    private final AtomicLong matchedPlayers = new AtomicLong();
+    private final AtomicLong cancelledTickets = new AtomicLong();
+    private final AtomicLong matchWaitNanos = new AtomicLong();
+    private final AtomicLong maxMatchWaitNanos = new AtomicLong();
+    private int nextAiNumber = 1;
+
+    /**
+     * A player waiting for a table.
+     */
+    static final class Ticket {
+        private final RemotePlayer player;
+        private final int tableSize;
+        private final long enqueuedNanos = System.nanoTime();
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private Ticket(RemotePlayer player, int tableSize) {
+            this.player = player;
+            this.tableSize = tableSize;
+        }
+    }
+
+    /**
+     * Constructs a matchmaker.
+     *
+     * @param backfillTimeoutMillis the time a player waits for other players before AI players
+     *                              take the empty seats
+     * @param tableStarter starts the session of a table, given its players by seat
+     */
+    public Matchmaker(long backfillTimeoutMillis, Consumer<List<Player>> tableStarter) {
+        if (backfillTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Backfill timeout must be positive");
+        }
+        this.backfillTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(backfillTimeoutMillis);
+        this.tableStarter = tableStarter;
+    }
+
+    /**
+     * Starts the matchmaker thread.
+     */
+    public void start() {
+        running = true;
+        matcherThread = new Thread(this::matchLoop, "jest-matchmaker");
+        matcherThread.setDaemon(true);
+        matcherThread.start();
+    }
+
+    /**
+     * Stops the matchmaker thread. The players still waiting are not seated.
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (matcherThread != null) {
+            LockSupport.unpark(matcherThread);
+        }
+    }
+
+    /**
+     * Puts a player in the queue of the table size it asked for. Never blocks.
+     *
+     * @param player the player
+     * @param tableSize the size of the table (3 or 4)
+     * @return the ticket of the player, to cancel it if the player leaves
+     */
+    Ticket enqueue(RemotePlayer player, int tableSize) {
+        if (tableSize < MIN_TABLE_SIZE || tableSize > MAX_TABLE_SIZE) {
+            throw new IllegalArgumentException("Tables have 3 or 4 players");
+        }
+        Ticket ticket = new Ticket(player, tableSize);
+        waitingPlayers.incrementAndGet();
+        arrivals.get(tableSize - MIN_TABLE_SIZE).add(ticket);
+        if (signalled.compareAndSet(false, true)) {
+            LockSupport.unpark(matcherThread);
+        }
+        return ticket;
+    }
+
+    /**
+     * Removes a player from the queue. Never blocks.
+     *
+     * @param ticket the ticket of the player
+     * @return true if the player was still waiting, false if it has already been seated
+     */
+    boolean cancel(Ticket ticket) {
+        if (!ticket.state.compareAndSet(WAITING, CANCELLED)) {
+            return false;
+        }
+        waitingPlayers.decrementAndGet();
+        cancelledTickets.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * The matchmaker loop: forms the tables as players arrive or wait too long.
+     */
+    private void matchLoop() {
+        while (running) {
+            signalled.set(false);
+            long now = System.nanoTime();
+            long nextDeadline = Long.MAX_VALUE;
+            for (int size = MIN_TABLE_SIZE; size <= MAX_TABLE_SIZE; size++) {
+                try {
+                    nextDeadline = Math.min(nextDeadline, match(size, now));
+                } catch (RuntimeException e) {
+                    System.err.println("❌ Matchmaking failed: " + e);
+                }
+            }
+            if (!signalled.get()) {
+                if (nextDeadline == Long.MAX_VALUE) {
+                    LockSupport.park(this);
+                } else {
+                    LockSupport.parkNanos(this, nextDeadline - System.nanoTime());
+                }
+            }
+        }
+    }
+
+    /**
+     * Forms the full tables of a size, then a backfilled one if the oldest player has waited too long.
+     *
+     * @param tableSize the size of the tables
+     * @param now the current {@link System#nanoTime()}
+     * @return when the oldest player left waiting must be backfilled, or {@link Long#MAX_VALUE} if nobody waits
+     */
+    private long match(int tableSize, long now) {
+        ConcurrentLinkedQueue<Ticket> arrived = arrivals.get(tableSize - MIN_TABLE_SIZE);
+        ArrayDeque<Ticket> queue = queues.get(tableSize - MIN_TABLE_SIZE);
+        Ticket ticket;
+        while ((ticket = arrived.poll()) != null) {
+            queue.add(ticket);
+        }
+
+        List<Ticket> table = new ArrayList<>(tableSize);
+        while (true) {
+            table.clear();
+            while (table.size() < tableSize && (ticket = queue.poll()) != null) {
+                if (ticket.state.get() == WAITING) {
+                    table.add(ticket);
+                }
+            }
+            if (table.isEmpty()) {
+                return Long.MAX_VALUE;
+            }
+            long backfillDeadline = table.get(0).enqueuedNanos + backfillTimeoutNanos;
+            if (table.size() < tableSize && backfillDeadline - now > 0) {
+                // Not enough players yet: they keep their place at the head of the queue
+                for (int i = table.size() - 1; i >= 0; i--) {
+                    queue.addFirst(table.get(i));
+                }
+                return backfillDeadline;
+            }
+            if (claim(table, queue)) {
+                startTable(table, tableSize, now);
+            }
+        }
+    }
+
+    /**
+     * Marks the players of a table as matched. If one of them has left in the
+     * meantime, the others go back to the head of the queue.
+     *
+     * @return true if every player of the table was claimed
+     */
+    private boolean claim(List<Ticket> table, ArrayDeque<Ticket> queue) {
+        for (int i = 0; i < table.size(); i++) {
+            if (!table.get(i).state.compareAndSet(WAITING, MATCHED)) {
+                for (int j = table.size() - 1; j >= 0; j--) {
+                    Ticket ticket = table.get(j);
+                    if (j < i) {
+                        ticket.state.set(WAITING);
+                        if (!ticket.player.isConnected()) {
+                            // Left while claimed: its cancellation failed, so cancel it now
+                            cancel(ticket);
+                            continue;
+                        }
+                    }
+                    if (j != i) {
+                        queue.addFirst(ticket);
+                    }
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Seats the players of a table, completes it with AI players, and starts its session.
+     */
+    private void startTable(List<Ticket> table, int tableSize, long now) {
+        List<Player> seats = new ArrayList<>(tableSize);
+        for (Ticket ticket : table) {
+            long waited = now - ticket.enqueuedNanos;
+            matchWaitNanos.addAndGet(waited);
+            maxMatchWaitNanos.accumulateAndGet(waited, Math::max);
+            seats.add(ticket.player);
+        }
+        while (seats.size() < tableSize) {
+            seats.add(new BackfillAI("Bot-" + nextAiNumber++));
+        }
+
+        waitingPlayers.addAndGet(-table.size());
+        matchedPlayers.addAndGet(table.size());
+        tablesFormed.incrementAndGet();
+        if (table.size() < tableSize) {
+            backfilledTables.incrementAndGet();
+            aiSeats.addAndGet(tableSize - table.size());
+        }
+        tableStarter.accept(seats);
+    }
+
+    /**
+     * Gets the number of players waiting for a table.
+     *
+     * @return the number of waiting players
+     */
+    public int getWaitingCount() {
+        return waitingPlayers.get();
+    }
+
+    /**
+     * Gets the number of tables formed.
+     *
+     * @return the number of tables
+     */
+    public long getTableCount() {
+        return tablesFormed.get();
+    }
+
+    /**
+     * Gets the number of tables completed with AI players.
+     *
+     * @return the number of backfilled tables
+     */
+    public long getBackfilledTableCount() {
+        return backfilledTables.get();
+    }
+
+    /**
+     * Gets the number of seats given to AI players.
+     *
+     * @return the number of AI seats
+     */
+    public long getAiSeatCount() {
+        return aiSeats.get();
+    }
+
+    /**
+     * Gets the number of players who left before being seated.
+     *
+     * @return the number of cancelled tickets
+     */
+    public long getCancelledCount() {
+        return cancelledTickets.get();
+    }
+
+    /**
+     * Gets the average time players waited for a table.
+     *
+     * @return the average wait, in milliseconds
+     */
+    public double getAverageWaitMillis() {
+        long count = matchedPlayers.get();
+        return count == 0 ? 0 : matchWaitNanos.get() / 1e6 / count;
+    }
+
+    /**
+     * Gets the longest time a player waited for a table.
+     *
+     * @return the longest wait, in milliseconds
+     */
+    public double getMaxWaitMillis() {
+        return maxMatchWaitNanos.get() / 1e6;
+    }
+
+    /**
+     * Returns a summary of the matchmaking statistics.
+     *
+     * @return the statistics, on one line
+     */
+    @Override
+    public String toString() {
+        return String.format("%d tables (%d backfilled with %d AI seats), %d waiting, %d cancelled,"
+                        + " wait avg %.1f ms / max %.1f ms",
+                getTableCount(), getBackfilledTableCount(), getAiSeatCount(), getWaitingCount(),
+                getCancelledCount(), getAverageWaitMillis(), getMaxWaitMillis());
+    }
+}
@@ -0,0 +1,430 @@
+package server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Defines the compact binary protocol spoken between the game server and its clients.
+ * Every message is a frame made of its length, a type byte and a payload;
+ * cards are sent as their one-byte identifier
+ * (see {@link model.cards.CardDeckFactory#getCardId(model.cards.Card)}).
+ *
+ * <p>Frame layout (big-endian):</p>
+ * <pre>
+ * frame        : unsigned short length (type + payload), byte type, payload
+ *
+ * client -&gt; server
+ * JOIN         : byte table size (3 or 4), short name length, UTF-8 name
+ * HIDE         : byte choice (1 or 2: the card to hide)
+ * PICK         : byte choice (1 to option count)
+ * INTENTS      : byte hide rule, byte count, byte card or HIDDEN_CARD per priority (most wanted first)
+ * WATCH        : int session id (0 for the next table to start)
+ *
+ * server -&gt; client
+ * WELCOME      : int session id, byte seat, byte player count
+ * DEAL         : byte round, byte card 1, byte card 2 (a hide request)
+ * PICK_OPTIONS : byte option count, (byte owner seat, byte card or HIDDEN_CARD) per option
+ * SCORE        : byte winner seat, byte player count, short points per seat
+ * ROUND_SUMMARY: byte round, byte count, (byte HIDE or PICK, byte choice, byte card) per decision
+ * TABLE_EVENT  : byte kind, byte round, byte seat, byte card, short value
+ * SNAPSHOT     : byte round, byte deck size, byte player count,
+ *                (byte visible card, byte HIDDEN_CARD or NO_CARD, byte jest size) per seat
+ * ERROR        : short message length, UTF-8 message
+ * </pre>
+ *
+ * <p>Clients on slow links can pipeline their decisions: INTENTS gives, ahead
+ * of the deals, the rule to hide a card and the order in which to pick
+ * cards. Until they are replaced, the server takes every decision of the
+ * player from its intents without sending DEAL or PICK_OPTIONS, and reports
+ * them once per round in a ROUND_SUMMARY. Intents last for the whole
+ * connection, across games; intents with {@link #NO_INTENTS} as hide rule go
+ * back to one request per decision.</p>
+ *
+ * <p>After WATCH, a client follows a table as a spectator: it receives a
+ * SNAPSHOT, then a TABLE_EVENT for each public event of the game, until
+ * GAME_ENDED. A spectator too slow to read the events misses them and gets
+ * a new SNAPSHOT once it has caught up.</p>
+ *
+ * <p>Face-down cards are never sent: they are replaced by {@link #HIDDEN_CARD}
+ * when the frame is encoded.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see JestServer
+ */
+public final class Protocol {
+    /** The default TCP port of the server */
+    public static final int DEFAULT_PORT = 7777;
+    /** The maximum size of a frame, length included, in bytes */
+    public static final int MAX_FRAME_SIZE = 1024;
+    /** The size of the length prefix of a frame, in bytes */
+    public static final int LENGTH_SIZE = 2;
+    /** The maximum size of a player name, in bytes */
+    public static final int MAX_NAME_SIZE = 32;
+
+    /** Client message: joins a table of the given size */
+    public static final byte JOIN = 0x01;
+    /** Client message: answers a deal by choosing the card to hide */
+    public static final byte HIDE = 0x02;
+    /** Client message: answers pick options by choosing the card to pick */
+    public static final byte PICK = 0x03;
+    /** Client message: the rules deciding for the player until replaced */
+    public static final byte INTENTS = 0x04;
+    /** Client message: follows a table as a spectator */
+    public static final byte WATCH = 0x05;
+
+    /** Server message: the player has been seated at a table */
+    public static final byte WELCOME = 0x10;
+    /** Server message: two cards were dealt, one must be hidden */
+    public static final byte DEAL = 0x11;
+    /** Server message: the cards the player can pick */
+    public static final byte PICK_OPTIONS = 0x12;
+    /** Server message: the final scores of the game */
+    public static final byte SCORE = 0x13;
+    /** Server message: the decisions taken from the intents of the player during a round */
+    public static final byte ROUND_SUMMARY = 0x14;
+    /** Server message: something happened at the table watched */
+    public static final byte TABLE_EVENT = 0x15;
+    /** Server message: the public state of the table watched */
+    public static final byte SNAPSHOT = 0x16;
+    /** Server message: the last message was rejected */
+    public static final byte ERROR = 0x1F;
+
+    /** The card byte sent in place of a face-down card */
+    public static final byte HIDDEN_CARD = -2;
+    /** The card byte sent in place of a missing card */
+    public static final byte NO_CARD = -1;
+
+    /** Intents hide rule: no intents, every decision is requested */
+    public static final byte NO_INTENTS = 0;
+    /** Intents hide rule: hide the card with the best priority */
+    public static final byte HIDE_PREFERRED = 1;
+    /** Intents hide rule: hide the card with the worst priority */
+    public static final byte HIDE_OTHER = 2;
+
+    /** Table event: a round started; value is the deck size */
+    public static final byte ROUND_STARTED = 1;
+    /** Table event: the seat made its offer; card is the face-up card, value is 1 if a card is face down */
+    public static final byte OFFERED = 2;
+    /** Table event: the seat picked a card (HIDDEN_CARD if face down); value is the seat of the owner */
+    public static final byte PICKED = 3;
+    /** Table event: a round ended; value is the deck size */
+    public static final byte ROUND_ENDED = 4;
+    /** Table event: the seat won a trophy; card is the trophy */
+    public static final byte TROPHY_WON = 5;
+    /** Table event: the final points of the seat; value is the points */
+    public static final byte SCORED = 6;
+    /** Table event: the game is over; seat is the winner */
+    public static final byte GAME_ENDED = 7;
+
+    /** The size of a TABLE_EVENT frame, length included, in bytes */
+    public static final int TABLE_EVENT_SIZE = LENGTH_SIZE + 1 + 6;
+
+    private Protocol() {
+    }
+
+    /**
+     * Allocates a frame and writes its header.
+     * The caller writes the payload, then calls {@link #finish(ByteBuffer)}.
+     *
+     * @param type the message type
+     * @param payloadSize the size of the payload, in bytes
+     * @return the frame buffer, positioned after the type byte
+     */
+    public static ByteBuffer frame(byte type, int payloadSize) {
+        return header(ByteBuffer.allocate(LENGTH_SIZE + 1 + payloadSize), type, payloadSize);
+    }
+
+    /**
+     * Writes the header of a frame into a buffer provided by the caller,
+     * sized exactly for the frame (see {@link #frame(byte, int)}).
+     *
+     * @param frame the buffer of the frame
+     * @param type the message type
+     * @param payloadSize the size of the payload, in bytes
+     * @return the same buffer, positioned after the type byte
+     */
+    public static ByteBuffer header(ByteBuffer frame, byte type, int payloadSize) {
+        int length = 1 + payloadSize;
+        if (LENGTH_SIZE + length > MAX_FRAME_SIZE) {
+            throw new IllegalArgumentException("Frame too large: " + length + " bytes");
+        }
+        if (frame.remaining() != LENGTH_SIZE + length) {
+            throw new IllegalArgumentException("Frame buffer of " + frame.remaining() + " bytes for a "
+                    + (LENGTH_SIZE + length) + " bytes frame");
+        }
+        frame.putShort((short) length);
+        frame.put(type);
+        return frame;
+    }
+
+    /**
+     * Makes a filled frame ready to be written.
+     *
+     * @param frame the frame
+     * @return the same frame, flipped
+     */
+    public static ByteBuffer finish(ByteBuffer frame) {
+        if (frame.hasRemaining()) {
+            throw new IllegalStateException("Frame payload incomplete: " + frame.remaining() + " bytes missing");
+        }
+        return frame.flip();
+    }
+
+    /**
+     * Encodes a JOIN message.
+     *
+     * @param tableSize the number of players of the table (3 or 4)
+     * @param name the name of the player
+     * @return the frame
+     */
+    public static ByteBuffer join(int tableSize, String name) {
+        byte[] nameBytes = encodeName(name);
+        ByteBuffer frame = frame(JOIN, 1 + 2 + nameBytes.length);
+        frame.put((byte) tableSize);
+        frame.putShort((short) nameBytes.length);
+        frame.put(nameBytes);
+        return finish(frame);
+    }
+
+    /**
+     * Encodes a HIDE or PICK answer.
+     *
+     * @param type {@link #HIDE} or {@link #PICK}
+     * @param choice the chosen option
+     * @return the frame
+     */
+    public static ByteBuffer choice(byte type, int choice) {
+        ByteBuffer frame = frame(type, 1);
+        frame.put((byte) choice);
+        return finish(frame);
+    }
+
+    /**
+     * Encodes an INTENTS message.
+     *
+     * @param hideRule {@link #HIDE_PREFERRED}, {@link #HIDE_OTHER} or {@link #NO_INTENTS}
+     * @param priorities the cards in the order they should be picked, {@link #HIDDEN_CARD} for face-down cards
+     * @return the frame
+     */
+    public static ByteBuffer intents(int hideRule, int[] priorities) {
+        ByteBuffer frame = frame(INTENTS, 1 + 1 + priorities.length);
+        frame.put((byte) hideRule);
+        frame.put((byte) priorities.length);
+        for (int card : priorities) {
+            frame.put((byte) card);
+        }
+        return finish(frame);
+    }
+
+    /**
+     * Encodes a WATCH message.
+     *
+     * @param sessionId the session to watch, or 0 for the next table to start
+     * @return the frame
+     */
+    public static ByteBuffer watch(int sessionId) {
+        ByteBuffer frame = frame(WATCH, 4);
+        frame.putInt(sessionId);
+        return finish(frame);
+    }
+
+    /**
+     * Encodes a WELCOME message.
+     *
+     * @param sessionId the identifier of the session
+     * @param seat the seat of the player at the table
+     * @param playerCount the number of players of the table
+     * @return the frame
+     */
+    public static ByteBuffer welcome(int sessionId, int seat, int playerCount) {
+        ByteBuffer frame = frame(WELCOME, 4 + 1 + 1);
+        frame.putInt(sessionId);
+        frame.put((byte) seat);
+        frame.put((byte) playerCount);
+        return finish(frame);
+    }
+
+    /**
+     * Encodes a DEAL message.
+     *
+     * @param round the round number
+     * @param card1 the identifier of the first card
+     * @param card2 the identifier of the second card
+     * @return the frame
+     */
+    public static ByteBuffer deal(int round, int card1, int card2) {
+        ByteBuffer frame = frame(DEAL, 3);
+        frame.put((byte) round);
+        frame.put((byte) card1);
+        frame.put((byte) card2);
+        return finish(frame);
+    }
+
+    /**
+     * Encodes a PICK_OPTIONS message.
+     *
+     * @param ownerSeats the seat of the owner of each option
+     * @param cards the card of each option, {@link #HIDDEN_CARD} for a face-down card
+     * @return the frame
+     */
+    public static ByteBuffer pickOptions(int[] ownerSeats, int[] cards) {
+        ByteBuffer frame = frame(PICK_OPTIONS, 1 + 2 * cards.length);
+        frame.put((byte) cards.length);
+        for (int i = 0; i < cards.length; i++) {
+            frame.put((byte) ownerSeats[i]);
+            frame.put((byte) cards[i]);
+        }
+        return finish(frame);
+    }
+
+    /**
+     * Encodes a SCORE message.
+     *
+     * @param winnerSeat the seat of the winner
+     * @param points the points of each seat
+     * @return the frame
+     */
+    public static ByteBuffer score(int winnerSeat, int[] points) {
+        ByteBuffer frame = frame(SCORE, 1 + 1 + 2 * points.length);
+        frame.put((byte) winnerSeat);
+        frame.put((byte) points.length);
+        for (int point : points) {
+            frame.putShort((short) point);
+        }
+        return finish(frame);
+    }
+
+    /**
+     * Encodes a ROUND_SUMMARY message.
+     *
+     * @param round the round number
+     * @param decisions the decisions, as (type, choice, card) byte triples
+     * @param count the number of decisions
+     * @return the frame
+     */
+    public static ByteBuffer roundSummary(int round, byte[] decisions, int count) {
+        ByteBuffer frame = frame(ROUND_SUMMARY, 1 + 1 + 3 * count);
+        frame.put((byte) round);
+        frame.put((byte) count);
+        frame.put(decisions, 0, 3 * count);
+        return finish(frame);
+    }
+
+    /**
+     * Encodes a TABLE_EVENT message into a buffer of {@link #TABLE_EVENT_SIZE} bytes.
+     *
+     * @param frame the buffer of the frame
+     * @param kind the kind of event ({@link #ROUND_STARTED} to {@link #GAME_ENDED})
+     * @param round the round number
+     * @param seat the seat concerned, or -1
+     * @param card the card concerned, {@link #HIDDEN_CARD} or {@link #NO_CARD}
+     * @param value the value of the event (see the kinds)
+     * @return the frame
+     */
+    public static ByteBuffer tableEvent(ByteBuffer frame, byte kind, int round, int seat, int card, int value) {
+        header(frame, TABLE_EVENT, 6);
+        frame.put(kind);
+        frame.put((byte) round);
+        frame.put((byte) seat);
+        frame.put((byte) card);
+        frame.putShort((short) value);
+        return finish(frame);
+    }
+
+    /**
+     * Gets the size of a SNAPSHOT frame, length included.
+     *
+     * @param playerCount the number of players of the table
+     * @return the size in bytes
+     */
+    public static int snapshotSize(int playerCount) {
+        return LENGTH_SIZE + 1 + 3 + 3 * playerCount;
+    }
+
+    /**
+     * Encodes a SNAPSHOT message into a buffer of {@link #snapshotSize(int)} bytes.
+     *
+     * @param frame the buffer of the frame
+     * @param round the round number
+     * @param deckSize the number of cards left in the deck
+     * @param seats the state of each seat, as (visible card, HIDDEN_CARD or NO_CARD, jest size) byte triples
+     * @param playerCount the number of players
+     * @return the frame
+     */
+    public static ByteBuffer snapshot(ByteBuffer frame, int round, int deckSize, byte[] seats, int playerCount) {
+        header(frame, SNAPSHOT, 3 + 3 * playerCount);
+        frame.put((byte) round);
+        frame.put((byte) deckSize);
+        frame.put((byte) playerCount);
+        frame.put(seats, 0, 3 * playerCount);
+        return finish(frame);
+    }
+
+    /**
+     * Encodes an ERROR message.
+     *
+     * @param message the error message
+     * @return the frame
+     */
+    public static ByteBuffer error(String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_FRAME_SIZE - LENGTH_SIZE - 3);
+        ByteBuffer frame = frame(ERROR, 2 + length);
+        frame.putShort((short) length);
+        frame.put(bytes, 0, length);
+        return finish(frame);
+    }
+
+    /**
+     * Extracts the next complete frame from a buffer being read.
+     * The buffer must be in read mode (flipped); when a frame is returned, the
+     * buffer position is moved past it. Incomplete frames are left in the buffer.
+     *
+     * @param in the received bytes
+     * @return the type byte and payload of the next frame, or null if no complete frame is available
+     * @throws IllegalArgumentException if the frame length is invalid
+     */
+    public static ByteBuffer nextFrame(ByteBuffer in) {
+        if (in.remaining() < LENGTH_SIZE) {
+            return null;
+        }
+        int length = Short.toUnsignedInt(in.getShort(in.position()));
+        if (length < 1 || LENGTH_SIZE + length > MAX_FRAME_SIZE) {
+            throw new IllegalArgumentException("Invalid frame length: " + length);
+        }
+        if (in.remaining() < LENGTH_SIZE + length) {
+            return null;
+        }
+        int start = in.position() + LENGTH_SIZE;
+        ByteBuffer frame = in.slice(start, length);
+        in.position(start + length);
+        return frame;
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 string from a frame.
+     *
+     * @param frame the frame being decoded
+     * @return the string
+     */
+    public static String readString(ByteBuffer frame) {
+        int length = Short.toUnsignedInt(frame.getShort());
+        byte[] bytes = new byte[length];
+        frame.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Encodes a player name, truncated to {@link #MAX_NAME_SIZE} bytes.
+     */
+    private static byte[] encodeName(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_NAME_SIZE) {
+            return bytes;
+        }
+        return new String(bytes, 0, MAX_NAME_SIZE, StandardCharsets.UTF_8)
+                .replace("\uFFFD", "")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
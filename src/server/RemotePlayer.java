@@ -0,0 +1,337 @@
+package server;
+
+import model.cards.Card;
+import model.cards.CardDeckFactory;
+import player.Player;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Represents a player connected to the {@link JestServer}.
+ * Each decision asked by the game is sent to the client as a DEAL or
+ * PICK_OPTIONS message, and the game thread waits until the client answers
+ * with the matching HIDE or PICK message.
+ *
+ * <p>A player who does not answer in time, answers out of range or leaves
+ * the game is played for: the option is then chosen at random, so the other
+ * players of the table can finish their game.</p>
+ *
+ * <p>A client may also submit {@link Intents}, kept by its connection: the
+ * decisions are then taken from them at once, without a round-trip, and sent
+ * back to the client in one ROUND_SUMMARY at the end of each round. Intents
+ * arriving while a request is pending answer it.</p>
+ *
+ * <p>Every decision goes through the {@link GameSession}, which records it and,
+ * after a passivation, replays the decisions of the round before asking the
+ * client again. A request sent before the passivation is not sent twice: its
+ * answer is kept for the reactivated game.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see Protocol
+ * @see GameSession
+ */
+public class RemotePlayer extends Player {
+    /** Completes a pending decision to take it from the intents that just arrived */
+    private static final int USE_INTENTS = Integer.MIN_VALUE + 1;
+
+    private final ClientConnection connection;
+    private final long choiceTimeoutMillis;
+    private final Random random = new Random();
+
+    /** The session the player is seated at */
+    private GameSession session;
+    /** The seat of the player at the table */
+    private int seat;
+    /** The matchmaking ticket of the player (selector thread only) */
+    private Matchmaker.Ticket ticket;
+
+    /** The message type expected from the client, or 0 when no decision is pending */
+    private volatile byte expectedAnswer;
+    /** The answer of the pending decision, completed by the selector thread */
+    private volatile CompletableFuture<Integer> answer;
+    private volatile boolean connected = true;
+    /** The decisions taken from the intents since the last summary, as (type, choice, card) triples */
+    private byte[] resolvedDecisions = new byte[3 * 4];
+    private int resolvedCount;
+
+    /**
+     * Constructs a new RemotePlayer.
+     *
+     * @param name the name sent by the client
+     * @param connection the connection of the client
+     * @param choiceTimeoutMillis the time given to the client for each decision
+     */
+    RemotePlayer(String name, ClientConnection connection, long choiceTimeoutMillis) {
+        super(name);
+        this.connection = connection;
+        this.choiceTimeoutMillis = choiceTimeoutMillis;
+    }
+
+    /**
+     * Seats the player at a table.
+     *
+     * @param session the session of the table
+     * @param seat the seat of the player
+     */
+    void seat(GameSession session, int seat) {
+        this.session = session;
+        this.seat = seat;
+    }
+
+    /**
+     * Gets the matchmaking ticket of the player.
+     *
+     * @return the ticket, or null if the player was not queued
+     */
+    Matchmaker.Ticket getTicket() {
+        return ticket;
+    }
+
+    /**
+     * Sets the matchmaking ticket of the player.
+     *
+     * @param ticket the ticket given by the matchmaker
+     */
+    void setTicket(Matchmaker.Ticket ticket) {
+        this.ticket = ticket;
+    }
+
+    /**
+     * Sends a message to the client of this player.
+     *
+     * @param frame the frame to send
+     */
+    void send(ByteBuffer frame) {
+        if (connected) {
+            connection.send(frame);
+        }
+    }
+
+    /**
+     * Asks the client to hide one of two cards, or to pick one of the offered cards,
+     * and waits for the answer.
+     *
+     * @param min the minimum valid choice value (inclusive)
+     * @param max the maximum valid choice value (inclusive)
+     * @param cards the list of cards available for the decision
+     * @param isHidingCard true if choosing which card to hide, false if choosing which card to pick
+     * @return the option chosen by the client, or a random option if the client did not answer
+     */
+    @Override
+    public int makeChoice(int min, int max, ArrayList<Card> cards, boolean isHidingCard) {
+        // After a reactivation, the decisions already taken in the round are replayed first
+        int replayed = session.nextReplayedDecision(this);
+        if (replayed >= 0) {
+            return session.recordDecision(replayed);
+        }
+        if (!connected) {
+            return session.recordDecision(randomChoice(min, max));
+        }
+        byte type = isHidingCard ? Protocol.HIDE : Protocol.PICK;
+        Intents current = connection.getIntents();
+        if (current != null) {
+            // Pipelined: no round-trip, a request left pending is answered by the intents
+            expectedAnswer = 0;
+            answer = null;
+            return session.recordDecision(resolve(current, type, cards));
+        }
+
+        CompletableFuture<Integer> pending = answer;
+        if (pending == null || expectedAnswer != type) {
+            pending = new CompletableFuture<>();
+            answer = pending;
+            expectedAnswer = type;
+            if (!connected) {
+                // The client left while the decision was being prepared
+                pending.complete(Integer.MIN_VALUE);
+            }
+            if (isHidingCard) {
+                connection.send(Protocol.deal(session.getGame().getRoundNumber(),
+                        CardDeckFactory.getCardId(cards.get(0)), CardDeckFactory.getCardId(cards.get(1))));
+            } else {
+                connection.send(encodePickOptions(cards));
+            }
+        }
+        // Otherwise the request was sent before the session was passivated, and may already be answered
+
+        int choice;
+        try {
+            choice = session.awaitDecision(this, pending, choiceTimeoutMillis);
+        } catch (TimeoutException e) {
+            System.err.println("⏱️ " + getName() + " did not answer in time, playing for them");
+            choice = randomChoice(min, max);
+        } catch (InterruptedException e) {
+            // The server is shutting down: the game is abandoned
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Session interrupted", e);
+        }
+        // The decision is consumed; a passivation above leaves it pending for the reactivated session
+        expectedAnswer = 0;
+        answer = null;
+
+        if (choice == USE_INTENTS) {
+            current = connection.getIntents();
+            choice = current != null ? resolve(current, type, cards) : randomChoice(min, max);
+        }
+        if (choice < min || choice > max) {
+            send(Protocol.error("Choice out of range: " + choice));
+            choice = randomChoice(min, max);
+        }
+        return session.recordDecision(choice);
+    }
+
+    /**
+     * Completes the pending decision with an answer of the client.
+     * Called by the selector thread.
+     *
+     * @param type the type of the answer ({@link Protocol#HIDE} or {@link Protocol#PICK})
+     * @param choice the chosen option
+     * @return true if the answer was expected, false if no such decision is pending
+     */
+    boolean answer(byte type, int choice) {
+        CompletableFuture<Integer> pending = answer;
+        if (pending == null || type != expectedAnswer || !pending.complete(choice)) {
+            return false;
+        }
+        session.answerArrived();
+        return true;
+    }
+
+    /**
+     * Answers the pending decision with the intents the client just submitted.
+     * Called by the selector thread.
+     */
+    void intentsArrived() {
+        CompletableFuture<Integer> pending = answer;
+        if (pending != null && pending.complete(USE_INTENTS)) {
+            session.answerArrived();
+        }
+    }
+
+    /**
+     * Sends the decisions taken from the intents during the round, if any.
+     * Called by the session at the end of each round.
+     *
+     * @param round the round number
+     */
+    void sendRoundSummary(int round) {
+        if (resolvedCount > 0) {
+            send(Protocol.roundSummary(round, resolvedDecisions, resolvedCount));
+            resolvedCount = 0;
+        }
+    }
+
+    /**
+     * Marks the client as gone: the pending and future decisions are chosen at random.
+     */
+    void disconnect() {
+        connected = false;
+        CompletableFuture<Integer> pending = answer;
+        if (pending != null && pending.complete(Integer.MIN_VALUE)) {
+            session.answerArrived();
+        }
+    }
+
+    /**
+     * Checks whether the client has answered the pending decision.
+     *
+     * @return true if an answer is waiting to be used
+     */
+    boolean hasAnswer() {
+        CompletableFuture<Integer> pending = answer;
+        return pending != null && pending.isDone();
+    }
+
+    /**
+     * Checks whether the client of this player is still connected.
+     *
+     * @return true if the client is connected
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Gets the seat of the player at the table.
+     *
+     * @return the seat, from 0
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Gets the connection of the client.
+     *
+     * @return the connection
+     */
+    ClientConnection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Encodes the cards that can be picked, with their owner.
+     * Face-down cards are sent as {@link Protocol#HIDDEN_CARD}.
+     */
+    private ByteBuffer encodePickOptions(ArrayList<Card> cards) {
+        int[] owners = new int[cards.size()];
+        int[] cardIds = new int[cards.size()];
+        for (int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
+            owners[i] = findOwnerSeat(card);
+            cardIds[i] = card.isVisible() ? CardDeckFactory.getCardId(card) : Protocol.HIDDEN_CARD;
+        }
+        return Protocol.pickOptions(owners, cardIds);
+    }
+
+    /**
+     * Finds the seat of the player offering a card.
+     *
+     * @param card the card
+     * @return the seat of its owner, or -1 if no player offers it
+     */
+    private int findOwnerSeat(Card card) {
+        ArrayList<Player> players = session.getGame().getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            Card[] offer = players.get(i).getOffer();
+            if (offer != null && (offer[0] == card || offer[1] == card)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Takes a decision from the intents of the client, and keeps it for the round summary.
+     */
+    private int resolve(Intents current, byte type, ArrayList<Card> cards) {
+        int[] cardIds = new int[cards.size()];
+        for (int i = 0; i < cardIds.length; i++) {
+            Card card = cards.get(i);
+            cardIds[i] = type == Protocol.HIDE || card.isVisible() ? CardDeckFactory.getCardId(card) : Protocol.HIDDEN_CARD;
+        }
+        int choice = type == Protocol.HIDE ? current.chooseHide(cardIds[0], cardIds[1]) : current.choosePick(cardIds);
+
+        if (3 * (resolvedCount + 1) > resolvedDecisions.length) {
+            resolvedDecisions = Arrays.copyOf(resolvedDecisions, resolvedDecisions.length * 2);
+        }
+        resolvedDecisions[3 * resolvedCount] = type;
+        resolvedDecisions[3 * resolvedCount + 1] = (byte) choice;
+        resolvedDecisions[3 * resolvedCount + 2] = (byte) CardDeckFactory.getCardId(cards.get(choice - 1));
+        resolvedCount++;
+        return choice;
+    }
+
+    /**
+     * Chooses an option at random, for a client that did not answer.
+     */
+    private int randomChoice(int min, int max) {
+        return min + random.nextInt(max - min + 1);
+    }
+}
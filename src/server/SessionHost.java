@@ -0,0 +1,148 @@
+package server;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs each game session on its own virtual thread.
+ * The game engine is written in a blocking style: {@link player.Player#playTurn}
+ * waits in {@code makeChoice} until the player has decided. On a virtual
+ * thread, such a wait releases its carrier thread, so a table waiting for a
+ * remote or human player costs a few kilobytes of stack instead of a platform
+ * thread, and a single JVM can keep tens of thousands of tables open.
+ *
+ * <p>The engine must therefore not wait while holding a monitor
+ * ({@code synchronized}), which would pin the carrier thread; the game loop
+ * and the players of the {@code server} package only wait on futures.</p>
+ *
+ * <p>Typical usage:</p>
+ * <pre>
+ * SessionHost host = new SessionHost("jest-session");
+ * host.host(session);
+ * ...
+ * host.close();
+ * </pre>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see GameSession
+ * @see SessionLoadTest
+ */
+public class SessionHost implements AutoCloseable {
+    private final ThreadFactory threadFactory;
+    /** The threads of the sessions being played */
+    private final Set<Thread> sessionThreads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger peakSessions = new AtomicInteger();
+    private final AtomicLong hostedSessions = new AtomicLong();
+    private final AtomicLong failedSessions = new AtomicLong();
+    private volatile boolean closed = false;
+
+    /**
+     * Constructs a session host.
+     *
+     * @param threadNamePrefix the prefix of the names of the session threads
+     */
+    public SessionHost(String threadNamePrefix) {
+        this.threadFactory = Thread.ofVirtual().name(threadNamePrefix + "-", 1).factory();
+    }
+
+    /**
+     * Starts a session on a new virtual thread.
+     *
+     * @param session the session to run
+     * @throws IllegalStateException if the host is closed
+     */
+    public void host(Runnable session) {
+        if (closed) {
+            throw new IllegalStateException("Session host is closed");
+        }
+        Thread thread = threadFactory.newThread(() -> {
+            try {
+                session.run();
+            } catch (RuntimeException e) {
+                failedSessions.incrementAndGet();
+                System.err.println("❌ Session failed: " + e);
+            } finally {
+                sessionThreads.remove(Thread.currentThread());
+            }
+        });
+        sessionThreads.add(thread);
+        hostedSessions.incrementAndGet();
+        peakSessions.accumulateAndGet(sessionThreads.size(), Math::max);
+        thread.start();
+    }
+
+    /**
+     * Gets the number of sessions being played.
+     *
+     * @return the number of open sessions
+     */
+    public int getOpenSessionCount() {
+        return sessionThreads.size();
+    }
+
+    /**
+     * Gets the highest number of sessions played at the same time.
+     *
+     * @return the peak number of open sessions
+     */
+    public int getPeakSessionCount() {
+        return peakSessions.get();
+    }
+
+    /**
+     * Gets the number of sessions started since the host was created.
+     *
+     * @return the number of hosted sessions
+     */
+    public long getHostedSessionCount() {
+        return hostedSessions.get();
+    }
+
+    /**
+     * Gets the number of sessions that ended with an exception.
+     *
+     * @return the number of failed sessions
+     */
+    public long getFailedSessionCount() {
+        return failedSessions.get();
+    }
+
+    /**
+     * Waits until every session has ended.
+     *
+     * @param timeoutMillis the maximum time to wait
+     * @return true if no session is left, false if the timeout expired
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            Iterator<Thread> threads = sessionThreads.iterator();
+            if (!threads.hasNext()) {
+                return true;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            threads.next().join(Duration.ofMillis(remaining));
+        }
+    }
+
+    /**
+     * Refuses new sessions and interrupts the sessions being played.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread thread : sessionThreads) {
+            thread.interrupt();
+        }
+    }
+}
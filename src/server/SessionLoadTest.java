@@ -0,0 +1,175 @@
+package server;
+
+import model.cards.Card;
+import model.game.Game;
+import player.Player;
+import util.Pacing;
+import util.Metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A load test of the {@link SessionHost}: opens tens of thousands of tables at
+ * once, each one on its own virtual thread, whose players take a while to
+ * answer every decision. Every table is therefore blocked most of the time,
+ * like a table waiting for remote players.
+ *
+ * <p>The test passes when all the tables were open at the same time, every
+ * game finished, and the platform thread count stayed small.</p>
+ *
+ * <p>Usage: {@code java server.SessionLoadTest [--tables=N] [--players=3|4] [--thinkMillis=N]}</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see SessionHost
+ */
+public class SessionLoadTest {
+    /** The maximum number of platform threads expected while the tables are open */
+    private static final int MAX_PLATFORM_THREADS = 200;
+
+    /** Answers the decisions once the thinking time has elapsed */
+    private static final ScheduledExecutorService decider = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "load-decider");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final AtomicLong decisions = new AtomicLong();
+    private static final AtomicLong finishedGames = new AtomicLong();
+    /** Counts down once per table, when it first waits for a decision */
+    private static CountDownLatch parkedTables;
+
+    /**
+     * A player who takes a fixed time to answer, then chooses at random.
+     * The table thread waits for the answer without holding a platform thread.
+     */
+    private static class ThinkingPlayer extends Player {
+        private final long thinkMillis;
+        private final AtomicBoolean tableParked;
+
+        ThinkingPlayer(String name, long thinkMillis, AtomicBoolean tableParked) {
+            super(name);
+            this.thinkMillis = thinkMillis;
+            this.tableParked = tableParked;
+        }
+
+        @Override
+        public int makeChoice(int min, int max, ArrayList<Card> cards, boolean isHidingCard) {
+            CompletableFuture<Integer> answer = new CompletableFuture<>();
+            decider.schedule(() -> answer.complete(min + ThreadLocalRandom.current().nextInt(max - min + 1)),
+                    thinkMillis, TimeUnit.MILLISECONDS);
+            decisions.incrementAndGet();
+            if (tableParked.compareAndSet(false, true)) {
+                parkedTables.countDown();
+            }
+            return answer.join();
+        }
+    }
+
+    /**
+     * Plays a whole game between thinking players.
+     *
+     * @param table the number of the table
+     * @param playerCount the number of players
+     * @param thinkMillis the thinking time of the players
+     */
+    private static void playTable(int table, int playerCount, long thinkMillis) {
+        Pacing.setUnpaced(true);
+        Game game = new Game(false);
+        AtomicBoolean tableParked = new AtomicBoolean();
+        for (int i = 0; i < playerCount; i++) {
+            game.addPlayer(new ThinkingPlayer("T" + table + "-P" + (i + 1), thinkMillis, tableParked));
+        }
+
+        game.setTrophies();
+        while (!game.getCards().isEmpty()) {
+            game.playRound();
+        }
+        game.finishGame();
+        finishedGames.incrementAndGet();
+    }
+
+    /**
+     * Main entry point of the load test.
+     *
+     * @param args the named parameters {@code --tables}, {@code --players} and {@code --thinkMillis}
+     * @throws InterruptedException if the test is interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int tables = getIntArgument(args, "tables", 20_000);
+        int players = getIntArgument(args, "players", 3);
+        int thinkMillis = getIntArgument(args, "thinkMillis", 200);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+
+        parkedTables = new CountDownLatch(tables);
+        System.out.println("🚀 Opening " + tables + " tables of " + players
+                + " players (" + thinkMillis + " ms per decision)");
+        long start = System.nanoTime();
+        SessionHost host = new SessionHost("load-table");
+        for (int i = 0; i < tables; i++) {
+            int table = i + 1;
+            host.host(() -> playTable(table, players, thinkMillis));
+        }
+
+        // Wait until every table waits for a decision, then collect the garbage
+        // of the deals so that the heap only holds the parked tables
+        parkedTables.await(1, TimeUnit.MINUTES);
+        memory.gc();
+        long heapOpen = memory.getHeapMemoryUsage().getUsed();
+        int openTables = host.getOpenSessionCount();
+        int platformThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+
+        boolean idle = host.awaitIdle(TimeUnit.MINUTES.toMillis(10));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("   open tables      : " + openTables + " (peak " + host.getPeakSessionCount() + ")");
+        System.out.println("   platform threads : " + platformThreads);
+        System.out.printf("   heap per table   : ~%.1f KB (after GC, %d tables parked)%n",
+                Math.max(0, heapOpen - heapBefore) / 1024.0 / Math.max(1, openTables), openTables);
+        System.out.println("   finished games   : " + finishedGames.get() + ", failed: " + host.getFailedSessionCount());
+        System.out.printf("   decisions        : %d (%.0f decisions/s)%n", decisions.get(), decisions.get() / seconds);
+        System.out.printf("   duration         : %.2f s%n", seconds);
+        if (Metrics.isEnabled()) {
+            System.out.print(Metrics.report());
+        }
+
+        boolean passed = idle
+                && host.getPeakSessionCount() == tables
+                && finishedGames.get() == tables
+                && platformThreads <= MAX_PLATFORM_THREADS;
+        System.out.println(passed ? "✅ Load test passed" : "❌ Load test failed");
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads an integer named argument ({@code --name=value}).
+     */
+    private static int getIntArgument(String[] args, String name, int defaultValue) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                try {
+                    return Integer.parseInt(arg.substring(prefix.length()));
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid --" + name + ": " + arg.substring(prefix.length()));
+                }
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,312 @@
+package server;
+
+import util.SaveEnvelope;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the memory used by the games of a {@link JestServer}.
+ * Games are kept in memory ("hot") while they are played; a game left waiting
+ * for a decision longer than the idle timeout, or the longest-waiting games
+ * when there are more hot games than the budget allows, are passivated: their
+ * state is written to the save store and dropped from memory. The next answer
+ * of the awaited player transparently reactivates the game.
+ *
+ * <p>A passivated game is stored as the {@link model.game.GameState} of the
+ * start of its current round, plus the decisions taken since. Rounds are
+ * reproducible from their start (see {@link model.game.Game#beginRound()}),
+ * so reactivation replays these decisions and resumes on the awaited one.
+ * Checkpoints are written in a checksummed {@link SaveEnvelope} and deleted
+ * once read back.</p>
+ *
+ * <p>While passivated, a game does not time out: it simply waits for its
+ * player. Checkpoints are only meaningful for the connections that created
+ * them, so those left when the manager is closed are deleted.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see GameSession
+ */
+public class SessionManager implements AutoCloseable {
+    /** The default directory of the session checkpoints */
+    public static final String DEFAULT_DIRECTORY = "jest_saves/sessions";
+    /** The file extension of the session checkpoints */
+    private static final String CHECKPOINT_EXTENSION = ".jses";
+
+    private final File directory;
+    private final long idleTimeoutMillis;
+    private final int maxHotSessions;
+    private ScheduledExecutorService sweeper;
+
+    /** The sessions being played, hot or passivated */
+    private final Set<GameSession> sessions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger passivatedSessions = new AtomicInteger();
+    private final AtomicLong idleEvictions = new AtomicLong();
+    private final AtomicLong budgetEvictions = new AtomicLong();
+    private final AtomicLong reactivations = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong reactivationNanos = new AtomicLong();
+
+    /**
+     * Constructs a session manager.
+     *
+     * @param directory the directory receiving the checkpoints of passivated games
+     * @param idleTimeoutMillis the time a game may wait for a decision before being passivated
+     * @param maxHotSessions the maximum number of games kept in memory
+     */
+    public SessionManager(File directory, long idleTimeoutMillis, int maxHotSessions) {
+        if (idleTimeoutMillis <= 0 || maxHotSessions <= 0) {
+            throw new IllegalArgumentException("Idle timeout and hot session budget must be positive");
+        }
+        this.directory = directory;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxHotSessions = maxHotSessions;
+    }
+
+    /**
+     * Creates the checkpoint directory and starts the periodic eviction.
+     *
+     * @throws IOException if the directory cannot be created
+     */
+    public void start() throws IOException {
+        Files.createDirectories(directory.toPath());
+        long sweepInterval = Math.max(10, Math.min(idleTimeoutMillis / 2, 1000));
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepInterval, sweepInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the eviction and deletes the checkpoints left.
+     */
+    @Override
+    public void close() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+        for (GameSession session : sessions) {
+            checkpointFile(session.getId()).delete();
+        }
+        sessions.clear();
+    }
+
+    /**
+     * Starts managing a session.
+     *
+     * @param session the new session
+     */
+    void register(GameSession session) {
+        sessions.add(session);
+    }
+
+    /**
+     * Stops managing a finished session.
+     *
+     * @param session the finished session
+     */
+    void unregister(GameSession session) {
+        sessions.remove(session);
+    }
+
+    /**
+     * Passivates the idle sessions, then the longest-waiting ones while the budget is exceeded.
+     */
+    private void sweep() {
+        try {
+            long now = System.nanoTime();
+            long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+            record Waiting(GameSession session, long since) {
+            }
+            List<Waiting> waiting = new ArrayList<>();
+            int hot = 0;
+            for (GameSession session : sessions) {
+                if (session.isPassivated()) {
+                    continue;
+                }
+                hot++;
+                long waitingSince = session.getWaitingSince();
+                if (waitingSince == 0) {
+                    continue;
+                }
+                if (now - waitingSince >= idleTimeoutNanos) {
+                    if (session.requestEviction(true)) {
+                        hot--;
+                    }
+                } else {
+                    waiting.add(new Waiting(session, waitingSince));
+                }
+            }
+
+            if (hot > maxHotSessions) {
+                waiting.sort(Comparator.comparingLong(Waiting::since));
+                for (Waiting candidate : waiting) {
+                    if (hot <= maxHotSessions) {
+                        break;
+                    }
+                    if (candidate.session().requestEviction(false)) {
+                        hot--;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("❌ Session eviction failed: " + e);
+        }
+    }
+
+    /**
+     * Stores the checkpoint of a passivated session.
+     *
+     * @param sessionId the identifier of the session
+     * @param checkpoint the encoded checkpoint
+     * @param idle true if the session was evicted for being idle, false to respect the budget
+     * @return true if the checkpoint was written, false if it must be kept in memory
+     */
+    boolean writeCheckpoint(int sessionId, byte[] checkpoint, boolean idle) {
+        passivatedSessions.incrementAndGet();
+        (idle ? idleEvictions : budgetEvictions).incrementAndGet();
+        try {
+            SaveEnvelope.write(checkpointFile(sessionId), checkpoint);
+            bytesWritten.addAndGet(checkpoint.length);
+            return true;
+        } catch (IOException e) {
+            failedWrites.incrementAndGet();
+            System.err.println("❌ Session " + sessionId + ": checkpoint kept in memory (" + e.getMessage() + ")");
+            return false;
+        }
+    }
+
+    /**
+     * Reads back and deletes the checkpoint of a session being reactivated.
+     *
+     * @param sessionId the identifier of the session
+     * @return the encoded checkpoint
+     * @throws IOException if the checkpoint cannot be read
+     */
+    byte[] readCheckpoint(int sessionId) throws IOException {
+        File file = checkpointFile(sessionId);
+        byte[] checkpoint = SaveEnvelope.read(file);
+        file.delete();
+        return checkpoint;
+    }
+
+    /**
+     * Records the reactivation of a session.
+     *
+     * @param durationNanos the time taken to restore the game
+     */
+    void reactivated(long durationNanos) {
+        passivatedSessions.decrementAndGet();
+        reactivations.incrementAndGet();
+        reactivationNanos.addAndGet(durationNanos);
+    }
+
+    /**
+     * Gets the file holding the checkpoint of a session.
+     */
+    private File checkpointFile(int sessionId) {
+        return new File(directory, "session-" + sessionId + CHECKPOINT_EXTENSION);
+    }
+
+    /**
+     * Gets the number of games kept in memory.
+     *
+     * @return the number of hot sessions
+     */
+    public int getHotSessionCount() {
+        return sessions.size() - passivatedSessions.get();
+    }
+
+    /**
+     * Gets the number of games currently passivated.
+     *
+     * @return the number of passivated sessions
+     */
+    public int getPassivatedSessionCount() {
+        return passivatedSessions.get();
+    }
+
+    /**
+     * Gets the number of games passivated because they were idle.
+     *
+     * @return the number of idle evictions
+     */
+    public long getIdleEvictionCount() {
+        return idleEvictions.get();
+    }
+
+    /**
+     * Gets the number of games passivated to stay within the hot session budget.
+     *
+     * @return the number of budget evictions
+     */
+    public long getBudgetEvictionCount() {
+        return budgetEvictions.get();
+    }
+
+    /**
+     * Gets the number of games brought back into memory.
+     *
+     * @return the number of reactivations
+     */
+    public long getReactivationCount() {
+        return reactivations.get();
+    }
+
+    /**
+     * Gets the number of checkpoints that could not be written and were kept in memory.
+     *
+     * @return the number of failed writes
+     */
+    public long getFailedWriteCount() {
+        return failedWrites.get();
+    }
+
+    /**
+     * Gets the number of checkpoint bytes written to the save store.
+     *
+     * @return the number of bytes written
+     */
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /**
+     * Gets the average time taken to restore a passivated game.
+     *
+     * @return the average reactivation time, in milliseconds
+     */
+    public double getAverageReactivationMillis() {
+        long count = reactivations.get();
+        return count == 0 ? 0 : reactivationNanos.get() / 1e6 / count;
+    }
+
+    /**
+     * Returns a summary of the eviction statistics.
+     *
+     * @return the statistics, on one line
+     */
+    @Override
+    public String toString() {
+        return String.format("%d hot, %d passivated, %d idle + %d budget evictions, %d reactivations"
+                        + " (avg %.2f ms), %d KB written, %d failed writes",
+                getHotSessionCount(), getPassivatedSessionCount(), getIdleEvictionCount(),
+                getBudgetEvictionCount(), getReactivationCount(), getAverageReactivationMillis(),
+                getBytesWritten() / 1024, getFailedWriteCount());
+    }
+}
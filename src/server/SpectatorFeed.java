@@ -0,0 +1,289 @@
+package server;
+
+import event.GameEventListener;
+import model.cards.Card;
+import model.cards.CardDeckFactory;
+import model.game.Game;
+import player.Player;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Broadcasts the public events of a {@link GameSession} to the clients watching it.
+ * The feed listens to the event bus of the game: each event is encoded once,
+ * by the session thread, into a direct buffer shared by all the spectators;
+ * every spectator gets its own view of the same bytes, and the selector
+ * thread writes them without copying.
+ *
+ * <p>Face-down cards are redacted when the event is encoded: the hidden card
+ * of an offer ({@code offer[1]}) is only ever sent as
+ * {@link Protocol#HIDDEN_CARD}, and so is a face-down card once picked.</p>
+ *
+ * <p>A spectator that does not read fast enough is not buffered for: once more
+ * than {@link #MAX_LAG_BYTES} are waiting for it, it misses the next events,
+ * and gets a {@link Protocol#SNAPSHOT} of the table when its connection has
+ * caught up. New spectators start with a snapshot too, at the next event.</p>
+ *
+ * <p>While a reactivated session replays the decisions of its round, the
+ * events already broadcast are played again: the feed is muted until the
+ * replay is over, then every spectator gets a snapshot.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see GameSession
+ * @see Protocol
+ */
+final class SpectatorFeed implements GameEventListener {
+    /** The queued bytes beyond which a spectator misses the events */
+    static final long MAX_LAG_BYTES = 16 * 1024;
+    /** The queued bytes under which a lagging spectator gets a snapshot */
+    static final long RESUME_LAG_BYTES = MAX_LAG_BYTES / 4;
+    /** The size of the direct buffers the frames are carved from */
+    private static final int ARENA_SIZE = 4 * 1024;
+
+    private static final Spectator[] NO_SPECTATORS = new Spectator[0];
+
+    private final List<Player> players;
+    private final JestServer server;
+    private volatile Spectator[] spectators = NO_SPECTATORS;
+    /** Whether the events are replayed and must not be broadcast */
+    private volatile boolean muted;
+    /** Whether the game is over */
+    private boolean closed;
+
+    /** The direct buffer the next frames are encoded into (session thread only) */
+    private ByteBuffer arena;
+    /** The public state of each seat, reused by the snapshots (session thread only) */
+    private final byte[] seats;
+
+    /**
+     * A client watching the table.
+     */
+    private static final class Spectator {
+        private final ClientConnection connection;
+        /** Whether the spectator missed events and waits for a snapshot (session thread only) */
+        private boolean lagging = true;
+
+        Spectator(ClientConnection connection) {
+            this.connection = connection;
+        }
+    }
+
+    /**
+     * Constructs the feed of a table.
+     *
+     * @param players the players of the table, by seat
+     * @param server the server counting the frames sent
+     */
+    SpectatorFeed(List<Player> players, JestServer server) {
+        this.players = players;
+        this.server = server;
+        this.seats = new byte[3 * players.size()];
+    }
+
+    /**
+     * Adds a spectator. It gets a snapshot of the table at the next event.
+     * Adding a spectator twice has no effect.
+     *
+     * @param connection the client
+     * @return false if the game is already over
+     */
+    synchronized boolean add(ClientConnection connection) {
+        if (closed) {
+            return false;
+        }
+        for (Spectator spectator : spectators) {
+            if (spectator.connection == connection) {
+                return true;
+            }
+        }
+        connection.setWatching(this);
+        Spectator[] updated = Arrays.copyOf(spectators, spectators.length + 1);
+        updated[spectators.length] = new Spectator(connection);
+        spectators = updated;
+        return true;
+    }
+
+    /**
+     * Removes a spectator.
+     *
+     * @param connection the client
+     */
+    synchronized void remove(ClientConnection connection) {
+        Spectator[] current = spectators;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].connection == connection) {
+                Spectator[] updated = new Spectator[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                spectators = updated.length == 0 ? NO_SPECTATORS : updated;
+                break;
+            }
+        }
+        if (connection.getWatching() == this) {
+            connection.setWatching(null);
+        }
+    }
+
+    /**
+     * Gets the number of spectators.
+     *
+     * @return the number of clients watching the table
+     */
+    int getSpectatorCount() {
+        return spectators.length;
+    }
+
+    /**
+     * Stops broadcasting while the events of the round are replayed.
+     */
+    void mute() {
+        muted = true;
+    }
+
+    /**
+     * Broadcasts again after a replay: every spectator gets a snapshot at the next event.
+     * Session thread only.
+     */
+    void unmute() {
+        for (Spectator spectator : spectators) {
+            spectator.lagging = true;
+        }
+        muted = false;
+    }
+
+    /**
+     * Releases the spectators once the game is over or aborted.
+     *
+     * @param aborted true if the game was aborted
+     */
+    synchronized void close(boolean aborted) {
+        closed = true;
+        for (Spectator spectator : spectators) {
+            if (aborted) {
+                spectator.connection.send(Protocol.error("Game aborted"));
+            }
+            if (spectator.connection.getWatching() == this) {
+                spectator.connection.setWatching(null);
+            }
+        }
+        spectators = NO_SPECTATORS;
+    }
+
+    @Override
+    public void onRoundStart(Game game) {
+        broadcast(game, Protocol.ROUND_STARTED, -1, Protocol.NO_CARD, game.getCards().size());
+    }
+
+    @Override
+    public void onHide(Game game, Player player, int choice) {
+        // Only the face-up card of the offer is encoded
+        Card visible = player.getVisibleCard();
+        broadcast(game, Protocol.OFFERED, players.indexOf(player),
+                visible != null ? CardDeckFactory.getCardId(visible) : Protocol.NO_CARD,
+                player.getHiddenCard() != null ? 1 : 0);
+    }
+
+    @Override
+    public void onPick(Game game, Player player, Card card, Player owner) {
+        broadcast(game, Protocol.PICKED, players.indexOf(player),
+                card.isVisible() ? CardDeckFactory.getCardId(card) : Protocol.HIDDEN_CARD, players.indexOf(owner));
+    }
+
+    @Override
+    public void onRoundEnd(Game game) {
+        broadcast(game, Protocol.ROUND_ENDED, -1, Protocol.NO_CARD, game.getCards().size());
+    }
+
+    @Override
+    public void onTrophy(Game game, Card trophy, Player winner) {
+        broadcast(game, Protocol.TROPHY_WON, players.indexOf(winner), CardDeckFactory.getCardId(trophy), 0);
+    }
+
+    @Override
+    public void onScore(Game game, Player player, int points, boolean withTrophies) {
+        if (withTrophies) {
+            broadcast(game, Protocol.SCORED, players.indexOf(player), Protocol.NO_CARD, points);
+        }
+    }
+
+    @Override
+    public void onGameEnd(Game game, Player winner) {
+        broadcast(game, Protocol.GAME_ENDED, players.indexOf(winner), Protocol.NO_CARD, 0);
+    }
+
+    /**
+     * Encodes an event once and queues it for every spectator keeping up;
+     * lagging spectators that have caught up get a snapshot instead.
+     */
+    private void broadcast(Game game, byte kind, int seat, int card, int value) {
+        Spectator[] current = spectators;
+        if (current.length == 0 || muted) {
+            return;
+        }
+        ByteBuffer frame = Protocol.tableEvent(allocate(Protocol.TABLE_EVENT_SIZE),
+                kind, game.getRoundNumber(), seat, card, value);
+        ByteBuffer snapshot = null;
+        int sent = 0;
+        int dropped = 0;
+        int snapshots = 0;
+
+        for (Spectator spectator : current) {
+            ClientConnection connection = spectator.connection;
+            if (connection.isClosed()) {
+                remove(connection);
+            } else if (spectator.lagging) {
+                if (connection.getQueuedBytes() > RESUME_LAG_BYTES) {
+                    dropped++;
+                    continue;
+                }
+                // The snapshot already shows the effect of the event
+                if (snapshot == null) {
+                    snapshot = encodeSnapshot(game);
+                }
+                connection.send(snapshot.duplicate());
+                spectator.lagging = false;
+                snapshots++;
+            } else if (connection.trySend(frame.duplicate(), MAX_LAG_BYTES)) {
+                sent++;
+            } else {
+                spectator.lagging = true;
+                dropped++;
+            }
+        }
+        server.spectatorFramesSent(sent, dropped, snapshots);
+    }
+
+    /**
+     * Encodes the public state of the table: the face-up card of each offer,
+     * whether a card is face down, and the size of each jest.
+     */
+    private ByteBuffer encodeSnapshot(Game game) {
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            Card[] offer = player.getOffer();
+            Card visible = offer != null ? offer[0] : null;
+            boolean hidden = offer != null && offer[1] != null;
+            seats[3 * seat] = visible != null ? (byte) CardDeckFactory.getCardId(visible) : Protocol.NO_CARD;
+            seats[3 * seat + 1] = hidden ? Protocol.HIDDEN_CARD : Protocol.NO_CARD;
+            seats[3 * seat + 2] = (byte) player.getJest().size();
+        }
+        return Protocol.snapshot(allocate(Protocol.snapshotSize(players.size())),
+                game.getRoundNumber(), game.getCards().size(), seats, players.size());
+    }
+
+    /**
+     * Carves a frame buffer out of the current direct buffer, starting a new one when it is full.
+     * The frames of a full buffer keep it alive until they are written.
+     */
+    private ByteBuffer allocate(int size) {
+        if (arena == null || arena.remaining() < size) {
+            arena = ByteBuffer.allocateDirect(ARENA_SIZE);
+        }
+        ByteBuffer frame = arena.slice(arena.position(), size);
+        arena.position(arena.position() + size);
+        return frame;
+    }
+}
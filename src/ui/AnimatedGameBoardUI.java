@@ -1,15 +1,21 @@
 package ui;
 
+import javafx.animation.Animation;
 import javafx.animation.FadeTransition;
 import javafx.animation.ParallelTransition;
 import javafx.animation.PauseTransition;
+import javafx.animation.SequentialTransition;
+import javafx.animation.Transition;
 import javafx.animation.TranslateTransition;
 import javafx.application.Platform;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
+import javafx.scene.control.ToggleButton;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
@@ -18,29 +24,61 @@ import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 import model.cards.Card;
-import model.cards.JokerCard;
-import model.cards.SuitCard;
-import model.enums.Sign;
+import model.cards.CardDeckFactory;
 import model.game.Game;
 import player.AI;
 import player.Player;
+import util.Metrics;
+import util.Pacing;
 
-import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * AnimatedGameBoardUI displays the game board with animations during AI turns.
  * Shows card movements and player actions visually.
  *
+ * <p>The scene is built once and kept for the whole game: showing the board
+ * again only updates its labels (bound to properties) and the panels whose
+ * content changed, instead of rebuilding the node tree.</p>
+ *
+ * <p>With the {@code jest.board=canvas} system property, the header, the
+ * players and the trophies are drawn by a {@link CanvasBoardRenderer} on a
+ * single canvas instead. The thread running the game then publishes a
+ * {@link BoardSnapshot} at each update, and the JavaFX thread only draws it;
+ * a human player picks a card by clicking it on the canvas.</p>
+ *
  * @author Jest Game & Gatien Genevois & Sacha Himber
  * @version 1.0
  */
 public class AnimatedGameBoardUI {
+    /** Whether the board is drawn on a single canvas instead of a node tree */
+    private static final boolean CANVAS_BOARD = "canvas".equals(System.getProperty("jest.board"));
+
     private Stage primaryStage;
-    private Game game;
+    /** The game shown, read by the thread publishing the snapshots in canvas mode */
+    private volatile Game game;
+    /** Whether this board is drawn on a canvas */
+    private final boolean canvasMode;
+    private Scene scene;
     private BorderPane mainLayout;
     private VBox centerPlayersBox;
+    /** The canvas board, set on the JavaFX thread and published to the game thread */
+    private volatile CanvasBoardRenderer canvasBoard;
+    /** The last snapshot published, drawn by the canvas board once it is built */
+    private volatile BoardSnapshot latestSnapshot;
     private Label currentActionLabel;
+    private VBox trophiesContainer;
+    private Card[] displayedTrophies;
+    private IdentityHashMap<Player, PlayerView> playerViews = new IdentityHashMap<>();
+    private final AtomicBoolean updateScheduled = new AtomicBoolean(false);
+    private final StringProperty roundText = new SimpleStringProperty();
+    private final StringProperty variantText = new SimpleStringProperty();
+    private final StringProperty deckText = new SimpleStringProperty();
+    private final StringProperty trophyCountText = new SimpleStringProperty();
 
     /**
      * Constructs an AnimatedGameBoardUI.
@@ -49,17 +87,99 @@ public class AnimatedGameBoardUI {
      * @param game the game instance
      */
     public AnimatedGameBoardUI(Stage primaryStage, Game game) {
+        this(primaryStage, game, CANVAS_BOARD);
+    }
+
+    /**
+     * Constructs an AnimatedGameBoardUI drawn on a canvas or with nodes.
+     *
+     * @param primaryStage the primary JavaFX stage
+     * @param game the game instance
+     * @param canvasMode true to draw the board on a single canvas
+     */
+    public AnimatedGameBoardUI(Stage primaryStage, Game game, boolean canvasMode) {
         this.primaryStage = primaryStage;
         this.game = game;
+        this.canvasMode = canvasMode;
     }
 
     /**
-     * Shows the game board.
+     * Checks whether the board is drawn on a canvas.
+     *
+     * @return true in canvas mode
+     */
+    public boolean isCanvasBoard() {
+        return canvasMode;
+    }
+
+    /**
+     * Changes the game shown by the board.
+     * In canvas mode, it is called on the thread running the game;
+     * otherwise, on the JavaFX thread.
+     *
+     * @param game the game to show
+     */
+    public void setGame(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Shows the game board, building its scene on first use.
+     * Must be called on the JavaFX thread.
      */
     public void show() {
+        if (scene == null) {
+            buildScene();
+        }
+
+        refreshGameInfo();
+        currentActionLabel.setText("");
+        refreshPlayersDisplay();
+
+        if (primaryStage.getScene() != scene) {
+            primaryStage.setScene(scene);
+        }
+    }
+
+    /**
+     * Builds the persistent scene of the board.
+     */
+    private void buildScene() {
         mainLayout = new BorderPane();
         mainLayout.setStyle("-fx-background-color: #0a0a0a;");
 
+        if (canvasMode) {
+            CanvasBoardRenderer board = new CanvasBoardRenderer(1, 1400, 740);
+            mainLayout.setCenter(board.getNode());
+            board.start();
+            canvasBoard = board;
+            // Draw the snapshot published before the board existed, if any
+            BoardSnapshot snapshot = latestSnapshot;
+            if (snapshot != null) {
+                board.setSnapshot(snapshot);
+            }
+        } else {
+            buildNodeBoard();
+        }
+
+        // Bottom: Current action
+        currentActionLabel = new Label("");
+        currentActionLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
+        currentActionLabel.setTextFill(Color.web("#FFFF00"));
+        currentActionLabel.setPadding(new Insets(20));
+        currentActionLabel.setAlignment(Pos.CENTER);
+        currentActionLabel.setMaxWidth(Double.MAX_VALUE);
+        currentActionLabel.setStyle("-fx-background-color: #1a1a1a;");
+
+        mainLayout.setBottom(currentActionLabel);
+
+        scene = new Scene(mainLayout, 1400, 800);
+    }
+
+    /**
+     * Builds the game info, players and trophies panels of the node board.
+     */
+    private void buildNodeBoard() {
         // Top: Game info
         mainLayout.setTop(createGameInfoPanel());
 
@@ -67,27 +187,43 @@ public class AnimatedGameBoardUI {
         centerPlayersBox = new VBox(15);
         centerPlayersBox.setAlignment(Pos.CENTER);
         centerPlayersBox.setPadding(new Insets(20));
-        updatePlayersDisplay();
 
         mainLayout.setCenter(centerPlayersBox);
 
         // Right: Trophies display
         VBox trophiesPanel = createTrophiesPanel();
         mainLayout.setRight(trophiesPanel);
+    }
 
-        // Bottom: Current action
-        currentActionLabel = new Label("");
-        currentActionLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
-        currentActionLabel.setTextFill(Color.web("#FFFF00"));
-        currentActionLabel.setPadding(new Insets(20));
-        currentActionLabel.setAlignment(Pos.CENTER);
-        currentActionLabel.setMaxWidth(Double.MAX_VALUE);
-        currentActionLabel.setStyle("-fx-background-color: #1a1a1a;");
-
-        mainLayout.setBottom(currentActionLabel);
+    /**
+     * Updates the game info labels and the trophies panel in place.
+     */
+    private void refreshGameInfo() {
+        if (canvasMode) {
+            return;
+        }
+        roundText.set("Round " + game.getRoundNumber());
+        variantText.set("Variant: " + game.getVariant().getName());
+        deckText.set("Cards in deck: " + game.getCards().size() + " | Trophies: " + game.getTrophies().length);
+        trophyCountText.set(game.getTrophies().length + " trophy cards");
 
-        Scene scene = new Scene(mainLayout, 1400, 800);
-        primaryStage.setScene(scene);
+        // The trophy cards only change when a new game is shown
+        Card[] trophies = game.getTrophies();
+        if (!Arrays.equals(trophies, displayedTrophies)) {
+            displayedTrophies = trophies == null ? null : trophies.clone();
+            trophiesContainer.getChildren().clear();
+            if (trophies != null && trophies.length > 0) {
+                for (Card trophy : trophies) {
+                    if (trophy != null) {
+                        trophiesContainer.getChildren().add(createTrophyCardDisplay(trophy));
+                    }
+                }
+            } else {
+                Label noTrophiesLabel = new Label("No trophies yet");
+                noTrophiesLabel.setTextFill(Color.web("#888888"));
+                trophiesContainer.getChildren().add(noTrophiesLabel);
+            }
+        }
     }
 
     /**
@@ -99,24 +235,34 @@ public class AnimatedGameBoardUI {
         panel.setStyle("-fx-background-color: #1a1a1a; -fx-border-color: #FFD700; -fx-border-width: 0 0 2 0;");
         panel.setAlignment(Pos.CENTER);
 
-        Label roundLabel = new Label("Round " + game.getRoundNumber());
+        Label roundLabel = new Label();
+        roundLabel.textProperty().bind(roundText);
         roundLabel.setFont(Font.font("Arial", FontWeight.BOLD, 24));
         roundLabel.setTextFill(Color.web("#00FFFF"));
 
-        Label variantLabel = new Label("Variant: " + game.getVariant().getName());
+        Label variantLabel = new Label();
+        variantLabel.textProperty().bind(variantText);
         variantLabel.setFont(Font.font("Arial", 12));
         variantLabel.setTextFill(Color.web("#FFFFFF"));
 
-        Label deckLabel = new Label("Cards in deck: " + game.getCards().size() + " | Trophies: " + game.getTrophies().length);
+        Label deckLabel = new Label();
+        deckLabel.textProperty().bind(deckText);
         deckLabel.setFont(Font.font("Arial", 12));
         deckLabel.setTextFill(Color.web("#FFD700"));
 
-        panel.getChildren().addAll(roundLabel, variantLabel, deckLabel);
+        // Turbo mode: skip the pauses and animations to let the AIs play at full speed
+        ToggleButton turboButton = new ToggleButton("⏩ Turbo");
+        turboButton.setSelected(Pacing.isTurbo());
+        turboButton.setStyle("-fx-font-size: 11; -fx-background-color: #333333; -fx-text-fill: #FFFFFF; -fx-cursor: hand;");
+        turboButton.selectedProperty().addListener((obs, wasTurbo, isTurbo) -> Pacing.setTurbo(isTurbo));
+
+        panel.getChildren().addAll(roundLabel, variantLabel, deckLabel, turboButton);
         return panel;
     }
 
     /**
      * Creates the trophies panel on the right side.
+     * The trophy cards are filled in by {@link #refreshGameInfo()}.
      */
     private VBox createTrophiesPanel() {
         VBox panel = new VBox(10);
@@ -134,39 +280,22 @@ public class AnimatedGameBoardUI {
         titleLabel.setPadding(new Insets(0, 0, 10, 0));
 
         // Trophies count
-        Label countLabel = new Label(game.getTrophies().length + " trophy cards");
+        Label countLabel = new Label();
+        countLabel.textProperty().bind(trophyCountText);
         countLabel.setFont(Font.font("Arial", 12));
         countLabel.setTextFill(Color.web("#FFFFFF"));
         countLabel.setPadding(new Insets(0, 0, 15, 0));
 
-        panel.getChildren().addAll(titleLabel, countLabel);
+        trophiesContainer = new VBox(8);
+        trophiesContainer.setAlignment(Pos.TOP_CENTER);
 
-        // Display each trophy card
-        Card[] trophies = game.getTrophies();
-        if (trophies != null && trophies.length > 0) {
-            VBox trophiesContainer = new VBox(8);
-            trophiesContainer.setAlignment(Pos.TOP_CENTER);
-
-            for (Card trophy : trophies) {
-                if (trophy != null) {
-                    VBox trophyBox = createTrophyCardDisplay(trophy);
-                    trophiesContainer.getChildren().add(trophyBox);
-                }
-            }
-
-            // Wrap in a ScrollPane if there are many trophies
-            javafx.scene.control.ScrollPane scrollPane = new javafx.scene.control.ScrollPane(trophiesContainer);
-            scrollPane.setFitToWidth(true);
-            scrollPane.setStyle("-fx-background: #1a1a1a; -fx-background-color: #1a1a1a;");
-            scrollPane.setPrefHeight(600);
-
-            panel.getChildren().add(scrollPane);
-        } else {
-            Label noTrophiesLabel = new Label("No trophies yet");
-            noTrophiesLabel.setTextFill(Color.web("#888888"));
-            panel.getChildren().add(noTrophiesLabel);
-        }
+        // Wrap in a ScrollPane if there are many trophies
+        javafx.scene.control.ScrollPane scrollPane = new javafx.scene.control.ScrollPane(trophiesContainer);
+        scrollPane.setFitToWidth(true);
+        scrollPane.setStyle("-fx-background: #1a1a1a; -fx-background-color: #1a1a1a;");
+        scrollPane.setPrefHeight(600);
 
+        panel.getChildren().addAll(titleLabel, countLabel, scrollPane);
         return panel;
     }
 
@@ -200,87 +329,126 @@ public class AnimatedGameBoardUI {
      * Loads a trophy card image (smaller size).
      */
     private ImageView getTrophyCardImageView(Card card) {
-        Image img = null;
+        return CardImageCache.createCardView(card, 60, 90);
+    }
 
-        try {
-            String imagePath = null;
+    /**
+     * Requests an update of the players display with their current offers.
+     * Can be called from any thread, any number of times: the requests made
+     * before the next pulse are coalesced into a single refresh. In canvas
+     * mode, the snapshot is taken at once, so it must be called on the thread
+     * running the game.
+     */
+    public void updatePlayersDisplay() {
+        if (canvasMode) {
+            publishSnapshot(BoardSnapshot.of(game));
+            return;
+        }
+        if (updateScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::refreshPlayersDisplay);
+        }
+    }
 
-            if (card instanceof SuitCard) {
-                SuitCard suitCard = (SuitCard) card;
-                int value = suitCard.getValue();
-                String color = suitCard.getColor().toString().toLowerCase();
-                String sign = convertSignToImageName(suitCard.getSign());
+    /**
+     * Shows the final state of the game and its winner.
+     * Must be called on the thread running the game.
+     *
+     * @param winner the winner of the game
+     */
+    public void showWinner(Player winner) {
+        if (canvasMode) {
+            publishSnapshot(BoardSnapshot.ofFinished(game, winner));
+        } else {
+            updatePlayersDisplay();
+        }
+        Platform.runLater(() -> {
+            currentActionLabel.setText("🏆 " + winner.getName() + " wins!");
+            currentActionLabel.setTextFill(Color.web("#FFD700"));
+        });
+    }
 
-                String baseImageName = value + "_" + color + "_" + sign;
-                String specialSuffix = getSpecialCardSuffix(suitCard);
+    /**
+     * Hands a snapshot to the canvas board, or keeps it until the board is built.
+     */
+    private void publishSnapshot(BoardSnapshot snapshot) {
+        latestSnapshot = snapshot;
+        CanvasBoardRenderer board = canvasBoard;
+        if (board != null) {
+            board.setSnapshot(snapshot);
+        }
+    }
 
-                if (specialSuffix != null) {
-                    imagePath = "Assets/Images/" + baseImageName + specialSuffix + ".png";
-                    File specialFile = new File(imagePath);
-                    if (!specialFile.exists()) {
-                        imagePath = "Assets/Images/" + baseImageName + ".png";
-                    }
-                } else {
-                    imagePath = "Assets/Images/" + baseImageName + ".png";
-                }
-            } else if (card instanceof JokerCard) {
-                JokerCard jokerCard = (JokerCard) card;
-                String jokerImagePath = "Assets/Images/joker_most_cards.png";
-                File jokerSpecialFile = new File(jokerImagePath);
+    /**
+     * Prepares the update of the players display run at the end of an animation.
+     * Called on the thread running the game, which waits for the animation: in
+     * canvas mode, the snapshot is taken now rather than on the JavaFX thread.
+     */
+    private Runnable displayUpdate() {
+        if (canvasMode) {
+            BoardSnapshot snapshot = BoardSnapshot.of(game);
+            return () -> publishSnapshot(snapshot);
+        }
+        return this::updatePlayersDisplay;
+    }
 
-                if (jokerCard.getCardEffectCode().equals("MOST_CARDS") && jokerSpecialFile.exists()) {
-                    imagePath = jokerImagePath;
-                } else {
-                    imagePath = "Assets/Images/joker.png";
-                }
-            }
+    /**
+     * Refreshes the players display, only touching the boxes of the players
+     * whose Jest size or offer changed since the last refresh.
+     */
+    private void refreshPlayersDisplay() {
+        updateScheduled.set(false);
+        // The canvas board draws the snapshots published by the game thread
+        if (scene == null || canvasMode) {
+            return;
+        }
 
-            if (imagePath != null) {
-                File imageFile = new File(imagePath);
-                if (imageFile.exists()) {
-                    img = new Image("file:///" + imageFile.getAbsolutePath().replace("\\", "/"),
-                                    60, 90, true, true);
-                }
+        ArrayList<Player> players = game.getPlayers();
+        IdentityHashMap<Player, PlayerView> views = new IdentityHashMap<>();
+        boolean layoutChanged = players.size() != playerViews.size();
+        for (Player player : players) {
+            PlayerView view = playerViews.get(player);
+            if (view == null) {
+                view = createPlayerBox(player);
+                layoutChanged = true;
             }
-        } catch (Exception e) {
-            System.err.println("Error loading trophy card image: " + e.getMessage());
+            view.update(player);
+            views.put(player, view);
         }
+        playerViews = views;
 
-        if (img == null || img.isError()) {
-            img = createPlaceholderImage();
+        // The boxes are only re-attached when players joined, left or changed order
+        if (layoutChanged || !sameOrder(players)) {
+            ArrayList<HBox> boxes = new ArrayList<>();
+            for (Player player : players) {
+                boxes.add(views.get(player).box);
+            }
+            centerPlayersBox.getChildren().setAll(boxes);
         }
 
-        ImageView iv = new ImageView(img);
-        iv.setFitWidth(60);
-        iv.setFitHeight(90);
-        iv.setPreserveRatio(false);
-        return iv;
+        // Also update the game info and trophies panel in place
+        refreshGameInfo();
     }
 
     /**
-     * Updates the players display with their current offers.
+     * Checks whether the displayed boxes follow the order of the players.
      */
-    public void updatePlayersDisplay() {
-        Platform.runLater(() -> {
-            centerPlayersBox.getChildren().clear();
-
-            for (Player player : game.getPlayers()) {
-                HBox playerBox = createPlayerBox(player);
-                centerPlayersBox.getChildren().add(playerBox);
-            }
-
-            // Also update trophies panel if it exists
-            if (mainLayout != null && mainLayout.getRight() != null) {
-                VBox trophiesPanel = createTrophiesPanel();
-                mainLayout.setRight(trophiesPanel);
+    private boolean sameOrder(ArrayList<Player> players) {
+        if (centerPlayersBox.getChildren().size() != players.size()) {
+            return false;
+        }
+        for (int i = 0; i < players.size(); i++) {
+            if (centerPlayersBox.getChildren().get(i) != playerViews.get(players.get(i)).box) {
+                return false;
             }
-        });
+        }
+        return true;
     }
 
     /**
      * Creates a visual box for a player showing their cards.
+     * The Jest count and the offer are filled in by {@link PlayerView#update(Player)}.
      */
-    private HBox createPlayerBox(Player player) {
+    private PlayerView createPlayerBox(Player player) {
         HBox playerBox = new HBox(20);
         playerBox.setPadding(new Insets(15));
         playerBox.setAlignment(Pos.CENTER_LEFT);
@@ -298,7 +466,7 @@ public class AnimatedGameBoardUI {
         nameLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
         nameLabel.setTextFill(Color.web("#00FF00"));
 
-        Label jestCountLabel = new Label("Jest: " + player.getJest().size() + " cards");
+        Label jestCountLabel = new Label();
         jestCountLabel.setFont(Font.font("Arial", 12));
         jestCountLabel.setTextFill(Color.web("#FFFFFF"));
 
@@ -308,19 +476,72 @@ public class AnimatedGameBoardUI {
         HBox offerBox = new HBox(15);
         offerBox.setAlignment(Pos.CENTER);
 
-        Card[] offer = player.getOffer();
-        if (offer != null && offer.length > 0) {
-            for (int i = 0; i < offer.length; i++) {
-                if (offer[i] != null) {
-                    VBox cardBox = createCardDisplay(offer[i]);
-                    cardBox.setId("player_" + player.getName() + "_card_" + i);
-                    offerBox.getChildren().add(cardBox);
+        playerBox.getChildren().addAll(playerInfo, offerBox);
+        return new PlayerView(playerBox, jestCountLabel, offerBox);
+    }
+
+    /**
+     * The box of a player on the board, with the state it currently shows.
+     */
+    private class PlayerView {
+        private final HBox box;
+        private final Label jestCountLabel;
+        private final HBox offerBox;
+        private int shownJestSize = -1;
+        private String shownOffer;
+
+        PlayerView(HBox box, Label jestCountLabel, HBox offerBox) {
+            this.box = box;
+            this.jestCountLabel = jestCountLabel;
+            this.offerBox = offerBox;
+        }
+
+        /**
+         * Updates the nodes of the box whose player state changed.
+         *
+         * @param player the player shown by the box
+         */
+        void update(Player player) {
+            int jestSize = player.getJest().size();
+            if (jestSize != shownJestSize) {
+                shownJestSize = jestSize;
+                jestCountLabel.setText("Jest: " + jestSize + " cards");
+            }
+
+            Card[] offer = player.getOffer();
+            String offerSignature = offerSignature(offer);
+            if (!offerSignature.equals(shownOffer)) {
+                shownOffer = offerSignature;
+                offerBox.getChildren().clear();
+                if (offer != null) {
+                    for (int i = 0; i < offer.length; i++) {
+                        if (offer[i] != null) {
+                            VBox cardBox = createCardDisplay(offer[i]);
+                            cardBox.setId("player_" + player.getName() + "_card_" + i);
+                            offerBox.getChildren().add(cardBox);
+                        }
+                    }
                 }
             }
         }
 
-        playerBox.getChildren().addAll(playerInfo, offerBox);
-        return playerBox;
+        /**
+         * Summarizes the cards of an offer and their visibility.
+         */
+        private String offerSignature(Card[] offer) {
+            if (offer == null) {
+                return "";
+            }
+            StringBuilder signature = new StringBuilder();
+            for (Card card : offer) {
+                if (card == null) {
+                    signature.append("-;");
+                } else {
+                    signature.append(CardDeckFactory.getCardId(card)).append(card.isVisible() ? "v;" : "h;");
+                }
+            }
+            return signature.toString();
+        }
     }
 
     /**
@@ -344,48 +565,140 @@ public class AnimatedGameBoardUI {
 
     /**
      * Animates a card being picked from one player to another.
+     * Called on the thread running the game, once the card has been picked,
+     * and waits until the animation has played.
      *
      * @param fromPlayer the player giving the card
      * @param toPlayer the player receiving the card
+     * @param card the picked card
      * @param cardIndex the index of the card being picked (0 or 1)
      */
-    public void animateCardPick(Player fromPlayer, Player toPlayer, int cardIndex) {
-        Platform.runLater(() -> {
-            updatePlayersDisplay();
-
+    public void animateCardPick(Player fromPlayer, Player toPlayer, Card card, int cardIndex) {
+        // In canvas mode, the picked card is drawn back in its slot and faded out
+        BoardSnapshot picking = canvasMode
+                ? BoardSnapshot.of(game).withPickedCard(game.getPlayers().indexOf(fromPlayer), cardIndex, card)
+                : null;
+        Runnable update = displayUpdate();
+        AnimationScheduler.playAndWait(() -> {
+            if (primaryStage.getScene() != scene) {
+                // The board is not shown (a human is choosing a card): nothing to animate
+                PauseTransition none = new PauseTransition(Duration.ZERO);
+                none.setOnFinished(e -> update.run());
+                return none;
+            }
             currentActionLabel.setText(toPlayer.getName() + " picks a card from " + fromPlayer.getName());
 
-            // Attendre un peu pour que l'utilisateur voie l'action
-            PauseTransition pause = new PauseTransition(Duration.millis(1500));
-            pause.play();
-        });
+            // Fade the picked card, then hold a moment so the user sees the action
+            CanvasBoardRenderer board = canvasBoard;
+            Node cardNode = canvasMode ? null : findCardNode(fromPlayer, cardIndex);
+            Animation fade = null;
+            if (board != null) {
+                board.setHighlightOpacity(1.0);
+                publishSnapshot(picking);
+                fade = new Transition() {
+                    {
+                        setCycleDuration(Duration.millis(600));
+                    }
 
-        try {
-            Thread.sleep(1500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+                    @Override
+                    protected void interpolate(double frac) {
+                        board.setHighlightOpacity(1.0 - 0.8 * frac);
+                    }
+                };
+            } else if (cardNode != null) {
+                FadeTransition nodeFade = new FadeTransition(Duration.millis(600), cardNode);
+                nodeFade.setToValue(0.2);
+                fade = nodeFade;
+            }
+            PauseTransition hold = new PauseTransition(Duration.millis(fade != null ? 900 : 1500));
+            Animation animation = fade != null ? new SequentialTransition(fade, hold) : hold;
+            animation.setOnFinished(e -> {
+                if (cardNode != null) {
+                    cardNode.setOpacity(1.0);
+                }
+                update.run();
+            });
+            return animation;
+        });
     }
 
     /**
      * Animates a player hiding a card.
+     * Called on the thread running the game, and waits until the animation has played.
      *
      * @param player the player hiding the card
      */
     public void animateCardHiding(Player player) {
-        Platform.runLater(() -> {
+        Runnable update = displayUpdate();
+        AnimationScheduler.playAndWait(() -> {
             currentActionLabel.setText(player.getName() + " is hiding a card...");
 
             PauseTransition pause = new PauseTransition(Duration.millis(1000));
-            pause.setOnFinished(e -> updatePlayersDisplay());
-            pause.play();
+            pause.setOnFinished(e -> update.run());
+            return pause;
         });
+    }
 
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    /**
+     * Lets a human player pick a card by clicking it on the canvas board.
+     * Called on the thread running the game, which waits for the click.
+     *
+     * @param playerName the name of the player picking
+     * @param cards the cards that can be picked
+     * @param cardOwners the owner of each card (parallel to cards)
+     * @return the chosen option (1-indexed)
+     */
+    public int pickOnBoard(String playerName, ArrayList<Card> cards, ArrayList<Player> cardOwners) {
+        // Option of each offer slot, by seat and index in the offer (0 when the card cannot be picked)
+        ArrayList<Player> players = game.getPlayers();
+        int[] options = new int[players.size() * 2];
+        for (int i = 0; i < cards.size(); i++) {
+            Player owner = cardOwners.get(i);
+            int offerIndex = cards.get(i) == owner.getOffer()[0] ? 0 : 1;
+            options[players.indexOf(owner) * 2 + offerIndex] = i + 1;
         }
+
+        CompletableFuture<Integer> choice = new CompletableFuture<>();
+        updatePlayersDisplay();
+        Platform.runLater(() -> {
+            show();
+            currentActionLabel.setText("👤 " + playerName + ", click the card you want to pick");
+            currentActionLabel.setTextFill(Color.web("#00FF00"));
+            canvasBoard.setOnCardClicked((seat, index) -> {
+                int option = seat * 2 + index < options.length ? options[seat * 2 + index] : 0;
+                if (option > 0) {
+                    choice.complete(option);
+                }
+            });
+        });
+
+        // Block without polling until the FX thread hands over the click
+        long start = Metrics.start();
+        int selected = choice.join();
+        Metrics.UI_HANDOFFS.stop(start);
+        Platform.runLater(() -> canvasBoard.setOnCardClicked(null));
+        return selected;
+    }
+
+    /**
+     * Finds the node showing a card of a player's offer.
+     *
+     * @param player the player
+     * @param cardIndex the index of the card in the offer
+     * @return the node of the card, or null if it is not displayed
+     */
+    private Node findCardNode(Player player, int cardIndex) {
+        PlayerView view = playerViews.get(player);
+        if (view == null) {
+            return null;
+        }
+        String id = "player_" + player.getName() + "_card_" + cardIndex;
+        for (Node node : view.offerBox.getChildren()) {
+            if (id.equals(node.getId())) {
+                return node;
+            }
+        }
+        return null;
     }
 
     /**
@@ -424,142 +737,14 @@ public class AnimatedGameBoardUI {
      * Loads a card image.
      */
     private ImageView getCardImageView(Card card) {
-        Image img = null;
-
-        try {
-            String imagePath = null;
-
-            if (card instanceof SuitCard) {
-                SuitCard suitCard = (SuitCard) card;
-                int value = suitCard.getValue();
-                String color = suitCard.getColor().toString().toLowerCase();
-                String sign = convertSignToImageName(suitCard.getSign());
-
-                String baseImageName = value + "_" + color + "_" + sign;
-                String specialSuffix = getSpecialCardSuffix(suitCard);
-
-                if (specialSuffix != null) {
-                    imagePath = "Assets/Images/" + baseImageName + specialSuffix + ".png";
-                    File specialFile = new File(imagePath);
-                    if (!specialFile.exists()) {
-                        imagePath = "Assets/Images/" + baseImageName + ".png";
-                    }
-                } else {
-                    imagePath = "Assets/Images/" + baseImageName + ".png";
-                }
-            } else if (card instanceof JokerCard) {
-                JokerCard jokerCard = (JokerCard) card;
-                String jokerImagePath = "Assets/Images/joker_most_cards.png";
-                File jokerSpecialFile = new File(jokerImagePath);
-
-                if (jokerCard.getCardEffectCode().equals("MOST_CARDS") && jokerSpecialFile.exists()) {
-                    imagePath = jokerImagePath;
-                } else {
-                    imagePath = "Assets/Images/joker.png";
-                }
-            }
-
-            if (imagePath != null) {
-                File imageFile = new File(imagePath);
-                if (imageFile.exists()) {
-                    img = new Image("file:///" + imageFile.getAbsolutePath().replace("\\", "/"),
-                                    80, 120, true, true);
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading card image: " + e.getMessage());
-        }
-
-        if (img == null || img.isError()) {
-            img = createPlaceholderImage();
-        }
-
-        ImageView iv = new ImageView(img);
-        iv.setFitWidth(80);
-        iv.setFitHeight(120);
-        iv.setPreserveRatio(false);
-        return iv;
+        return CardImageCache.createCardView(card, 80, 120);
     }
 
     /**
      * Loads the back card image.
      */
     private ImageView getBackImageView() {
-        Image img = null;
-
-        try {
-            File backFile = new File("Assets/Images/back.png");
-            if (backFile.exists()) {
-                img = new Image("file:///" + backFile.getAbsolutePath().replace("\\", "/"),
-                                80, 120, true, true);
-            } else {
-                img = createPlaceholderImage();
-            }
-        } catch (Exception e) {
-            img = createPlaceholderImage();
-        }
-
-        ImageView iv = new ImageView(img);
-        iv.setFitWidth(80);
-        iv.setFitHeight(120);
-        iv.setPreserveRatio(false);
-        return iv;
-    }
-
-    /**
-     * Gets special card suffix for expansion cards.
-     */
-    private String getSpecialCardSuffix(SuitCard suitCard) {
-        String effect = suitCard.getCardEffectCode();
-        int value = suitCard.getValue();
-        Sign sign = suitCard.getSign();
-
-        if (value == 1 && sign == Sign.CLUB && effect.equals("MOST_CARDS")) {
-            return "_most_cards";
-        }
-        if (value == 2 && sign == Sign.CLUB && effect.equals("LEAST_CARDS")) {
-            return "_least_cards";
-        }
-        if (value == 3 && sign == Sign.HEARTH && effect.equals("EVEN_VALUES")) {
-            return "_even";
-        }
-        if (value == 4 && sign == Sign.HEARTH && effect.equals("ODD_VALUES")) {
-            return "_odd";
-        }
-        if (value == 1 && sign == Sign.SPADE && effect.equals("NO_DUPLICATES")) {
-            return "_no_duplicates";
-        }
-
-        return null;
-    }
-
-    /**
-     * Converts Sign enum to image name.
-     */
-    private String convertSignToImageName(Sign sign) {
-        switch (sign) {
-            case SPADE: return "spade";
-            case CLUB: return "club";
-            case DIAMOND: return "diamond";
-            case HEARTH: return "heart";
-            default: return "spade";
-        }
-    }
-
-    /**
-     * Creates a placeholder image.
-     */
-    private Image createPlaceholderImage() {
-        javafx.scene.image.WritableImage placeholder = new javafx.scene.image.WritableImage(80, 120);
-        javafx.scene.image.PixelWriter writer = placeholder.getPixelWriter();
-        Color fillColor = Color.web("#666666");
-
-        for (int y = 0; y < 120; y++) {
-            for (int x = 0; x < 80; x++) {
-                writer.setColor(x, y, fillColor);
-            }
-        }
-        return placeholder;
+        return CardImageCache.createBackView(80, 120);
     }
 }
 
@@ -0,0 +1,140 @@
+package ui;
+
+import javafx.animation.Animation;
+import javafx.application.Platform;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import util.Pacing;
+import util.Metrics;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * AnimationScheduler plays the board animations one after the other on the
+ * JavaFX thread, following the global pace of {@link Pacing}.
+ * Animations are queued from any thread and each one completes a future once
+ * finished, so the game thread can wait for an animation instead of guessing
+ * its duration with a sleep.
+ *
+ * <p>Every animation is played at the global speed multiplier. In turbo mode,
+ * animations are not played at all: their end handler runs at once, so the
+ * board ends up in the same state while games run at full speed.</p>
+ *
+ * <p>Typical usage (from the game thread):</p>
+ * <pre>
+ * AnimationScheduler.playAndWait(() -&gt; {
+ *     FadeTransition fade = new FadeTransition(Duration.millis(600), cardNode);
+ *     fade.setToValue(0.2);
+ *     return fade;
+ * });
+ * </pre>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see Pacing
+ */
+public class AnimationScheduler {
+    /** The animations waiting to be played (JavaFX thread only) */
+    private static final ArrayDeque<QueuedAnimation> queue = new ArrayDeque<>();
+    /** Whether an animation is being played (JavaFX thread only) */
+    private static boolean playing = false;
+
+    /**
+     * An animation waiting in the queue, with the future completed once it has played.
+     */
+    private static class QueuedAnimation {
+        private final Supplier<Animation> factory;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        QueuedAnimation(Supplier<Animation> factory) {
+            this.factory = factory;
+        }
+    }
+
+    /**
+     * Queues an animation. The animation is created on the JavaFX thread when
+     * its turn comes, so the factory can read and modify the scene graph.
+     *
+     * @param factory creates the animation to play
+     * @return a future completed once the animation has finished (or was skipped)
+     */
+    public static CompletableFuture<Void> schedule(Supplier<Animation> factory) {
+        QueuedAnimation animation = new QueuedAnimation(factory);
+        if (Platform.isFxApplicationThread()) {
+            enqueue(animation);
+        } else {
+            Platform.runLater(() -> enqueue(animation));
+        }
+        return animation.done;
+    }
+
+    /**
+     * Queues an animation and waits until it has finished.
+     * On the JavaFX thread, the animation is only queued, since waiting would block it.
+     *
+     * @param factory creates the animation to play
+     */
+    public static void playAndWait(Supplier<Animation> factory) {
+        CompletableFuture<Void> done = schedule(factory);
+        if (!Platform.isFxApplicationThread()) {
+            long start = Metrics.start();
+            done.join();
+            Metrics.UI_HANDOFFS.stop(start);
+        }
+    }
+
+    /**
+     * Adds an animation to the queue and starts it if nothing is playing.
+     */
+    private static void enqueue(QueuedAnimation animation) {
+        queue.add(animation);
+        if (!playing) {
+            playNext();
+        }
+    }
+
+    /**
+     * Plays the next queued animation at the global speed, or skips it in turbo mode.
+     */
+    private static void playNext() {
+        QueuedAnimation next = queue.poll();
+        if (next == null) {
+            playing = false;
+            return;
+        }
+        playing = true;
+
+        Animation animation;
+        try {
+            animation = next.factory.get();
+        } catch (RuntimeException e) {
+            System.err.println("Error creating animation: " + e.getMessage());
+            next.done.completeExceptionally(e);
+            playNext();
+            return;
+        }
+
+        EventHandler<ActionEvent> onFinished = animation.getOnFinished();
+        if (Pacing.isTurbo()) {
+            // Apply the end state of the animation without playing it
+            if (onFinished != null) {
+                onFinished.handle(new ActionEvent());
+            }
+            next.done.complete(null);
+            playNext();
+            return;
+        }
+
+        animation.setOnFinished(event -> {
+            if (onFinished != null) {
+                onFinished.handle(event);
+            }
+            next.done.complete(null);
+            playNext();
+        });
+        animation.setRate(Pacing.getSpeed());
+        animation.play();
+    }
+}
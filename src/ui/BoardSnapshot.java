@@ -0,0 +1,266 @@
+package ui;
+
+import model.cards.Card;
+import model.game.Game;
+import player.AI;
+import player.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * BoardSnapshot is an immutable copy of what a board shows of a game.
+ * Snapshots are taken on the thread running the game and handed to the
+ * JavaFX thread, which can then draw them at its own pace without ever
+ * reading (or locking) the live game.
+ *
+ * <p>Cards are stored as their atlas cell (see {@link CardImageCache#getCell(Card)}),
+ * hidden cards as the cell of the card back, and missing cards as -1. A
+ * snapshot can highlight one offer slot, to show the card just picked from it.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see SpectatorDashboardUI
+ */
+public final class BoardSnapshot {
+    private final int roundNumber;
+    private final String variantName;
+    private final int deckSize;
+    private final PlayerSnapshot[] players;
+    private final int[] trophyCells;
+    private final String winnerName;
+    private final int highlightedSeat;
+    private final int highlightedIndex;
+
+    /**
+     * What a board shows of a player.
+     */
+    public static final class PlayerSnapshot {
+        private final String name;
+        private final boolean isAI;
+        private final int jestSize;
+        private final int[] offerCells;
+
+        private PlayerSnapshot(Player player) {
+            this.name = player.getName();
+            this.isAI = player instanceof AI;
+            this.jestSize = player.getJest().size();
+            this.offerCells = toCells(player.getOffer(), true);
+        }
+
+        private PlayerSnapshot(PlayerSnapshot player, int offerIndex, int cell) {
+            this.name = player.name;
+            this.isAI = player.isAI;
+            this.jestSize = player.jestSize;
+            this.offerCells = Arrays.copyOf(player.offerCells, Math.max(player.offerCells.length, offerIndex + 1));
+            Arrays.fill(offerCells, player.offerCells.length, offerCells.length, -1);
+            offerCells[offerIndex] = cell;
+        }
+
+        /**
+         * Gets the name of the player.
+         *
+         * @return the player name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Checks whether the player is an AI.
+         *
+         * @return true for an AI player
+         */
+        public boolean isAI() {
+            return isAI;
+        }
+
+        /**
+         * Gets the number of cards in the player's Jest.
+         *
+         * @return the Jest size
+         */
+        public int getJestSize() {
+            return jestSize;
+        }
+
+        /**
+         * Gets the atlas cells of the player's offer.
+         *
+         * @return a copy of the offer cells (-1 for a missing card)
+         */
+        public int[] getOfferCells() {
+            return offerCells.clone();
+        }
+    }
+
+    private BoardSnapshot(Game game, Player winner) {
+        this.roundNumber = game.getRoundNumber();
+        this.variantName = game.getVariant().getName();
+        this.deckSize = game.getCards().size();
+        ArrayList<Player> gamePlayers = game.getPlayers();
+        this.players = new PlayerSnapshot[gamePlayers.size()];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new PlayerSnapshot(gamePlayers.get(i));
+        }
+        this.trophyCells = toCells(game.getTrophies(), false);
+        this.winnerName = winner != null ? winner.getName() : null;
+        this.highlightedSeat = -1;
+        this.highlightedIndex = -1;
+    }
+
+    private BoardSnapshot(BoardSnapshot board, int seat, int offerIndex, int cell) {
+        this.roundNumber = board.roundNumber;
+        this.variantName = board.variantName;
+        this.deckSize = board.deckSize;
+        this.players = board.players.clone();
+        players[seat] = new PlayerSnapshot(board.players[seat], offerIndex, cell);
+        this.trophyCells = board.trophyCells;
+        this.winnerName = board.winnerName;
+        this.highlightedSeat = seat;
+        this.highlightedIndex = offerIndex;
+    }
+
+    /**
+     * Takes a snapshot of a game in progress.
+     * Must be called on the thread running the game.
+     *
+     * @param game the game
+     * @return the snapshot
+     */
+    public static BoardSnapshot of(Game game) {
+        return new BoardSnapshot(game, null);
+    }
+
+    /**
+     * Takes a snapshot of a finished game.
+     * Must be called on the thread running the game.
+     *
+     * @param game the game
+     * @param winner the winner of the game
+     * @return the snapshot
+     */
+    public static BoardSnapshot ofFinished(Game game, Player winner) {
+        return new BoardSnapshot(game, winner);
+    }
+
+    /**
+     * Returns a copy of this snapshot where a card just picked is back in its
+     * owner's offer, highlighted. Must be called on the thread running the game.
+     *
+     * @param seat the seat of the player the card was picked from
+     * @param offerIndex the index of the card in that player's offer
+     * @param card the picked card
+     * @return the snapshot showing the pick
+     */
+    public BoardSnapshot withPickedCard(int seat, int offerIndex, Card card) {
+        return new BoardSnapshot(this, seat, offerIndex, toCells(new Card[] {card}, true)[0]);
+    }
+
+    /**
+     * Converts cards to atlas cells.
+     *
+     * @param cards the cards (may be null or contain null)
+     * @param hideHidden true to show face-down cards as the card back
+     * @return the cells, -1 for a missing card
+     */
+    private static int[] toCells(Card[] cards, boolean hideHidden) {
+        if (cards == null) {
+            return new int[0];
+        }
+        int[] cells = new int[cards.length];
+        for (int i = 0; i < cards.length; i++) {
+            Card card = cards[i];
+            if (card == null) {
+                cells[i] = -1;
+            } else {
+                cells[i] = CardImageCache.getCell(hideHidden && !card.isVisible() ? null : card);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Gets the round number.
+     *
+     * @return the round number
+     */
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    /**
+     * Gets the name of the game variant.
+     *
+     * @return the variant name
+     */
+    public String getVariantName() {
+        return variantName;
+    }
+
+    /**
+     * Gets the number of cards left in the deck.
+     *
+     * @return the deck size
+     */
+    public int getDeckSize() {
+        return deckSize;
+    }
+
+    /**
+     * Gets the number of players.
+     *
+     * @return the number of players
+     */
+    public int getPlayerCount() {
+        return players.length;
+    }
+
+    /**
+     * Gets the snapshot of a player.
+     *
+     * @param index the index of the player
+     * @return the player snapshot
+     */
+    public PlayerSnapshot getPlayer(int index) {
+        return players[index];
+    }
+
+    /**
+     * Gets the atlas cells of the trophies.
+     *
+     * @return a copy of the trophy cells
+     */
+    public int[] getTrophyCells() {
+        return trophyCells.clone();
+    }
+
+    /**
+     * Checks whether the game is finished.
+     *
+     * @return true if the snapshot shows a finished game
+     */
+    public boolean isFinished() {
+        return winnerName != null;
+    }
+
+    /**
+     * Gets the name of the winner.
+     *
+     * @return the winner name, or null if the game is not finished
+     */
+    public String getWinnerName() {
+        return winnerName;
+    }
+
+    /**
+     * Checks whether an offer slot is highlighted.
+     *
+     * @param seat the seat of the player
+     * @param offerIndex the index of the card in the player's offer
+     * @return true if the slot shows the card just picked
+     */
+    public boolean isHighlighted(int seat, int offerIndex) {
+        return seat == highlightedSeat && offerIndex == highlightedIndex;
+    }
+}
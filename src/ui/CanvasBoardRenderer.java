@@ -0,0 +1,466 @@
+package ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Rectangle2D;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * CanvasBoardRenderer draws the game board on a single {@link Canvas}
+ * instead of a tree of ImageView, Label and VBox nodes.
+ * It draws {@link BoardSnapshot}s, so the thread running the game only
+ * publishes a snapshot and never waits on the JavaFX thread; cards are
+ * copied from the shared card atlases (see {@link CardImageCache}), and the
+ * whole board is redrawn in one pass, at most once per pulse, when a new
+ * snapshot was published.
+ *
+ * <p>The layout is the one of {@link AnimatedGameBoardUI} (a header, one row per
+ * player with their offer, the trophies on the right), scaled by a factor so
+ * that the same renderer draws the full board and the small tiles of the
+ * {@link SpectatorDashboardUI}.</p>
+ *
+ * <p>The renderer keeps the position of every card it drew, so that clicks
+ * and mouse hovering can be mapped back to the card under the pointer
+ * (see {@link #hitTest(double, double)} and {@link #setOnCardClicked(BiConsumer)}):
+ * this is how a human player picks a card on the canvas board. The slot
+ * highlighted by a snapshot is drawn with an outline and an opacity that can
+ * be animated, to show a pick.</p>
+ *
+ * <p>Typical usage (on the JavaFX thread):</p>
+ * <pre>
+ * CanvasBoardRenderer board = new CanvasBoardRenderer(1, 1400, 800);
+ * board.setOnCardClicked((seat, index) -&gt; ...);
+ * root.setCenter(board.getNode());
+ * board.start();
+ * // then, from the game thread, whenever the game changes:
+ * board.setSnapshot(BoardSnapshot.of(game));
+ * </pre>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see AnimatedGameBoardUI
+ * @see BoardSnapshot
+ */
+public final class CanvasBoardRenderer {
+    private static final int CARD_WIDTH = 80;
+    private static final int CARD_HEIGHT = 120;
+    private static final int TROPHY_WIDTH = 60;
+    private static final int TROPHY_HEIGHT = 90;
+    private static final double HEADER_HEIGHT = 70;
+    private static final double ROW_HEIGHT = 150;
+    private static final double MARGIN = 20;
+    private static final double TROPHY_PANEL_WIDTH = 120;
+
+    private static final Color BACKGROUND = Color.web("#0a0a0a");
+    private static final Color PANEL = Color.web("#1a1a1a");
+    private static final Color ROW = Color.web("#2a2a2a");
+    private static final Color ROW_BORDER = Color.web("#00FFFF");
+    private static final Color GOLD = Color.web("#FFD700");
+    private static final Color HIGHLIGHT = Color.web("#FFFF00");
+
+    private final double scale;
+    private final int cardWidth;
+    private final int cardHeight;
+    private final int trophyWidth;
+    private final int trophyHeight;
+    private final Canvas canvas;
+    private final Pane node;
+    private final AtomicReference<BoardSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private final AnimationTimer timer;
+    private String title;
+    /** The cards drawn during the last render, with their position */
+    private ArrayList<CardHit> hits = new ArrayList<>();
+    private CardHit hovered;
+    private BiConsumer<Integer, Integer> onCardClicked;
+    private double highlightOpacity = 1;
+
+    /**
+     * A card drawn on the board, and where it was drawn.
+     */
+    public static class CardHit {
+        private final int seat;
+        private final int offerIndex;
+        private final int cell;
+        private final Rectangle2D bounds;
+
+        CardHit(int seat, int offerIndex, int cell, Rectangle2D bounds) {
+            this.seat = seat;
+            this.offerIndex = offerIndex;
+            this.cell = cell;
+            this.bounds = bounds;
+        }
+
+        /**
+         * Gets the seat of the player offering the card.
+         *
+         * @return the seat of the owner, or -1 for a trophy
+         */
+        public int getSeat() {
+            return seat;
+        }
+
+        /**
+         * Gets the index of the card in its owner's offer, or in the trophies.
+         *
+         * @return the index of the card
+         */
+        public int getOfferIndex() {
+            return offerIndex;
+        }
+
+        /**
+         * Gets the atlas cell drawn (the card back for a face-down card).
+         *
+         * @return the cell of the card
+         */
+        public int getCell() {
+            return cell;
+        }
+
+        /**
+         * Gets the area of the canvas where the card was drawn.
+         *
+         * @return the bounds of the card
+         */
+        public Rectangle2D getBounds() {
+            return bounds;
+        }
+
+        /**
+         * Checks whether two hits are the same card slot.
+         */
+        private boolean isSameSlot(CardHit other) {
+            return other != null && other.seat == seat && other.offerIndex == offerIndex;
+        }
+    }
+
+    /**
+     * Constructs a CanvasBoardRenderer. The canvas follows the size of its node.
+     * Must be called on the JavaFX thread.
+     *
+     * @param scale the scale of the layout (1 for the full board)
+     * @param width the initial width of the board
+     * @param height the initial height of the board
+     */
+    public CanvasBoardRenderer(double scale, double width, double height) {
+        this.scale = scale;
+        this.cardWidth = (int) Math.round(CARD_WIDTH * scale);
+        this.cardHeight = (int) Math.round(CARD_HEIGHT * scale);
+        this.trophyWidth = (int) Math.round(TROPHY_WIDTH * scale);
+        this.trophyHeight = (int) Math.round(TROPHY_HEIGHT * scale);
+        this.canvas = new Canvas(width, height);
+        this.node = new Pane(canvas);
+        node.setPrefSize(width, height);
+
+        canvas.widthProperty().bind(node.widthProperty());
+        canvas.heightProperty().bind(node.heightProperty());
+        canvas.widthProperty().addListener(obs -> requestRender());
+        canvas.heightProperty().addListener(obs -> requestRender());
+
+        canvas.addEventHandler(MouseEvent.MOUSE_MOVED, this::handleMouseMoved);
+        canvas.addEventHandler(MouseEvent.MOUSE_CLICKED, this::handleMouseClicked);
+
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                refresh();
+            }
+        };
+    }
+
+    /**
+     * Gets the node to add to a scene.
+     *
+     * @return the pane holding the canvas
+     */
+    public Pane getNode() {
+        return node;
+    }
+
+    /**
+     * Starts redrawing the board on each pulse where it is dirty.
+     * Hosts refreshing at their own rate call {@link #refresh()} instead.
+     */
+    public void start() {
+        requestRender();
+        timer.start();
+    }
+
+    /**
+     * Stops redrawing the board.
+     */
+    public void stop() {
+        timer.stop();
+    }
+
+    /**
+     * Redraws the board if it changed since it was last drawn.
+     * Must be called on the JavaFX thread.
+     */
+    public void refresh() {
+        if (dirty.compareAndSet(true, false)) {
+            render();
+        }
+    }
+
+    /**
+     * Publishes the board to draw. Can be called from any thread: only the
+     * latest snapshot is drawn, at the next refresh.
+     *
+     * @param snapshot the snapshot to draw
+     */
+    public void setSnapshot(BoardSnapshot snapshot) {
+        this.snapshot.set(snapshot);
+        requestRender();
+    }
+
+    /**
+     * Sets a title shown before the round in the header.
+     * Must be called on the JavaFX thread.
+     *
+     * @param title the title, or null for none
+     */
+    public void setTitle(String title) {
+        this.title = title;
+        requestRender();
+    }
+
+    /**
+     * Marks the board dirty so it is redrawn at the next refresh.
+     * Can be called from any thread, any number of times per pulse.
+     */
+    public void requestRender() {
+        dirty.set(true);
+    }
+
+    /**
+     * Sets the action run when a card of an offer is clicked. The offer cards
+     * are only highlighted under the mouse while an action is set.
+     * Must be called on the JavaFX thread.
+     *
+     * @param onCardClicked receives the seat of the owner of the card and its index in the offer,
+     *                      or null to ignore the clicks
+     */
+    public void setOnCardClicked(BiConsumer<Integer, Integer> onCardClicked) {
+        this.onCardClicked = onCardClicked;
+        if (onCardClicked == null && hovered != null) {
+            hovered = null;
+            canvas.setCursor(javafx.scene.Cursor.DEFAULT);
+            requestRender();
+        }
+    }
+
+    /**
+     * Sets the opacity of the card in the highlighted slot of the snapshot.
+     * Must be called on the JavaFX thread.
+     *
+     * @param opacity the opacity, from 0 to 1
+     */
+    public void setHighlightOpacity(double opacity) {
+        this.highlightOpacity = opacity;
+        requestRender();
+    }
+
+    /**
+     * Finds the card drawn at a position of the canvas.
+     *
+     * @param x the x coordinate in the canvas
+     * @param y the y coordinate in the canvas
+     * @return the card under that position, or null if there is none
+     */
+    public CardHit hitTest(double x, double y) {
+        for (CardHit hit : hits) {
+            if (hit.bounds.contains(x, y)) {
+                return hit;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Highlights the offer card under the mouse.
+     */
+    private void handleMouseMoved(MouseEvent event) {
+        CardHit hit = hitTest(event.getX(), event.getY());
+        if (hit != null && (hit.seat < 0 || onCardClicked == null)) {
+            hit = null;
+        }
+        if (hit == null ? hovered != null : !hit.isSameSlot(hovered)) {
+            hovered = hit;
+            canvas.setCursor(hit != null ? javafx.scene.Cursor.HAND : javafx.scene.Cursor.DEFAULT);
+            requestRender();
+        }
+    }
+
+    /**
+     * Reports a click on an offer card.
+     */
+    private void handleMouseClicked(MouseEvent event) {
+        CardHit hit = hitTest(event.getX(), event.getY());
+        if (hit != null && hit.seat >= 0 && onCardClicked != null) {
+            onCardClicked.accept(hit.seat, hit.offerIndex);
+        }
+    }
+
+    /**
+     * Draws the whole board in one pass.
+     */
+    private void render() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        ArrayList<CardHit> newHits = new ArrayList<>();
+        BoardSnapshot board = snapshot.get();
+
+        gc.setFill(BACKGROUND);
+        gc.fillRect(0, 0, width, height);
+        if (board == null) {
+            hits = newHits;
+            return;
+        }
+
+        double trophyPanelWidth = TROPHY_PANEL_WIDTH * scale;
+        drawHeader(gc, board, width);
+        drawPlayers(gc, board, width - trophyPanelWidth, newHits);
+        drawTrophies(gc, board, width - trophyPanelWidth, height, newHits);
+
+        hits = newHits;
+    }
+
+    /**
+     * Draws the round, variant and deck information, or the winner of a finished game.
+     */
+    private void drawHeader(GraphicsContext gc, BoardSnapshot board, double width) {
+        double headerHeight = HEADER_HEIGHT * scale;
+        gc.setFill(PANEL);
+        gc.fillRect(0, 0, width, headerHeight);
+        gc.setFill(board.isFinished() ? GOLD : ROW_BORDER);
+        gc.fillRect(0, headerHeight - 2, width, 2);
+
+        String headline = board.isFinished()
+                ? "🏆 " + board.getWinnerName() + " wins!"
+                : "Round " + board.getRoundNumber();
+        if (title != null) {
+            headline = title + " — " + headline;
+        }
+
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.TOP);
+        gc.setFill(ROW_BORDER);
+        gc.setFont(Font.font("Arial", FontWeight.BOLD, 24 * scale));
+        gc.fillText(headline, width / 2, 8 * scale);
+
+        gc.setFill(Color.web("#FFFFFF"));
+        gc.setFont(Font.font("Arial", Math.max(9, 12 * scale)));
+        gc.fillText("Variant: " + board.getVariantName() + "   |   Cards in deck: " + board.getDeckSize()
+                + "   |   Trophies: " + board.getTrophyCells().length, width / 2, 42 * scale);
+    }
+
+    /**
+     * Draws one row per player with their name, Jest size and offer.
+     */
+    private void drawPlayers(GraphicsContext gc, BoardSnapshot board, double width, ArrayList<CardHit> newHits) {
+        CardAtlas atlas = CardImageCache.getAtlas(cardWidth, cardHeight);
+        double margin = MARGIN * scale;
+        double rowHeight = ROW_HEIGHT * scale;
+        double y = HEADER_HEIGHT * scale + margin;
+
+        for (int seat = 0; seat < board.getPlayerCount(); seat++) {
+            BoardSnapshot.PlayerSnapshot player = board.getPlayer(seat);
+            double rowWidth = width - 2 * margin;
+            gc.setFill(ROW);
+            gc.fillRoundRect(margin, y, rowWidth, rowHeight - 10 * scale, 20 * scale, 20 * scale);
+            gc.setStroke(ROW_BORDER);
+            gc.setLineWidth(Math.max(1, 2 * scale));
+            gc.strokeRoundRect(margin, y, rowWidth, rowHeight - 10 * scale, 20 * scale, 20 * scale);
+
+            gc.setTextAlign(TextAlignment.LEFT);
+            gc.setTextBaseline(VPos.CENTER);
+            gc.setFill(Color.web("#00FF00"));
+            gc.setFont(Font.font("Arial", FontWeight.BOLD, Math.max(11, 16 * scale)));
+            gc.fillText((player.isAI() ? "🤖" : "👤") + " " + player.getName(), margin + 15 * scale, y + 50 * scale);
+            gc.setFill(Color.web("#FFFFFF"));
+            gc.setFont(Font.font("Arial", Math.max(9, 12 * scale)));
+            gc.fillText("Jest: " + player.getJestSize() + " cards", margin + 15 * scale, y + 75 * scale);
+
+            int[] offer = player.getOfferCells();
+            double x = margin + 200 * scale;
+            for (int i = 0; i < offer.length; i++) {
+                if (offer[i] < 0) {
+                    continue;
+                }
+                Rectangle2D bounds = new Rectangle2D(x, y + 10 * scale, cardWidth, cardHeight);
+                // The highlighted card has already left the offer: it is drawn, but cannot be clicked
+                boolean picked = board.isHighlighted(seat, i);
+                gc.setGlobalAlpha(picked ? highlightOpacity : 1);
+                drawCell(gc, atlas, offer[i], bounds);
+                gc.setGlobalAlpha(1);
+                CardHit hit = new CardHit(seat, i, offer[i], bounds);
+                if (picked || hit.isSameSlot(hovered)) {
+                    gc.setStroke(HIGHLIGHT);
+                    gc.setLineWidth(3);
+                    gc.strokeRect(bounds.getMinX() - 2, bounds.getMinY() - 2, cardWidth + 4, cardHeight + 4);
+                }
+                if (!picked) {
+                    newHits.add(hit);
+                }
+                x += cardWidth + 15 * scale;
+            }
+            y += rowHeight;
+        }
+    }
+
+    /**
+     * Draws the trophy cards in a column on the right side.
+     */
+    private void drawTrophies(GraphicsContext gc, BoardSnapshot board, double left, double height,
+                              ArrayList<CardHit> newHits) {
+        double headerHeight = HEADER_HEIGHT * scale;
+        double panelWidth = TROPHY_PANEL_WIDTH * scale;
+        gc.setFill(PANEL);
+        gc.fillRect(left, headerHeight, panelWidth, height - headerHeight);
+        gc.setFill(GOLD);
+        gc.fillRect(left, headerHeight, 2, height - headerHeight);
+
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.TOP);
+        gc.setFont(Font.font("Arial", FontWeight.BOLD, Math.max(9, 14 * scale)));
+        gc.fillText("🏆 Trophies", left + panelWidth / 2, headerHeight + 10 * scale);
+
+        CardAtlas atlas = CardImageCache.getAtlas(trophyWidth, trophyHeight);
+        int[] trophies = board.getTrophyCells();
+        double y = headerHeight + 40 * scale;
+        for (int i = 0; i < trophies.length; i++) {
+            if (trophies[i] < 0) {
+                continue;
+            }
+            Rectangle2D bounds = new Rectangle2D(left + (panelWidth - trophyWidth) / 2, y, trophyWidth, trophyHeight);
+            drawCell(gc, atlas, trophies[i], bounds);
+            newHits.add(new CardHit(-1, i, trophies[i], bounds));
+            y += trophyHeight + 10 * scale;
+        }
+    }
+
+    /**
+     * Copies an atlas cell to the canvas.
+     */
+    private void drawCell(GraphicsContext gc, CardAtlas atlas, int cell, Rectangle2D bounds) {
+        Rectangle2D region = atlas.getRegion(cell);
+        gc.drawImage(atlas.getImage(),
+                region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight(),
+                bounds.getMinX(), bounds.getMinY(), bounds.getWidth(), bounds.getHeight());
+    }
+}
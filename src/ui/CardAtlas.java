@@ -0,0 +1,115 @@
+package ui;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+/**
+ * CardAtlas packs the images of all cards, at one display size, into a single
+ * texture. Each card occupies a cell of a grid, and is drawn by showing the
+ * sub-rectangle of its cell with {@link ImageView#setViewport(Rectangle2D)}.
+ * Every card view of a given size thus shares one decoded image and one GPU
+ * texture.
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see CardImageCache
+ */
+public class CardAtlas {
+    /** The packed texture */
+    private final WritableImage image;
+    /** The sub-rectangle of each cell */
+    private final Rectangle2D[] regions;
+    /** The width of a cell */
+    private final int cellWidth;
+    /** The height of a cell */
+    private final int cellHeight;
+
+    /**
+     * Packs cell images into an atlas.
+     * Each cell image must already be scaled to the cell size.
+     *
+     * @param cells the image of each cell, in cell order
+     * @param cellWidth the width of a cell
+     * @param cellHeight the height of a cell
+     */
+    public CardAtlas(Image[] cells, int cellWidth, int cellHeight) {
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.regions = new Rectangle2D[cells.length];
+
+        int columns = (int) Math.ceil(Math.sqrt(cells.length));
+        int rows = (cells.length + columns - 1) / columns;
+        this.image = new WritableImage(columns * cellWidth, rows * cellHeight);
+        PixelWriter writer = image.getPixelWriter();
+
+        for (int i = 0; i < cells.length; i++) {
+            int x = (i % columns) * cellWidth;
+            int y = (i / columns) * cellHeight;
+            regions[i] = new Rectangle2D(x, y, cellWidth, cellHeight);
+
+            PixelReader reader = cells[i].getPixelReader();
+            if (reader == null) {
+                continue;
+            }
+            int width = Math.min(cellWidth, (int) cells[i].getWidth());
+            int height = Math.min(cellHeight, (int) cells[i].getHeight());
+            writer.setPixels(x, y, width, height, reader, 0, 0);
+        }
+    }
+
+    /**
+     * Creates a view showing one cell of the atlas.
+     *
+     * @param cell the cell to show
+     * @return an ImageView filling exactly the cell size
+     */
+    public ImageView createView(int cell) {
+        ImageView iv = new ImageView(image);
+        iv.setViewport(regions[cell]);
+        iv.setFitWidth(cellWidth);
+        iv.setFitHeight(cellHeight);
+        iv.setPreserveRatio(false);
+        return iv;
+    }
+
+    /**
+     * Gets the packed texture.
+     *
+     * @return the atlas image
+     */
+    public Image getImage() {
+        return image;
+    }
+
+    /**
+     * Gets the sub-rectangle of a cell in the atlas image.
+     *
+     * @param cell the cell
+     * @return the region of the cell
+     */
+    public Rectangle2D getRegion(int cell) {
+        return regions[cell];
+    }
+
+    /**
+     * Gets the number of cells of the atlas.
+     *
+     * @return the number of cells
+     */
+    public int getCellCount() {
+        return regions.length;
+    }
+
+    /**
+     * Estimates the pixel memory of the atlas.
+     *
+     * @return the size of the atlas image, in bytes
+     */
+    public long getByteSize() {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+}
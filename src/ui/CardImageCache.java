@@ -0,0 +1,333 @@
+package ui;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleConsumer;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import model.cards.Card;
+import model.cards.CardDeckFactory;
+import model.cards.JokerCard;
+import model.cards.SuitCard;
+import model.enums.Sign;
+import util.Metrics;
+
+/**
+ * CardImageCache holds the decoded card images shared by every screen.
+ * The images of all cards are packed, for each display size, into a
+ * {@link CardAtlas} in which each card id (see {@link CardDeckFactory#getCardId(Card)})
+ * has its own cell, the card back taking the last cell. Atlases are built on
+ * first use and kept in a least-recently-used cache bounded by their pixel memory.
+ *
+ * <p>The image file of each card is resolved once (including the special
+ * images of the expansion cards), so building a card view never touches the
+ * file system once the atlas exists. {@link #preloadAll(DoubleConsumer)}
+ * builds the atlases of every size used by the game in the background at startup.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see CardAtlas
+ */
+public class CardImageCache {
+    /** The directory containing the card images */
+    private static final String IMAGE_DIRECTORY = "Assets/Images/";
+    /** The pseudo card id of the card back */
+    public static final int BACK_ID = -2;
+    /** The maximum pixel memory held by the cache, in bytes */
+    private static final long MAX_BYTES = 48L * 1024 * 1024;
+    /** The sizes at which the game screens display cards (board, selection dialog, trophies) */
+    private static final int[][] PRELOAD_SIZES = {{80, 120}, {60, 90}, {50, 75}};
+
+    /** The atlas of each display size, least recently used first */
+    private static final LinkedHashMap<Integer, CardAtlas> atlases = new LinkedHashMap<>(8, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, CardAtlas> eldest) {
+            if (usedBytes > MAX_BYTES) {
+                usedBytes -= eldest.getValue().getByteSize();
+                return true;
+            }
+            return false;
+        }
+    };
+    /** The pixel memory currently held by the cache, in bytes */
+    private static long usedBytes;
+    /** The resolved image URL of each card id (null until resolved, "" if missing) */
+    private static final String[] cardUrls = new String[CardDeckFactory.getFullDeckSize()];
+    /** The resolved image URL of the card back (null until resolved, "" if missing) */
+    private static String backUrl;
+
+    /**
+     * Creates a view of a card at the given display size.
+     *
+     * @param card the card
+     * @param width the display width
+     * @param height the display height
+     * @return an ImageView showing the card
+     */
+    public static ImageView createCardView(Card card, int width, int height) {
+        return getAtlas(width, height).createView(getCell(card));
+    }
+
+    /**
+     * Creates a view of the card back at the given display size.
+     *
+     * @param width the display width
+     * @param height the display height
+     * @return an ImageView showing the card back
+     */
+    public static ImageView createBackView(int width, int height) {
+        return getAtlas(width, height).createView(cardUrls.length);
+    }
+
+    /**
+     * Gets the atlas cell of a card.
+     *
+     * @param card the card, or null for the card back
+     * @return the cell of the card in every atlas
+     */
+    public static int getCell(Card card) {
+        if (card == null) {
+            return cardUrls.length;
+        }
+        int id = CardDeckFactory.getCardId(card);
+        return id >= 0 ? id : cardUrls.length;
+    }
+
+    /**
+     * Gets the atlas of a display size, building it on first use.
+     *
+     * @param width the display width
+     * @param height the display height
+     * @return the atlas holding every card at that size
+     */
+    public static CardAtlas getAtlas(int width, int height) {
+        int key = (width << 16) | height;
+        synchronized (CardImageCache.class) {
+            CardAtlas atlas = atlases.get(key);
+            if (atlas != null) {
+                return atlas;
+            }
+        }
+
+        // Decode outside the lock so that several sizes can be built in parallel
+        Image[] cells = new Image[cardUrls.length + 1];
+        for (int cell = 0; cell < cells.length; cell++) {
+            cells[cell] = decodeCell(cell, width, height);
+        }
+        return store(key, new CardAtlas(cells, width, height));
+    }
+
+    /**
+     * Builds the atlases of every size used by the game screens, decoding the
+     * card images in parallel on background threads, so that the screens find
+     * them ready.
+     *
+     * @param progress receives the fraction of images decoded (0 to 1) after each image,
+     *                 from the background threads
+     * @return a future completed once every atlas is built
+     */
+    public static CompletableFuture<Void> preloadAll(DoubleConsumer progress) {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "card-image-preload");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        int cellCount = cardUrls.length + 1;
+        int total = cellCount * PRELOAD_SIZES.length;
+        AtomicInteger decoded = new AtomicInteger();
+        CompletableFuture<?>[] atlasTasks = new CompletableFuture<?>[PRELOAD_SIZES.length];
+        for (int s = 0; s < PRELOAD_SIZES.length; s++) {
+            int width = PRELOAD_SIZES[s][0];
+            int height = PRELOAD_SIZES[s][1];
+            Image[] cells = new Image[cellCount];
+            CompletableFuture<?>[] cellTasks = new CompletableFuture<?>[cellCount];
+            for (int cell = 0; cell < cellCount; cell++) {
+                int index = cell;
+                cellTasks[cell] = CompletableFuture.runAsync(() -> {
+                    cells[index] = decodeCell(index, width, height);
+                    progress.accept((double) decoded.incrementAndGet() / total);
+                }, executor);
+            }
+            // Pack once every cell of this size is decoded
+            atlasTasks[s] = CompletableFuture.allOf(cellTasks).thenRun(
+                    () -> store((width << 16) | height, new CardAtlas(cells, width, height)));
+        }
+
+        return CompletableFuture.allOf(atlasTasks).whenComplete((result, error) -> executor.shutdown());
+    }
+
+    /**
+     * Stores a newly built atlas, unless another thread stored one first.
+     *
+     * @param key the size key of the atlas
+     * @param atlas the atlas
+     * @return the atlas held by the cache
+     */
+    private static synchronized CardAtlas store(int key, CardAtlas atlas) {
+        CardAtlas cached = atlases.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        usedBytes += atlas.getByteSize();
+        atlases.put(key, atlas);
+        return atlas;
+    }
+
+    /**
+     * Decodes the image of an atlas cell, scaled to the cell size.
+     *
+     * @param cell the cell (a card id, or the last cell for the card back)
+     * @param width the cell width
+     * @param height the cell height
+     * @return the decoded image, or a grey placeholder if the image is missing
+     */
+    private static Image decodeCell(int cell, int width, int height) {
+        String url;
+        synchronized (CardImageCache.class) {
+            url = resolveUrl(cell < cardUrls.length ? cell : BACK_ID);
+        }
+        if (!url.isEmpty()) {
+            long start = Metrics.start();
+            Image image = new Image(url, width, height, false, true);
+            Metrics.IMAGE_LOADS.stop(start);
+            if (!image.isError()) {
+                return image;
+            }
+            System.err.println("Error loading card image: " + url);
+        }
+        return createPlaceholderImage(width, height);
+    }
+
+    /**
+     * Resolves the image URL of a card id once, checking the special images
+     * of the expansion cards.
+     *
+     * @param id the card id, or {@link #BACK_ID}
+     * @return the image URL, or an empty string if the image is missing
+     */
+    private static String resolveUrl(int id) {
+        if (id == BACK_ID) {
+            if (backUrl == null) {
+                backUrl = toUrl(IMAGE_DIRECTORY + "back.png");
+            }
+            return backUrl;
+        }
+        if (id < 0 || id >= cardUrls.length) {
+            return "";
+        }
+        if (cardUrls[id] == null) {
+            cardUrls[id] = toUrl(getImagePath(CardDeckFactory.createCard(id)));
+        }
+        return cardUrls[id];
+    }
+
+    /**
+     * Gets the path of the image of a card.
+     * Expansion cards use their special image when it exists.
+     *
+     * @param card the card
+     * @return the path of the image file
+     */
+    private static String getImagePath(Card card) {
+        if (card instanceof JokerCard) {
+            String jokerImagePath = IMAGE_DIRECTORY + "joker_most_cards.png";
+            if (card.getCardEffectCode().equals("MOST_CARDS") && new File(jokerImagePath).exists()) {
+                return jokerImagePath;
+            }
+            return IMAGE_DIRECTORY + "joker.png";
+        }
+
+        SuitCard suitCard = (SuitCard) card;
+        String baseImageName = suitCard.getValue() + "_" + suitCard.getColor().toString().toLowerCase()
+                + "_" + convertSignToImageName(suitCard.getSign());
+        String specialSuffix = getSpecialCardSuffix(suitCard);
+        if (specialSuffix != null) {
+            String specialPath = IMAGE_DIRECTORY + baseImageName + specialSuffix + ".png";
+            if (new File(specialPath).exists()) {
+                return specialPath;
+            }
+        }
+        return IMAGE_DIRECTORY + baseImageName + ".png";
+    }
+
+    /**
+     * Converts an image path to a URL.
+     *
+     * @param path the image path
+     * @return the file URL, or an empty string if the file does not exist
+     */
+    private static String toUrl(String path) {
+        File imageFile = new File(path);
+        if (!imageFile.exists()) {
+            System.err.println("Image not found: " + imageFile.getAbsolutePath());
+            return "";
+        }
+        return "file:///" + imageFile.getAbsolutePath().replace("\\", "/");
+    }
+
+    /**
+     * Gets special card suffix for expansion cards.
+     */
+    private static String getSpecialCardSuffix(SuitCard suitCard) {
+        String effect = suitCard.getCardEffectCode();
+        int value = suitCard.getValue();
+        Sign sign = suitCard.getSign();
+
+        if (value == 1 && sign == Sign.CLUB && effect.equals("MOST_CARDS")) {
+            return "_most_cards";
+        }
+        if (value == 2 && sign == Sign.CLUB && effect.equals("LEAST_CARDS")) {
+            return "_least_cards";
+        }
+        if (value == 3 && sign == Sign.HEARTH && effect.equals("EVEN_VALUES")) {
+            return "_even";
+        }
+        if (value == 4 && sign == Sign.HEARTH && effect.equals("ODD_VALUES")) {
+            return "_odd";
+        }
+        if (value == 1 && sign == Sign.SPADE && effect.equals("NO_DUPLICATES")) {
+            return "_no_duplicates";
+        }
+
+        return null;
+    }
+
+    /**
+     * Converts Sign enum to image name.
+     */
+    private static String convertSignToImageName(Sign sign) {
+        switch (sign) {
+            case SPADE: return "spade";
+            case CLUB: return "club";
+            case DIAMOND: return "diamond";
+            case HEARTH: return "heart";
+            default: return "spade";
+        }
+    }
+
+    /**
+     * Creates a grey placeholder image of the given size.
+     */
+    private static Image createPlaceholderImage(int width, int height) {
+        WritableImage placeholder = new WritableImage(width, height);
+        PixelWriter writer = placeholder.getPixelWriter();
+        Color fillColor = Color.web("#666666");
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                writer.setColor(x, y, fillColor);
+            }
+        }
+        return placeholder;
+    }
+}
@@ -1,6 +1,8 @@
 package ui;
 
 import javafx.application.Platform;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -12,31 +14,38 @@ import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import model.cards.Card;
 import model.cards.SuitCard;
 import model.cards.JokerCard;
-import model.enums.Sign;
 import player.Player;
 import player.AI;
+import util.Metrics;
 import java.util.ArrayList;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * CardSelectionUI handles the graphical display and selection of cards during gameplay.
  * Allows players to choose cards visually instead of through console input.
+ * The selection and hiding screens share one persistent scene, whose title,
+ * description and card grid are updated in place for each choice.
  *
  * @author Jest Game & Gatien Genevois & Sacha Himber
  * @version 1.0
  */
 public class CardSelectionUI {
     private Stage primaryStage;
-    private volatile AtomicInteger selectedCard;
-    private volatile boolean cardSelected;
+    private volatile CompletableFuture<Integer> selection;
     private Card[] trophies;
+    private Scene scene;
+    private BorderPane root;
+    private VBox contentBox;
+    private Label descLabel;
+    private GridPane cardsGrid;
+    private Card[] displayedTrophies;
+    private final StringProperty titleText = new SimpleStringProperty();
 
     /**
      * Constructs a CardSelectionUI.
@@ -45,8 +54,7 @@ public class CardSelectionUI {
      */
     public CardSelectionUI(Stage primaryStage) {
         this.primaryStage = primaryStage;
-        this.selectedCard = new AtomicInteger(-1);
-        this.cardSelected = false;
+        this.selection = CompletableFuture.completedFuture(-1);
         this.trophies = null;
     }
 
@@ -79,23 +87,17 @@ public class CardSelectionUI {
      * @return the index of the selected card (1-indexed)
      */
     public int showCardSelection(ArrayList<Card> cards, ArrayList<Player> cardOwners, String description) {
-        selectedCard.set(-1);
-        cardSelected = false;
+        selection = new CompletableFuture<>();
 
         Platform.runLater(() -> {
             showSelectionScene(cards, cardOwners, description);
         });
 
-        // Wait for user selection
-        while (!cardSelected) {
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
-
-        return selectedCard.get();
+        // Block without polling until the FX thread hands over the user selection
+        long start = Metrics.start();
+        int selected = selection.join();
+        Metrics.UI_HANDOFFS.stop(start);
+        return selected;
     }
 
     /**
@@ -106,33 +108,11 @@ public class CardSelectionUI {
      * @param description the description of the choice
      */
     private void showSelectionScene(ArrayList<Card> cards, ArrayList<Player> cardOwners, String description) {
-        BorderPane root = new BorderPane();
-        root.setStyle("-fx-background-color: #1e1e1e;");
-
-        // Top: Title
-        Label titleLabel = new Label("Select a Card");
-        titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 28));
-        titleLabel.setStyle("-fx-text-fill: #00FF00;");
-
-        VBox titleBox = new VBox(titleLabel);
-        titleBox.setAlignment(Pos.CENTER);
-        titleBox.setPadding(new Insets(20));
-
-        // Center: Cards display
-        VBox contentBox = new VBox(15);
-        contentBox.setPadding(new Insets(30));
+        prepareScene("Select a Card", description, 14);
+        contentBox.setSpacing(15);
         contentBox.setAlignment(Pos.TOP_CENTER);
-
-        Label descLabel = new Label(description);
-        descLabel.setStyle("-fx-text-fill: #FFFFFF; -fx-font-size: 14;");
-        descLabel.setWrapText(true);
-        contentBox.getChildren().add(descLabel);
-
-        GridPane cardsGrid = new GridPane();
         cardsGrid.setHgap(15);
         cardsGrid.setVgap(15);
-        cardsGrid.setAlignment(Pos.CENTER);
-        cardsGrid.setPadding(new Insets(20));
 
         int column = 0;
         int row = 0;
@@ -144,8 +124,7 @@ public class CardSelectionUI {
             Player owner = (cardOwners != null && i < cardOwners.size()) ? cardOwners.get(i) : null;
             Button cardButton = createCardButton(card, index, owner);
             cardButton.setOnAction(e -> {
-                selectedCard.set(index);
-                cardSelected = true;
+                selection.complete(index);
             });
 
             cardsGrid.add(cardButton, column, row);
@@ -156,19 +135,70 @@ public class CardSelectionUI {
             }
         }
 
-        contentBox.getChildren().add(cardsGrid);
+        showScene();
+    }
+
+    /**
+     * Builds the persistent scene on first use, then resets it for a new choice:
+     * updates the title, description and trophies, and empties the card grid.
+     *
+     * @param title the title of the screen
+     * @param description the description of the choice
+     * @param descriptionFontSize the font size of the description
+     */
+    private void prepareScene(String title, String description, int descriptionFontSize) {
+        if (scene == null) {
+            root = new BorderPane();
+            root.setStyle("-fx-background-color: #1e1e1e;");
+
+            // Top: Title
+            Label titleLabel = new Label();
+            titleLabel.textProperty().bind(titleText);
+            titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 28));
+            titleLabel.setStyle("-fx-text-fill: #00FF00;");
+
+            VBox titleBox = new VBox(titleLabel);
+            titleBox.setAlignment(Pos.CENTER);
+            titleBox.setPadding(new Insets(20));
+
+            // Center: Cards display
+            contentBox = new VBox(15);
+            contentBox.setPadding(new Insets(30));
+
+            descLabel = new Label();
+            descLabel.setWrapText(true);
+
+            cardsGrid = new GridPane();
+            cardsGrid.setAlignment(Pos.CENTER);
+            cardsGrid.setPadding(new Insets(20));
+
+            contentBox.getChildren().addAll(descLabel, cardsGrid);
+
+            root.setTop(titleBox);
+            root.setCenter(contentBox);
+
+            scene = new Scene(root, (trophies != null && trophies.length > 0) ? 1300 : 1000, 700);
+        }
 
-        root.setTop(titleBox);
-        root.setCenter(contentBox);
+        titleText.set(title);
+        descLabel.setText(description);
+        descLabel.setStyle("-fx-text-fill: #FFFFFF; -fx-font-size: " + descriptionFontSize + ";");
+        cardsGrid.getChildren().clear();
 
-        // Right: Trophies panel (if trophies are set)
-        if (trophies != null && trophies.length > 0) {
-            VBox trophiesPanel = createTrophiesPanel();
-            root.setRight(trophiesPanel);
+        // Right: Trophies panel (if trophies are set), rebuilt only when they change
+        if (!Arrays.equals(trophies, displayedTrophies)) {
+            displayedTrophies = trophies == null ? null : trophies.clone();
+            root.setRight(trophies != null && trophies.length > 0 ? createTrophiesPanel() : null);
         }
+    }
 
-        Scene scene = new Scene(root, (trophies != null && trophies.length > 0) ? 1300 : 1000, 700);
-        primaryStage.setScene(scene);
+    /**
+     * Puts the persistent scene on the stage if it is not already shown.
+     */
+    private void showScene() {
+        if (primaryStage.getScene() != scene) {
+            primaryStage.setScene(scene);
+        }
     }
 
     /**
@@ -244,150 +274,7 @@ public class CardSelectionUI {
      * @return un ImageView contenant l'image de la carte
      */
     private ImageView getCardImageView(Card card) {
-        Image img = null;
-
-        try {
-            String imagePath = null;
-
-            if (card instanceof SuitCard) {
-                SuitCard suitCard = (SuitCard) card;
-                int value = suitCard.getValue();
-                String color = suitCard.getColor().toString().toLowerCase();
-                String sign = convertSignToImageName(suitCard.getSign());
-
-                // Construction du nom de fichier de base
-                String baseImageName = value + "_" + color + "_" + sign;
-
-                // Vérifier si c'est une carte d'extension avec un effet spécial
-                String specialSuffix = getSpecialCardSuffix(suitCard);
-                if (specialSuffix != null) {
-                    // Essayer d'abord avec le suffixe spécial
-                    imagePath = "Assets/Images/" + baseImageName + specialSuffix + ".png";
-                    File specialFile = new File(imagePath);
-                    if (!specialFile.exists()) {
-                        // Sinon utiliser l'image de base
-                        imagePath = "Assets/Images/" + baseImageName + ".png";
-                    }
-                } else {
-                    imagePath = "Assets/Images/" + baseImageName + ".png";
-                }
-            } else if (card instanceof JokerCard) {
-                // Vérifier si c'est le Joker d'extension (MOST_CARDS)
-                JokerCard jokerCard = (JokerCard) card;
-                String jokerImagePath = "Assets/Images/joker_most_cards.png";
-                File jokerSpecialFile = new File(jokerImagePath);
-
-                if (jokerCard.getCardEffectCode().equals("MOST_CARDS") && jokerSpecialFile.exists()) {
-                    imagePath = jokerImagePath;
-                } else {
-                    imagePath = "Assets/Images/joker.png";
-                }
-            }
-
-            if (imagePath != null) {
-                File imageFile = new File(imagePath);
-                if (imageFile.exists()) {
-                    img = new Image("file:///" + imageFile.getAbsolutePath().replace("\\", "/"),
-                                    60, 90, true, true);
-                } else {
-                    System.err.println("Image non trouvée: " + imageFile.getAbsolutePath());
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Erreur lors du chargement de l'image: " + e.getMessage());
-            img = null;
-        }
-
-        // Fallback si l'image n'est pas trouvée
-        if (img == null || img.isError()) {
-            try {
-                File jokerFile = new File("Assets/Images/joker.png");
-                if (jokerFile.exists()) {
-                    img = new Image("file:///" + jokerFile.getAbsolutePath().replace("\\", "/"),
-                                    60, 90, true, true);
-                } else {
-                    img = createPlaceholderImage();
-                }
-            } catch (Exception e) {
-                img = createPlaceholderImage();
-            }
-        }
-
-        ImageView iv = new ImageView(img);
-        iv.setFitWidth(60);
-        iv.setFitHeight(90);
-        iv.setPreserveRatio(false);
-        return iv;
-    }
-
-    /**
-     * Retourne le suffixe spécial pour les cartes d'extension.
-     *
-     * @param suitCard la carte à vérifier
-     * @return le suffixe à ajouter au nom de fichier, ou null si pas de suffixe spécial
-     */
-    private String getSpecialCardSuffix(SuitCard suitCard) {
-        String effect = suitCard.getCardEffectCode();
-        int value = suitCard.getValue();
-        Sign sign = suitCard.getSign();
-
-        // Cartes d'extension avec images spéciales
-        // 1_black_club_most_cards.png
-        if (value == 1 && sign == Sign.CLUB && effect.equals("MOST_CARDS")) {
-            return "_most_cards";
-        }
-        // 2_black_club_least_cards.png
-        if (value == 2 && sign == Sign.CLUB && effect.equals("LEAST_CARDS")) {
-            return "_least_cards";
-        }
-        // 3_red_heart_even.png
-        if (value == 3 && sign == Sign.HEARTH && effect.equals("EVEN_VALUES")) {
-            return "_even";
-        }
-        // 4_red_heart_odd.png
-        if (value == 4 && sign == Sign.HEARTH && effect.equals("ODD_VALUES")) {
-            return "_odd";
-        }
-        // 1_black_spade_no_duplicates.png
-        if (value == 1 && sign == Sign.SPADE && effect.equals("NO_DUPLICATES")) {
-            return "_no_duplicates";
-        }
-
-        return null;
-    }
-
-    /**
-     * Convertit un énumérateur Sign en nom de fichier image.
-     *
-     * @param sign le signe à convertir
-     * @return le nom du signe pour le fichier image
-     */
-    private String convertSignToImageName(Sign sign) {
-        switch (sign) {
-            case SPADE: return "spade";
-            case CLUB: return "club";
-            case DIAMOND: return "diamond";
-            case HEARTH: return "heart";
-            default: return "spade";
-        }
-    }
-
-    /**
-     * Crée une image placeholder si l'image réelle n'est pas trouvée.
-     *
-     * @return une Image placeholder
-     */
-    private Image createPlaceholderImage() {
-        javafx.scene.image.WritableImage placeholder = new javafx.scene.image.WritableImage(60, 90);
-        javafx.scene.image.PixelWriter writer = placeholder.getPixelWriter();
-        javafx.scene.paint.Color fillColor = javafx.scene.paint.Color.web("#666666");
-
-        for (int y = 0; y < 90; y++) {
-            for (int x = 0; x < 60; x++) {
-                writer.setColor(x, y, fillColor);
-            }
-        }
-        return placeholder;
+        return CardImageCache.createCardView(card, 60, 90);
     }
 
     /**
@@ -396,27 +283,7 @@ public class CardSelectionUI {
      * @return un ImageView contenant l'image du dos de carte
      */
     private ImageView getBackImageView() {
-        Image img = null;
-
-        try {
-            File backFile = new File("Assets/Images/back.png");
-            if (backFile.exists()) {
-                img = new Image("file:///" + backFile.getAbsolutePath().replace("\\", "/"),
-                                60, 90, true, true);
-            } else {
-                System.err.println("Image back.png non trouvée: " + backFile.getAbsolutePath());
-                img = createPlaceholderImage();
-            }
-        } catch (Exception e) {
-            System.err.println("Erreur lors du chargement de back.png: " + e.getMessage());
-            img = createPlaceholderImage();
-        }
-
-        ImageView iv = new ImageView(img);
-        iv.setFitWidth(60);
-        iv.setFitHeight(90);
-        iv.setPreserveRatio(false);
-        return iv;
+        return CardImageCache.createBackView(60, 90);
     }
 
     /**
@@ -461,23 +328,17 @@ public class CardSelectionUI {
      * @return 1 to hide card1, 2 to hide card2
      */
     public int showHidingSelection(Card card1, Card card2, String playerName) {
-        selectedCard.set(-1);
-        cardSelected = false;
+        selection = new CompletableFuture<>();
 
         Platform.runLater(() -> {
             showHidingScene(card1, card2, playerName);
         });
 
-        // Wait for user selection
-        while (!cardSelected) {
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
-
-        return selectedCard.get();
+        // Block without polling until the FX thread hands over the user selection
+        long start = Metrics.start();
+        int selected = selection.join();
+        Metrics.UI_HANDOFFS.stop(start);
+        return selected;
     }
 
     /**
@@ -488,41 +349,18 @@ public class CardSelectionUI {
      * @param playerName the name of the player
      */
     private void showHidingScene(Card card1, Card card2, String playerName) {
-        BorderPane root = new BorderPane();
-        root.setStyle("-fx-background-color: #1e1e1e;");
-
-        // Top: Title
-        Label titleLabel = new Label("Choose Card to Hide");
-        titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 28));
-        titleLabel.setStyle("-fx-text-fill: #00FF00;");
-
-        VBox titleBox = new VBox(titleLabel);
-        titleBox.setAlignment(Pos.CENTER);
-        titleBox.setPadding(new Insets(20));
-
-        // Center: Two card options
-        VBox contentBox = new VBox(20);
-        contentBox.setPadding(new Insets(30));
+        prepareScene("Choose Card to Hide", playerName + ", which card do you want to hide?", 16);
+        contentBox.setSpacing(20);
         contentBox.setAlignment(Pos.CENTER);
-
-        Label descLabel = new Label(playerName + ", which card do you want to hide?");
-        descLabel.setStyle("-fx-text-fill: #FFFFFF; -fx-font-size: 16;");
-        contentBox.getChildren().add(descLabel);
-
-        GridPane cardsGrid = new GridPane();
         cardsGrid.setHgap(40);
         cardsGrid.setVgap(20);
-        cardsGrid.setAlignment(Pos.CENTER);
-        cardsGrid.setPadding(new Insets(20));
 
         Button card1Button = createCardButton(card1, 1);
         Button card2Button = createCardButton(card2, 2);
         card1Button.setPrefWidth(140);
         card1Button.setPrefHeight(180);
         card1Button.setOnAction(e -> {
-            if (!cardSelected) {
-                selectedCard.set(1);
-                cardSelected = true;
+            if (selection.complete(1)) {
                 card1Button.setDisable(true);
                 card2Button.setDisable(true);
             }
@@ -530,9 +368,7 @@ public class CardSelectionUI {
         card2Button.setPrefWidth(140);
         card2Button.setPrefHeight(180);
         card2Button.setOnAction(e -> {
-            if (!cardSelected) {
-                selectedCard.set(2);
-                cardSelected = true;
+            if (selection.complete(2)) {
                 card1Button.setDisable(true);
                 card2Button.setDisable(true);
             }
@@ -541,19 +377,7 @@ public class CardSelectionUI {
         cardsGrid.add(card1Button, 0, 0);
         cardsGrid.add(card2Button, 1, 0);
 
-        contentBox.getChildren().add(cardsGrid);
-
-        root.setTop(titleBox);
-        root.setCenter(contentBox);
-
-        // Right: Trophies panel (if trophies are set)
-        if (trophies != null && trophies.length > 0) {
-            VBox trophiesPanel = createTrophiesPanel();
-            root.setRight(trophiesPanel);
-        }
-
-        Scene scene = new Scene(root, (trophies != null && trophies.length > 0) ? 1300 : 1000, 700);
-        primaryStage.setScene(scene);
+        showScene();
     }
 
     /**
@@ -634,77 +458,7 @@ public class CardSelectionUI {
      * Loads a trophy card image (smaller size).
      */
     private ImageView getTrophyCardImageView(Card card) {
-        Image img = null;
-
-        try {
-            String imagePath = null;
-
-            if (card instanceof SuitCard) {
-                SuitCard suitCard = (SuitCard) card;
-                int value = suitCard.getValue();
-                String color = suitCard.getColor().toString().toLowerCase();
-                String sign = convertSignToImageName(suitCard.getSign());
-
-                String baseImageName = value + "_" + color + "_" + sign;
-                String specialSuffix = getSpecialCardSuffix(suitCard);
-
-                if (specialSuffix != null) {
-                    imagePath = "Assets/Images/" + baseImageName + specialSuffix + ".png";
-                    File specialFile = new File(imagePath);
-                    if (!specialFile.exists()) {
-                        imagePath = "Assets/Images/" + baseImageName + ".png";
-                    }
-                } else {
-                    imagePath = "Assets/Images/" + baseImageName + ".png";
-                }
-            } else if (card instanceof JokerCard) {
-                JokerCard jokerCard = (JokerCard) card;
-                String jokerImagePath = "Assets/Images/joker_most_cards.png";
-                File jokerSpecialFile = new File(jokerImagePath);
-
-                if (jokerCard.getCardEffectCode().equals("MOST_CARDS") && jokerSpecialFile.exists()) {
-                    imagePath = jokerImagePath;
-                } else {
-                    imagePath = "Assets/Images/joker.png";
-                }
-            }
-
-            if (imagePath != null) {
-                File imageFile = new File(imagePath);
-                if (imageFile.exists()) {
-                    img = new Image("file:///" + imageFile.getAbsolutePath().replace("\\", "/"),
-                            50, 75, true, true);
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading trophy card image: " + e.getMessage());
-        }
-
-        if (img == null || img.isError()) {
-            img = createSmallPlaceholderImage();
-        }
-
-        ImageView iv = new ImageView(img);
-        iv.setFitWidth(50);
-        iv.setFitHeight(75);
-        iv.setPreserveRatio(false);
-        return iv;
-    }
-
-    /**
-     * Creates a small placeholder image for trophies.
-     */
-    private Image createSmallPlaceholderImage() {
-        javafx.scene.image.WritableImage placeholder = new javafx.scene.image.WritableImage(50, 75);
-        javafx.scene.image.PixelWriter writer = placeholder.getPixelWriter();
-        javafx.scene.paint.Color fillColor = javafx.scene.paint.Color.web("#666666");
-
-        for (int y = 0; y < 75; y++) {
-            for (int x = 0; x < 50; x++) {
-                writer.setColor(x, y, fillColor);
-            }
-        }
-        return placeholder;
+        return CardImageCache.createCardView(card, 50, 75);
     }
 }
 
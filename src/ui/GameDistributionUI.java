@@ -14,6 +14,8 @@ import javafx.stage.Stage;
 import javafx.util.Duration;
 import model.game.Game;
 import player.Player;
+import util.Metrics;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * GameDistributionUI displays the card distribution phase with visual feedback.
@@ -24,7 +26,7 @@ import player.Player;
 public class GameDistributionUI {
     private Stage primaryStage;
     private Game game;
-    private volatile boolean distributionComplete = false;
+    private volatile CompletableFuture<Void> distributionComplete;
 
     /**
      * Constructs a GameDistributionUI.
@@ -41,20 +43,16 @@ public class GameDistributionUI {
      * Shows the distribution animation and waits for completion.
      */
     public void showAndWait() {
-        distributionComplete = false;
+        distributionComplete = new CompletableFuture<>();
 
         Platform.runLater(() -> {
             showDistribution();
         });
 
-        // Wait for distribution to complete
-        while (!distributionComplete) {
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
+        // Block without polling until the animation signals its end
+        long start = Metrics.start();
+        distributionComplete.join();
+        Metrics.UI_HANDOFFS.stop(start);
     }
 
     /**
@@ -103,7 +101,7 @@ public class GameDistributionUI {
         // Simulate distribution with animation
         PauseTransition pause = new PauseTransition(Duration.millis(1500));
         pause.setOnFinished(event -> {
-            distributionComplete = true;
+            distributionComplete.complete(null);
         });
         pause.play();
     }
@@ -1,31 +1,55 @@
 package ui;
 
-import javafx.geometry.Insets;
+import event.GameEventListener;
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Label;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
+import model.cards.Card;
+import model.game.Game;
+import player.Player;
 
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * GameLogUI displays a real-time log of game actions and events.
  * Shows all picks, plays, and important game events in chronological order.
  *
+ * <p>The log keeps the last {@link #MAX_ENTRIES} entries in a ring buffer
+ * shown by a virtualized {@link ListView}, so only the visible rows have
+ * nodes. Entries can be added from any thread: they are queued and appended
+ * in a single batch on the next JavaFX pulse.</p>
+ *
+ * <p>Subscribed to the event bus of a game, the log writes one entry per
+ * event. Hidden cards are never named.</p>
+ *
  * @author Jest Game & Gatien Genevois & Sacha Himber
  * @version 1.0
  */
-public class GameLogUI {
+public class GameLogUI implements GameEventListener {
+    /** The maximum number of entries kept by the log */
+    public static final int MAX_ENTRIES = 2000;
+
     private Stage primaryStage;
-    private VBox logContent;
-    private ArrayList<String> logEntries;
+    private Scene scene;
+    private ListView<String> logView;
+    private final LogBuffer logEntries = new LogBuffer(MAX_ENTRIES);
+    private final ConcurrentLinkedQueue<String> pendingEntries = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
     private final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
 
     /**
@@ -35,25 +59,103 @@ public class GameLogUI {
      */
     public GameLogUI(Stage primaryStage) {
         this.primaryStage = primaryStage;
-        this.logEntries = new ArrayList<>();
     }
 
     /**
      * Adds a log entry with timestamp.
+     * Can be called from any thread; the entry is displayed on the next pulse.
      *
      * @param message the message to log
      */
     public void addLogEntry(String message) {
         String timestamp = LocalTime.now().format(timeFormatter);
-        String logEntry = "[" + timestamp + "] " + message;
-        logEntries.add(logEntry);
-        updateDisplay();
+        pendingEntries.add("[" + timestamp + "] " + message);
+
+        // A single drain is scheduled for all the entries added before the next pulse
+        if (drainScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::drainPendingEntries);
+        }
+    }
+
+    @Override
+    public void onRoundStart(Game game) {
+        addLogEntry("===== Round " + game.getRoundNumber() + " =====");
+    }
+
+    @Override
+    public void onNotice(Game game, String message) {
+        addLogEntry(message);
+    }
+
+    @Override
+    public void onHide(Game game, Player player, int choice) {
+        addLogEntry(player.getName() + (choice > 0 ? " hid a card" : " only received a visible card"));
+    }
+
+    @Override
+    public void onPick(Game game, Player player, Card card, Player owner) {
+        String from = owner == player ? "their own offer" : owner.getName();
+        addLogEntry(player.getName() + " picked " + (card.isVisible() ? card.toString() : "the hidden card")
+                + " from " + from);
+    }
+
+    @Override
+    public void onRoundEnd(Game game) {
+        addLogEntry("Round " + game.getRoundNumber() + " ended, " + game.getCards().size() + " cards left");
+    }
+
+    @Override
+    public void onTrophy(Game game, Card trophy, Player winner) {
+        addLogEntry("🏆 " + winner.getName() + " wins the trophy " + trophy);
+    }
+
+    @Override
+    public void onScore(Game game, Player player, int points, boolean withTrophies) {
+        addLogEntry(player.getName() + ": " + points + " pts" + (withTrophies ? " with trophies" : ""));
+    }
+
+    @Override
+    public void onGameEnd(Game game, Player winner) {
+        addLogEntry("🏅 The winner is " + winner.getName());
+    }
+
+    @Override
+    public void onSave(Game game, String saveName, boolean saved) {
+        addLogEntry(saved ? "💾 Game saved: " + saveName : "❌ Save failed: " + saveName);
+    }
+
+    @Override
+    public void onLoad(Game game, String saveName) {
+        addLogEntry("📂 Game loaded: " + saveName + " (round " + game.getRoundNumber() + ")");
+    }
+
+    /**
+     * Appends the queued entries to the log in one change, then scrolls to the last one.
+     */
+    private void drainPendingEntries() {
+        drainScheduled.set(false);
+        if (logEntries.appendAll(pendingEntries) && logView != null) {
+            logView.scrollTo(logEntries.size() - 1);
+        }
     }
 
     /**
      * Displays the game log.
      */
     public void show() {
+        if (scene == null) {
+            buildScene();
+        }
+        drainPendingEntries();
+        if (primaryStage.getScene() != scene) {
+            primaryStage.setScene(scene);
+        }
+    }
+
+    /**
+     * Builds the persistent scene of the log.
+     */
+    private void buildScene() {
         BorderPane root = new BorderPane();
         root.setStyle("-fx-background-color: #0a0a0a;");
 
@@ -66,63 +168,129 @@ public class GameLogUI {
         titleBox.setAlignment(Pos.CENTER);
         titleBox.setStyle("-fx-background-color: #1a1a1a; -fx-border-color: #00FFFF; -fx-border-width: 0 0 2 0;");
 
-        // Log content
-        logContent = new VBox(8);
-        logContent.setPadding(new Insets(10));
-        logContent.setStyle("-fx-background-color: #0a0a0a;");
-
-        // Add existing entries
-        for (String entry : logEntries) {
-            addLogEntryLabel(entry);
-        }
+        // Log content: only the visible rows get a cell
+        logView = new ListView<>(logEntries);
+        logView.setStyle("-fx-control-inner-background: #0a0a0a; -fx-background-color: #0a0a0a;");
+        logView.setCellFactory(list -> new ListCell<>() {
+            {
+                setFont(Font.font("Courier New", 11));
+                setStyle("-fx-text-fill: #00FF00; -fx-background-color: #0a0a0a;");
+                setWrapText(true);
+            }
 
-        ScrollPane scrollPane = new ScrollPane(logContent);
-        scrollPane.setStyle("-fx-control-inner-background: #0a0a0a;");
-        scrollPane.setFitToWidth(true);
-        scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.ALWAYS);
+            @Override
+            protected void updateItem(String entry, boolean empty) {
+                super.updateItem(entry, empty);
+                setText(empty ? null : entry);
+            }
+        });
 
         root.setTop(titleBox);
-        root.setCenter(scrollPane);
+        root.setCenter(logView);
 
-        Scene scene = new Scene(root, 800, 600);
-        primaryStage.setScene(scene);
+        scene = new Scene(root, 800, 600);
     }
 
     /**
-     * Updates the display with current log entries.
+     * Gets the stage showing the log.
+     *
+     * @return the stage of the log
      */
-    private void updateDisplay() {
-        if (logContent != null) {
-            logContent.getChildren().clear();
-            for (String entry : logEntries) {
-                addLogEntryLabel(entry);
-            }
-            // Auto-scroll to bottom
-            logContent.layout();
-        }
+    public Stage getStage() {
+        return primaryStage;
     }
 
     /**
-     * Adds a log entry label to the display.
-     *
-     * @param entry the log entry text
+     * Clears all log entries.
      */
-    private void addLogEntryLabel(String entry) {
-        Label label = new Label(entry);
-        label.setFont(Font.font("Courier New", 11));
-        label.setStyle("-fx-text-fill: #00FF00;");
-        label.setWrapText(true);
-        logContent.getChildren().add(label);
+    public void clear() {
+        pendingEntries.clear();
+        Platform.runLater(logEntries::clear);
     }
 
     /**
-     * Clears all log entries.
+     * A fixed-capacity ring buffer of log entries, observable by the list view.
+     * Appending is O(1): once full, each new entry overwrites the oldest one.
+     * Must only be modified on the JavaFX thread.
      */
-    public void clear() {
-        logEntries.clear();
-        if (logContent != null) {
-            logContent.getChildren().clear();
+    private static class LogBuffer extends ObservableListBase<String> {
+        private final String[] entries;
+        private int head;
+        private int size;
+
+        LogBuffer(int capacity) {
+            this.entries = new String[capacity];
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return entries[(head + index) % entries.length];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Appends the entries of a queue, emptying it, as a single list change.
+         *
+         * @param queue the entries to append
+         * @return true if at least one entry was appended
+         */
+        boolean appendAll(ConcurrentLinkedQueue<String> queue) {
+            List<String> added = new ArrayList<>();
+            for (String entry = queue.poll(); entry != null; entry = queue.poll()) {
+                added.add(entry);
+            }
+            if (added.isEmpty()) {
+                return false;
+            }
+
+            // The oldest entries pushed out by the batch, and the new entries that fit
+            int overwritten = Math.min(size, Math.max(0, size + added.size() - entries.length));
+            int kept = Math.min(added.size(), entries.length);
+            List<String> removed = new ArrayList<>(subList(0, overwritten));
+
+            beginChange();
+            try {
+                for (String entry : added.subList(added.size() - kept, added.size())) {
+                    if (size == entries.length) {
+                        entries[head] = entry;
+                        head = (head + 1) % entries.length;
+                    } else {
+                        entries[(head + size) % entries.length] = entry;
+                        size++;
+                    }
+                }
+                if (overwritten > 0) {
+                    nextRemove(0, removed);
+                }
+                nextAdd(size - kept, size);
+            } finally {
+                endChange();
+            }
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            if (size == 0) {
+                return;
+            }
+            beginChange();
+            try {
+                List<String> oldEntries = new ArrayList<>(this);
+                Arrays.fill(entries, null);
+                head = 0;
+                size = 0;
+                nextRemove(0, oldEntries);
+            } finally {
+                endChange();
+            }
         }
     }
 }
-
@@ -17,25 +17,25 @@ import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.Node;
+import event.GameEventListener;
 import model.cards.Card;
 import model.game.Game;
 import model.game.GameState;
-import model.enums.Sign;
 import player.AI;
 import player.AIPlayer;
 import player.Human;
 import player.Player;
 import util.GameSaver;
+import util.Pacing;
+import util.Metrics;
 import variant.GameVariant;
 import model.cards.SuitCard;
 import model.cards.JokerCard;
 
-import java.util.ArrayList;
 import java.util.Optional;
-import java.io.File;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Game window for managing player setup and game execution via GUI.
@@ -51,8 +51,10 @@ public class GameWindow {
     private int currentPlayerSetupIndex;
     private Label statusLabel;
     private VBox playerListBox;
-    private volatile boolean roundContinue = false;  // Signal pour continuer après un round
+    private volatile CompletableFuture<Boolean> roundEndChoice;  // Choix de fin de round : true pour continuer, false pour quitter
     private volatile boolean shouldQuit = false;     // Signal pour quitter l'application
+    private AnimatedGameBoardUI gameBoardUI;          // Plateau de jeu, construit une fois par partie
+    private final GameLogUI gameLog = new GameLogUI(new Stage());  // Journal de la partie, abonné à ses événements
 
     /**
      * Constructs a GameWindow for a new game.
@@ -66,6 +68,7 @@ public class GameWindow {
         this.primaryStage = primaryStage;
         this.isResumed = false;
         this.currentPlayerSetupIndex = 0;
+        this.game.getEvents().subscribe(gameLog);
     }
 
     /**
@@ -79,6 +82,7 @@ public class GameWindow {
         this.game = game;
         this.primaryStage = primaryStage;
         this.isResumed = isResumed;
+        this.game.getEvents().subscribe(gameLog);
     }
 
     /**
@@ -336,28 +340,40 @@ public class GameWindow {
      * Plays the game with UI updates at each step.
      */
     private void playGameWithUI() {
-        boolean includeExpansion = game.getCards().size() > model.cards.CardDeckFactory.getStandardDeckSize();
-
         if (!isResumed) {
             game.setTrophies();
         }
 
-        while (!game.getCards().isEmpty() && !shouldQuit) {
-            playRoundWithUI();
+        if (game.getReplayRecorder() == null) {
+            game.setReplayRecorder(replay.ReplayRecorder.startNew(game));
+        }
 
-            // Afficher le menu de fin de round et attendre que l'utilisateur clique sur Continue
-            roundContinue = false;
-            javafx.application.Platform.runLater(() -> {
-                showRoundEndMenu();
-            });
+        replay.ReplayRecorder replayRecorder = game.getReplayRecorder();
+        try {
+            while (!game.getCards().isEmpty() && !shouldQuit) {
+                playRoundWithUI();
 
-            // Attendre que l'utilisateur clique sur le bouton Continue ou Quit
-            while (!roundContinue && !shouldQuit) {
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+                // Afficher le menu de fin de round et attendre que l'utilisateur clique sur Continue
+                roundEndChoice = new CompletableFuture<>();
+                javafx.application.Platform.runLater(() -> {
+                    showRoundEndMenu();
+                });
+
+                // Attendre, sans scruter, que l'utilisateur clique sur le bouton Continue ou Quit
+                long start = Metrics.start();
+                if (!roundEndChoice.join()) {
+                    shouldQuit = true;
                 }
+                Metrics.UI_HANDOFFS.stop(start);
+            }
+
+            if (!shouldQuit && replayRecorder != null) {
+                replayRecorder.finish();
+            }
+        } finally {
+            // Une partie quittée garde un replay lisible jusqu'à la dernière décision jouée
+            if (replayRecorder != null) {
+                replayRecorder.close();
             }
         }
 
@@ -366,25 +382,8 @@ public class GameWindow {
             return;
         }
 
-        // Reveal final cards and trophies
-        for (player.Player player : game.getPlayers()) {
-            player.addLastCardToJest();
-        }
-
-        game.giveTrophyCard();
-
-        // Calculate winner
-        player.Player winner = null;
-        int maxPoints = 0;
-        for (player.Player player : game.getPlayers()) {
-            int points = game.getVariant().calculatePoints(player);
-            if (winner == null || points > maxPoints) {
-                winner = player;
-                maxPoints = points;
-            }
-        }
-
-        final player.Player finalWinner = winner;
+        // Reveal final cards and trophies, and calculate winner
+        final player.Player finalWinner = game.finishGame();
         javafx.application.Platform.runLater(() -> {
             showFinalResults(finalWinner);
         });
@@ -394,22 +393,28 @@ public class GameWindow {
      * Plays a round with UI updates.
      */
     private void playRoundWithUI() {
-        game.setRoundNumber(game.getRoundNumber() + 1);
+        game.beginRound();
         game.getVariant().applyRoundStartRules(game);
 
         javafx.application.Platform.runLater(() -> {
             showRoundStart();
         });
 
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        Pacing.pause(2000);
+
+        // Créer l'interface de plateau animé une seule fois, puis la réutiliser à chaque round
+        if (gameBoardUI == null) {
+            gameBoardUI = new AnimatedGameBoardUI(primaryStage, game);
+            AnimatedGameBoardUI board = gameBoardUI;
+            // Animer chaque carte prise, une fois retirée de l'offre de son propriétaire
+            game.getEvents().subscribe(new GameEventListener() {
+                @Override
+                public void onPick(Game game, Player player, Card card, Player owner) {
+                    board.animateCardPick(owner, player, card, owner.getOffer()[0] == null ? 0 : 1);
+                }
+            });
         }
 
-        // Créer l'interface de plateau animé avant la distribution
-        AnimatedGameBoardUI gameBoardUI = new AnimatedGameBoardUI(primaryStage, game);
-
         // Assigner l'UI à tous les joueurs
         for (Player player : game.getPlayers()) {
             if (player instanceof AIPlayer) {
@@ -422,11 +427,7 @@ public class GameWindow {
         // Distribution personnalisée avec affichage du plateau
         distributeWithUI(gameBoardUI);
 
-        try {
-            Thread.sleep(1500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        Pacing.pause(1500);
 
         player.Player currentPlayer = game.getPlayersOrder();
 
@@ -436,120 +437,54 @@ public class GameWindow {
             // Afficher le début du tour du joueur
             gameBoardUI.showPlayerTurnStart(playerToPlay);
 
-            try {
-                Thread.sleep(800);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            Pacing.pause(800);
 
             currentPlayer = playerToPlay.playTurn(game);
 
             // Mettre à jour l'affichage après le tour
             gameBoardUI.updatePlayersDisplay();
 
-            try {
-                Thread.sleep(500);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            Pacing.pause(500);
         }
 
-        game.getVariant().applyRoundEndRules(game);
+        game.endRound();
     }
 
     /**
-     * Custom distribution that shows loading animation after human players finish their actions.
+     * Deals the cards through {@link Game#distribute()}, showing a loading animation
+     * once the first human player has chosen the card to hide.
      */
     private void distributeWithUI(AnimatedGameBoardUI gameBoardUI) {
-        // Récupérer les cartes à distribuer (logique de Game.distribute())
-        ArrayList<Card> distributionPool = new ArrayList<>();
-
-        if (game.getRoundNumber() != 1) {
-            ArrayList<model.cards.Card> gameCards = new ArrayList<>();
-            ArrayList<model.cards.Card> playerCards = new ArrayList<>();
-
-            for (int i = 0; i < game.getPlayers().size() && !game.getCards().isEmpty(); i++) {
-                int random = (int) (game.getCards().size() * Math.random());
-                gameCards.add(game.getCards().remove(random));
-            }
-
-            for (Player player : game.getPlayers()) {
-                model.cards.Card removedCard = player.removeLastCardFromOffer();
-                if (removedCard != null) {
-                    removedCard.setVisible(true);
-                    playerCards.add(removedCard);
-                }
-            }
-
-            distributionPool.addAll(gameCards);
-            distributionPool.addAll(playerCards);
-        } else {
-            distributionPool = game.getCards();
-        }
-
-        // Distribution aux joueurs
-        int cardsNeeded = game.getPlayers().size() * 2;
-        boolean loadingShown = false;
-        int humanPlayerIndex = -1;
-
-        // Trouver l'index du premier joueur humain et définir les trophées
-        for (int i = 0; i < game.getPlayers().size(); i++) {
-            Player player = game.getPlayers().get(i);
-            if (player instanceof player.HumanUIPlayer) {
-                player.HumanUIPlayer humanPlayer = (player.HumanUIPlayer) player;
+        // Trouver le premier joueur humain et définir les trophées
+        Player firstHuman = null;
+        for (Player player : game.getPlayers()) {
+            if (player instanceof player.HumanUIPlayer humanPlayer) {
                 humanPlayer.getCardSelectionUI().setTrophies(game.getTrophies());
-                if (humanPlayerIndex == -1) {
-                    humanPlayerIndex = i;
+                if (firstHuman == null) {
+                    firstHuman = player;
                 }
             }
         }
 
-        if (distributionPool.size() < cardsNeeded) {
-            for (int i = 0; i < game.getPlayers().size(); i++) {
-                Player player = game.getPlayers().get(i);
-                if (!distributionPool.isEmpty()) {
-                    int random = (int) (distributionPool.size() * Math.random());
-                    model.cards.Card card1 = distributionPool.remove(random);
-                    player.chooseCardToHide(card1, null);
-
-                    // Afficher le loading après qu'un joueur humain ait choisi
-                    if (!loadingShown && i == humanPlayerIndex) {
-                        showLoadingAfterHumanChoice();
-                        loadingShown = true;
-                    }
-                }
-            }
-        } else {
-            for (int i = 0; i < game.getPlayers().size(); i++) {
-                Player player = game.getPlayers().get(i);
-                if (distributionPool.size() >= 2) {
-                    int random = (int) (distributionPool.size() * Math.random());
-                    model.cards.Card card1 = distributionPool.remove(random);
-                    random = (int) (distributionPool.size() * Math.random());
-                    model.cards.Card card2 = distributionPool.remove(random);
-                    player.chooseCardToHide(card1, card2);
-
-                    // Afficher le loading après qu'un joueur humain ait choisi
-                    if (!loadingShown && i == humanPlayerIndex) {
-                        showLoadingAfterHumanChoice();
-                        loadingShown = true;
-                    }
-                } else if (distributionPool.size() == 1) {
-                    model.cards.Card card1 = distributionPool.remove(0);
-                    player.chooseCardToHide(card1, null);
-
-                    // Afficher le loading après qu'un joueur humain ait choisi
-                    if (!loadingShown && i == humanPlayerIndex) {
-                        showLoadingAfterHumanChoice();
-                        loadingShown = true;
-                    }
-                } else {
-                    break;
+        // Afficher le loading après que le joueur humain ait choisi
+        final Player humanToWaitFor = firstHuman;
+        GameEventListener loading = new GameEventListener() {
+            @Override
+            public void onHide(Game game, Player player, int choice) {
+                if (player == humanToWaitFor) {
+                    showLoadingAfterHumanChoice();
                 }
             }
+        };
+        game.getEvents().subscribe(loading);
+        try {
+            game.distribute();
+        } finally {
+            game.getEvents().unsubscribe(loading);
         }
 
-        // Après toute la distribution, afficher le plateau
+        // Après toute la distribution, afficher le plateau, publié depuis le thread du jeu
+        gameBoardUI.updatePlayersDisplay();
         javafx.application.Platform.runLater(() -> {
             gameBoardUI.show();
 
@@ -567,11 +502,7 @@ public class GameWindow {
             }
         });
 
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        Pacing.pause(500);
     }
 
     /**
@@ -583,11 +514,7 @@ public class GameWindow {
             loadingUI.show();
         });
 
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        Pacing.pause(1000);
     }
 
     /**
@@ -712,152 +639,7 @@ public class GameWindow {
      * @return un ImageView contenant l'image de la carte
      */
     private ImageView getCardImageView(model.cards.Card card) {
-        Image img = null;
-
-        try {
-            String imagePath = null;
-
-            if (card instanceof SuitCard) {
-                SuitCard suitCard = (SuitCard) card;
-                int value = suitCard.getValue();
-                String color = suitCard.getColor().toString().toLowerCase(); // "red" ou "black"
-                String sign = convertSignToImageName(suitCard.getSign());
-
-                // Construction du nom de fichier de base
-                String baseImageName = value + "_" + color + "_" + sign;
-
-                // Vérifier si c'est une carte d'extension avec un effet spécial
-                String specialSuffix = getSpecialCardSuffix(suitCard);
-                if (specialSuffix != null) {
-                    // Essayer d'abord avec le suffixe spécial
-                    imagePath = "Assets/Images/" + baseImageName + specialSuffix + ".png";
-                    java.io.File specialFile = new java.io.File(imagePath);
-                    if (!specialFile.exists()) {
-                        // Sinon utiliser l'image de base
-                        imagePath = "Assets/Images/" + baseImageName + ".png";
-                    }
-                } else {
-                    imagePath = "Assets/Images/" + baseImageName + ".png";
-                }
-            } else if (card instanceof JokerCard) {
-                // Vérifier si c'est le Joker d'extension (MOST_CARDS)
-                JokerCard jokerCard = (JokerCard) card;
-                String jokerImagePath = "Assets/Images/joker_most_cards.png";
-                java.io.File jokerSpecialFile = new java.io.File(jokerImagePath);
-
-                if (jokerCard.getCardEffectCode().equals("MOST_CARDS") && jokerSpecialFile.exists()) {
-                    imagePath = jokerImagePath;
-                } else {
-                    imagePath = "Assets/Images/joker.png";
-                }
-            }
-
-            if (imagePath != null) {
-                // Essayer d'abord avec file: URL
-                java.io.File imageFile = new java.io.File(imagePath);
-                if (imageFile.exists()) {
-                    img = new Image("file:///" + imageFile.getAbsolutePath().replace("\\", "/"),
-                                    80, 120, true, true);
-                } else {
-                    System.err.println("Image non trouvée: " + imageFile.getAbsolutePath());
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Erreur lors du chargement de l'image: " + e.getMessage());
-            e.printStackTrace();
-            img = null;
-        }
-
-        // Fallback si l'image n'est pas trouvée
-        if (img == null || img.isError()) {
-            try {
-                java.io.File jokerFile = new java.io.File("Assets/Images/joker.png");
-                if (jokerFile.exists()) {
-                    img = new Image("file:///" + jokerFile.getAbsolutePath().replace("\\", "/"),
-                                    80, 120, true, true);
-                } else {
-                    img = createPlaceholderImage();
-                }
-            } catch (Exception e) {
-                img = createPlaceholderImage();
-            }
-        }
-
-        ImageView iv = new ImageView(img);
-        iv.setFitWidth(80);
-        iv.setFitHeight(120);
-        iv.setPreserveRatio(false);
-        return iv;
-    }
-
-    /**
-     * Retourne le suffixe spécial pour les cartes d'extension.
-     *
-     * @param suitCard la carte à vérifier
-     * @return le suffixe à ajouter au nom de fichier, ou null si pas de suffixe spécial
-     */
-    private String getSpecialCardSuffix(SuitCard suitCard) {
-        String effect = suitCard.getCardEffectCode();
-        int value = suitCard.getValue();
-        Sign sign = suitCard.getSign();
-
-        // Cartes d'extension avec images spéciales
-        // 1_black_club_most_cards.png
-        if (value == 1 && sign == Sign.CLUB && effect.equals("MOST_CARDS")) {
-            return "_most_cards";
-        }
-        // 2_black_club_least_cards.png
-        if (value == 2 && sign == Sign.CLUB && effect.equals("LEAST_CARDS")) {
-            return "_least_cards";
-        }
-        // 3_red_heart_even.png
-        if (value == 3 && sign == Sign.HEARTH && effect.equals("EVEN_VALUES")) {
-            return "_even";
-        }
-        // 4_red_heart_odd.png
-        if (value == 4 && sign == Sign.HEARTH && effect.equals("ODD_VALUES")) {
-            return "_odd";
-        }
-        // 1_black_spade_no_duplicates.png
-        if (value == 1 && sign == Sign.SPADE && effect.equals("NO_DUPLICATES")) {
-            return "_no_duplicates";
-        }
-
-        return null;
-    }
-
-    /**
-     * Convertit un énumérateur Sign en nom de fichier image.
-     *
-     * @param sign le signe à convertir
-     * @return le nom du signe pour le fichier image
-     */
-    private String convertSignToImageName(Sign sign) {
-        switch (sign) {
-            case SPADE: return "spade";
-            case CLUB: return "club";
-            case DIAMOND: return "diamond";
-            case HEARTH: return "heart";
-            default: return "spade";
-        }
-    }
-
-    /**
-     * Crée une image placeholder si l'image réelle n'est pas trouvée.
-     *
-     * @return une Image placeholder
-     */
-    private Image createPlaceholderImage() {
-        javafx.scene.image.WritableImage placeholder = new javafx.scene.image.WritableImage(80, 120);
-        javafx.scene.image.PixelWriter writer = placeholder.getPixelWriter();
-        javafx.scene.paint.Color fillColor = javafx.scene.paint.Color.web("#CCCCCC");
-
-        for (int y = 0; y < 120; y++) {
-            for (int x = 0; x < 80; x++) {
-                writer.setColor(x, y, fillColor);
-            }
-        }
-        return placeholder;
+        return CardImageCache.createCardView(card, 80, 120);
     }
 
     /**
@@ -866,27 +648,7 @@ public class GameWindow {
      * @return un ImageView contenant l'image du dos de carte
      */
     private ImageView getBackImageView() {
-        Image img = null;
-
-        try {
-            java.io.File backFile = new java.io.File("Assets/Images/back.png");
-            if (backFile.exists()) {
-                img = new Image("file:///" + backFile.getAbsolutePath().replace("\\", "/"),
-                                80, 120, true, true);
-            } else {
-                System.err.println("Image back.png non trouvée: " + backFile.getAbsolutePath());
-                img = createPlaceholderImage();
-            }
-        } catch (Exception e) {
-            System.err.println("Erreur lors du chargement de back.png: " + e.getMessage());
-            img = createPlaceholderImage();
-        }
-
-        ImageView iv = new ImageView(img);
-        iv.setFitWidth(80);
-        iv.setFitHeight(120);
-        iv.setPreserveRatio(false);
-        return iv;
+        return CardImageCache.createBackView(80, 120);
     }
 
     /**
@@ -976,7 +738,7 @@ public class GameWindow {
         scoreLabel.setStyle("-fx-text-fill: #FFFF00; -fx-font-size: 14; -fx-font-weight: bold;");
 
         VBox scoresBox = new VBox(5);
-        boolean includeExpansion = game.getCards().size() > model.cards.CardDeckFactory.getStandardDeckSize();
+        boolean includeExpansion = game.isIncludeExpansion();
 
         for (player.Player p : game.getPlayers()) {
             int points = game.getVariant().calculatePoints(p);
@@ -1020,9 +782,16 @@ public class GameWindow {
             }
         });
 
+        Button logButton = createStyledButton("📋 Game Log", 180, 50);
+        logButton.setOnAction(e -> {
+            gameLog.getStage().setTitle("Game Log");
+            gameLog.show();
+            gameLog.getStage().show();
+        });
+
         Button continueButton = createStyledButton("▶ Continue", 180, 50);
         continueButton.setOnAction(e -> {
-            roundContinue = true;
+            roundEndChoice.complete(true);
         });
 
         Button quitButton = createStyledButton("❌ Quit", 180, 50);
@@ -1035,14 +804,14 @@ public class GameWindow {
             Optional<javafx.scene.control.ButtonType> result = confirmAlert.showAndWait();
             if (result.isPresent() && result.get() == javafx.scene.control.ButtonType.OK) {
                 shouldQuit = true;
-                roundContinue = true;  // Signal pour sortir des boucles
+                roundEndChoice.complete(false);  // Signal pour sortir des boucles
                 javafx.application.Platform.runLater(() -> {
                     primaryStage.close();
                 });
             }
         });
 
-        buttonBox.getChildren().addAll(saveButton, continueButton, quitButton);
+        buttonBox.getChildren().addAll(saveButton, logButton, continueButton, quitButton);
         contentBox.getChildren().add(buttonBox);
 
         root.setTop(titleBox);
@@ -1190,77 +959,7 @@ public class GameWindow {
      * Loads a small card image for final results display.
      */
     private ImageView getSmallCardImageView(model.cards.Card card) {
-        Image img = null;
-
-        try {
-            String imagePath = null;
-
-            if (card instanceof SuitCard) {
-                SuitCard suitCard = (SuitCard) card;
-                int value = suitCard.getValue();
-                String color = suitCard.getColor().toString().toLowerCase();
-                String sign = convertSignToImageName(suitCard.getSign());
-
-                String baseImageName = value + "_" + color + "_" + sign;
-                String specialSuffix = getSpecialCardSuffix(suitCard);
-
-                if (specialSuffix != null) {
-                    imagePath = "Assets/Images/" + baseImageName + specialSuffix + ".png";
-                    java.io.File specialFile = new java.io.File(imagePath);
-                    if (!specialFile.exists()) {
-                        imagePath = "Assets/Images/" + baseImageName + ".png";
-                    }
-                } else {
-                    imagePath = "Assets/Images/" + baseImageName + ".png";
-                }
-            } else if (card instanceof JokerCard) {
-                JokerCard jokerCard = (JokerCard) card;
-                String jokerImagePath = "Assets/Images/joker_most_cards.png";
-                java.io.File jokerSpecialFile = new java.io.File(jokerImagePath);
-
-                if (jokerCard.getCardEffectCode().equals("MOST_CARDS") && jokerSpecialFile.exists()) {
-                    imagePath = jokerImagePath;
-                } else {
-                    imagePath = "Assets/Images/joker.png";
-                }
-            }
-
-            if (imagePath != null) {
-                java.io.File imageFile = new java.io.File(imagePath);
-                if (imageFile.exists()) {
-                    img = new Image("file:///" + imageFile.getAbsolutePath().replace("\\", "/"),
-                                    50, 75, true, true);
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading card image: " + e.getMessage());
-        }
-
-        if (img == null || img.isError()) {
-            img = createSmallPlaceholderImage();
-        }
-
-        ImageView iv = new ImageView(img);
-        iv.setFitWidth(50);
-        iv.setFitHeight(75);
-        iv.setPreserveRatio(false);
-        return iv;
-    }
-
-    /**
-     * Creates a small placeholder image.
-     */
-    private Image createSmallPlaceholderImage() {
-        javafx.scene.image.WritableImage placeholder = new javafx.scene.image.WritableImage(50, 75);
-        javafx.scene.image.PixelWriter writer = placeholder.getPixelWriter();
-        javafx.scene.paint.Color fillColor = javafx.scene.paint.Color.web("#666666");
-
-        for (int y = 0; y < 75; y++) {
-            for (int x = 0; x < 50; x++) {
-                writer.setColor(x, y, fillColor);
-            }
-        }
-        return placeholder;
+        return CardImageCache.createCardView(card, 50, 75);
     }
 
 
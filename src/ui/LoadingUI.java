@@ -18,8 +18,10 @@ import javafx.stage.Stage;
 import javafx.util.Duration;
 
 /**
- * LoadingUI displays a loading animation while AI players make their choices.
- * Shows a progress indicator and message to inform the user what's happening.
+ * LoadingUI displays a loading animation while AI players make their choices,
+ * or while the game loads its assets at startup.
+ * Shows a progress indicator and message to inform the user what's happening;
+ * the indicator is indeterminate until a progress is reported with {@link #setProgress(double)}.
  *
  * @author Jest Game & Gatien Genevois & Sacha Himber
  * @version 1.0
@@ -27,6 +29,10 @@ import javafx.util.Duration;
 public class LoadingUI {
     private Stage primaryStage;
     private String message;
+    private String subMessage;
+    private ProgressIndicator progressIndicator;
+    private volatile double progress = ProgressIndicator.INDETERMINATE_PROGRESS;
+    private volatile boolean finished = false;
 
     /**
      * Constructs a LoadingUI.
@@ -35,8 +41,42 @@ public class LoadingUI {
      * @param message the message to display
      */
     public LoadingUI(Stage primaryStage, String message) {
+        this(primaryStage, message, "🤖 AI players are making their choices...");
+    }
+
+    /**
+     * Constructs a LoadingUI with a custom sub message.
+     *
+     * @param primaryStage the primary JavaFX stage
+     * @param message the message to display
+     * @param subMessage the sub message explaining what is loading
+     */
+    public LoadingUI(Stage primaryStage, String message, String subMessage) {
         this.primaryStage = primaryStage;
         this.message = message;
+        this.subMessage = subMessage;
+    }
+
+    /**
+     * Reports the progress of the loading.
+     * Can be called from any thread.
+     *
+     * @param progress the fraction done, from 0 to 1
+     */
+    public void setProgress(double progress) {
+        this.progress = progress;
+        Platform.runLater(() -> {
+            if (progressIndicator != null) {
+                progressIndicator.setProgress(this.progress);
+            }
+        });
+    }
+
+    /**
+     * Stops the animation of the loading screen once it is replaced.
+     */
+    public void finish() {
+        finished = true;
     }
 
     /**
@@ -52,7 +92,7 @@ public class LoadingUI {
             contentBox.setPadding(new Insets(60));
 
             // Progress indicator
-            ProgressIndicator progressIndicator = new ProgressIndicator();
+            progressIndicator = new ProgressIndicator(progress);
             progressIndicator.setStyle("-fx-progress-color: #00FF00;");
             progressIndicator.setPrefSize(80, 80);
 
@@ -64,7 +104,7 @@ public class LoadingUI {
             messageLabel.setAlignment(Pos.CENTER);
 
             // Sub message
-            Label subMessageLabel = new Label("🤖 AI players are making their choices...");
+            Label subMessageLabel = new Label(subMessage);
             subMessageLabel.setFont(Font.font("Arial", 14));
             subMessageLabel.setTextFill(Color.web("#FFFF00"));
 
@@ -94,9 +134,9 @@ public class LoadingUI {
      * Animates dots to show activity.
      */
     private void animateDots(Label dotsLabel) {
-        new Thread(() -> {
+        Thread dotsThread = new Thread(() -> {
             int dotCount = 0;
-            while (true) {
+            while (!finished) {
                 final String dots = ".".repeat(dotCount % 4);
                 Platform.runLater(() -> dotsLabel.setText(dots));
 
@@ -108,7 +148,9 @@ public class LoadingUI {
                     break;
                 }
             }
-        }).start();
+        });
+        dotsThread.setDaemon(true);
+        dotsThread.start();
     }
 }
 
@@ -1,11 +1,18 @@
 package ui;
 
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.RadioButton;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
@@ -13,9 +20,18 @@ import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 import model.game.Game;
 import util.GameSaver;
+import util.SaveMetadata;
+import util.Metrics;
+import profiling.SceneSwitchEvent;
 import player.Player;
 import player.Human;
 import player.HumanUIPlayer;
+import replay.Replay;
+import replay.ReplayEngine;
+import replay.ReplayRecorder;
+
+import java.io.File;
+import java.io.IOException;
 
 /**
  * Main GUI entry point for the Jest card game.
@@ -25,6 +41,10 @@ import player.HumanUIPlayer;
  * @version 1.0
  */
 public class MainMenuUI extends Application {
+    /** The pauses between two decisions of a replay, from slow to fast, in milliseconds */
+    private static final int[] REPLAY_PACES = {1000, 600, 200};
+    private static final String[] REPLAY_PACE_NAMES = {"🐢 Slow", "▶ Normal", "⏩ Fast"};
+
     private Stage primaryStage;
 
     /**
@@ -35,6 +55,7 @@ public class MainMenuUI extends Application {
     @Override
     public void start(Stage primaryStage) {
         this.primaryStage = primaryStage;
+        SceneSwitchEvent.watch(primaryStage);
         primaryStage.setTitle("Jest Card Game");
         primaryStage.setWidth(800);
         primaryStage.setHeight(600);
@@ -45,8 +66,20 @@ public class MainMenuUI extends Application {
             System.exit(0);
         });
 
-        showMainMenu();
+        // Upgrade saves from older versions while the player goes through the menus
+        GameSaver.migrateAllInBackground();
+
+        // Decode every card image in the background before the first board is drawn
+        LoadingUI loadingUI = new LoadingUI(primaryStage, "Loading card images", "🎴 Preparing the deck...");
+        loadingUI.show();
         primaryStage.show();
+        CardImageCache.preloadAll(loadingUI::setProgress).whenComplete((result, error) -> {
+            if (error != null) {
+                System.err.println("Error preloading card images: " + error.getMessage());
+            }
+            loadingUI.finish();
+            Platform.runLater(this::showMainMenu);
+        });
     }
 
     /**
@@ -77,6 +110,9 @@ public class MainMenuUI extends Application {
         Button loadGameButton = createStyledButton("💾 Load Game", 200, 50);
         loadGameButton.setOnAction(e -> showLoadGameMenu());
 
+        Button replayButton = createStyledButton("🎬 Watch Replay", 200, 50);
+        replayButton.setOnAction(e -> showReplayMenu());
+
         Button quitButton = createStyledButton("❌ Quit", 200, 50);
         quitButton.setOnAction(e -> primaryStage.close());
 
@@ -85,8 +121,11 @@ public class MainMenuUI extends Application {
         if (saves.length == 0) {
             loadGameButton.setDisable(true);
         }
+        if (ReplayRecorder.listReplays().length == 0) {
+            replayButton.setDisable(true);
+        }
 
-        menuBox.getChildren().addAll(newGameButton, loadGameButton, quitButton);
+        menuBox.getChildren().addAll(newGameButton, loadGameButton, replayButton, quitButton);
 
         root.setTop(titleBox);
         root.setCenter(menuBox);
@@ -224,16 +263,101 @@ public class MainMenuUI extends Application {
         titleBox.setAlignment(Pos.CENTER);
         titleBox.setPadding(new Insets(20));
 
-        String[] saves = GameSaver.listSaves();
+        SaveMetadata[] saves = GameSaver.listSaveInfos();
+        VBox contentBox = new VBox(10);
+        contentBox.setAlignment(Pos.CENTER);
+        contentBox.setPadding(new Insets(30));
+
+        // Virtualized list: only visible rows get a cell, so thousands of saves render instantly
+        ListView<SaveMetadata> savesList = new ListView<>(FXCollections.observableArrayList(saves));
+        savesList.setStyle("-fx-control-inner-background: #2a2a2a; -fx-background-color: #2a2a2a;");
+        savesList.setMaxWidth(600);
+        savesList.setPrefHeight(350);
+        savesList.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(SaveMetadata save, boolean empty) {
+                super.updateItem(save, empty);
+                if (empty || save == null) {
+                    setText(null);
+                    setOnMouseClicked(null);
+                } else {
+                    setText("📁 " + save.getSaveName() + "\n" + save.getSummary());
+                    setStyle("-fx-text-fill: #FFFFFF; -fx-font-size: 13; -fx-padding: 8; -fx-cursor: hand;");
+                    setOnMouseClicked(e -> loadGame(save.getSaveName()));
+                }
+            }
+        });
+        contentBox.getChildren().add(savesList);
+
+        Button backButton = createStyledButton("← Back", 150, 50);
+        backButton.setOnAction(e -> showMainMenu());
+
+        VBox buttonBox = new VBox(10);
+        buttonBox.setAlignment(Pos.CENTER);
+        buttonBox.setPadding(new Insets(20, 0, 0, 0));
+        buttonBox.getChildren().add(backButton);
+
+        contentBox.getChildren().add(buttonBox);
+
+        root.setTop(titleBox);
+        root.setCenter(contentBox);
+
+        Scene scene = new Scene(root);
+        primaryStage.setScene(scene);
+    }
+
+    /**
+     * Displays the recorded replays and the pace at which to watch them.
+     */
+    private void showReplayMenu() {
+        BorderPane root = new BorderPane();
+        root.setStyle("-fx-background-color: #1e1e1e;");
+
+        Label titleLabel = new Label("Select a Replay to Watch");
+        titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 28));
+        titleLabel.setTextFill(javafx.scene.paint.Color.web("#00FFFF"));
+
+        VBox titleBox = new VBox(titleLabel);
+        titleBox.setAlignment(Pos.CENTER);
+        titleBox.setPadding(new Insets(20));
+
         VBox contentBox = new VBox(10);
         contentBox.setAlignment(Pos.CENTER);
         contentBox.setPadding(new Insets(30));
 
-        for (String save : saves) {
-            Button saveButton = createStyledButton("📁 " + save, 250, 40);
-            saveButton.setOnAction(e -> loadGame(save));
-            contentBox.getChildren().add(saveButton);
+        // Pace of the replay
+        HBox paceBox = new HBox(15);
+        paceBox.setAlignment(Pos.CENTER);
+        ToggleGroup paceGroup = new ToggleGroup();
+        for (int i = 0; i < REPLAY_PACES.length; i++) {
+            RadioButton paceRadio = new RadioButton(REPLAY_PACE_NAMES[i]);
+            paceRadio.setStyle("-fx-text-fill: #FFFF00; -fx-font-size: 13;");
+            paceRadio.setUserData(REPLAY_PACES[i]);
+            paceRadio.setToggleGroup(paceGroup);
+            paceRadio.setSelected(i == 1);
+            paceBox.getChildren().add(paceRadio);
         }
+        contentBox.getChildren().add(paceBox);
+
+        ListView<File> replaysList = new ListView<>(FXCollections.observableArrayList(ReplayRecorder.listReplays()));
+        replaysList.setStyle("-fx-control-inner-background: #2a2a2a; -fx-background-color: #2a2a2a;");
+        replaysList.setMaxWidth(600);
+        replaysList.setPrefHeight(300);
+        replaysList.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(File file, boolean empty) {
+                super.updateItem(file, empty);
+                if (empty || file == null) {
+                    setText(null);
+                    setOnMouseClicked(null);
+                } else {
+                    setText("🎬 " + file.getName());
+                    setStyle("-fx-text-fill: #FFFFFF; -fx-font-size: 13; -fx-padding: 8; -fx-cursor: hand;");
+                    setOnMouseClicked(e -> watchReplay(file, (Integer) paceGroup.getSelectedToggle().getUserData()));
+                }
+            }
+        });
+        contentBox.getChildren().add(replaysList);
 
         Button backButton = createStyledButton("← Back", 150, 50);
         backButton.setOnAction(e -> showMainMenu());
@@ -252,6 +376,53 @@ public class MainMenuUI extends Application {
         primaryStage.setScene(scene);
     }
 
+    /**
+     * Plays a replay on the game board, on a background thread, then returns to the main menu.
+     *
+     * @param file the replay file
+     * @param delayMillis the pause between two decisions, in milliseconds
+     */
+    private void watchReplay(File file, long delayMillis) {
+        Replay replay;
+        try {
+            replay = Replay.read(file);
+        } catch (IOException e) {
+            showErrorDialog("Failed to read replay: " + e.getMessage());
+            return;
+        }
+
+        ReplayBoardListener listener = new ReplayBoardListener(primaryStage);
+        Thread replayThread = new Thread(() -> {
+            try {
+                Player winner = new ReplayEngine(replay).play(0, delayMillis, listener);
+                Platform.runLater(() -> showReplayEnd(winner));
+            } catch (IllegalStateException e) {
+                Platform.runLater(() -> {
+                    showErrorDialog("Failed to play replay: " + e.getMessage());
+                    showMainMenu();
+                });
+            }
+        }, "replay");
+        replayThread.setDaemon(true);
+        replayThread.start();
+    }
+
+    /**
+     * Tells the end of a replay, then returns to the main menu.
+     *
+     * @param winner the winner of the replayed game, or null if the recording was interrupted
+     */
+    private void showReplayEnd(Player winner) {
+        javafx.scene.control.Alert alert = new javafx.scene.control.Alert(javafx.scene.control.Alert.AlertType.INFORMATION);
+        alert.setTitle("Replay");
+        alert.setHeaderText("🎬 Replay finished");
+        alert.setContentText(winner != null
+                ? "🏅 The winner is " + winner.getName()
+                : "The recording was interrupted before the end of the game.");
+        alert.showAndWait();
+        showMainMenu();
+    }
+
     /**
      * Loads a saved game from file and transitions to game window.
      *
@@ -279,6 +450,7 @@ public class MainMenuUI extends Application {
             game.setPlayers(updatedPlayers);
 
             GameWindow gameWindow = new GameWindow(game, primaryStage, true);
+            game.getEvents().load(game, saveName);
             gameWindow.show();
         } else {
             showErrorDialog("Failed to load game");
@@ -333,6 +505,7 @@ public class MainMenuUI extends Application {
      * @param args command-line arguments
      */
     public static void main(String[] args) {
+        Metrics.install();
         launch(args);
     }
 }
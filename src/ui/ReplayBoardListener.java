@@ -0,0 +1,60 @@
+package ui;
+
+import javafx.application.Platform;
+import javafx.stage.Stage;
+import model.game.Game;
+import player.Player;
+import replay.ReplayListener;
+
+/**
+ * ReplayBoardListener shows a replay on the animated game board.
+ * A single board, drawn on a canvas, is reused for the whole replay: the
+ * replay thread publishes a {@link BoardSnapshot} before every recorded
+ * decision, so the JavaFX thread never reads the replayed game while the
+ * engine changes it. The pace is chosen when starting the replay.
+ *
+ * <p>Typical usage (from a background thread):</p>
+ * <pre>
+ * new ReplayEngine(Replay.read(file)).play(0, 600, new ReplayBoardListener(stage));
+ * </pre>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see AnimatedGameBoardUI
+ */
+public class ReplayBoardListener implements ReplayListener {
+    private final AnimatedGameBoardUI gameBoardUI;
+
+    /**
+     * Constructs a ReplayBoardListener and shows its board.
+     *
+     * @param primaryStage the primary JavaFX stage
+     */
+    public ReplayBoardListener(Stage primaryStage) {
+        this.gameBoardUI = new AnimatedGameBoardUI(primaryStage, null, true);
+        Platform.runLater(gameBoardUI::show);
+    }
+
+    /**
+     * Publishes the board before a recorded decision.
+     */
+    @Override
+    public void onDecision(Game game, int decisionIndex) {
+        // The engine restores a new game when it seeks: always show the current one
+        gameBoardUI.setGame(game);
+        gameBoardUI.updatePlayersDisplay();
+    }
+
+    /**
+     * Shows the final state of the replayed game.
+     */
+    @Override
+    public void onReplayEnd(Game game, Player winner) {
+        gameBoardUI.setGame(game);
+        if (winner != null) {
+            gameBoardUI.showWinner(winner);
+        } else {
+            gameBoardUI.updatePlayersDisplay();
+        }
+    }
+}
@@ -12,9 +12,13 @@ import javafx.stage.Stage;
 import model.game.Game;
 import player.Player;
 
+import java.util.ArrayList;
+
 /**
  * ScoreboardUI displays the current standings and scores of all players during gameplay.
  * Shows Jest pile sizes, visible/hidden cards, and calculated scores.
+ * The scene and one score box per player are built once; showing the
+ * scoreboard again only updates their labels and borders in place.
  *
  * @author Jest Game & Gatien Genevois & Sacha Himber
  * @version 1.0
@@ -22,6 +26,9 @@ import player.Player;
 public class ScoreboardUI {
     private Stage primaryStage;
     private Game game;
+    private Scene scene;
+    private VBox scoresBox;
+    private ArrayList<VBox> playerBoxes = new ArrayList<>();
 
     /**
      * Constructs a ScoreboardUI.
@@ -38,22 +45,9 @@ public class ScoreboardUI {
      * Displays the current scoreboard.
      */
     public void show() {
-        BorderPane root = new BorderPane();
-        root.setStyle("-fx-background-color: #0a0a0a;");
-
-        // Title
-        Label titleLabel = new Label("🏆 Current Standings 🏆");
-        titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 28));
-        titleLabel.setStyle("-fx-text-fill: #FFD700; -fx-padding: 20px;");
-
-        VBox titleBox = new VBox(titleLabel);
-        titleBox.setAlignment(Pos.CENTER);
-        titleBox.setStyle("-fx-background-color: #1a1a1a; -fx-border-color: #FFD700; -fx-border-width: 0 0 2 0;");
-
-        // Scores
-        VBox scoresBox = new VBox(15);
-        scoresBox.setPadding(new Insets(30));
-        scoresBox.setStyle("-fx-background-color: #0a0a0a;");
+        if (scene == null) {
+            buildScene();
+        }
 
         int maxScore = 0;
         for (Player p : game.getPlayers()) {
@@ -61,6 +55,15 @@ public class ScoreboardUI {
             if (points > maxScore) maxScore = points;
         }
 
+        // Player boxes are only rebuilt if the number of players changed
+        if (playerBoxes.size() != game.getPlayers().size()) {
+            playerBoxes.clear();
+            for (int i = 0; i < game.getPlayers().size(); i++) {
+                playerBoxes.add(createPlayerScoreBox());
+            }
+            scoresBox.getChildren().setAll(playerBoxes);
+        }
+
         int rank = 1;
         for (Player p : game.getPlayers()) {
             int points = game.getVariant().calculatePoints(p);
@@ -72,47 +75,85 @@ public class ScoreboardUI {
                 default: medal = "  ";
             }
 
-            VBox playerScoreBox = createPlayerScoreBox(p, points, medal, points == maxScore);
-            scoresBox.getChildren().add(playerScoreBox);
+            updatePlayerScoreBox(playerBoxes.get(rank - 1), p, points, medal, points == maxScore);
             rank++;
         }
 
+        if (primaryStage.getScene() != scene) {
+            primaryStage.setScene(scene);
+        }
+    }
+
+    /**
+     * Builds the persistent scene of the scoreboard.
+     */
+    private void buildScene() {
+        BorderPane root = new BorderPane();
+        root.setStyle("-fx-background-color: #0a0a0a;");
+
+        // Title
+        Label titleLabel = new Label("🏆 Current Standings 🏆");
+        titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 28));
+        titleLabel.setStyle("-fx-text-fill: #FFD700; -fx-padding: 20px;");
+
+        VBox titleBox = new VBox(titleLabel);
+        titleBox.setAlignment(Pos.CENTER);
+        titleBox.setStyle("-fx-background-color: #1a1a1a; -fx-border-color: #FFD700; -fx-border-width: 0 0 2 0;");
+
+        // Scores
+        scoresBox = new VBox(15);
+        scoresBox.setPadding(new Insets(30));
+        scoresBox.setStyle("-fx-background-color: #0a0a0a;");
+
         root.setTop(titleBox);
         root.setCenter(scoresBox);
 
-        Scene scene = new Scene(root, 800, 600);
-        primaryStage.setScene(scene);
+        scene = new Scene(root, 800, 600);
     }
 
     /**
-     * Creates a score display box for a player.
+     * Creates an empty score display box for a player.
      *
-     * @param player the player to display
-     * @param points the player's current score
-     * @param medal the medal icon (if applicable)
-     * @param isLeader true if this player is currently leading
-     * @return a VBox containing the player's score display
+     * @return a VBox holding the name, score and Jest labels of a player
      */
-    private VBox createPlayerScoreBox(Player player, int points, String medal, boolean isLeader) {
+    private VBox createPlayerScoreBox() {
         VBox box = new VBox(8);
         box.setPadding(new Insets(15));
-        box.setStyle("-fx-border-color: " + (isLeader ? "#FFD700" : "#00FFFF") +
-                     "; -fx-border-width: 2; -fx-background-color: #1a1a1a;");
 
-        String playerType = player instanceof player.AI ? "🤖" : "👤";
-        Label nameLabel = new Label(medal + playerType + " " + player.getName());
+        Label nameLabel = new Label();
         nameLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
-        nameLabel.setStyle("-fx-text-fill: " + (isLeader ? "#FFD700" : "#00FF00") + ";");
 
-        Label scoreLabel = new Label("Points: " + points);
+        Label scoreLabel = new Label();
         scoreLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
         scoreLabel.setStyle("-fx-text-fill: #FFFF00;");
 
-        Label jestLabel = new Label("Jest Pile: " + player.getJest().size() + " cards");
+        Label jestLabel = new Label();
         jestLabel.setStyle("-fx-text-fill: #FFFFFF;");
 
         box.getChildren().addAll(nameLabel, scoreLabel, jestLabel);
         return box;
     }
+
+    /**
+     * Updates the score display box of a player in place.
+     *
+     * @param box the box to update
+     * @param player the player to display
+     * @param points the player's current score
+     * @param medal the medal icon (if applicable)
+     * @param isLeader true if this player is currently leading
+     */
+    private void updatePlayerScoreBox(VBox box, Player player, int points, String medal, boolean isLeader) {
+        box.setStyle("-fx-border-color: " + (isLeader ? "#FFD700" : "#00FFFF") +
+                     "; -fx-border-width: 2; -fx-background-color: #1a1a1a;");
+
+        String playerType = player instanceof player.AI ? "🤖" : "👤";
+        Label nameLabel = (Label) box.getChildren().get(0);
+        nameLabel.setText(medal + playerType + " " + player.getName());
+        nameLabel.setStyle("-fx-text-fill: " + (isLeader ? "#FFD700" : "#00FF00") + ";");
+
+        ((Label) box.getChildren().get(1)).setText("Points: " + points);
+        ((Label) box.getChildren().get(2)).setText("Jest Pile: " + player.getJest().size() + " cards");
+    }
 }
 
@@ -0,0 +1,219 @@
+package ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.Region;
+import javafx.stage.Stage;
+import event.GameEventListener;
+import model.game.Game;
+import player.AI;
+import player.Player;
+import util.Pacing;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * SpectatorDashboardUI watches many headless AI games at once.
+ * Each table runs its games on its own background thread and publishes a
+ * {@link BoardSnapshot} after every deal and every turn; the dashboard draws
+ * the latest snapshot of each table with a small {@link CanvasBoardRenderer},
+ * at a fixed refresh rate.
+ *
+ * <p>The game threads never wait on the UI: publishing a snapshot only
+ * replaces the previous one, and snapshots published between two refreshes
+ * are simply skipped. All tables share the card atlases of {@link CardImageCache}.
+ * The tiles are the board of {@link AnimatedGameBoardUI} drawn at a smaller
+ * scale: one row per player with their offer, and the trophies on the right.</p>
+ *
+ * <p>Usage: {@code java ui.SpectatorDashboardUI [--tables=N] [--fps=N] [--turnDelay=millis]}</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see BoardSnapshot
+ */
+public class SpectatorDashboardUI extends Application {
+    /** The scale of the tiles, relative to the full board (cards of 50x75) */
+    private static final double TILE_SCALE = 0.625;
+    private static final double TILE_WIDTH = 360;
+    private static final double TILE_HEIGHT = 450;
+
+    private ExecutorService engines;
+    private AnimationTimer refreshTimer;
+    private volatile boolean running;
+
+    /**
+     * A table of the dashboard and the board its game thread publishes to.
+     */
+    private static class Table {
+        private final int number;
+        private final CanvasBoardRenderer board = new CanvasBoardRenderer(TILE_SCALE, TILE_WIDTH, TILE_HEIGHT);
+
+        Table(int number) {
+            this.number = number;
+            board.setTitle("Table " + number);
+            board.getNode().setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        }
+    }
+
+    /**
+     * Starts the game threads and displays the dashboard.
+     *
+     * @param primaryStage the primary stage for this application
+     */
+    @Override
+    public void start(Stage primaryStage) {
+        int tableCount = getIntParameter("tables", 9);
+        int fps = Math.max(1, getIntParameter("fps", 10));
+        int turnDelay = getIntParameter("turnDelay", 300);
+
+        FlowPane grid = new FlowPane(10, 10);
+        grid.setPadding(new Insets(10));
+        grid.setStyle("-fx-background-color: #0a0a0a;");
+
+        Table[] tables = new Table[tableCount];
+        for (int i = 0; i < tableCount; i++) {
+            tables[i] = new Table(i + 1);
+            grid.getChildren().add(tables[i].board.getNode());
+        }
+
+        ScrollPane scrollPane = new ScrollPane(grid);
+        scrollPane.setFitToWidth(true);
+        scrollPane.setStyle("-fx-background: #0a0a0a; -fx-background-color: #0a0a0a;");
+
+        primaryStage.setTitle("Jest - Spectator Dashboard (" + tableCount + " tables)");
+        primaryStage.setScene(new Scene(scrollPane, 3 * (TILE_WIDTH + 10) + 30, 2 * (TILE_HEIGHT + 10) + 20));
+        primaryStage.setOnCloseRequest(e -> stop());
+        primaryStage.show();
+
+        // Engine threads: one per table, playing games back to back
+        running = true;
+        engines = Executors.newFixedThreadPool(tableCount, runnable -> {
+            Thread thread = new Thread(runnable, "spectator-table");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Table table : tables) {
+            engines.submit(() -> runTable(table, turnDelay));
+        }
+
+        // Throttled refresh: redraw the tables whose snapshot changed, at most fps times per second
+        long interval = 1_000_000_000L / fps;
+        refreshTimer = new AnimationTimer() {
+            private long lastRefresh = 0;
+
+            @Override
+            public void handle(long now) {
+                if (now - lastRefresh < interval) {
+                    return;
+                }
+                lastRefresh = now;
+                for (Table table : tables) {
+                    table.board.refresh();
+                }
+            }
+        };
+        refreshTimer.start();
+    }
+
+    /**
+     * Stops the refresh and the game threads.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (refreshTimer != null) {
+            refreshTimer.stop();
+        }
+        if (engines != null) {
+            engines.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays AI games on a table until the dashboard is closed, publishing a
+     * snapshot after every card hidden during the deal and after every turn.
+     *
+     * @param table the table
+     * @param turnDelay the pause between two turns, in milliseconds
+     */
+    private void runTable(Table table, int turnDelay) {
+        // The pauses of the engine are replaced by the turn delay of the dashboard
+        Pacing.setUnpaced(true);
+        int gameNumber = 0;
+        while (running) {
+            gameNumber++;
+            Game game = new Game(gameNumber % 2 == 0);
+            int playerCount = 3 + (table.number + gameNumber) % 2;
+            for (int i = 0; i < playerCount; i++) {
+                game.addPlayer(new AI("T" + table.number + "-Bot" + (i + 1)));
+            }
+
+            // The board also follows the deal, one hidden card at a time
+            game.getEvents().subscribe(new GameEventListener() {
+                @Override
+                public void onHide(Game game, Player player, int choice) {
+                    table.board.setSnapshot(BoardSnapshot.of(game));
+                }
+            });
+
+            try {
+                game.setTrophies();
+                while (running && !game.getCards().isEmpty()) {
+                    game.playRound(player -> {
+                        table.board.setSnapshot(BoardSnapshot.of(game));
+                        waitFor(turnDelay);
+                    });
+                }
+                if (running) {
+                    table.board.setSnapshot(BoardSnapshot.ofFinished(game, game.finishGame()));
+                    waitFor(3000);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("❌ Table " + table.number + ": game aborted (" + e + ")");
+                waitFor(1000);
+            }
+        }
+    }
+
+    /**
+     * Pauses the table thread.
+     */
+    private void waitFor(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            running = false;
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads an integer named parameter ({@code --name=value}).
+     */
+    private int getIntParameter(String name, int defaultValue) {
+        String value = getParameters().getNamed().get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid --" + name + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Main entry point of the dashboard.
+     *
+     * @param args the named parameters {@code --tables}, {@code --fps} and {@code --turnDelay}
+     */
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -4,9 +4,17 @@ import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 import model.game.Game;
 import model.game.GameState;
+import profiling.SaveIOEvent;
 
 /**
  * Provides utility methods for saving, loading, and managing Jest game saves.
@@ -18,26 +26,42 @@ import model.game.GameState;
  *   <li>Save game states to files with custom or auto-generated names</li>
  *   <li>Load previously saved game states</li>
  *   <li>List all available save files</li>
+ *   <li>List saves with cached metadata (round, variant, players, date)</li>
  *   <li>Delete unwanted save files</li>
+ *   <li>Verify the integrity of every save without loading them</li>
+ *   <li>Upgrade saves written by older versions, lazily or in bulk</li>
  * </ul>
  *
- * <p>All save files are stored in the "jest_saves/" directory with a ".jest" extension.</p>
+ * <p>All save files are stored in the "jest_saves/" directory with a ".jest" extension.
+ * A {@link SaveIndex} kept in the same directory caches the metadata of every save.
+ * Each save is stored in a checksummed {@link SaveEnvelope} and written atomically,
+ * so an interrupted save never leaves a half-written file behind.</p>
  *
  * @author Jest Game & Gatien Genevois & Sacha Himber
  * @version 1.0
  * @see GameState
  * @see Game
+ * @see SaveIndex
  */
 public class GameSaver {
     /** The directory where all game saves are stored */
     private static final String SAVE_DIRECTORY = "jest_saves/";
     /** The file extension used for save files */
     private static final String SAVE_EXTENSION = ".jest";
+    /** The background thread writing migrated saves back to disk */
+    private static final ExecutorService migrationExecutor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "save-migration");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Serializes the writes of the save files: saves, migrated saves written back and deletions */
+    private static final Object writeLock = new Object();
 
     /**
      * Saves the current game state to a file.
      * If no save name is provided, an auto-generated timestamp name is used.
-     * Creates the save directory if it doesn't exist.
+     * Creates the save directory if it doesn't exist, and publishes the outcome
+     * on the event bus of the game.
      *
      * <p>Save file naming:</p>
      * <ul>
@@ -52,6 +76,9 @@ public class GameSaver {
      * @return true if the save was successful, false if an error occurred
      */
     public static boolean saveGame(Game game, boolean includeExpansion, String saveName) {
+        SaveIOEvent ioEvent = new SaveIOEvent();
+        ioEvent.begin();
+        File saveFile = null;
         try {
             Files.createDirectories(Paths.get(SAVE_DIRECTORY));
 
@@ -64,72 +91,259 @@ public class GameSaver {
 
             GameState gameState = new GameState(game, includeExpansion);
 
-            try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(filePath))) {
-                oos.writeObject(gameState);
+            saveFile = new File(filePath);
+            byte[] payload = serialize(gameState);
+            long start = Metrics.start();
+            synchronized (writeLock) {
+                SaveEnvelope.write(saveFile, payload);
+                SaveIndex.put(new File(SAVE_DIRECTORY),
+                        new SaveMetadata(saveName, gameState, saveFile.lastModified(), saveFile.length()));
             }
+            commitIO(ioEvent, "save", saveName, saveFile, true);
+            Metrics.SAVES.stop(start);
 
-            System.out.println("💾 Game saved successfully: " + filePath);
+            game.getEvents().save(game, saveName, true);
             return true;
 
         } catch (IOException e) {
             System.err.println("❌ Error saving game: " + e.getMessage());
+            commitIO(ioEvent, "save", saveName, saveFile, false);
+            game.getEvents().save(game, saveName, false);
             return false;
         }
     }
 
     /**
      * Loads a saved game state from a file.
-     * Deserializes the game state from the specified save file.
+     * Deserializes the game state from the specified save file. A state written
+     * by an older version of the game is migrated in memory and returned right
+     * away; the migrated save is written back to disk in the background.
      *
      * @param saveName the name of the save file to load (without extension)
      * @return the loaded GameState object, or null if loading failed
      */
     public static GameState loadGame(String saveName) {
+        SaveIOEvent ioEvent = new SaveIOEvent();
+        ioEvent.begin();
+        File saveFile = null;
         try {
             String filePath = SAVE_DIRECTORY + saveName + SAVE_EXTENSION;
 
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(filePath))) {
-                GameState gameState = (GameState) ois.readObject();
-                System.out.println("✅ Game loaded successfully: " + filePath);
-                return gameState;
+            saveFile = new File(filePath);
+            long start = Metrics.start();
+            byte[] storedPayload = SaveEnvelope.read(saveFile);
+            GameState gameState = deserialize(storedPayload);
+
+            if (SaveMigrator.needsMigration(gameState)) {
+                gameState = SaveMigrator.migrate(gameState);
+                // Serialized now: the caller starts mutating the state's lists as soon as we return
+                byte[] payload = serialize(gameState);
+                GameState migratedState = gameState;
+                File migratedFile = saveFile;
+                int storedChecksum = SaveEnvelope.checksum(storedPayload);
+                migrationExecutor.execute(() -> writeBack(saveName, migratedFile, storedChecksum, migratedState, payload));
             }
 
-        } catch (IOException | ClassNotFoundException e) {
+            // Committed once the state is usable: a failed migration commits the failure instead
+            commitIO(ioEvent, "load", saveName, saveFile, true);
+            Metrics.LOADS.stop(start);
+
+            return gameState;
+
+        } catch (IOException | ClassNotFoundException | ClassCastException | IllegalStateException e) {
             System.err.println("❌ Error loading game: " + e.getMessage());
+            commitIO(ioEvent, "load", saveName, saveFile, false);
             return null;
         }
     }
 
+    /**
+     * Commits the Flight Recorder event of a save I/O, if it is recorded.
+     *
+     * @param ioEvent the event, begun before the I/O
+     * @param operation "save" or "load"
+     * @param saveName the name of the save
+     * @param saveFile the save file, or null if it was not resolved
+     * @param success whether the I/O succeeded
+     */
+    private static void commitIO(SaveIOEvent ioEvent, String operation, String saveName, File saveFile, boolean success) {
+        ioEvent.end();
+        if (ioEvent.shouldCommit()) {
+            ioEvent.operation = operation;
+            ioEvent.saveName = saveName;
+            ioEvent.bytes = saveFile != null ? saveFile.length() : 0;
+            ioEvent.success = success;
+            ioEvent.commit();
+        }
+    }
+
     /**
      * Lists all available save files in the save directory.
-     * Returns an array of save names without the file extension.
+     * Returns an array of save names without the file extension,
+     * most recently modified first.
      *
      * @return an array of save file names (without extension),
      *         or an empty array if no saves exist or an error occurs
      */
     public static String[] listSaves() {
+        SaveMetadata[] saves = listSaveInfos();
+        String[] saveNames = new String[saves.length];
+        for (int i = 0; i < saves.length; i++) {
+            saveNames[i] = saves[i].getSaveName();
+        }
+        return saveNames;
+    }
+
+    /**
+     * Lists the cached metadata of all available saves, most recently modified first.
+     * The metadata comes from the {@link SaveIndex}; save bodies are only read
+     * for saves that were added or modified outside of the game.
+     *
+     * @return an array of save metadata,
+     *         or an empty array if no saves exist or an error occurs
+     */
+    public static SaveMetadata[] listSaveInfos() {
         try {
             File saveDir = new File(SAVE_DIRECTORY);
             if (!saveDir.exists()) {
-                return new String[0];
+                return new SaveMetadata[0];
             }
 
-            File[] files = saveDir.listFiles((dir, name) -> name.endsWith(SAVE_EXTENSION));
-            if (files == null || files.length == 0) {
-                return new String[0];
+            return SaveIndex.list(saveDir, SAVE_EXTENSION);
+
+        } catch (Exception e) {
+            System.err.println("❌ Error listing saves: " + e.getMessage());
+            return new SaveMetadata[0];
+        }
+    }
+
+    /**
+     * Reads the game state stored in a save file without any console output.
+     * Used by the {@link SaveIndex} to rebuild the metadata of a save.
+     *
+     * @param file the save file to read
+     * @return the stored GameState, or null if the file cannot be read
+     */
+    static GameState readState(File file) {
+        try {
+            return SaveMigrator.migrate(deserialize(SaveEnvelope.read(file)));
+        } catch (IOException | ClassNotFoundException | ClassCastException | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Migrates every save written by an older version of the game, in the background.
+     * Saves are processed one at a time on the migration thread, so loading and
+     * saving games is never blocked; a save modified meanwhile is left untouched.
+     *
+     * @return a future completed with the number of migrated saves
+     */
+    public static CompletableFuture<Integer> migrateAllInBackground() {
+        return CompletableFuture.supplyAsync(() -> {
+            File[] files = new File(SAVE_DIRECTORY).listFiles((dir, name) -> name.endsWith(SAVE_EXTENSION));
+            if (files == null) {
+                return 0;
             }
 
-            String[] saveNames = new String[files.length];
-            for (int i = 0; i < files.length; i++) {
-                String fileName = files[i].getName();
-                saveNames[i] = fileName.substring(0, fileName.length() - SAVE_EXTENSION.length());
+            int migrated = 0;
+            for (File file : files) {
+                String fileName = file.getName();
+                String saveName = fileName.substring(0, fileName.length() - SAVE_EXTENSION.length());
+                try {
+                    byte[] storedPayload = SaveEnvelope.read(file);
+                    GameState state = deserialize(storedPayload);
+                    if (SaveMigrator.needsMigration(state)) {
+                        state = SaveMigrator.migrate(state);
+                        if (writeBack(saveName, file, SaveEnvelope.checksum(storedPayload), state, serialize(state))) {
+                            migrated++;
+                        }
+                    }
+                } catch (IOException | ClassNotFoundException | ClassCastException | IllegalStateException e) {
+                    System.err.println("❌ Could not migrate save " + saveName + ": " + e.getMessage());
+                }
             }
+            return migrated;
+        }, migrationExecutor);
+    }
 
-            return saveNames;
+    /**
+     * Writes a migrated save back to disk, unless the file changed since it was read.
+     * The file is read again under the write lock, so a save written or deleted
+     * meanwhile is never overwritten by the migrated state.
+     *
+     * @param saveName the name of the save
+     * @param file the save file
+     * @param storedChecksum the checksum of the payload when the file was read
+     * @param state the migrated state
+     * @param payload the serialized migrated state
+     * @return true if the save was written
+     */
+    private static boolean writeBack(String saveName, File file, int storedChecksum, GameState state, byte[] payload) {
+        synchronized (writeLock) {
+            try {
+                if (!file.exists() || SaveEnvelope.checksum(SaveEnvelope.read(file)) != storedChecksum) {
+                    return false;
+                }
+                SaveEnvelope.write(file, payload);
+                SaveIndex.put(new File(SAVE_DIRECTORY),
+                        new SaveMetadata(saveName, state, file.lastModified(), file.length()));
+                return true;
+            } catch (IOException e) {
+                System.err.println("❌ Could not write migrated save " + saveName + ": " + e.getMessage());
+                return false;
+            }
+        }
+    }
 
-        } catch (Exception e) {
-            System.err.println("❌ Error listing saves: " + e.getMessage());
-            return new String[0];
+    /**
+     * Verifies the integrity of every save without deserializing them.
+     * Checksums are computed in parallel, so a large save store is checked
+     * at the speed of the disk.
+     *
+     * @return the status of each save, by save name (empty if no saves exist)
+     */
+    public static Map<String, SaveEnvelope.Status> verifyAll() {
+        File[] files = new File(SAVE_DIRECTORY).listFiles((dir, name) -> name.endsWith(SAVE_EXTENSION));
+        if (files == null) {
+            return new TreeMap<>();
+        }
+
+        return Arrays.stream(files)
+                .parallel()
+                .collect(Collectors.toMap(
+                        file -> file.getName().substring(0, file.getName().length() - SAVE_EXTENSION.length()),
+                        SaveEnvelope::verify,
+                        (first, second) -> first,
+                        TreeMap::new));
+    }
+
+    /**
+     * Serializes a game state.
+     *
+     * @param gameState the game state to serialize
+     * @return the serialized bytes
+     * @throws IOException if the state cannot be serialized
+     */
+    private static byte[] serialize(GameState gameState) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(gameState);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserializes a game state.
+     *
+     * @param payload the serialized bytes
+     * @return the game state
+     * @throws IOException if the bytes cannot be deserialized
+     * @throws ClassNotFoundException if a serialized class is unknown
+     */
+    private static GameState deserialize(byte[] payload) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            return (GameState) ois.readObject();
         }
     }
 
@@ -145,13 +359,17 @@ public class GameSaver {
             String filePath = SAVE_DIRECTORY + saveName + SAVE_EXTENSION;
             File file = new File(filePath);
 
-            if (file.delete()) {
-                System.out.println("🗑️  Save deleted: " + saveName);
-                return true;
-            } else {
+            boolean deleted;
+            synchronized (writeLock) {
+                deleted = file.delete();
+                if (deleted) {
+                    SaveIndex.remove(new File(SAVE_DIRECTORY), saveName);
+                }
+            }
+            if (!deleted) {
                 System.err.println("❌ Could not delete save: " + saveName);
-                return false;
             }
+            return deleted;
 
         } catch (Exception e) {
             System.err.println("❌ Error deleting save: " + e.getMessage());
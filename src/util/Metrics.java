@@ -0,0 +1,404 @@
+package util;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts and times the hot paths of the game: rounds, turns, AI decisions,
+ * scoring, trophies, saves, loads, card image loads and the waits of the
+ * game thread on the JavaFX interface.
+ *
+ * <p>Each {@link Timer} counts with striped {@link LongAdder}s and keeps a
+ * log-linear histogram of its durations (16 sub-buckets per power of two,
+ * about 6% of precision from a nanosecond to hours), so recording from many
+ * game threads never contends on a shared counter.</p>
+ *
+ * <p>Metrics are disabled by default: {@link #start()} then returns 0 without
+ * reading the clock and {@link Timer#stop(long)} ignores it, so an
+ * instrumented call costs a single volatile read. They are enabled with the
+ * {@code jest.metrics} system property; {@code jest.metrics.dump} sets the
+ * period in seconds of a text dump on the console. Once
+ * {@linkplain #install() installed}, they are also exposed to local JMX
+ * clients (jconsole, VisualVM) as the {@code jest:type=Metrics} MBean, which
+ * can enable them at runtime.</p>
+ *
+ * <p>Typical usage:</p>
+ * <pre>
+ * long start = Metrics.start();
+ * game.playRound();
+ * Metrics.ROUNDS.stop(start);
+ * </pre>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see MetricsMXBean
+ */
+public final class Metrics {
+    /** Whether durations are recorded */
+    private static volatile boolean enabled = Boolean.getBoolean("jest.metrics");
+
+    /** A round, from its start to the end rules of the variant */
+    public static final Timer ROUNDS = new Timer("rounds");
+    /** A turn of a player: its decision and pick, without the pacing pauses */
+    public static final Timer TURNS = new Timer("turns");
+    /** A decision of an AI player */
+    public static final Timer AI_DECISIONS = new Timer("ai decisions");
+    /** The scoring of a jest */
+    public static final Timer SCORING = new Timer("scoring");
+    /** The resolution of the trophies */
+    public static final Timer TROPHIES = new Timer("trophies");
+    /** The writing of a save */
+    public static final Timer SAVES = new Timer("saves");
+    /** The reading of a save */
+    public static final Timer LOADS = new Timer("loads");
+    /** The decoding of a card image */
+    public static final Timer IMAGE_LOADS = new Timer("image loads");
+    /** The wait of the game thread for an answer of the JavaFX interface */
+    public static final Timer UI_HANDOFFS = new Timer("ui handoffs");
+
+    private static final List<Timer> TIMERS = List.of(ROUNDS, TURNS, AI_DECISIONS, SCORING, TROPHIES,
+            SAVES, LOADS, IMAGE_LOADS, UI_HANDOFFS);
+
+    private static boolean installed;
+
+    private Metrics() {
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @return the start time to give to {@link Timer#stop(long)}, or 0 if metrics are disabled
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Checks whether metrics are recorded.
+     *
+     * @return true if metrics are enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the recording of metrics.
+     *
+     * @param isEnabled true to record metrics
+     */
+    public static void setEnabled(boolean isEnabled) {
+        enabled = isEnabled;
+    }
+
+    /**
+     * Gets all the timers, in report order.
+     *
+     * @return the timers
+     */
+    public static List<Timer> getTimers() {
+        return TIMERS;
+    }
+
+    /**
+     * Resets all the timers.
+     */
+    public static void reset() {
+        for (Timer timer : TIMERS) {
+            timer.reset();
+        }
+    }
+
+    /**
+     * Formats the metrics as a text report, one line per timer that recorded something.
+     *
+     * @return the report
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder("📊 Metrics" + (enabled ? "" : " (disabled)") + "\n");
+        for (Timer timer : TIMERS) {
+            long count = timer.getCount();
+            if (count == 0) {
+                continue;
+            }
+            report.append(String.format("   %-13s: %9d  mean %9s  p50 %9s  p99 %9s  max %9s%n",
+                    timer.getName(), count, formatNanos(timer.getMeanNanos()),
+                    formatNanos(timer.getPercentileNanos(50)), formatNanos(timer.getPercentileNanos(99)),
+                    formatNanos(timer.getMaxNanos())));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Installs the metrics for this process, once: registers the MBean, even
+     * while metrics are disabled so that JMX clients can enable them, and
+     * starts the periodic dump if {@code jest.metrics.dump} is set.
+     */
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MBean(), new ObjectName(MetricsMXBean.NAME));
+        } catch (JMException e) {
+            System.err.println("❌ Error registering the metrics MBean: " + e.getMessage());
+        }
+
+        long periodSeconds = Long.getLong("jest.metrics.dump", 0L);
+        if (periodSeconds > 0) {
+            startDump(periodSeconds * 1000, System.out);
+        }
+    }
+
+    /**
+     * Prints the report periodically from a daemon thread.
+     *
+     * @param periodMillis the period between two reports
+     * @param out the stream to print to
+     */
+    public static void startDump(long periodMillis, PrintStream out) {
+        Thread dump = new Thread(() -> {
+            try {
+                while (true) {
+                    Thread.sleep(periodMillis);
+                    out.print(report());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "jest-metrics");
+        dump.setDaemon(true);
+        dump.start();
+    }
+
+    /**
+     * Formats a duration with a readable unit.
+     */
+    private static String formatNanos(double nanos) {
+        if (nanos < 1_000) {
+            return String.format("%.0f ns", nanos);
+        } else if (nanos < 1_000_000) {
+            return String.format("%.1f µs", nanos / 1_000);
+        } else if (nanos < 1_000_000_000) {
+            return String.format("%.1f ms", nanos / 1_000_000);
+        }
+        return String.format("%.2f s", nanos / 1_000_000_000);
+    }
+
+    /**
+     * Counts and times one kind of operation.
+     */
+    public static final class Timer {
+        /** The number of sub-buckets per power of two, as a power of two */
+        private static final int SUB_BUCKET_BITS = 4;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+        /** The histogram buckets, created on their first value */
+        private final AtomicReferenceArray<LongAdder> buckets = new AtomicReferenceArray<>(BUCKETS);
+
+        private Timer(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Records the duration of an operation started with {@link Metrics#start()}.
+         *
+         * @param start the start time, ignored if 0 (metrics were disabled)
+         */
+        public void stop(long start) {
+            if (start != 0L) {
+                record(System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * Records a duration.
+         *
+         * @param nanos the duration in nanoseconds
+         */
+        public void record(long nanos) {
+            if (nanos < 0) {
+                nanos = 0;
+            }
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+
+            int index = bucketOf(nanos);
+            LongAdder bucket = buckets.get(index);
+            if (bucket == null) {
+                buckets.compareAndSet(index, null, new LongAdder());
+                bucket = buckets.get(index);
+            }
+            bucket.increment();
+        }
+
+        /**
+         * Gets the name of the timer.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the number of operations recorded.
+         *
+         * @return the count
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Gets the mean duration of the operations.
+         *
+         * @return the mean in nanoseconds, or 0 if nothing was recorded
+         */
+        public double getMeanNanos() {
+            long n = count.sum();
+            return n == 0 ? 0 : (double) totalNanos.sum() / n;
+        }
+
+        /**
+         * Gets the longest duration recorded.
+         *
+         * @return the maximum in nanoseconds
+         */
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        /**
+         * Gets a percentile of the durations, within the precision of the histogram.
+         *
+         * @param percentile the percentile, between 0 and 100
+         * @return the highest duration of the bucket holding the percentile, in nanoseconds
+         */
+        public long getPercentileNanos(double percentile) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                LongAdder bucket = buckets.get(i);
+                if (bucket != null) {
+                    counts[i] = bucket.sum();
+                    total += counts[i];
+                }
+            }
+            if (total == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValueOf(i), getMaxNanos());
+                }
+            }
+            return getMaxNanos();
+        }
+
+        /**
+         * Resets the timer.
+         */
+        public void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+            for (int i = 0; i < BUCKETS; i++) {
+                LongAdder bucket = buckets.get(i);
+                if (bucket != null) {
+                    bucket.reset();
+                }
+            }
+        }
+
+        /**
+         * Finds the bucket of a value: values below {@link #SUB_BUCKETS} have their
+         * own bucket, larger ones share a bucket with the values having the same
+         * highest bit and the same next {@link #SUB_BUCKET_BITS} bits.
+         */
+        private static int bucketOf(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int highestBit = 63 - Long.numberOfLeadingZeros(value);
+            int shift = highestBit - SUB_BUCKET_BITS;
+            int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+            return (shift + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        /**
+         * Gets the highest value falling in a bucket.
+         */
+        private static long highestValueOf(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int shift = index / SUB_BUCKETS - 1;
+            long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+            return lowest + (1L << shift) - 1;
+        }
+    }
+
+    /**
+     * The MBean exposing the metrics to JMX clients.
+     */
+    private static final class MBean implements MetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return Metrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean isEnabled) {
+            Metrics.setEnabled(isEnabled);
+        }
+
+        @Override
+        public Map<String, Long> getCounts() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (Timer timer : TIMERS) {
+                counts.put(timer.getName(), timer.getCount());
+            }
+            return counts;
+        }
+
+        @Override
+        public Map<String, Double> getP99Millis() {
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (Timer timer : TIMERS) {
+                percentiles.put(timer.getName(), timer.getPercentileNanos(99) / 1_000_000.0);
+            }
+            return percentiles;
+        }
+
+        @Override
+        public String getReport() {
+            return Metrics.report();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package util;
+
+import java.util.Map;
+
+/**
+ * The management interface of the game {@link Metrics}, registered as
+ * {@value #NAME} on the platform MBean server.
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ */
+public interface MetricsMXBean {
+    /** The object name of the MBean */
+    String NAME = "jest:type=Metrics";
+
+    /**
+     * Checks whether metrics are recorded.
+     *
+     * @return true if metrics are enabled
+     */
+    boolean isEnabled();
+
+    /**
+     * Enables or disables the recording of metrics.
+     *
+     * @param isEnabled true to record metrics
+     */
+    void setEnabled(boolean isEnabled);
+
+    /**
+     * Gets the number of operations recorded by each timer.
+     *
+     * @return the counts by timer name
+     */
+    Map<String, Long> getCounts();
+
+    /**
+     * Gets the 99th percentile of the durations of each timer.
+     *
+     * @return the percentiles in milliseconds by timer name
+     */
+    Map<String, Double> getP99Millis();
+
+    /**
+     * Gets the text report of the metrics.
+     *
+     * @return the report
+     */
+    String getReport();
+
+    /**
+     * Resets all the timers.
+     */
+    void reset();
+}
@@ -0,0 +1,125 @@
+package util;
+
+/**
+ * Centralizes the readability pauses used by the game engine.
+ * The console and graphical modes pause between actions so players can follow
+ * the game; headless runs (replays, simulations) disable those pauses for the
+ * current thread so that a game executes at full speed.
+ *
+ * <p>The pace is also configurable globally: pauses and board animations
+ * (see {@code ui.AnimationScheduler}) are scaled by a speed multiplier, and
+ * the turbo mode skips them entirely. Both can be set at startup with the
+ * {@code jest.speed} and {@code jest.turbo} system properties.</p>
+ *
+ * <p>Typical usage:</p>
+ * <pre>
+ * Pacing.setUnpaced(true);
+ * try {
+ *     game.playRound();
+ * } finally {
+ *     Pacing.setUnpaced(false);
+ * }
+ * </pre>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ */
+public class Pacing {
+    /** Per-thread flag indicating whether pauses are skipped on this thread */
+    private static final ThreadLocal<Boolean> unpaced = ThreadLocal.withInitial(() -> false);
+    /** The global speed multiplier: 2 plays twice as fast */
+    private static volatile double speed = parseSpeed(System.getProperty("jest.speed"));
+    /** Whether all pauses and animations are skipped */
+    private static volatile boolean turbo = Boolean.getBoolean("jest.turbo");
+
+    /**
+     * Pauses the current thread for the given duration, scaled by the speed
+     * multiplier, unless pauses are disabled for this thread or turbo mode is on.
+     *
+     * @param millis the number of milliseconds to pause at normal speed
+     */
+    public static void pause(long millis) {
+        if (millis <= 0 || turbo || unpaced.get()) {
+            return;
+        }
+        try {
+            Thread.sleep((long) (millis / speed));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Enables or disables the pauses for the current thread.
+     *
+     * @param isUnpaced true to skip all pauses on this thread, false to restore them
+     */
+    public static void setUnpaced(boolean isUnpaced) {
+        unpaced.set(isUnpaced);
+    }
+
+    /**
+     * Checks whether pauses are disabled for the current thread.
+     *
+     * @return true if pauses are skipped on this thread
+     */
+    public static boolean isUnpaced() {
+        return unpaced.get();
+    }
+
+    /**
+     * Sets the global speed multiplier of pauses and animations.
+     *
+     * @param multiplier the speed multiplier (1 for normal speed, 2 for twice as fast)
+     * @throws IllegalArgumentException if the multiplier is not positive
+     */
+    public static void setSpeed(double multiplier) {
+        if (!(multiplier > 0)) {
+            throw new IllegalArgumentException("Speed must be positive: " + multiplier);
+        }
+        speed = multiplier;
+    }
+
+    /**
+     * Gets the global speed multiplier of pauses and animations.
+     *
+     * @return the speed multiplier
+     */
+    public static double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Enables or disables the turbo mode, skipping all pauses and animations.
+     *
+     * @param isTurbo true to skip all pauses and animations
+     */
+    public static void setTurbo(boolean isTurbo) {
+        turbo = isTurbo;
+    }
+
+    /**
+     * Checks whether the turbo mode is on.
+     *
+     * @return true if all pauses and animations are skipped
+     */
+    public static boolean isTurbo() {
+        return turbo;
+    }
+
+    /**
+     * Parses the speed given at startup, falling back to normal speed.
+     */
+    private static double parseSpeed(String value) {
+        if (value == null) {
+            return 1.0;
+        }
+        try {
+            double parsed = Double.parseDouble(value);
+            return parsed > 0 ? parsed : 1.0;
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid jest.speed: " + value);
+            return 1.0;
+        }
+    }
+}
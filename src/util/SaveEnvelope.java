@@ -0,0 +1,185 @@
+package util;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Wraps save records in a checksummed envelope and writes them atomically.
+ * The envelope lets the game detect partial writes and bit rot without
+ * deserializing anything, and the write-then-rename protocol guarantees that
+ * a save file is always either the previous complete version or the new one.
+ *
+ * <p>Envelope layout (big-endian):</p>
+ * <pre>
+ * int magic "JSAV", short envelope version, int payload length,
+ * int CRC32C of the payload, payload (serialized object)
+ * </pre>
+ *
+ * <p>Files written before envelopes existed hold a bare serialized object;
+ * they are still read, and reported as {@link Status#LEGACY} by
+ * {@link #verify(File)}.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see GameSaver
+ */
+public class SaveEnvelope {
+    /** The magic number opening every envelope ("JSAV") */
+    private static final int MAGIC = 0x4A534156;
+    /** The current version of the envelope */
+    private static final short VERSION = 1;
+    /** The size of the envelope header, in bytes */
+    private static final int HEADER_SIZE = 14;
+    /** The first bytes of a bare Java serialization stream */
+    private static final int SERIALIZATION_MAGIC = 0xACED0005;
+
+    /**
+     * The result of verifying a save file.
+     */
+    public enum Status {
+        /** The envelope is complete and its checksum matches */
+        OK,
+        /** The file predates envelopes and cannot be checked */
+        LEGACY,
+        /** The file is shorter than its envelope announces (partial write) */
+        TRUNCATED,
+        /** The file is not a save, or its checksum does not match */
+        CORRUPTED
+    }
+
+    /**
+     * Writes a payload in an envelope, atomically replacing the target file.
+     * The envelope is written to a temporary file of the same directory,
+     * forced to disk, then renamed over the target.
+     *
+     * @param target the file to write
+     * @param payload the bytes to store
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(File target, byte[] payload) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putInt(payload.length);
+        header.putInt(checksum(payload));
+        header.flip();
+
+        Path targetPath = target.toPath();
+        Path tempPath = targetPath.resolveSibling(target.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer body = ByteBuffer.wrap(payload);
+            while (header.hasRemaining() || body.hasRemaining()) {
+                channel.write(new ByteBuffer[] {header, body});
+            }
+            channel.force(true);
+        }
+
+        try {
+            Files.move(tempPath, targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Reads and checks the payload of a save file.
+     * Legacy files without envelope are returned whole.
+     *
+     * @param file the file to read
+     * @return the payload bytes
+     * @throws IOException if the file cannot be read, is truncated or fails its checksum
+     */
+    public static byte[] read(File file) throws IOException {
+        byte[] content = Files.readAllBytes(file.toPath());
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        if (content.length >= 4 && buffer.getInt(0) == SERIALIZATION_MAGIC) {
+            return content;
+        }
+
+        Status status = check(buffer, content.length);
+        if (status != Status.OK) {
+            throw new IOException("Save " + file.getName() + " is " + status.name().toLowerCase());
+        }
+        byte[] payload = new byte[buffer.getInt(6)];
+        System.arraycopy(content, HEADER_SIZE, payload, 0, payload.length);
+        return payload;
+    }
+
+    /**
+     * Computes the checksum of a payload, as stored in its envelope.
+     * Used to tell whether a save changed since it was read, legacy files included.
+     *
+     * @param payload the payload bytes
+     * @return the CRC32C of the payload
+     */
+    public static int checksum(byte[] payload) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(payload);
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * Verifies a save file without deserializing it.
+     * Only the envelope header and the checksum of the payload are computed.
+     *
+     * @param file the file to verify
+     * @return the status of the file
+     */
+    public static Status verify(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return Status.CORRUPTED;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Read until the buffer is full
+            }
+            buffer.flip();
+            if (buffer.remaining() >= 4 && buffer.getInt(0) == SERIALIZATION_MAGIC) {
+                return Status.LEGACY;
+            }
+            return check(buffer, buffer.remaining());
+        } catch (IOException e) {
+            return Status.CORRUPTED;
+        }
+    }
+
+    /**
+     * Checks the envelope held in a buffer.
+     *
+     * @param buffer the buffer holding the whole file
+     * @param length the length of the file
+     * @return the status of the envelope
+     */
+    private static Status check(ByteBuffer buffer, int length) {
+        if (length < HEADER_SIZE) {
+            return length >= 4 && buffer.getInt(0) == MAGIC ? Status.TRUNCATED : Status.CORRUPTED;
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION) {
+            return Status.CORRUPTED;
+        }
+        int payloadLength = buffer.getInt(6);
+        if (payloadLength < 0) {
+            return Status.CORRUPTED;
+        }
+        if (HEADER_SIZE + (long) payloadLength > length) {
+            return Status.TRUNCATED;
+        }
+        if (HEADER_SIZE + (long) payloadLength < length) {
+            return Status.CORRUPTED;
+        }
+
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.slice(HEADER_SIZE, payloadLength));
+        return (int) checksum.getValue() == buffer.getInt(10) ? Status.OK : Status.CORRUPTED;
+    }
+}
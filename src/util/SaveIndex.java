@@ -0,0 +1,176 @@
+package util;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import model.game.GameState;
+
+/**
+ * Maintains a persisted index of the save files and their cached metadata.
+ * The index lets menus list every save with its round, variant, players and
+ * date without opening the save bodies.
+ *
+ * <p>The index is stored next to the saves in a single file and is kept up
+ * to date by {@link GameSaver#saveGame} and {@link GameSaver#deleteSave}.
+ * When listing, each entry is validated against the modification time and
+ * size of its file: only saves that were added or changed outside of the
+ * game are deserialized again, and entries for deleted files are dropped.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see SaveMetadata
+ * @see GameSaver
+ */
+public class SaveIndex {
+    /** The name of the index file inside the save directory */
+    private static final String INDEX_FILE_NAME = "save_index.dat";
+
+    /** The cached entries, keyed by save name (null until first loaded) */
+    private static HashMap<String, SaveMetadata> entries;
+
+    /**
+     * Lists the metadata of every save in the given directory, most recent first.
+     * Entries whose file changed since they were indexed are rebuilt, entries
+     * whose file disappeared are removed, and the index is written back if
+     * anything changed.
+     *
+     * @param saveDir the directory containing the save files
+     * @param extension the file extension used for save files
+     * @return the metadata of all valid saves, sorted by modification time (newest first)
+     */
+    public static synchronized SaveMetadata[] list(File saveDir, String extension) {
+        loadIfNeeded(saveDir);
+
+        File[] files = saveDir.listFiles((dir, name) -> name.endsWith(extension));
+        if (files == null) {
+            files = new File[0];
+        }
+
+        boolean changed = false;
+        Set<String> present = new HashSet<>();
+        ArrayList<SaveMetadata> result = new ArrayList<>();
+
+        for (File file : files) {
+            String fileName = file.getName();
+            String saveName = fileName.substring(0, fileName.length() - extension.length());
+            present.add(saveName);
+
+            SaveMetadata metadata = entries.get(saveName);
+            if (metadata == null || !metadata.matches(file.lastModified(), file.length())) {
+                metadata = readMetadata(saveName, file);
+                if (metadata == null) {
+                    entries.remove(saveName);
+                    changed = true;
+                    continue;
+                }
+                entries.put(saveName, metadata);
+                changed = true;
+            }
+            result.add(metadata);
+        }
+
+        if (entries.keySet().retainAll(present)) {
+            changed = true;
+        }
+
+        if (changed) {
+            store(saveDir);
+        }
+
+        result.sort(Comparator.comparingLong(SaveMetadata::getLastModified).reversed());
+        return result.toArray(new SaveMetadata[0]);
+    }
+
+    /**
+     * Records the metadata of a save that was just written.
+     *
+     * @param saveDir the directory containing the save files
+     * @param metadata the metadata describing the save
+     */
+    public static synchronized void put(File saveDir, SaveMetadata metadata) {
+        loadIfNeeded(saveDir);
+        entries.put(metadata.getSaveName(), metadata);
+        store(saveDir);
+    }
+
+    /**
+     * Removes the entry of a deleted save.
+     *
+     * @param saveDir the directory containing the save files
+     * @param saveName the name of the deleted save
+     */
+    public static synchronized void remove(File saveDir, String saveName) {
+        loadIfNeeded(saveDir);
+        if (entries.remove(saveName) != null) {
+            store(saveDir);
+        }
+    }
+
+    /**
+     * Loads the index file into memory the first time it is needed.
+     * A missing or unreadable index simply starts empty; it is rebuilt from
+     * the save files on the next listing.
+     *
+     * @param saveDir the directory containing the index file
+     */
+    @SuppressWarnings("unchecked")
+    private static void loadIfNeeded(File saveDir) {
+        if (entries != null) {
+            return;
+        }
+
+        entries = new HashMap<>();
+        File indexFile = new File(saveDir, INDEX_FILE_NAME);
+        if (!indexFile.exists()) {
+            return;
+        }
+
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(SaveEnvelope.read(indexFile)))) {
+            entries = (HashMap<String, SaveMetadata>) ois.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            System.err.println("⚠️ Save index unreadable, rebuilding: " + e.getMessage());
+            entries = new HashMap<>();
+        }
+    }
+
+    /**
+     * Writes the in-memory index to disk, atomically.
+     *
+     * @param saveDir the directory containing the index file
+     */
+    private static void store(File saveDir) {
+        if (!saveDir.exists()) {
+            return;
+        }
+
+        File indexFile = new File(saveDir, INDEX_FILE_NAME);
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+                oos.writeObject(entries);
+            }
+            SaveEnvelope.write(indexFile, bytes.toByteArray());
+        } catch (IOException e) {
+            System.err.println("❌ Error writing save index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Builds the metadata of a save by reading its body.
+     * Only used for saves that are not (or no longer) described by the index.
+     *
+     * @param saveName the name of the save
+     * @param file the save file
+     * @return the metadata of the save, or null if the file cannot be read
+     */
+    private static SaveMetadata readMetadata(String saveName, File file) {
+        GameState state = GameSaver.readState(file);
+        if (state == null) {
+            return null;
+        }
+        return new SaveMetadata(saveName, state, file.lastModified(), file.length());
+    }
+}
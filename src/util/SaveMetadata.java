@@ -0,0 +1,180 @@
+package util;
+
+import java.io.Serializable;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import model.game.GameState;
+import model.game.PlayerState;
+
+/**
+ * Represents the cached summary of a single save file.
+ * Instances are stored in the {@link SaveIndex} so that menus can display
+ * the round, variant, players and save date of every save without
+ * deserializing the save bodies.
+ *
+ * <p>The file's last modification time and size are recorded alongside the
+ * summary; the index uses them to detect saves that were changed on disk
+ * and must be re-read.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see SaveIndex
+ * @see GameSaver
+ */
+public class SaveMetadata implements Serializable {
+    /** Serial version UID for serialization compatibility */
+    private static final long serialVersionUID = 1L;
+
+    /** The name of the save (file name without extension) */
+    private final String saveName;
+    /** The round number stored in the save */
+    private final int roundNumber;
+    /** The name of the variant being played */
+    private final String variantName;
+    /** Flag indicating whether the expansion pack is included */
+    private final boolean includeExpansion;
+    /** The names of the players, in seating order */
+    private final String[] playerNames;
+    /** Flags indicating which players are controlled by AI (parallel to playerNames) */
+    private final boolean[] aiPlayers;
+    /** The last modification time of the save file, in milliseconds since the epoch */
+    private final long lastModified;
+    /** The size of the save file, in bytes */
+    private final long fileSize;
+
+    /**
+     * Constructs a SaveMetadata entry from a game state and its file attributes.
+     *
+     * @param saveName the name of the save (without extension)
+     * @param state the game state stored in the save
+     * @param lastModified the last modification time of the save file
+     * @param fileSize the size of the save file in bytes
+     */
+    public SaveMetadata(String saveName, GameState state, long lastModified, long fileSize) {
+        this.saveName = saveName;
+        this.roundNumber = state.getRoundNumber();
+        this.variantName = state.getVariantName();
+        this.includeExpansion = state.isIncludeExpansion();
+        this.lastModified = lastModified;
+        this.fileSize = fileSize;
+
+        int playerCount = state.getPlayerStates().size();
+        this.playerNames = new String[playerCount];
+        this.aiPlayers = new boolean[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            PlayerState playerState = state.getPlayerStates().get(i);
+            this.playerNames[i] = playerState.getName();
+            this.aiPlayers[i] = playerState.isAI();
+        }
+    }
+
+    /**
+     * Gets the name of the save.
+     *
+     * @return the save name (without extension)
+     */
+    public String getSaveName() {
+        return saveName;
+    }
+
+    /**
+     * Gets the round number stored in the save.
+     *
+     * @return the round number
+     */
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    /**
+     * Gets the name of the variant being played.
+     *
+     * @return the variant name (e.g., "Classic", "Speed", "High Stakes")
+     */
+    public String getVariantName() {
+        return variantName;
+    }
+
+    /**
+     * Checks whether the expansion pack is included in the saved game.
+     *
+     * @return true if the expansion pack is included, false otherwise
+     */
+    public boolean isIncludeExpansion() {
+        return includeExpansion;
+    }
+
+    /**
+     * Gets the names of the players in the saved game.
+     *
+     * @return an array of player names in seating order
+     */
+    public String[] getPlayerNames() {
+        return playerNames.clone();
+    }
+
+    /**
+     * Checks whether the player at the given seat is controlled by AI.
+     *
+     * @param index the seat index of the player
+     * @return true if the player is an AI, false if it's a human player
+     */
+    public boolean isAI(int index) {
+        return aiPlayers[index];
+    }
+
+    /**
+     * Gets the last modification time of the save file.
+     *
+     * @return the modification time in milliseconds since the epoch
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Gets the size of the save file.
+     *
+     * @return the file size in bytes
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * Checks whether this entry still describes the file with the given attributes.
+     *
+     * @param lastModified the current last modification time of the save file
+     * @param fileSize the current size of the save file
+     * @return true if both attributes match the recorded ones
+     */
+    public boolean matches(long lastModified, long fileSize) {
+        return this.lastModified == lastModified && this.fileSize == fileSize;
+    }
+
+    /**
+     * Returns a one-line description of the save suitable for menus.
+     * The format is: "Round N • Variant • player1, player2, ... • yyyy-MM-dd HH:mm".
+     *
+     * @return a formatted summary of the save
+     */
+    public String getSummary() {
+        StringBuilder text = new StringBuilder();
+        text.append("Round ").append(roundNumber).append(" • ").append(variantName);
+        if (includeExpansion) {
+            text.append(" + Expansion");
+        }
+        text.append(" • ");
+        for (int i = 0; i < playerNames.length; i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            text.append(playerNames[i]);
+            if (aiPlayers[i]) {
+                text.append(" 🤖");
+            }
+        }
+        text.append(" • ").append(new SimpleDateFormat("yyyy-MM-dd HH:mm").format(new Date(lastModified)));
+        return text.toString();
+    }
+}
@@ -0,0 +1,84 @@
+package util;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+import model.game.GameState;
+
+/**
+ * Upgrades game states written by older versions of the game.
+ * Each migration upgrades a state from one format version to the next; a
+ * state is migrated by applying, in order, every migration from its version
+ * up to {@link GameState#CURRENT_FORMAT_VERSION}.
+ *
+ * <p>Migrations run lazily when a save is loaded (see {@link GameSaver#loadGame})
+ * and in bulk in the background (see {@link GameSaver#migrateAllInBackground()}).
+ * A change to the stored fields of {@link GameState} or {@link model.game.PlayerState}
+ * must bump the current format version and register the matching migration here.</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see GameState
+ * @see GameSaver
+ */
+public class SaveMigrator {
+    /** The registered migrations, by the format version they upgrade from */
+    private static final HashMap<Integer, UnaryOperator<GameState>> migrations = new HashMap<>();
+
+    static {
+        // 1 -> 2: the seed was added; games saved without one get a fresh one instead of all sharing 0.
+        // Saves written before the format version was stored also read as version 1, but keep their seed.
+        register(1, state -> {
+            if (state.getSeed() == 0) {
+                state.setSeed(new Random().nextLong());
+            }
+            return state;
+        });
+    }
+
+    /**
+     * Registers the migration upgrading states from a format version to the next.
+     *
+     * @param fromVersion the format version the migration upgrades from
+     * @param migration the migration, returning the upgraded state
+     */
+    public static synchronized void register(int fromVersion, UnaryOperator<GameState> migration) {
+        migrations.put(fromVersion, migration);
+    }
+
+    /**
+     * Checks whether a state was written in an older format.
+     *
+     * @param state the state to check
+     * @return true if the state must be migrated
+     */
+    public static boolean needsMigration(GameState state) {
+        return state.getFormatVersion() < GameState.CURRENT_FORMAT_VERSION;
+    }
+
+    /**
+     * Upgrades a state to the current format version.
+     *
+     * @param state the state to upgrade
+     * @return the upgraded state (the same instance if it was already current)
+     * @throws IllegalStateException if a migration is missing, or the state comes
+     *         from a newer version of the game
+     */
+    public static synchronized GameState migrate(GameState state) {
+        int version = state.getFormatVersion();
+        if (version > GameState.CURRENT_FORMAT_VERSION) {
+            throw new IllegalStateException("Save written by a newer version of the game (format " + version + ")");
+        }
+
+        while (version < GameState.CURRENT_FORMAT_VERSION) {
+            UnaryOperator<GameState> migration = migrations.get(version);
+            if (migration == null) {
+                throw new IllegalStateException("No migration registered from format " + version);
+            }
+            state = migration.apply(state);
+            version++;
+            state.setFormatVersion(version);
+        }
+        return state;
+    }
+}
@@ -0,0 +1,41 @@
+package util;
+
+import java.util.Map;
+
+/**
+ * Command-line tool checking the integrity of every save of the save store.
+ * Saves are verified by checksum only, without loading the games.
+ *
+ * <p>Usage: {@code java util.SaveVerifier}</p>
+ *
+ * @author Jest Game & Gatien Genevois & Sacha Himber
+ * @version 1.0
+ * @see GameSaver#verifyAll()
+ */
+public class SaveVerifier {
+
+    /**
+     * Verifies all saves and prints the status of each one.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        long start = System.nanoTime();
+        Map<String, SaveEnvelope.Status> statuses = GameSaver.verifyAll();
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+        int damaged = 0;
+        for (Map.Entry<String, SaveEnvelope.Status> entry : statuses.entrySet()) {
+            SaveEnvelope.Status status = entry.getValue();
+            if (status == SaveEnvelope.Status.TRUNCATED || status == SaveEnvelope.Status.CORRUPTED) {
+                damaged++;
+                System.out.println("❌ " + entry.getKey() + ": " + status);
+            } else if (status == SaveEnvelope.Status.LEGACY) {
+                System.out.println("⚠️ " + entry.getKey() + ": " + status + " (no checksum)");
+            }
+        }
+
+        System.out.println("🔎 Verified " + statuses.size() + " saves in " + elapsed + " ms, "
+                + damaged + " damaged");
+    }
+}
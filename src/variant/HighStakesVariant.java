@@ -70,21 +70,17 @@ public class HighStakesVariant implements GameVariant {
 
     /**
      * Applies special rules at the start of each round.
-     * On the first round, displays prominent messages announcing High Stakes mode
+     * On the first round, publishes prominent notices announcing High Stakes mode
      * with doubled points and tripled trophy values.
      *
      * @param game the current game instance
      */
     @Override
     public void applyRoundStartRules(Game game) {
-        final String RESET  = "\u001B[0m";
-        final String RED    = "\u001B[31m";
-        final String YELLOW = "\u001B[33m";
-
         if (game.getRoundNumber() == 1) {
-            System.out.println(RED + "💰 HIGH STAKES MODE ACTIVE!" + RESET);
-            System.out.println(YELLOW + "💰 All points are DOUBLED!" + RESET);
-            System.out.println(YELLOW + "🏆 Trophy cards are worth TRIPLE!" + RESET);
+            game.getEvents().notice(game, "💰 HIGH STAKES MODE ACTIVE!");
+            game.getEvents().notice(game, "💰 All points are DOUBLED!");
+            game.getEvents().notice(game, "🏆 Trophy cards are worth TRIPLE!");
         }
     }
 
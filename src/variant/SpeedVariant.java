@@ -67,34 +67,28 @@ public class SpeedVariant implements GameVariant {
 
     /**
      * Applies special rules at the start of each round.
-     * Displays a Speed mode message and notifies players when only 1 card
+     * Publishes a Speed mode notice and notifies players when only 1 card
      * will be dealt (rounds 3+).
      *
      * @param game the current game instance
      */
     @Override
     public void applyRoundStartRules(Game game) {
-        final String RESET  = "\u001B[0m";
-        final String YELLOW = "\u001B[33m";
-        final String CYAN   = "\u001B[36m";
-
-        System.out.println(CYAN + "⚡ Speed Mode: Fast-paced round!" + RESET);
+        game.getEvents().notice(game, "⚡ Speed Mode: Fast-paced round!");
         if (game.getRoundNumber() > 2) {
-            System.out.println(YELLOW + "⚡ Only 1 card per player this round!" + RESET);
+            game.getEvents().notice(game, "⚡ Only 1 card per player this round!");
         }
     }
 
     /**
      * Applies special rules at the end of each round.
-     * Displays a message indicating that the Speed bonus (+50%) has been applied.
+     * Publishes a notice indicating that the Speed bonus (+50%) has been applied.
      *
      * @param game the current game instance
      */
     @Override
     public void applyRoundEndRules(Game game) {
-        final String RESET  = "\u001B[0m";
-        final String GREEN  = "\u001B[32m";
-        System.out.println(GREEN + "⚡ Speed bonus applied: +50% points!" + RESET);
+        game.getEvents().notice(game, "⚡ Speed bonus applied: +50% points!");
     }
 
     /**